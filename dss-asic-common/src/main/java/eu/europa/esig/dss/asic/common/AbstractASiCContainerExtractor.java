@@ -23,10 +23,13 @@ package eu.europa.esig.dss.asic.common;
 import eu.europa.esig.dss.enumerations.ASiCContainerType;
 import eu.europa.esig.dss.exception.IllegalInputException;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 
@@ -37,6 +40,9 @@ public abstract class AbstractASiCContainerExtractor {
 
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractASiCContainerExtractor.class);
 
+	/** The maximal length of the end of central directory record, including the ZIP comment */
+	private static final int END_OF_CENTRAL_DIRECTORY_MAX_LENGTH = 22 + 65535;
+
 	/** Represents an ASiC container */
 	private final DSSDocument asicContainer;
 
@@ -118,7 +124,9 @@ public abstract class AbstractASiCContainerExtractor {
 	 * @return {@link String} zip comment
 	 */
 	public String getZipComment() {
+		// the end of central directory record (22 bytes and a comment up to 65535 bytes) ends the archive
 		try (InputStream is = asicContainer.openStream()) {
+			skip(is, getContainerSize() - END_OF_CENTRAL_DIRECTORY_MAX_LENGTH);
 			byte[] buffer = Utils.toByteArray(is);
 			final int len = buffer.length;
 			final byte[] magicDirEnd = { 0x50, 0x4b, 0x05, 0x06 };
@@ -149,6 +157,27 @@ public abstract class AbstractASiCContainerExtractor {
 		return null;
 	}
 
+	private long getContainerSize() {
+		if (asicContainer instanceof FileDocument) {
+			return ((FileDocument) asicContainer).getFile().length();
+		}
+		return DSSUtils.getFileByteSize(asicContainer);
+	}
+
+	private void skip(InputStream is, long bytesToSkip) throws IOException {
+		long remaining = bytesToSkip;
+		while (remaining > 0) {
+			long skipped = is.skip(remaining);
+			if (skipped <= 0) {
+				if (is.read() == -1) {
+					return;
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
 	private boolean isMetaInfFolder(String entryName) {
 		return entryName.startsWith(ASiCUtils.META_INF_FOLDER);
 	}
@@ -23,6 +23,7 @@ package eu.europa.esig.dss.asic.common;
 import eu.europa.esig.dss.exception.IllegalInputException;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.MimeType;
 import eu.europa.esig.dss.spi.DSSUtils;
@@ -31,15 +32,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -72,12 +79,17 @@ public class SecureContainerHandler implements ZipContainerHandler {
 	 */
 	private int maxMalformedFiles = 100;
 
+	/**
+	 * Defines whether the entries of a ZIP container stored in a file shall be read lazily
+	 */
+	private boolean extractFileArchivesLazily = false;
+
 	/**
 	 * Internal variable used to calculate the extracted entries size
 	 * 
 	 * NOTE: shall be reset on every use
 	 */
-	private int byteCounter = 0;
+	private long byteCounter = 0;
 
 	/**
 	 * Sets the maximum allowed threshold after exceeding each the security checks
@@ -125,10 +137,41 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		this.maxMalformedFiles = maxMalformedFiles;
 	}
 
+	/**
+	 * Sets whether the entries of a ZIP container provided as a {@code FileDocument} shall be read lazily.
+	 * When enabled, the central directory of the archive is read and each entry is returned as a
+	 * {@code ZipArchiveEntryDocument}, inflated from the file only when its content is accessed.
+	 * The security checks are performed against the sizes declared in the central directory, and
+	 * the inflated content of an entry cannot exceed its declared size.
+	 *
+	 * If the central directory cannot be read, or contains duplicate entry names, the container content
+	 * is extracted into memory.
+	 *
+	 * When a container is created from extracted {@code ZipArchiveEntryDocument}s (e.g. on a signature extension),
+	 * these entries are copied as raw compressed records, only the new or modified entries are compressed.
+	 *
+	 * NOTE: the container file shall not be modified while the extracted documents are in use
+	 * (e.g. a signed or extended container shall not overwrite the original file)
+	 *
+	 * Default : false (all entries are extracted into memory)
+	 *
+	 * @param extractFileArchivesLazily whether the entries of a ZIP container file shall be read lazily
+	 */
+	public void setExtractFileArchivesLazily(boolean extractFileArchivesLazily) {
+		this.extractFileArchivesLazily = extractFileArchivesLazily;
+	}
+
 	@Override
 	public List<DSSDocument> extractContainerContent(DSSDocument zipArchive) {
 		resetByteCounter();
 
+		if (extractFileArchivesLazily && zipArchive instanceof FileDocument) {
+			List<DSSDocument> result = extractFileArchiveContent(((FileDocument) zipArchive).getFile());
+			if (result != null) {
+				return result;
+			}
+		}
+
 		List<DSSDocument> result = new ArrayList<>();
 		long containerSize = DSSUtils.getFileByteSize(zipArchive);
 		try (InputStream is = zipArchive.openStream(); ZipInputStream zis = new ZipInputStream(is)) {
@@ -155,9 +198,73 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		return null;
 	}
 
+	/**
+	 * Reads the central directory of the ZIP archive {@code file} and returns its entries
+	 * as {@code ZipArchiveEntryDocument}s
+	 *
+	 * @param file {@link File} ZIP archive
+	 * @return a list of {@link DSSDocument}s, or null if the central directory cannot be used
+	 */
+	private List<DSSDocument> extractFileArchiveContent(File file) {
+		List<ZipEntry> entries = getCentralDirectoryEntries(file);
+		if (entries == null) {
+			return null;
+		}
+		long allowedSize = file.length() * maxCompressionRatio;
+
+		List<DSSDocument> result = new ArrayList<>();
+		for (ZipEntry entry : entries) {
+			byteCounter += entry.getSize();
+			assertExtractEntryLengthValid(allowedSize);
+			result.add(new ZipArchiveEntryDocument(file, entry.getName(), entry.getSize()));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the entries declared in the central directory of the ZIP archive {@code file}
+	 *
+	 * @param file {@link File} ZIP archive
+	 * @return a list of {@link ZipEntry}s, or null if the central directory cannot be used
+	 */
+	private List<ZipEntry> getCentralDirectoryEntries(File file) {
+		try (ZipFile zipFile = new ZipFile(file)) {
+			List<ZipEntry> result = new ArrayList<>();
+			Set<String> entryNames = new HashSet<>();
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (!entryNames.add(entry.getName()) || entry.getSize() < 0) {
+					LOG.warn("The central directory of the ZIP container contains a duplicate or an incomplete entry '{}'! "
+							+ "The content is extracted into memory.", entry.getName());
+					return null;
+				}
+				result.add(entry);
+				assertCollectionSizeValid(result);
+			}
+			return result;
+		} catch (IOException e) {
+			LOG.warn("Unable to read the central directory of the ZIP container : {}. "
+					+ "The content is extracted into memory.", e.getMessage());
+			return null;
+		}
+	}
+
 	@Override
 	public List<String> extractEntryNames(DSSDocument zipArchive) {
 		resetByteCounter();
+
+		if (extractFileArchivesLazily && zipArchive instanceof FileDocument) {
+			List<ZipEntry> entries = getCentralDirectoryEntries(((FileDocument) zipArchive).getFile());
+			if (entries != null) {
+				List<String> result = new ArrayList<>();
+				for (ZipEntry entry : entries) {
+					result.add(entry.getName());
+				}
+				return result;
+			}
+		}
+
 		long containerSize = DSSUtils.getFileByteSize(zipArchive);
 		long allowedSize = containerSize * maxCompressionRatio;
 
@@ -177,8 +284,29 @@ public class SecureContainerHandler implements ZipContainerHandler {
 
 	@Override
 	public DSSDocument createZipArchive(List<DSSDocument> containerEntries, Date creationTime, String zipComment) {
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				ZipOutputStream zos = new ZipOutputStream(baos)) {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			createZipArchive(containerEntries, creationTime, zipComment, baos);
+			return new InMemoryDocument(baos.toByteArray());
+
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to create an ASiC container. Reason : %s", e.getMessage()), e);
+		}
+	}
+
+	@Override
+	public void createZipArchive(List<DSSDocument> containerEntries, Date creationTime, String zipComment,
+								 OutputStream outputStream) {
+		ZipArchiveRawWriter rawWriter = getRawWriter(containerEntries, creationTime);
+		if (rawWriter != null) {
+			try {
+				rawWriter.write(outputStream, zipComment);
+				return;
+			} catch (IOException e) {
+				throw new DSSException(String.format("Unable to create an ASiC container. Reason : %s", e.getMessage()), e);
+			}
+		}
+
+		try (ZipOutputStream zos = new ZipOutputStream(new NonClosingOutputStream(outputStream))) {
 
 			for (DSSDocument entry : containerEntries) {
 				final ZipEntry zipEntry = getZipEntry(entry, creationTime);
@@ -192,13 +320,50 @@ public class SecureContainerHandler implements ZipContainerHandler {
 			}
 			zos.finish();
 
-			return new InMemoryDocument(baos.toByteArray());
-
 		} catch (IOException e) {
 			throw new DSSException(String.format("Unable to create an ASiC container. Reason : %s", e.getMessage()), e);
 		}
 	}
 
+	/**
+	 * Returns a writer copying the unchanged entries of a ZIP container file (see {@code ZipArchiveEntryDocument})
+	 * as raw compressed records, when applicable. The other entries are compressed in a separate archive,
+	 * which entries are then copied in the same way.
+	 *
+	 * NOTE: the copied entries keep their original modification time
+	 *
+	 * @param containerEntries a list of {@link DSSDocument}s to embed into the new container
+	 * @param creationTime {@link Date} of the new entries creation (optional)
+	 * @return {@link ZipArchiveRawWriter}, or null if the container shall be compressed entirely
+	 */
+	private ZipArchiveRawWriter getRawWriter(List<DSSDocument> containerEntries, Date creationTime) {
+		List<DSSDocument> newEntries = new ArrayList<>();
+		for (DSSDocument entry : containerEntries) {
+			if (!ZipArchiveRawWriter.isRawCopyPossible(entry)) {
+				newEntries.add(entry);
+			}
+		}
+		if (newEntries.size() == containerEntries.size()) {
+			return null;
+		}
+
+		byte[] newEntriesArchive = null;
+		if (Utils.isCollectionNotEmpty(newEntries)) {
+			try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+				createZipArchive(newEntries, creationTime, null, baos);
+				newEntriesArchive = baos.toByteArray();
+			} catch (IOException e) {
+				throw new DSSException(String.format("Unable to create an ASiC container. Reason : %s", e.getMessage()), e);
+			}
+		}
+		try {
+			return new ZipArchiveRawWriter(containerEntries, newEntriesArchive);
+		} catch (IOException e) {
+			LOG.warn("Unable to copy the entries of the ZIP container : {}. All entries are compressed again.", e.getMessage());
+			return null;
+		}
+	}
+
 	private ZipEntry getZipEntry(DSSDocument entry, Date creationTime) {
 		final String name = entry.getName();
 		final ZipEntry zipEntry = new ZipEntry(name);
@@ -340,4 +505,25 @@ public class SecureContainerHandler implements ZipContainerHandler {
 		}
 	}
 
+	/**
+	 * Writes into an {@code OutputStream} without closing it, the stream remains owned by the caller
+	 */
+	private static class NonClosingOutputStream extends FilterOutputStream {
+
+		private NonClosingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+	}
+
 }
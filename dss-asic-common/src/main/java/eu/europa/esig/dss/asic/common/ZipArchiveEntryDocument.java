@@ -0,0 +1,202 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.exception.IllegalInputException;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.MimeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Represents an entry of a ZIP archive stored on the file-system.
+ *
+ * The content of the entry is not loaded into memory, but inflated from the archive file on every
+ * {@code openStream()} call. The inflated content cannot exceed the uncompressed size declared in
+ * the central directory of the archive.
+ *
+ * NOTE: the archive file shall not be modified or removed while the document is in use
+ */
+@SuppressWarnings("serial")
+public class ZipArchiveEntryDocument extends CommonDocument {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ZipArchiveEntryDocument.class);
+
+	/** The ZIP archive file */
+	private final File zipFile;
+
+	/** The name of the entry within the ZIP archive */
+	private final String entryName;
+
+	/** The uncompressed size of the entry declared in the central directory */
+	private final long size;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param zipFile {@link File} the ZIP archive
+	 * @param entryName {@link String} the name of the entry within the ZIP archive
+	 * @param size the uncompressed size of the entry declared in the central directory
+	 */
+	public ZipArchiveEntryDocument(final File zipFile, final String entryName, final long size) {
+		Objects.requireNonNull(zipFile, "ZIP archive file cannot be null!");
+		Objects.requireNonNull(entryName, "Entry name cannot be null!");
+		this.zipFile = zipFile;
+		this.entryName = entryName;
+		this.size = size;
+		this.name = entryName;
+		this.mimeType = MimeType.fromFileName(entryName);
+	}
+
+	@Override
+	public InputStream openStream() {
+		ZipFile zipArchive = null;
+		try {
+			zipArchive = new ZipFile(zipFile);
+			final ZipEntry zipEntry = zipArchive.getEntry(entryName);
+			if (zipEntry == null) {
+				throw new DSSException(String.format("The entry with name '%s' is not found in the ZIP archive '%s'!",
+						entryName, zipFile.getName()));
+			}
+			return new ZipArchiveEntryInputStream(zipArchive, zipArchive.getInputStream(zipEntry), size);
+
+		} catch (IOException e) {
+			closeQuietly(zipArchive);
+			throw new DSSException(String.format("Unable to read the entry with name '%s' from the ZIP archive. Reason : %s",
+					entryName, e.getMessage()), e);
+		} catch (RuntimeException e) {
+			closeQuietly(zipArchive);
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the ZIP archive file
+	 *
+	 * @return {@link File}
+	 */
+	public File getZipFile() {
+		return zipFile;
+	}
+
+	/**
+	 * Gets the name of the entry within the ZIP archive
+	 *
+	 * @return {@link String}
+	 */
+	public String getEntryName() {
+		return entryName;
+	}
+
+	/**
+	 * Gets the uncompressed size of the entry declared in the central directory
+	 *
+	 * @return size in bytes
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	private static void closeQuietly(ZipFile zipArchive) {
+		if (zipArchive != null) {
+			try {
+				zipArchive.close();
+			} catch (IOException e) {
+				LOG.warn("Unable to close the ZIP archive : {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Reads the entry content and closes the ZIP archive with the stream
+	 */
+	private static class ZipArchiveEntryInputStream extends FilterInputStream {
+
+		/** The opened ZIP archive */
+		private final ZipFile zipArchive;
+
+		/** The declared size of the entry */
+		private final long size;
+
+		/** The number of read bytes */
+		private long byteCounter = 0;
+
+		private ZipArchiveEntryInputStream(ZipFile zipArchive, InputStream entryInputStream, long size) {
+			super(entryInputStream);
+			this.zipArchive = zipArchive;
+			this.size = size;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int result = super.read();
+			if (result != -1) {
+				count(1);
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			final int result = super.read(b, off, len);
+			if (result > 0) {
+				count(result);
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			final long result = super.skip(n);
+			if (result > 0) {
+				count(result);
+			}
+			return result;
+		}
+
+		private void count(long nRead) {
+			byteCounter += nRead;
+			if (byteCounter > size) {
+				throw new IllegalInputException("Zip Bomb detected in the ZIP container. Validation is interrupted.");
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				zipArchive.close();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,638 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.model.DSSDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a ZIP archive by copying the entries of existing ZIP archives as raw (compressed) records.
+ *
+ * The local file header, the compressed data and the data descriptor of every entry are copied unchanged,
+ * only a new central directory is written. Thus, the unchanged entries of a container are neither
+ * decompressed nor compressed again.
+ */
+class ZipArchiveRawWriter {
+
+	/** The signature of a local file header */
+	private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+
+	/** The signature of a data descriptor */
+	private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+	/** The signature of a central directory file header */
+	private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+
+	/** The signature of the end of central directory record */
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+	/** The signature of the ZIP64 end of central directory record */
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+
+	/** The signature of the ZIP64 end of central directory locator */
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+	/** The header id of the ZIP64 extended information extra field */
+	private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+	/** The value of a field defined in the ZIP64 extended information extra field */
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+	/** The maximal number of entries defined without ZIP64 */
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+	/** The version needed to extract a ZIP64 entry */
+	private static final int ZIP64_VERSION = 45;
+
+	/** The length of the fixed part of a local file header */
+	private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+
+	/** The length of the fixed part of a central directory file header */
+	private static final int CENTRAL_DIRECTORY_HEADER_LENGTH = 46;
+
+	/** The length of the end of central directory record without the comment */
+	private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+
+	/** The size of the buffer used to copy the entries */
+	private static final int BUFFER_SIZE = 65536;
+
+	/** The entries to write, in the order of the archive */
+	private final List<RawEntry> entries = new ArrayList<>();
+
+	/**
+	 * The default constructor, reading the central directories of the source archives
+	 *
+	 * @param containerEntries a list of {@link DSSDocument}s to write, where a {@code ZipArchiveEntryDocument}
+	 *                         with an unchanged name is copied from its archive file
+	 * @param newEntriesArchive the binaries of a ZIP archive containing all other {@code containerEntries}
+	 *                          (can be null if all entries are copied from archive files)
+	 * @throws IOException if a source archive cannot be read
+	 */
+	ZipArchiveRawWriter(List<DSSDocument> containerEntries, byte[] newEntriesArchive) throws IOException {
+		final Map<File, ArchiveSource> fileSources = new HashMap<>();
+		ArchiveSource newEntriesSource = null;
+		final Set<String> names = new HashSet<>();
+		for (DSSDocument containerEntry : containerEntries) {
+			ArchiveSource source;
+			if (isRawCopyPossible(containerEntry)) {
+				File zipFile = ((ZipArchiveEntryDocument) containerEntry).getZipFile();
+				source = fileSources.get(zipFile);
+				if (source == null) {
+					source = new FileArchiveSource(zipFile);
+					fileSources.put(zipFile, source);
+				}
+			} else {
+				if (newEntriesSource == null) {
+					if (newEntriesArchive == null) {
+						throw new IOException("The archive of new entries is not provided!");
+					}
+					newEntriesSource = new InMemoryArchiveSource(newEntriesArchive);
+				}
+				source = newEntriesSource;
+			}
+			if (!names.add(containerEntry.getName())) {
+				throw new ZipException("duplicate entry: " + containerEntry.getName());
+			}
+			final RawEntry entry = source.getEntry(containerEntry.getName());
+			entry.readLocalRecordLength();
+			entries.add(entry);
+		}
+	}
+
+	/**
+	 * Checks if the document represents an unchanged entry of an archive file, which can be copied as raw bytes
+	 *
+	 * @param document {@link DSSDocument} to check
+	 * @return TRUE if the entry can be copied from its archive file, FALSE otherwise
+	 */
+	static boolean isRawCopyPossible(DSSDocument document) {
+		if (document instanceof ZipArchiveEntryDocument) {
+			ZipArchiveEntryDocument entryDocument = (ZipArchiveEntryDocument) document;
+			return entryDocument.getEntryName().equals(entryDocument.getName());
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the ZIP archive
+	 *
+	 * @param outputStream {@link OutputStream} to write the ZIP archive into
+	 * @param zipComment {@link String} ZIP comment (optional)
+	 * @throws IOException if an exception occurs
+	 */
+	void write(OutputStream outputStream, String zipComment) throws IOException {
+		final PositionOutputStream os = new PositionOutputStream(outputStream);
+		final long[] localHeaderOffsets = new long[entries.size()];
+		for (int i = 0; i < entries.size(); i++) {
+			localHeaderOffsets[i] = os.getPosition();
+			entries.get(i).copyLocalRecord(os);
+		}
+
+		final long centralDirectoryOffset = os.getPosition();
+		for (int i = 0; i < entries.size(); i++) {
+			entries.get(i).writeCentralDirectoryHeader(os, localHeaderOffsets[i]);
+		}
+		final long centralDirectorySize = os.getPosition() - centralDirectoryOffset;
+
+		writeEndOfCentralDirectory(os, centralDirectoryOffset, centralDirectorySize, zipComment);
+		os.flush();
+	}
+
+	private void writeEndOfCentralDirectory(PositionOutputStream os, long centralDirectoryOffset,
+											long centralDirectorySize, String zipComment) throws IOException {
+		final int count = entries.size();
+		if (count >= ZIP64_MAGIC_COUNT || centralDirectoryOffset >= ZIP64_MAGIC || centralDirectorySize >= ZIP64_MAGIC) {
+			final long zip64EndOfCentralDirectoryOffset = os.getPosition();
+			writeInt(os, ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+			writeLong(os, 44); // size of the remaining record
+			writeShort(os, ZIP64_VERSION); // version made by
+			writeShort(os, ZIP64_VERSION); // version needed to extract
+			writeInt(os, 0); // number of this disk
+			writeInt(os, 0); // disk with the central directory
+			writeLong(os, count);
+			writeLong(os, count);
+			writeLong(os, centralDirectorySize);
+			writeLong(os, centralDirectoryOffset);
+
+			writeInt(os, ZIP64_LOCATOR_SIGNATURE);
+			writeInt(os, 0); // disk with the ZIP64 end of central directory
+			writeLong(os, zip64EndOfCentralDirectoryOffset);
+			writeInt(os, 1); // total number of disks
+		}
+
+		final byte[] comment = zipComment != null ? zipComment.getBytes(StandardCharsets.UTF_8) : new byte[0];
+		writeInt(os, END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+		writeShort(os, 0); // number of this disk
+		writeShort(os, 0); // disk with the central directory
+		writeShort(os, (int) Math.min(count, ZIP64_MAGIC_COUNT));
+		writeShort(os, (int) Math.min(count, ZIP64_MAGIC_COUNT));
+		writeInt(os, (int) Math.min(centralDirectorySize, ZIP64_MAGIC));
+		writeInt(os, (int) Math.min(centralDirectoryOffset, ZIP64_MAGIC));
+		writeShort(os, comment.length);
+		os.write(comment);
+	}
+
+	/**
+	 * Represents an entry of a source archive
+	 */
+	private static class RawEntry {
+
+		/** The source archive */
+		private final ArchiveSource source;
+
+		/** The fixed part of the central directory file header */
+		private final byte[] header;
+
+		/** The entry name */
+		private final byte[] name;
+
+		/** The extra field without the ZIP64 extended information */
+		private final byte[] extra;
+
+		/** The entry comment */
+		private final byte[] comment;
+
+		/** The compressed size */
+		private final long compressedSize;
+
+		/** The uncompressed size */
+		private final long size;
+
+		/** The offset of the local file header within the source archive */
+		private final long localHeaderOffset;
+
+		/** The length of the local file header, the compressed data and the data descriptor */
+		private long localRecordLength = -1;
+
+		private RawEntry(ArchiveSource source, byte[] header, byte[] name, byte[] extra, byte[] comment) throws IOException {
+			this.source = source;
+			this.header = header;
+			this.name = name;
+			this.comment = comment;
+
+			long currentSize = getUnsignedInt(header, 24);
+			long currentCompressedSize = getUnsignedInt(header, 20);
+			long currentOffset = getUnsignedInt(header, 42);
+			final ByteArrayOutputStream otherExtra = new ByteArrayOutputStream();
+			int position = 0;
+			while (position + 4 <= extra.length) {
+				final int id = getUnsignedShort(extra, position);
+				final int length = getUnsignedShort(extra, position + 2);
+				if (position + 4 + length > extra.length) {
+					throw new ZipException("Invalid extra field of the entry " + new String(name, StandardCharsets.UTF_8));
+				}
+				if (id == ZIP64_EXTRA_FIELD_ID) {
+					int index = position + 4;
+					if (currentSize == ZIP64_MAGIC) {
+						currentSize = getLong(extra, index);
+						index += 8;
+					}
+					if (currentCompressedSize == ZIP64_MAGIC) {
+						currentCompressedSize = getLong(extra, index);
+						index += 8;
+					}
+					if (currentOffset == ZIP64_MAGIC) {
+						currentOffset = getLong(extra, index);
+					}
+				} else {
+					otherExtra.write(extra, position, 4 + length);
+				}
+				position += 4 + length;
+			}
+			this.extra = otherExtra.toByteArray();
+			this.size = currentSize;
+			this.compressedSize = currentCompressedSize;
+			this.localHeaderOffset = currentOffset;
+		}
+
+		private void readLocalRecordLength() throws IOException {
+			if (localRecordLength != -1) {
+				return;
+			}
+			final byte[] localHeader = source.read(localHeaderOffset, LOCAL_FILE_HEADER_LENGTH);
+			if (getInt(localHeader, 0) != LOCAL_FILE_HEADER_SIGNATURE) {
+				throw new ZipException("Invalid local file header of the entry " + new String(name, StandardCharsets.UTF_8));
+			}
+			final int nameLength = getUnsignedShort(localHeader, 26);
+			final int extraLength = getUnsignedShort(localHeader, 28);
+			long length = LOCAL_FILE_HEADER_LENGTH + nameLength + extraLength + compressedSize;
+
+			final int flags = getUnsignedShort(header, 8);
+			if ((flags & 8) != 0) {
+				// the data descriptor follows the compressed data, with an optional signature
+				// sizes are 8 bytes long for a ZIP64 entry, even without a ZIP64 extra field in the local header
+				// (as written by java.util.zip.ZipOutputStream for entries of 4GB or more)
+				final byte[] localExtra = source.read(localHeaderOffset + LOCAL_FILE_HEADER_LENGTH + nameLength, extraLength);
+				final boolean zip64 = containsZip64ExtraField(localExtra) || size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+				final byte[] signature = source.read(localHeaderOffset + length, 4);
+				if (getInt(signature, 0) == DATA_DESCRIPTOR_SIGNATURE) {
+					length += 4;
+				}
+				length += zip64 ? 20 : 12;
+			}
+			if (localHeaderOffset + length > source.size()) {
+				throw new ZipException("Invalid local file header of the entry " + new String(name, StandardCharsets.UTF_8));
+			}
+			localRecordLength = length;
+		}
+
+		private void copyLocalRecord(OutputStream os) throws IOException {
+			source.copy(localHeaderOffset, localRecordLength, os);
+		}
+
+		private void writeCentralDirectoryHeader(OutputStream os, long newLocalHeaderOffset) throws IOException {
+			final boolean zip64Sizes = size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+			final boolean zip64Offset = newLocalHeaderOffset >= ZIP64_MAGIC;
+
+			final ByteArrayOutputStream newExtra = new ByteArrayOutputStream();
+			if (zip64Sizes || zip64Offset) {
+				writeShort(newExtra, ZIP64_EXTRA_FIELD_ID);
+				writeShort(newExtra, (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0));
+				if (zip64Sizes) {
+					writeLong(newExtra, size);
+					writeLong(newExtra, compressedSize);
+				}
+				if (zip64Offset) {
+					writeLong(newExtra, newLocalHeaderOffset);
+				}
+			}
+			newExtra.write(extra);
+
+			final byte[] newHeader = header.clone();
+			if (zip64Sizes || zip64Offset) {
+				setShort(newHeader, 6, Math.max(getUnsignedShort(header, 6), ZIP64_VERSION));
+			}
+			setInt(newHeader, 20, zip64Sizes ? ZIP64_MAGIC : compressedSize);
+			setInt(newHeader, 24, zip64Sizes ? ZIP64_MAGIC : size);
+			setShort(newHeader, 30, newExtra.size());
+			setShort(newHeader, 34, 0); // disk number start
+			setInt(newHeader, 42, zip64Offset ? ZIP64_MAGIC : newLocalHeaderOffset);
+
+			os.write(newHeader);
+			os.write(name);
+			newExtra.writeTo(os);
+			os.write(comment);
+		}
+
+		private static boolean containsZip64ExtraField(byte[] extra) {
+			int position = 0;
+			while (position + 4 <= extra.length) {
+				if (getUnsignedShort(extra, position) == ZIP64_EXTRA_FIELD_ID) {
+					return true;
+				}
+				position += 4 + getUnsignedShort(extra, position + 2);
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * Represents a source ZIP archive, with its central directory
+	 */
+	private abstract static class ArchiveSource {
+
+		/** The entries of the central directory by name */
+		private Map<String, RawEntry> centralDirectory;
+
+		/**
+		 * Returns the size of the archive
+		 *
+		 * @return size in bytes
+		 * @throws IOException if an exception occurs
+		 */
+		protected abstract long size() throws IOException;
+
+		/**
+		 * Reads {@code length} bytes of the archive from the {@code position}
+		 *
+		 * @param position the position to read from
+		 * @param length the number of bytes to read
+		 * @return the read bytes
+		 * @throws IOException if the bytes cannot be read
+		 */
+		protected abstract byte[] read(long position, int length) throws IOException;
+
+		/**
+		 * Copies {@code length} bytes of the archive from the {@code position} into the {@code os}
+		 *
+		 * @param position the position to copy from
+		 * @param length the number of bytes to copy
+		 * @param os {@link OutputStream} to copy into
+		 * @throws IOException if an exception occurs
+		 */
+		protected abstract void copy(long position, long length, OutputStream os) throws IOException;
+
+		private RawEntry getEntry(String entryName) throws IOException {
+			if (centralDirectory == null) {
+				centralDirectory = readCentralDirectory();
+			}
+			final RawEntry entry = centralDirectory.get(entryName);
+			if (entry == null) {
+				throw new ZipException(String.format("The entry '%s' is not found in the central directory!", entryName));
+			}
+			return entry;
+		}
+
+		private Map<String, RawEntry> readCentralDirectory() throws IOException {
+			final long archiveSize = size();
+			final int tailLength = (int) Math.min(archiveSize, END_OF_CENTRAL_DIRECTORY_LENGTH + 0xFFFF);
+			final byte[] tail = read(archiveSize - tailLength, tailLength);
+			int endOfCentralDirectory = -1;
+			for (int i = tailLength - END_OF_CENTRAL_DIRECTORY_LENGTH; i >= 0; i--) {
+				if (getInt(tail, i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE
+						&& i + END_OF_CENTRAL_DIRECTORY_LENGTH + getUnsignedShort(tail, i + 20) == tailLength) {
+					endOfCentralDirectory = i;
+					break;
+				}
+			}
+			if (endOfCentralDirectory == -1) {
+				throw new ZipException("The end of central directory record is not found!");
+			}
+
+			long count = getUnsignedShort(tail, endOfCentralDirectory + 10);
+			long centralDirectorySize = getUnsignedInt(tail, endOfCentralDirectory + 12);
+			long centralDirectoryOffset = getUnsignedInt(tail, endOfCentralDirectory + 16);
+			if (count == ZIP64_MAGIC_COUNT || centralDirectorySize == ZIP64_MAGIC || centralDirectoryOffset == ZIP64_MAGIC) {
+				final long endOfCentralDirectoryPosition = archiveSize - tailLength + endOfCentralDirectory;
+				final byte[] locator = read(endOfCentralDirectoryPosition - 20, 20);
+				if (getInt(locator, 0) == ZIP64_LOCATOR_SIGNATURE) {
+					final byte[] zip64EndOfCentralDirectory = read(getLong(locator, 8), 56);
+					if (getInt(zip64EndOfCentralDirectory, 0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+						throw new ZipException("Invalid ZIP64 end of central directory record!");
+					}
+					count = getLong(zip64EndOfCentralDirectory, 32);
+					centralDirectorySize = getLong(zip64EndOfCentralDirectory, 40);
+					centralDirectoryOffset = getLong(zip64EndOfCentralDirectory, 48);
+				}
+			}
+			if (centralDirectorySize > Integer.MAX_VALUE) {
+				throw new ZipException("The central directory is too large!");
+			}
+
+			final byte[] centralDirectoryBytes = read(centralDirectoryOffset, (int) centralDirectorySize);
+			final Map<String, RawEntry> result = new HashMap<>();
+			int position = 0;
+			for (long i = 0; i < count; i++) {
+				if (position + CENTRAL_DIRECTORY_HEADER_LENGTH > centralDirectoryBytes.length
+						|| getInt(centralDirectoryBytes, position) != CENTRAL_DIRECTORY_SIGNATURE) {
+					throw new ZipException("Invalid central directory file header!");
+				}
+				final int nameLength = getUnsignedShort(centralDirectoryBytes, position + 28);
+				final int extraLength = getUnsignedShort(centralDirectoryBytes, position + 30);
+				final int commentLength = getUnsignedShort(centralDirectoryBytes, position + 32);
+				final int nameStart = position + CENTRAL_DIRECTORY_HEADER_LENGTH;
+				final int extraStart = nameStart + nameLength;
+				final int commentStart = extraStart + extraLength;
+				final int end = commentStart + commentLength;
+				if (end > centralDirectoryBytes.length) {
+					throw new ZipException("Invalid central directory file header!");
+				}
+
+				final byte[] header = copyOfRange(centralDirectoryBytes, position, nameStart);
+				final byte[] name = copyOfRange(centralDirectoryBytes, nameStart, extraStart);
+				final byte[] extra = copyOfRange(centralDirectoryBytes, extraStart, commentStart);
+				final byte[] comment = copyOfRange(centralDirectoryBytes, commentStart, end);
+				final String entryName = new String(name, StandardCharsets.UTF_8);
+				if (!result.containsKey(entryName)) {
+					result.put(entryName, new RawEntry(this, header, name, extra, comment));
+				}
+				position = end;
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * Source archive stored in a file
+	 */
+	private static class FileArchiveSource extends ArchiveSource {
+
+		/** The archive file */
+		private final File file;
+
+		private FileArchiveSource(File file) {
+			this.file = file;
+		}
+
+		@Override
+		protected long size() {
+			return file.length();
+		}
+
+		@Override
+		protected byte[] read(long position, int length) throws IOException {
+			try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+				final byte[] result = new byte[length];
+				raf.seek(position);
+				raf.readFully(result);
+				return result;
+			}
+		}
+
+		@Override
+		protected void copy(long position, long length, OutputStream os) throws IOException {
+			try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+				raf.seek(position);
+				final byte[] buffer = new byte[BUFFER_SIZE];
+				long remaining = length;
+				while (remaining > 0) {
+					final int count = (int) Math.min(buffer.length, remaining);
+					raf.readFully(buffer, 0, count);
+					os.write(buffer, 0, count);
+					remaining -= count;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Source archive stored in memory
+	 */
+	private static class InMemoryArchiveSource extends ArchiveSource {
+
+		/** The archive binaries */
+		private final byte[] binaries;
+
+		private InMemoryArchiveSource(byte[] binaries) {
+			this.binaries = binaries;
+		}
+
+		@Override
+		protected long size() {
+			return binaries.length;
+		}
+
+		@Override
+		protected byte[] read(long position, int length) throws IOException {
+			assertRangeValid(position, length);
+			return copyOfRange(binaries, (int) position, (int) position + length);
+		}
+
+		@Override
+		protected void copy(long position, long length, OutputStream os) throws IOException {
+			assertRangeValid(position, length);
+			os.write(binaries, (int) position, (int) length);
+		}
+
+		private void assertRangeValid(long position, long length) throws ZipException {
+			if (position < 0 || length < 0 || position + length > binaries.length) {
+				throw new ZipException("Invalid position within the archive!");
+			}
+		}
+
+	}
+
+	/**
+	 * Counts the written bytes
+	 */
+	private static class PositionOutputStream extends FilterOutputStream {
+
+		/** The number of written bytes */
+		private long position = 0;
+
+		private PositionOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			position++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			position += len;
+		}
+
+		private long getPosition() {
+			return position;
+		}
+
+	}
+
+	private static byte[] copyOfRange(byte[] bytes, int from, int to) {
+		final byte[] result = new byte[to - from];
+		System.arraycopy(bytes, from, result, 0, result.length);
+		return result;
+	}
+
+	private static int getUnsignedShort(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8);
+	}
+
+	private static int getInt(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8)
+				| ((bytes[offset + 2] & 0xFF) << 16) | ((bytes[offset + 3] & 0xFF) << 24);
+	}
+
+	private static long getUnsignedInt(byte[] bytes, int offset) {
+		return getInt(bytes, offset) & 0xFFFFFFFFL;
+	}
+
+	private static long getLong(byte[] bytes, int offset) {
+		return getUnsignedInt(bytes, offset) | (getUnsignedInt(bytes, offset + 4) << 32);
+	}
+
+	private static void setShort(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) value;
+		bytes[offset + 1] = (byte) (value >>> 8);
+	}
+
+	private static void setInt(byte[] bytes, int offset, long value) {
+		setShort(bytes, offset, (int) value);
+		setShort(bytes, offset + 2, (int) (value >>> 16));
+	}
+
+	private static void writeShort(OutputStream os, int value) throws IOException {
+		os.write(value & 0xFF);
+		os.write((value >>> 8) & 0xFF);
+	}
+
+	private static void writeInt(OutputStream os, long value) throws IOException {
+		writeShort(os, (int) value);
+		writeShort(os, (int) (value >>> 16));
+	}
+
+	private static void writeLong(OutputStream os, long value) throws IOException {
+		writeInt(os, value);
+		writeInt(os, value >>> 32);
+	}
+
+}
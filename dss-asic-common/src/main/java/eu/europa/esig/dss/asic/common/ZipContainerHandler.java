@@ -20,10 +20,13 @@
  */
 package eu.europa.esig.dss.asic.common;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
 
 /**
  * The interface provides utilities for data extraction/creation of ZIP-archives
@@ -60,4 +63,31 @@ public interface ZipContainerHandler {
 	 */
 	DSSDocument createZipArchive(List<DSSDocument> containerEntries, Date creationTime, String zipComment);
 
+	/**
+	 * Creates a ZIP-Archive with the given {@code containerEntries} and writes it
+	 * into the {@code outputStream} (e.g. a {@code FileOutputStream}), without
+	 * keeping the archive in memory
+	 * 
+	 * NOTE: the {@code outputStream} is not closed. The default implementation creates
+	 * the archive with {@code createZipArchive(containerEntries, creationTime, zipComment)}
+	 * and copies it into the {@code outputStream}
+	 * 
+	 * @param containerEntries a list of {@link DSSDocument}s to embed into the new
+	 *                         container instance
+	 * @param creationTime     (Optional) {@link Date} defined time of an archive
+	 *                         creation, will be set for all embedded files. If
+	 *                         null, the local current time will be used
+	 * @param zipComment       (Optional) {@link String} defined a zipComment
+	 * @param outputStream     {@link OutputStream} to write the ZIP-Archive into
+	 */
+	default void createZipArchive(List<DSSDocument> containerEntries, Date creationTime, String zipComment,
+								  OutputStream outputStream) {
+		DSSDocument zipArchive = createZipArchive(containerEntries, creationTime, zipComment);
+		try {
+			zipArchive.writeTo(outputStream);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the ZIP-Archive. Reason : %s", e.getMessage()), e);
+		}
+	}
+
 }
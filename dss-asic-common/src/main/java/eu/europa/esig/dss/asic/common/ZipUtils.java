@@ -22,6 +22,7 @@ package eu.europa.esig.dss.asic.common;
 
 import eu.europa.esig.dss.model.DSSDocument;
 
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -116,4 +117,39 @@ public final class ZipUtils {
 		return createZipArchive(asicContent.getAllDocuments(), creationTime, asicContent.getZipComment());
 	}
 
+	/**
+	 * Creates a ZIP-Archive with the given {@code containerEntries} and writes it
+	 * into the {@code outputStream}
+	 * 
+	 * NOTE: the {@code outputStream} is not closed
+	 * 
+	 * @param containerEntries a list of {@link DSSDocument}s to embed into the new
+	 *                         container instance
+	 * @param creationTime     (Optional) {@link Date} defined time of an archive
+	 *                         creation, will be set for all embedded files. If
+	 *                         null, the local current time will be used
+	 * @param zipComment       (Optional) {@link String} defined a zipComment
+	 * @param outputStream     {@link OutputStream} to write the ZIP-Archive into
+	 */
+	public void createZipArchive(List<DSSDocument> containerEntries, Date creationTime, String zipComment,
+								 OutputStream outputStream) {
+		zipContainerHandler.createZipArchive(containerEntries, creationTime, zipComment, outputStream);
+	}
+
+	/**
+	 * Creates a ZIP-Archive with the given {@code asicContent} and writes it
+	 * into the {@code outputStream}
+	 * 
+	 * NOTE: the {@code outputStream} is not closed
+	 *
+	 * @param asicContent      {@link ASiCContent} to create a new ZIP Archive from
+	 * @param creationTime     (Optional) {@link Date} defined time of an archive
+	 *                         creation, will be set for all embedded files. If
+	 *                         null, the local current time will be used
+	 * @param outputStream     {@link OutputStream} to write the ZIP-Archive into
+	 */
+	public void createZipArchive(ASiCContent asicContent, Date creationTime, OutputStream outputStream) {
+		createZipArchive(asicContent.getAllDocuments(), creationTime, asicContent.getZipComment(), outputStream);
+	}
+
 }
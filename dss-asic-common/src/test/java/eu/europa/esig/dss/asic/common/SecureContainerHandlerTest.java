@@ -0,0 +1,255 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.exception.IllegalInputException;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.MimeType;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SecureContainerHandlerTest {
+
+	@TempDir
+	Path temporaryFolder;
+
+	private List<DSSDocument> entries;
+
+	@BeforeEach
+	public void init() {
+		byte[] randomContent = new byte[500000];
+		new Random(1).nextBytes(randomContent);
+		entries = Arrays.asList(
+				new InMemoryDocument(MimeType.ASICE.getMimeTypeString().getBytes(StandardCharsets.UTF_8), ASiCUtils.MIME_TYPE),
+				new InMemoryDocument("Hello World!".getBytes(StandardCharsets.UTF_8), "hello.txt"),
+				new InMemoryDocument(randomContent, "random.bin"),
+				new InMemoryDocument(new byte[0], "empty.txt"));
+	}
+
+	@Test
+	public void defaultStreamCreationTest() {
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		// a custom handler implementing the in-memory creation only
+		ZipContainerHandler customHandler = new ZipContainerHandler() {
+
+			@Override
+			public List<DSSDocument> extractContainerContent(DSSDocument zipArchive) {
+				return secureContainerHandler.extractContainerContent(zipArchive);
+			}
+
+			@Override
+			public List<String> extractEntryNames(DSSDocument zipArchive) {
+				return secureContainerHandler.extractEntryNames(zipArchive);
+			}
+
+			@Override
+			public DSSDocument createZipArchive(List<DSSDocument> containerEntries, Date creationTime, String zipComment) {
+				return secureContainerHandler.createZipArchive(containerEntries, creationTime, zipComment);
+			}
+
+		};
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		customHandler.createZipArchive(entries, new Date(0), "comment", baos);
+		assertArrayEquals(DSSUtils.toByteArray(secureContainerHandler.createZipArchive(entries, new Date(0), "comment")),
+				baos.toByteArray());
+	}
+
+	@Test
+	public void lazyExtractionTest() throws IOException {
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		DSSDocument inMemoryArchive = secureContainerHandler.createZipArchive(entries, new Date(0), "comment");
+
+		File file = temporaryFolder.resolve("container.zip").toFile();
+		try (OutputStream os = new FileOutputStream(file)) {
+			secureContainerHandler.createZipArchive(entries, new Date(0), "comment", os);
+		}
+		DSSDocument fileArchive = new FileDocument(file);
+		assertArrayEquals(DSSUtils.toByteArray(inMemoryArchive), DSSUtils.toByteArray(fileArchive));
+
+		List<DSSDocument> inMemoryDocuments = secureContainerHandler.extractContainerContent(fileArchive);
+
+		secureContainerHandler.setExtractFileArchivesLazily(true);
+		List<DSSDocument> lazyDocuments = secureContainerHandler.extractContainerContent(fileArchive);
+		assertEquals(entries.size(), lazyDocuments.size());
+		for (int i = 0; i < entries.size(); i++) {
+			DSSDocument lazyDocument = lazyDocuments.get(i);
+			assertTrue(lazyDocument instanceof ZipArchiveEntryDocument);
+			assertEquals(inMemoryDocuments.get(i).getName(), lazyDocument.getName());
+			assertEquals(inMemoryDocuments.get(i).getMimeType(), lazyDocument.getMimeType());
+			assertArrayEquals(DSSUtils.toByteArray(entries.get(i)), DSSUtils.toByteArray(lazyDocument));
+		}
+		assertEquals(secureContainerHandler.extractEntryNames(inMemoryArchive), secureContainerHandler.extractEntryNames(fileArchive));
+
+		// not a file : extracted into memory
+		List<DSSDocument> documents = secureContainerHandler.extractContainerContent(inMemoryArchive);
+		assertEquals(entries.size(), documents.size());
+		assertTrue(documents.get(0) instanceof InMemoryDocument);
+	}
+
+	@Test
+	public void lazyExtractionZipBombTest() throws IOException {
+		File file = temporaryFolder.resolve("bomb.zip").toFile();
+		try (OutputStream os = new FileOutputStream(file)) {
+			new SecureContainerHandler().createZipArchive(
+					Arrays.asList(new InMemoryDocument(new byte[10000000], "zeros.bin")), null, null, os);
+		}
+
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		secureContainerHandler.setExtractFileArchivesLazily(true);
+		Exception exception = assertThrows(IllegalInputException.class,
+				() -> secureContainerHandler.extractContainerContent(new FileDocument(file)));
+		assertEquals("Zip Bomb detected in the ZIP container. Validation is interrupted.", exception.getMessage());
+
+		secureContainerHandler.setMaxCompressionRatio(10000);
+		List<DSSDocument> documents = secureContainerHandler.extractContainerContent(new FileDocument(file));
+		assertEquals(1, documents.size());
+		assertEquals(10000000, DSSUtils.getFileByteSize(documents.get(0)));
+	}
+
+	@Test
+	public void lazyExtractionWrongDeclaredSizeTest() throws IOException {
+		File file = temporaryFolder.resolve("container.zip").toFile();
+		try (OutputStream os = new FileOutputStream(file)) {
+			new SecureContainerHandler().createZipArchive(
+					Arrays.asList(new InMemoryDocument(new byte[10000], "zeros.bin")), null, null, os);
+		}
+		declareUncompressedSize(file, 100);
+
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		secureContainerHandler.setExtractFileArchivesLazily(true);
+		List<DSSDocument> documents = secureContainerHandler.extractContainerContent(new FileDocument(file));
+		assertEquals(1, documents.size());
+		assertEquals(100, ((ZipArchiveEntryDocument) documents.get(0)).getSize());
+
+		Exception exception = assertThrows(IllegalInputException.class, () -> {
+			try (InputStream is = documents.get(0).openStream()) {
+				DSSUtils.toByteArray(is);
+			}
+		});
+		assertEquals("Zip Bomb detected in the ZIP container. Validation is interrupted.", exception.getMessage());
+	}
+
+	@Test
+	public void rawCopyTest() throws IOException {
+		File file = temporaryFolder.resolve("container.zip").toFile();
+		try (OutputStream os = new FileOutputStream(file)) {
+			new SecureContainerHandler().createZipArchive(entries, new Date(0), "comment", os);
+		}
+
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		secureContainerHandler.setExtractFileArchivesLazily(true);
+		List<DSSDocument> documents = new ArrayList<>(secureContainerHandler.extractContainerContent(new FileDocument(file)));
+		DSSDocument replacedDocument = new InMemoryDocument("Bye World!".getBytes(StandardCharsets.UTF_8), "hello.txt");
+		documents.set(1, replacedDocument);
+		DSSDocument newDocument = new InMemoryDocument("<signature/>".getBytes(StandardCharsets.UTF_8), "META-INF/signatures.xml");
+		documents.add(newDocument);
+
+		Date creationTime = new Date();
+		File newFile = temporaryFolder.resolve("new-container.zip").toFile();
+		try (OutputStream os = new FileOutputStream(newFile)) {
+			secureContainerHandler.createZipArchive(documents, creationTime, "new comment", os);
+		}
+
+		List<DSSDocument> expectedDocuments = Arrays.asList(entries.get(0), replacedDocument, entries.get(2), entries.get(3), newDocument);
+		try (ZipFile originalZipFile = new ZipFile(file); ZipFile newZipFile = new ZipFile(newFile)) {
+			assertEquals("new comment", newZipFile.getComment());
+			List<? extends ZipEntry> newEntries = Collections.list(newZipFile.entries());
+			assertEquals(expectedDocuments.size(), newEntries.size());
+			for (int i = 0; i < expectedDocuments.size(); i++) {
+				ZipEntry newEntry = newEntries.get(i);
+				assertEquals(expectedDocuments.get(i).getName(), newEntry.getName());
+				try (InputStream is = newZipFile.getInputStream(newEntry)) {
+					assertArrayEquals(DSSUtils.toByteArray(expectedDocuments.get(i)), DSSUtils.toByteArray(is));
+				}
+
+				ZipEntry originalEntry = originalZipFile.getEntry(newEntry.getName());
+				if (ZipArchiveRawWriter.isRawCopyPossible(documents.get(i))) {
+					// copied entries keep their compressed data and modification time
+					assertEquals(originalEntry.getCompressedSize(), newEntry.getCompressedSize());
+					assertEquals(originalEntry.getCrc(), newEntry.getCrc());
+					assertEquals(originalEntry.getTime(), newEntry.getTime());
+				} else {
+					assertNotEquals(new Date(0).getTime(), newEntry.getTime());
+				}
+			}
+			assertEquals(ZipEntry.STORED, newZipFile.getEntry(ASiCUtils.MIME_TYPE).getMethod());
+		}
+
+		// sequential reading
+		List<DSSDocument> extractedDocuments = new SecureContainerHandler().extractContainerContent(new FileDocument(newFile));
+		assertEquals(expectedDocuments.size(), extractedDocuments.size());
+		for (int i = 0; i < expectedDocuments.size(); i++) {
+			assertEquals(expectedDocuments.get(i).getName(), extractedDocuments.get(i).getName());
+			assertArrayEquals(DSSUtils.toByteArray(expectedDocuments.get(i)), DSSUtils.toByteArray(extractedDocuments.get(i)));
+		}
+
+		// duplicate entries are not allowed
+		documents.add(new InMemoryDocument(new byte[] { 1 }, "random.bin"));
+		Exception exception = assertThrows(DSSException.class,
+				() -> secureContainerHandler.createZipArchive(documents, creationTime, null, new ByteArrayOutputStream()));
+		assertEquals("Unable to create an ASiC container. Reason : duplicate entry: random.bin", exception.getMessage());
+	}
+
+	private void declareUncompressedSize(File file, int size) throws IOException {
+		byte[] content = DSSUtils.toByteArray(new FileDocument(file));
+		// the uncompressed size of the central directory file header is located at the offset 24
+		for (int i = content.length - 4; i >= 0; i--) {
+			if (content[i] == 0x50 && content[i + 1] == 0x4b && content[i + 2] == 0x01 && content[i + 3] == 0x02) {
+				try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+					raf.seek(i + 24);
+					raf.write(new byte[] { (byte) size, (byte) (size >>> 8), (byte) (size >>> 16), (byte) (size >>> 24) });
+				}
+				return;
+			}
+		}
+	}
+
+}
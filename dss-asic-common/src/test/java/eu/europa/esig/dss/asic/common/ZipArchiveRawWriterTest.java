@@ -0,0 +1,142 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.asic.common;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ZipArchiveRawWriterTest {
+
+	private static final long BIG_SIZE = 5L * 1024 * 1024 * 1024;
+
+	private static final byte[] BIG_DATA = new byte[16];
+
+	private static final byte[] HELLO_DATA = "Hello World!".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	Path temporaryFolder;
+
+	/**
+	 * The layout written by java.util.zip.ZipOutputStream for a deflated entry of 4GB or more:
+	 * a data descriptor with 8-byte sizes, without a ZIP64 extra field in the local file header
+	 */
+	@Test
+	public void zip64DataDescriptorWithoutLocalExtraFieldTest() throws IOException {
+		File source = temporaryFolder.resolve("source.zip").toFile();
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+
+		// local record of the big entry, with a ZIP64 data descriptor
+		byte[] bigName = "big.bin".getBytes(StandardCharsets.UTF_8);
+		archive.write(littleEndian(30).putInt(0x04034b50).putShort((short) 45).putShort((short) 0x0808)
+				.putShort((short) 8).putShort((short) 0).putShort((short) 0x21).putInt(0).putInt(0).putInt(0)
+				.putShort((short) bigName.length).putShort((short) 0).array());
+		archive.write(bigName);
+		archive.write(BIG_DATA);
+		archive.write(littleEndian(24).putInt(0x08074b50).putInt(0).putLong(BIG_DATA.length).putLong(BIG_SIZE).array());
+
+		// local record of a stored entry
+		long helloOffset = archive.size();
+		byte[] helloName = "hello.txt".getBytes(StandardCharsets.UTF_8);
+		CRC32 crc = new CRC32();
+		crc.update(HELLO_DATA);
+		archive.write(littleEndian(30).putInt(0x04034b50).putShort((short) 10).putShort((short) 0x0800)
+				.putShort((short) 0).putShort((short) 0).putShort((short) 0x21).putInt((int) crc.getValue())
+				.putInt(HELLO_DATA.length).putInt(HELLO_DATA.length)
+				.putShort((short) helloName.length).putShort((short) 0).array());
+		archive.write(helloName);
+		archive.write(HELLO_DATA);
+		long localRecordsLength = archive.size();
+
+		// central directory, the sizes of the big entry are defined in a ZIP64 extra field
+		archive.write(littleEndian(46).putInt(0x02014b50).putShort((short) 45).putShort((short) 45)
+				.putShort((short) 0x0808).putShort((short) 8).putShort((short) 0).putShort((short) 0x21).putInt(0)
+				.putInt(0xFFFFFFFF).putInt(0xFFFFFFFF).putShort((short) bigName.length).putShort((short) 20)
+				.putShort((short) 0).putShort((short) 0).putShort((short) 0).putInt(0).putInt(0).array());
+		archive.write(bigName);
+		archive.write(littleEndian(20).putShort((short) 1).putShort((short) 16).putLong(BIG_SIZE).putLong(BIG_DATA.length).array());
+		archive.write(littleEndian(46).putInt(0x02014b50).putShort((short) 10).putShort((short) 10)
+				.putShort((short) 0x0800).putShort((short) 0).putShort((short) 0).putShort((short) 0x21)
+				.putInt((int) crc.getValue()).putInt(HELLO_DATA.length).putInt(HELLO_DATA.length)
+				.putShort((short) helloName.length).putShort((short) 0).putShort((short) 0).putShort((short) 0)
+				.putShort((short) 0).putInt(0).putInt((int) helloOffset).array());
+		archive.write(helloName);
+		long centralDirectorySize = archive.size() - localRecordsLength;
+		archive.write(littleEndian(22).putInt(0x06054b50).putShort((short) 0).putShort((short) 0)
+				.putShort((short) 2).putShort((short) 2).putInt((int) centralDirectorySize)
+				.putInt((int) localRecordsLength).putShort((short) 0).array());
+		byte[] sourceBinaries = archive.toByteArray();
+		Files.write(source.toPath(), sourceBinaries);
+
+		List<DSSDocument> entries = Arrays.asList(new ZipArchiveEntryDocument(source, "big.bin", BIG_SIZE),
+				new ZipArchiveEntryDocument(source, "hello.txt", HELLO_DATA.length));
+		File result = temporaryFolder.resolve("result.zip").toFile();
+		try (OutputStream os = Files.newOutputStream(result.toPath())) {
+			new ZipArchiveRawWriter(entries, null).write(os, null);
+		}
+
+		// the local records are copied entirely, including the 24 bytes of the data descriptor
+		byte[] resultBinaries = Files.readAllBytes(result.toPath());
+		assertArrayEquals(Arrays.copyOf(sourceBinaries, (int) localRecordsLength),
+				Arrays.copyOf(resultBinaries, (int) localRecordsLength));
+
+		try (ZipFile zipFile = new ZipFile(result)) {
+			ZipEntry bigEntry = zipFile.getEntry("big.bin");
+			assertEquals(BIG_SIZE, bigEntry.getSize());
+			assertEquals(BIG_DATA.length, bigEntry.getCompressedSize());
+
+			ZipEntry helloEntry = zipFile.getEntry("hello.txt");
+			try (InputStream is = zipFile.getInputStream(helloEntry)) {
+				ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				byte[] buffer = new byte[64];
+				int count;
+				while ((count = is.read(buffer)) > 0) {
+					baos.write(buffer, 0, count);
+				}
+				assertArrayEquals(HELLO_DATA, baos.toByteArray());
+			}
+		}
+	}
+
+	private static ByteBuffer littleEndian(int length) {
+		return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+}
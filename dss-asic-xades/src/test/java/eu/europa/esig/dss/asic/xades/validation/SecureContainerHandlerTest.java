@@ -99,6 +99,28 @@ public class SecureContainerHandlerTest extends PKIFactoryAccess {
 		assertEquals("Too many files detected. Cannot extract ASiC content from the file.", exception.getMessage());
 	}
 
+	@Test
+	public void testLazyExtraction() {
+		SecureContainerHandler secureContainerHandler = new SecureContainerHandler();
+		secureContainerHandler.setExtractFileArchivesLazily(true);
+		ZipUtils.getInstance().setZipContainerHandler(secureContainerHandler);
+
+		DocumentValidator validator = getValidator(smallerDocument);
+		Reports reports = validator.validateDocument();
+		assertNotNull(reports);
+		assertEquals(1, reports.getSimpleReport().getSignaturesCount());
+
+		secureContainerHandler.setMaxCompressionRatio(50);
+
+		Exception exception = assertThrows(IllegalInputException.class, () -> getValidator(biggerDocument));
+		assertEquals("Zip Bomb detected in the ZIP container. Validation is interrupted.", exception.getMessage());
+
+		secureContainerHandler.setMaxAllowedFilesAmount(1);
+
+		exception = assertThrows(IllegalInputException.class, () -> getValidator(smallerDocument));
+		assertEquals("Too many files detected. Cannot extract ASiC content from the file.", exception.getMessage());
+	}
+
 	private DocumentValidator getValidator(DSSDocument documentToValidate) {
 		ASiCContainerWithXAdESValidator validator = new ASiCContainerWithXAdESValidator(documentToValidate);
 		validator.setCertificateVerifier(getOfflineCertificateVerifier());
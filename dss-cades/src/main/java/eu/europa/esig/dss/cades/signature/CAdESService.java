@@ -43,6 +43,7 @@ import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.timestamp.TimestampToken;
+import org.bouncycastle.cms.CMSAbsentContent;
 import org.bouncycastle.cms.CMSException;
 import org.bouncycastle.cms.CMSSignedData;
 import org.bouncycastle.cms.CMSSignedDataGenerator;
@@ -55,8 +56,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -108,9 +111,12 @@ public class CAdESService extends
 
 		final SignatureAlgorithm signatureAlgorithm = parameters.getSignatureAlgorithm();
 		final CustomContentSigner customContentSigner = new CustomContentSigner(signatureAlgorithm.getJCEId());
-		final DigestCalculatorProvider dcp = CMSUtils.getDigestCalculatorProvider(toSignDocument, parameters.getReferenceDigestAlgorithm());
 
 		final CMSSignedData originalCmsSignedData = getCmsSignedData(toSignDocument, parameters);
+		// the signed attributes of a new enveloping signature do not depend on the content encapsulation
+		final boolean streaming = isStreamingSignaturePossible(toSignDocument, parameters, originalCmsSignedData);
+		final DigestCalculatorProvider dcp = streaming ? getStreamingDigestCalculatorProvider(toSignDocument, parameters) :
+				CMSUtils.getDigestCalculatorProvider(toSignDocument, parameters.getReferenceDigestAlgorithm());
 
 		final CMSSignedDataBuilder cmsSignedDataBuilder = new CMSSignedDataBuilder(certificateVerifier);
 		final DSSDocument contentToSign = getContentToSign(toSignDocument, parameters, originalCmsSignedData);
@@ -120,9 +126,13 @@ public class CAdESService extends
 		final CMSSignedDataGenerator cmsSignedDataGenerator = cmsSignedDataBuilder.createCMSSignedDataGenerator(parameters, customContentSigner,
 				signerInfoGeneratorBuilder, originalCmsSignedData);
 
-		final CMSTypedData content = CMSUtils.getContentToBeSigned(contentToSign);
-		final boolean encapsulate = !SignaturePackaging.DETACHED.equals(packaging);
-		CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, content, encapsulate);
+		if (streaming) {
+			CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, new CMSAbsentContent(), false);
+		} else {
+			final CMSTypedData content = CMSUtils.getContentToBeSigned(contentToSign);
+			final boolean encapsulate = !SignaturePackaging.DETACHED.equals(packaging);
+			CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, content, encapsulate);
+		}
 		final byte[] bytes = customContentSigner.getOutputStream().toByteArray();
 		return new ToBeSigned(bytes);
 	}
@@ -175,6 +185,67 @@ public class CAdESService extends
 		return signature;
 	}
 
+	/**
+	 * Creates an enveloping CAdES signature of the {@code toSignDocument} and writes the obtained CMS
+	 * SignedData directly into the {@code outputStream} (e.g. a {@code FileOutputStream}).
+	 *
+	 * The signed content is not loaded into memory: the message-digest is computed with a streaming read of
+	 * the document, the signature is created (and extended up to the requested level) in a detached form, and
+	 * the content is encapsulated while the CMS SignedData is written. The message-digest is computed again
+	 * while the content is written and compared with the signed one.
+	 *
+	 * The written binaries are the same as the ones of the document returned by
+	 * {@code signDocument(toSignDocument, parameters, signatureValue)} for a new enveloping signature.
+	 *
+	 * NOTE: the {@code toSignDocument} is always handled as the content to be signed (a parallel signature
+	 * cannot be added to an existing CMS SignedData with this method)
+	 *
+	 * @param toSignDocument {@link DSSDocument} to be signed
+	 * @param parameters {@link CAdESSignatureParameters} with an ENVELOPING packaging
+	 * @param signatureValue {@link SignatureValue} obtained from the {@code getDataToSign} result
+	 * @param outputStream {@link OutputStream} to write the enveloping signature into
+	 */
+	public void signDocument(final DSSDocument toSignDocument, final CAdESSignatureParameters parameters,
+							 SignatureValue signatureValue, final OutputStream outputStream) {
+		Objects.requireNonNull(toSignDocument, "toSignDocument cannot be null!");
+		Objects.requireNonNull(parameters, "SignatureParameters cannot be null!");
+		Objects.requireNonNull(signatureValue, "SignatureValue cannot be null!");
+		Objects.requireNonNull(outputStream, "OutputStream cannot be null!");
+
+		assertSigningCertificateValid(parameters);
+		if (!isStreamingSignaturePossible(toSignDocument, parameters, null)) {
+			throw new IllegalArgumentException("Only a new ENVELOPING signature without detached contents " +
+					"can be written into an OutputStream!");
+		}
+		final SignatureAlgorithm signatureAlgorithm = parameters.getSignatureAlgorithm();
+		signatureValue = ensureSignatureValue(signatureAlgorithm, signatureValue);
+
+		final CustomContentSigner customContentSigner = new CustomContentSigner(signatureAlgorithm.getJCEId(), signatureValue.getValue());
+		final DigestCalculatorProvider dcp = getStreamingDigestCalculatorProvider(toSignDocument, parameters);
+
+		final CMSSignedDataBuilder cmsSignedDataBuilder = new CMSSignedDataBuilder(certificateVerifier);
+		final SignerInfoGeneratorBuilder signerInfoGeneratorBuilder = cmsSignedDataBuilder.
+				getSignerInfoGeneratorBuilder(dcp, parameters, true, toSignDocument);
+
+		final CMSSignedDataGenerator cmsSignedDataGenerator = cmsSignedDataBuilder.createCMSSignedDataGenerator(parameters, customContentSigner,
+				signerInfoGeneratorBuilder, null);
+
+		CMSSignedData cmsSignedData = CMSUtils.generateCMSSignedData(cmsSignedDataGenerator, new CMSAbsentContent(), false);
+		if (!SignatureLevel.CAdES_BASELINE_B.equals(parameters.getSignatureLevel())) {
+			// the detached signature is extended against the original document
+			parameters.getContext().setDetachedContents(Collections.singletonList(toSignDocument));
+			final CAdESSignatureExtension extension = getExtensionProfile(parameters);
+			cmsSignedData = extension.extendCMSSignatures(cmsSignedData, parameters);
+		}
+
+		try {
+			new CMSEnvelopingSignatureWriter(cmsSignedData).write(toSignDocument, outputStream);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the enveloping signature : %s", e.getMessage()), e);
+		}
+		parameters.reinit();
+	}
+
 	@Override
 	public DSSDocument extendDocument(final DSSDocument toExtendDocument, final CAdESSignatureParameters parameters) {
 		Objects.requireNonNull(toExtendDocument, "toExtendDocument is not defined!");
@@ -299,6 +370,35 @@ public class CAdESService extends
 		return cmsSignedData;
 	}
 
+	/**
+	 * Checks if a new enveloping signature can be created without loading the content into memory
+	 *
+	 * @param toSignDocument {@link DSSDocument} to be signed
+	 * @param parameters {@link CAdESSignatureParameters}
+	 * @param originalCmsSignedData {@link CMSSignedData} extracted from the {@code toSignDocument}, if any
+	 * @return TRUE if the signature can be created in a streaming way, FALSE otherwise
+	 */
+	private boolean isStreamingSignaturePossible(final DSSDocument toSignDocument, final CAdESSignatureParameters parameters,
+												 final CMSSignedData originalCmsSignedData) {
+		return SignaturePackaging.ENVELOPING == parameters.getSignaturePackaging() && originalCmsSignedData == null
+				&& Utils.isCollectionEmpty(parameters.getDetachedContents()) && !(toSignDocument instanceof DigestDocument);
+	}
+
+	/**
+	 * Returns a {@code DigestCalculatorProvider} computing the message-digest with a streaming read of the document
+	 *
+	 * @param toSignDocument {@link DSSDocument} to be signed
+	 * @param parameters {@link CAdESSignatureParameters}
+	 * @return {@link DigestCalculatorProvider}
+	 */
+	private DigestCalculatorProvider getStreamingDigestCalculatorProvider(final DSSDocument toSignDocument,
+																		  final CAdESSignatureParameters parameters) {
+		if (parameters.getReferenceDigestAlgorithm() != null) {
+			return CMSUtils.getDigestCalculatorProvider(toSignDocument, parameters.getReferenceDigestAlgorithm());
+		}
+		return new DocumentDigestCalculatorProvider(toSignDocument);
+	}
+
 	/**
 	 * @param packaging
 	 *            {@code SignaturePackaging} to be checked
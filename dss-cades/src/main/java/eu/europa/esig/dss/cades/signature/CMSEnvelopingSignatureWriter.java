@@ -0,0 +1,246 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import eu.europa.esig.dss.cades.CMSUtils;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.cms.Attribute;
+import org.bouncycastle.asn1.cms.CMSAttributes;
+import org.bouncycastle.asn1.cms.CMSObjectIdentifiers;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.cms.SignerInformation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes an enveloping CMS SignedData from a detached one, by encapsulating the signed content read
+ * from a {@code DSSDocument}.
+ *
+ * The content is copied from the document into the {@code OutputStream} without being loaded into memory.
+ * The message-digest of the content is computed during the copy and compared with the signed one.
+ * The output is DER encoded, as the one of {@code CMSSignedDocument}.
+ */
+class CMSEnvelopingSignatureWriter {
+
+	/** The DER tag of a SEQUENCE */
+	private static final int SEQUENCE_TAG = 0x30;
+
+	/** The DER tag of an OCTET STRING */
+	private static final int OCTET_STRING_TAG = 0x04;
+
+	/** The DER tag of an explicit context specific [0] element */
+	private static final int EXPLICIT_TAG_0 = 0xA0;
+
+	/** The position of the encapContentInfo within SignedData */
+	private static final int ENCAP_CONTENT_INFO_INDEX = 2;
+
+	/** The size of the buffer used to copy the content */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** The detached CMS SignedData */
+	private final CMSSignedData cmsSignedData;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param cmsSignedData {@link CMSSignedData} detached signature to encapsulate the content into
+	 */
+	CMSEnvelopingSignatureWriter(final CMSSignedData cmsSignedData) {
+		this.cmsSignedData = cmsSignedData;
+	}
+
+	/**
+	 * Writes the enveloping CMS SignedData with the encapsulated {@code content}
+	 *
+	 * @param content {@link DSSDocument} signed content to encapsulate
+	 * @param outputStream {@link OutputStream} to write the CMS SignedData into
+	 * @throws IOException if an exception occurs
+	 */
+	void write(final DSSDocument content, final OutputStream outputStream) throws IOException {
+		// parse the encoded binaries in order to obtain the same DER encoding as CMSSignedDocument
+		final ASN1Sequence contentInfo = ASN1Sequence.getInstance(DSSASN1Utils.toASN1Primitive(cmsSignedData.getEncoded()));
+		final ASN1Sequence signedDataSequence = ASN1Sequence.getInstance(
+				ASN1TaggedObject.getInstance(contentInfo.getObjectAt(1)).getObject());
+		final ASN1Sequence encapContentInfo = ASN1Sequence.getInstance(signedDataSequence.getObjectAt(ENCAP_CONTENT_INFO_INDEX));
+		if (encapContentInfo.size() != 1) {
+			throw new DSSException("The CMS SignedData to write shall be detached!");
+		}
+		final List<MessageDigestCheck> messageDigestChecks = getMessageDigestChecks();
+
+		final long contentLength = getContentLength(content);
+		final byte[] octetStringHeader = getHeader(OCTET_STRING_TAG, contentLength);
+		final byte[] eContentHeader = getHeader(EXPLICIT_TAG_0, octetStringHeader.length + contentLength);
+		final byte[] eContentType = encapContentInfo.getObjectAt(0).toASN1Primitive().getEncoded(ASN1Encoding.DER);
+		final long encapContentInfoLength = eContentType.length + eContentHeader.length + octetStringHeader.length + contentLength;
+		final byte[] encapContentInfoHeader = getHeader(SEQUENCE_TAG, encapContentInfoLength);
+
+		final List<byte[]> signedDataElements = new ArrayList<>();
+		long signedDataLength = encapContentInfoHeader.length + encapContentInfoLength;
+		for (int i = 0; i < signedDataSequence.size(); i++) {
+			if (i != ENCAP_CONTENT_INFO_INDEX) {
+				final byte[] element = signedDataSequence.getObjectAt(i).toASN1Primitive().getEncoded(ASN1Encoding.DER);
+				signedDataElements.add(element);
+				signedDataLength += element.length;
+			}
+		}
+		final byte[] signedDataHeader = getHeader(SEQUENCE_TAG, signedDataLength);
+		final byte[] contentHeader = getHeader(EXPLICIT_TAG_0, signedDataHeader.length + signedDataLength);
+		final byte[] contentType = CMSObjectIdentifiers.signedData.getEncoded(ASN1Encoding.DER);
+		final long contentInfoLength = contentType.length + contentHeader.length + signedDataHeader.length + signedDataLength;
+
+		outputStream.write(getHeader(SEQUENCE_TAG, contentInfoLength));
+		outputStream.write(contentType);
+		outputStream.write(contentHeader);
+		outputStream.write(signedDataHeader);
+		for (int i = 0; i < signedDataElements.size(); i++) {
+			if (i == ENCAP_CONTENT_INFO_INDEX) {
+				outputStream.write(encapContentInfoHeader);
+				outputStream.write(eContentType);
+				outputStream.write(eContentHeader);
+				outputStream.write(octetStringHeader);
+				copyContent(content, contentLength, messageDigestChecks, outputStream);
+			}
+			outputStream.write(signedDataElements.get(i));
+		}
+	}
+
+	private List<MessageDigestCheck> getMessageDigestChecks() {
+		final List<MessageDigestCheck> messageDigestChecks = new ArrayList<>();
+		for (SignerInformation signerInformation : cmsSignedData.getSignerInfos().getSigners()) {
+			final Attribute messageDigest = CMSUtils.getSignedAttribute(signerInformation, CMSAttributes.messageDigest);
+			if (messageDigest == null) {
+				throw new DSSException("The message-digest signed attribute is not found!");
+			}
+			final ASN1Encodable digestValue = messageDigest.getAttrValues().getObjectAt(0);
+			final DigestAlgorithm digestAlgorithm = DigestAlgorithm.forOID(signerInformation.getDigestAlgOID());
+			messageDigestChecks.add(new MessageDigestCheck(digestAlgorithm, ASN1OctetString.getInstance(digestValue).getOctets()));
+		}
+		return messageDigestChecks;
+	}
+
+	private long getContentLength(final DSSDocument content) {
+		if (content instanceof FileDocument) {
+			return ((FileDocument) content).getFile().length();
+		}
+		return DSSUtils.getFileByteSize(content);
+	}
+
+	private void copyContent(final DSSDocument content, final long contentLength,
+							 final List<MessageDigestCheck> messageDigestChecks, final OutputStream outputStream) throws IOException {
+		long copied = 0;
+		try (InputStream is = content.openStream()) {
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			int count;
+			while ((count = is.read(buffer)) > 0) {
+				outputStream.write(buffer, 0, count);
+				for (MessageDigestCheck messageDigestCheck : messageDigestChecks) {
+					messageDigestCheck.update(buffer, count);
+				}
+				copied += count;
+			}
+		}
+		if (copied != contentLength) {
+			throw new DSSException(String.format("The content length has changed during the signature creation " +
+					"(expected %s bytes, read %s bytes)!", contentLength, copied));
+		}
+		for (MessageDigestCheck messageDigestCheck : messageDigestChecks) {
+			messageDigestCheck.check();
+		}
+	}
+
+	/**
+	 * Returns a DER header (tag and definite length) of an element
+	 *
+	 * @param tag the tag of the element
+	 * @param length the length of the element value
+	 * @return the DER encoded header
+	 */
+	static byte[] getHeader(int tag, long length) {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		baos.write(tag);
+		if (length < 128) {
+			baos.write((int) length);
+		} else {
+			int size = 0;
+			for (long value = length; value != 0; value >>>= 8) {
+				size++;
+			}
+			baos.write(0x80 | size);
+			for (int i = size - 1; i >= 0; i--) {
+				baos.write((int) (length >>> (i * 8)));
+			}
+		}
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Computes the digest of the copied content and compares it with the signed message-digest
+	 */
+	private static class MessageDigestCheck {
+
+		private final DigestAlgorithm digestAlgorithm;
+
+		private final byte[] expectedDigest;
+
+		private final MessageDigest messageDigest;
+
+		private MessageDigestCheck(DigestAlgorithm digestAlgorithm, byte[] expectedDigest) {
+			this.digestAlgorithm = digestAlgorithm;
+			this.expectedDigest = expectedDigest;
+			try {
+				this.messageDigest = digestAlgorithm.getMessageDigest();
+			} catch (NoSuchAlgorithmException e) {
+				throw new DSSException(String.format("Unable to instantiate a MessageDigest for '%s'", digestAlgorithm), e);
+			}
+		}
+
+		private void update(byte[] buffer, int count) {
+			messageDigest.update(buffer, 0, count);
+		}
+
+		private void check() {
+			if (!Arrays.equals(expectedDigest, messageDigest.digest())) {
+				throw new DSSException(String.format("The %s message-digest of the encapsulated content does not match " +
+						"the signed one! The content has been modified during the signature creation.", digestAlgorithm));
+			}
+		}
+
+	}
+
+}
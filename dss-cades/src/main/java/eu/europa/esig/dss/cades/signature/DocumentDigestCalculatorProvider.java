@@ -0,0 +1,94 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.utils.Utils;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.operator.DigestCalculator;
+import org.bouncycastle.operator.DigestCalculatorProvider;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.bc.BcDigestCalculatorProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Represents a {@code DigestCalculatorProvider} computing the message-digest with a streaming read of a document,
+ * so that the content does not need to be provided to the CMS generator (e.g. {@code CMSAbsentContent})
+ */
+public class DocumentDigestCalculatorProvider implements DigestCalculatorProvider {
+
+	/** The provider used to compute the digests */
+	private final DigestCalculatorProvider digestCalculatorProvider = new BcDigestCalculatorProvider();
+
+	/** The document to compute the message-digest for */
+	private final DSSDocument document;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param document {@link DSSDocument} to compute the message-digest for
+	 */
+	public DocumentDigestCalculatorProvider(DSSDocument document) {
+		this.document = document;
+	}
+
+	@Override
+	public DigestCalculator get(final AlgorithmIdentifier digestAlgorithmIdentifier) throws OperatorCreationException {
+		final DigestCalculator digestCalculator = digestCalculatorProvider.get(digestAlgorithmIdentifier);
+		try (InputStream is = document.openStream(); OutputStream os = digestCalculator.getOutputStream()) {
+			Utils.copy(is, os);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to compute the message-digest of the document : %s", e.getMessage()), e);
+		}
+		final byte[] digest = digestCalculator.getDigest();
+
+		return new DigestCalculator() {
+
+			@Override
+			public OutputStream getOutputStream() {
+				OutputStream os = new ByteArrayOutputStream();
+				try {
+					Utils.write(getDigest(), os);
+				} catch (IOException e) {
+					throw new DSSException("Unable to get outputstream", e);
+				}
+				return os;
+			}
+
+			@Override
+			public byte[] getDigest() {
+				return digest;
+			}
+
+			@Override
+			public AlgorithmIdentifier getAlgorithmIdentifier() {
+				return digestCalculator.getAlgorithmIdentifier();
+			}
+
+		};
+	}
+
+}
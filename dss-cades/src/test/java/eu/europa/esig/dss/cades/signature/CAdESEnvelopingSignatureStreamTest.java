@@ -0,0 +1,155 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.cades.signature;
+
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CAdESEnvelopingSignatureStreamTest extends PKIFactoryAccess {
+
+	@TempDir
+	Path temporaryFolder;
+
+	private DSSDocument documentToSign;
+	private CAdESService service;
+
+	@BeforeEach
+	public void init() throws IOException {
+		byte[] content = new byte[1024 * 1024];
+		new Random(42).nextBytes(content);
+		File file = temporaryFolder.resolve("content.bin").toFile();
+		try (OutputStream os = new FileOutputStream(file)) {
+			os.write(content);
+		}
+		documentToSign = new FileDocument(file);
+
+		service = new CAdESService(getCompleteCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = SignatureLevel.class, names = { "CAdES_BASELINE_B", "CAdES_BASELINE_T", "CAdES_BASELINE_LT", "CAdES_BASELINE_LTA" })
+	public void streamTest(SignatureLevel signatureLevel) throws IOException {
+		CAdESSignatureParameters signatureParameters = getSignatureParameters(signatureLevel);
+
+		ToBeSigned dataToSign = service.getDataToSign(documentToSign, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+
+		File signatureFile = temporaryFolder.resolve("signature.p7m").toFile();
+		try (OutputStream os = new FileOutputStream(signatureFile)) {
+			service.signDocument(documentToSign, signatureParameters, signatureValue, os);
+		}
+		DSSDocument signedDocument = new FileDocument(signatureFile);
+
+		if (SignatureLevel.CAdES_BASELINE_B.equals(signatureLevel)) {
+			// a B-level signature does not contain any time-dependent data
+			DSSDocument inMemorySignedDocument = service.signDocument(documentToSign, signatureParameters, signatureValue);
+			assertArrayEquals(DSSUtils.toByteArray(inMemorySignedDocument), DSSUtils.toByteArray(signedDocument));
+		}
+
+		validate(signedDocument, signatureLevel);
+	}
+
+	@Test
+	public void detachedNotSupportedTest() {
+		CAdESSignatureParameters signatureParameters = getSignatureParameters(SignatureLevel.CAdES_BASELINE_B);
+		signatureParameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+
+		ToBeSigned dataToSign = service.getDataToSign(documentToSign, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+
+		Exception exception = assertThrows(IllegalArgumentException.class,
+				() -> service.signDocument(documentToSign, signatureParameters, signatureValue, new ByteArrayOutputStream()));
+		assertEquals("Only a new ENVELOPING signature without detached contents can be written into an OutputStream!", exception.getMessage());
+
+		exception = assertThrows(NullPointerException.class,
+				() -> service.signDocument(documentToSign, signatureParameters, signatureValue, null));
+		assertEquals("OutputStream cannot be null!", exception.getMessage());
+	}
+
+	private CAdESSignatureParameters getSignatureParameters(SignatureLevel signatureLevel) {
+		CAdESSignatureParameters signatureParameters = new CAdESSignatureParameters();
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		return signatureParameters;
+	}
+
+	private void validate(DSSDocument signedDocument, SignatureLevel signatureLevel) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getCompleteCertificateVerifier());
+		Reports reports = validator.validateDocument();
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(Indication.TOTAL_PASSED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		assertEquals(signatureLevel, diagnosticData.getSignatureFormat(diagnosticData.getFirstSignatureId()));
+		List<TimestampWrapper> timestampList = diagnosticData.getTimestampList();
+		for (TimestampWrapper timestamp : timestampList) {
+			assertTrue(timestamp.isSignatureValid());
+			assertTrue(timestamp.isMessageImprintDataFound());
+			assertTrue(timestamp.isMessageImprintDataIntact());
+		}
+
+		List<DSSDocument> originalDocuments = validator.getOriginalDocuments(diagnosticData.getFirstSignatureId());
+		assertEquals(1, originalDocuments.size());
+		assertArrayEquals(DSSUtils.toByteArray(documentToSign), DSSUtils.toByteArray(originalDocuments.get(0)));
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
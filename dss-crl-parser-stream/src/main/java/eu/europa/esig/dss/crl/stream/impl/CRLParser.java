@@ -46,6 +46,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.security.cert.X509CRLEntry;
+import java.util.Arrays;
 import java.util.Enumeration;
 
 /**
@@ -196,6 +197,110 @@ class CRLParser {
 		return null;
 	}
 
+	/**
+	 * This method parses the revokedCertificates sequence once and builds an index of the entries
+	 * by serial number, allowing subsequent lookups without scanning the CRL
+	 *
+	 * @param crlBinaries
+	 *            DER encoded CRL
+	 * @return {@link CRLSerialIndex}
+	 * @throws IOException if an exception occurs
+	 */
+	public CRLSerialIndex retrieveSerialIndex(byte[] crlBinaries) throws IOException {
+		ByteArrayInputStream is = new ByteArrayInputStream(crlBinaries);
+
+		// Skip CertificateList Sequence info
+		consumeTagIntro(is);
+
+		// Read TBSCertList Sequence
+		consumeTagIntro(is);
+
+		// Skip all before mandatory thisUpdate
+		int tag = -1;
+		int tagNo = BERTags.NULL;
+		int length = -1;
+		do {
+			tag = DERUtil.readTag(is);
+			tagNo = DERUtil.readTagNumber(is, tag);
+			length = DERUtil.readLength(is);
+			skip(is, length);
+		} while (!isDate(tagNo));
+
+		tag = DERUtil.readTag(is);
+		tagNo = DERUtil.readTagNumber(is, tag);
+		length = DERUtil.readLength(is);
+
+		// TBSCertList -> nextUpdate (optional)
+		if (isDate(tagNo)) {
+			skip(is, length);
+
+			tag = DERUtil.readTag(is);
+			tagNo = DERUtil.readTagNumber(is, tag);
+			length = DERUtil.readLength(is);
+		}
+
+		// TBSCertList -> revokedCertificates (optional)
+		if (tagNo != BERTags.SEQUENCE || length == 0) {
+			return CRLSerialIndex.EMPTY;
+		}
+		// If sequence of sequence -> revokedCertificates else CertificateList -> signatureAlgorithm
+		is.mark(10);
+		int intraTag = DERUtil.readTag(is);
+		int intraTagNo = DERUtil.readTagNumber(is, intraTag);
+		is.reset();
+		if (intraTagNo != BERTags.SEQUENCE) {
+			return CRLSerialIndex.EMPTY;
+		}
+
+		final int end = getPosition(crlBinaries, is) + length;
+
+		int size = 0;
+		// initial capacity estimated from the usual size of an entry, the arrays are extended if required
+		int capacity = Math.max(16, length / 64);
+		int[] serialHashes = new int[capacity];
+		int[] offsets = new int[capacity];
+		int[] lengths = new int[capacity];
+
+		int position = getPosition(crlBinaries, is);
+		while (position < end) {
+			tag = DERUtil.readTag(is);
+			tagNo = DERUtil.readTagNumber(is, tag);
+			length = DERUtil.readLength(is);
+			int entryEnd = getPosition(crlBinaries, is) + length;
+
+			if (tagNo == BERTags.SEQUENCE) {
+				int entryTag = DERUtil.readTag(is);
+				int entryTagNo = DERUtil.readTagNumber(is, entryTag);
+				int entryLength = DERUtil.readLength(is);
+
+				// SerialNumber
+				if (BERTags.INTEGER == entryTagNo) {
+					ASN1Integer asn1SerialNumber = rebuildASN1Integer(readNbBytes(is, entryLength));
+					if (size == capacity) {
+						capacity = capacity * 2;
+						serialHashes = Arrays.copyOf(serialHashes, capacity);
+						offsets = Arrays.copyOf(offsets, capacity);
+						lengths = Arrays.copyOf(lengths, capacity);
+					}
+					serialHashes[size] = CRLSerialIndex.hash(asn1SerialNumber.getValue());
+					offsets[size] = position;
+					lengths[size] = entryEnd - position;
+					size++;
+				}
+			} else {
+				LOG.debug("Should only contain SEQUENCEs : tagNo = {} (ignored)", tagNo);
+			}
+			skip(is, entryEnd - getPosition(crlBinaries, is));
+			position = entryEnd;
+		}
+
+		return CRLSerialIndex.build(serialHashes, offsets, lengths, size);
+	}
+
+	private int getPosition(byte[] crlBinaries, ByteArrayInputStream is) {
+		return crlBinaries.length - is.available();
+	}
+
 	/**
 	 * This method allows to retrieve common CRL information (thisUpdate, nextUpdate, signatureAlgorithm,
 	 * signatureValue, extensions,...). It voluntary doesn't parse the revokedCertificates sequence.
@@ -0,0 +1,138 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl.stream.impl;
+
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.x509.TBSCertList.CRLEntry;
+import org.bouncycastle.jce.provider.X509CRLEntryObject;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+import java.util.Arrays;
+
+/**
+ * Index of the revokedCertificates entries of a CRL, allowing to find an entry by the serial number
+ * in O(log n) without re-parsing the CRL.
+ *
+ * The index only contains primitive arrays : the hash of each serial number (sorted) and the position/length
+ * of the corresponding entry within the DER encoded CRL. The matching entries are parsed on demand.
+ */
+class CRLSerialIndex {
+
+	/** Empty index, used for CRLs without revoked certificates */
+	static final CRLSerialIndex EMPTY = new CRLSerialIndex(new int[0], new int[0], new int[0]);
+
+	/** Sorted hashes of the serial numbers */
+	private final int[] serialHashes;
+
+	/** Offsets of the entries within the DER encoded CRL (same order as serialHashes) */
+	private final int[] offsets;
+
+	/** Lengths of the entries (same order as serialHashes) */
+	private final int[] lengths;
+
+	private CRLSerialIndex(int[] serialHashes, int[] offsets, int[] lengths) {
+		this.serialHashes = serialHashes;
+		this.offsets = offsets;
+		this.lengths = lengths;
+	}
+
+	/**
+	 * Builds the index from unsorted arrays of the given size
+	 *
+	 * @param serialHashes hashes of the serial numbers
+	 * @param offsets offsets of the entries
+	 * @param lengths lengths of the entries
+	 * @param size number of entries
+	 * @return {@link CRLSerialIndex}
+	 */
+	static CRLSerialIndex build(int[] serialHashes, int[] offsets, int[] lengths, int size) {
+		if (size == 0) {
+			return EMPTY;
+		}
+		// sort the positions by hash, the hash being stored in the high bits
+		long[] sortable = new long[size];
+		for (int i = 0; i < size; i++) {
+			sortable[i] = ((long) serialHashes[i] << 32) | i;
+		}
+		Arrays.sort(sortable);
+
+		int[] sortedHashes = new int[size];
+		int[] sortedOffsets = new int[size];
+		int[] sortedLengths = new int[size];
+		for (int i = 0; i < size; i++) {
+			int position = (int) sortable[i];
+			sortedHashes[i] = serialHashes[position];
+			sortedOffsets[i] = offsets[position];
+			sortedLengths[i] = lengths[position];
+		}
+		return new CRLSerialIndex(sortedHashes, sortedOffsets, sortedLengths);
+	}
+
+	/**
+	 * Computes the hash of the serial number used by the index
+	 *
+	 * @param serialNumber {@link BigInteger}
+	 * @return hash
+	 */
+	static int hash(BigInteger serialNumber) {
+		return serialNumber.hashCode();
+	}
+
+	/**
+	 * Returns the number of indexed entries
+	 *
+	 * @return number of entries
+	 */
+	int size() {
+		return serialHashes.length;
+	}
+
+	/**
+	 * Returns the entry for the given serial number
+	 *
+	 * @param crlBinaries the DER encoded CRL the index has been built from
+	 * @param serialNumber {@link BigInteger} of the certificate
+	 * @return {@link X509CRLEntry} if found, null otherwise
+	 * @throws IOException if the entry cannot be parsed
+	 */
+	X509CRLEntry getRevocationInfo(byte[] crlBinaries, BigInteger serialNumber) throws IOException {
+		final int hash = hash(serialNumber);
+		int position = Arrays.binarySearch(serialHashes, hash);
+		if (position < 0) {
+			return null;
+		}
+		// go to the first entry with the same hash (collisions)
+		while (position > 0 && serialHashes[position - 1] == hash) {
+			position--;
+		}
+		for (; position < serialHashes.length && serialHashes[position] == hash; position++) {
+			byte[] entryBinaries = Arrays.copyOfRange(crlBinaries, offsets[position], offsets[position] + lengths[position]);
+			CRLEntry crlEntry = CRLEntry.getInstance(ASN1Primitive.fromByteArray(entryBinaries));
+			if (serialNumber.equals(crlEntry.getUserCertificate().getValue())) {
+				return new X509CRLEntryObject(crlEntry);
+			}
+		}
+		return null;
+	}
+
+}
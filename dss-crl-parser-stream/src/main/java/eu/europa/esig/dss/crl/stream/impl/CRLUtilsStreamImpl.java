@@ -48,10 +48,34 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CRLUtilsStreamImpl.class);
 
+	/**
+	 * Defines whether an index of the revoked serial numbers is built on the first lookup within a CRL
+	 */
+	private final boolean useSerialIndex;
+
+	/**
+	 * Default constructor, the revoked serial numbers are indexed
+	 */
+	public CRLUtilsStreamImpl() {
+		this(true);
+	}
+
+	/**
+	 * Constructor allowing to define whether the revoked serial numbers shall be indexed.
+	 * When enabled, the revokedCertificates sequence is parsed once per CRL on the first lookup
+	 * and the index is kept within the returned {@code CRLValidity}, so the next lookups do not re-read the CRL.
+	 * When disabled, the CRL is scanned on every lookup (lower memory usage).
+	 *
+	 * @param useSerialIndex whether the revoked serial numbers shall be indexed
+	 */
+	public CRLUtilsStreamImpl(boolean useSerialIndex) {
+		this.useSerialIndex = useSerialIndex;
+	}
+
 	@Override
 	public CRLValidity buildCRLValidity(CRLBinary crlBinary, CertificateToken issuerToken) throws IOException {
 		
-		final CRLValidity crlValidity = new CRLValidity(crlBinary);
+		final CRLValidity crlValidity = new StreamCRLValidity(crlBinary);
 		
 		CRLInfo crlInfos = getCrlInfo(crlValidity);
 		SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forOidAndParams(crlInfos.getCertificateListSignatureAlgorithmOid(),
@@ -64,6 +88,8 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 		crlValidity.setCriticalExtensionsOid(crlInfos.getCriticalExtensions().keySet());
 		extractIssuingDistributionPointBinary(crlValidity, crlInfos.getCriticalExtension(Extension.issuingDistributionPoint.getId()));
 		extractExpiredCertsOnCRL(crlValidity, crlInfos.getNonCriticalExtension(Extension.expiredCertsOnCRL.getId()));
+		extractCRLNumber(crlValidity, crlInfos.getNonCriticalExtension(Extension.cRLNumber.getId()));
+		extractDeltaCRLIndicator(crlValidity, crlInfos.getCriticalExtension(Extension.deltaCRLIndicator.getId()));
 
 		final X500Principal x509CRLIssuerX500Principal = crlInfos.getIssuer();
 		final X500Principal issuerTokenSubjectX500Principal = issuerToken.getSubject().getPrincipal();
@@ -88,6 +114,14 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 
 	@Override
 	public X509CRLEntry getRevocationInfo(CRLValidity crlValidity, BigInteger serialNumber) {
+		if (useSerialIndex && crlValidity instanceof StreamCRLValidity) {
+			try {
+				return getSerialIndex((StreamCRLValidity) crlValidity).getRevocationInfo(crlValidity.getDerEncoded(), serialNumber);
+			} catch (IOException e) {
+				LOG.error("Unable to retrieve the revocation status", e);
+				return null;
+			}
+		}
 		CRLParser parser = new CRLParser();
 		X509CRLEntry crlEntry = null;
 		try (InputStream is = crlValidity.toCRLInputStream()) {
@@ -98,6 +132,22 @@ public class CRLUtilsStreamImpl extends AbstractCRLUtils implements ICRLUtils {
 		return crlEntry;
 	}
 
+	private CRLSerialIndex getSerialIndex(StreamCRLValidity crlValidity) throws IOException {
+		CRLSerialIndex serialIndex = crlValidity.getSerialIndex();
+		if (serialIndex == null) {
+			synchronized (crlValidity) {
+				serialIndex = crlValidity.getSerialIndex();
+				if (serialIndex == null) {
+					CRLParser parser = new CRLParser();
+					serialIndex = parser.retrieveSerialIndex(crlValidity.getDerEncoded());
+					LOG.debug("Serial number index built for the CRL with {} entries", serialIndex.size());
+					crlValidity.setSerialIndex(serialIndex);
+				}
+			}
+		}
+		return serialIndex;
+	}
+
 	private void checkSignatureValue(CRLValidity crlValidity, byte[] signatureValue, SignatureAlgorithm signatureAlgorithm, ByteArrayOutputStream baos,
 			CertificateToken signer) {
 		try {
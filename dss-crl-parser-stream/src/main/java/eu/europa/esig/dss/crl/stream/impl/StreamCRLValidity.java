@@ -0,0 +1,63 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl.stream.impl;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLValidity;
+
+/**
+ * The stream-parser extension of {@code CRLValidity}, caching the index of the revoked serial numbers
+ */
+public class StreamCRLValidity extends CRLValidity {
+
+	/**
+	 * The index of the revokedCertificates entries, built on the first lookup
+	 */
+	private volatile CRLSerialIndex serialIndex;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param crlBinary {@link CRLBinary}
+	 */
+	public StreamCRLValidity(CRLBinary crlBinary) {
+		super(crlBinary);
+	}
+
+	/**
+	 * Gets the index of the revoked serial numbers, if already built
+	 *
+	 * @return {@link CRLSerialIndex}
+	 */
+	CRLSerialIndex getSerialIndex() {
+		return serialIndex;
+	}
+
+	/**
+	 * Sets the index of the revoked serial numbers
+	 *
+	 * @param serialIndex {@link CRLSerialIndex}
+	 */
+	void setSerialIndex(CRLSerialIndex serialIndex) {
+		this.serialIndex = serialIndex;
+	}
+
+}
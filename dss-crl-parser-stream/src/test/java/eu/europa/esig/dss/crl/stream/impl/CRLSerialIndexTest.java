@@ -0,0 +1,137 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.crl.stream.impl;
+
+import eu.europa.esig.dss.utils.Utils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CRLSerialIndexTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CRLSerialIndexTest.class);
+
+	private final CRLParser parser = new CRLParser();
+
+	private static final String[] CRL_FILES = { "/belgium2.crl", "/belgium4.crl", "/LTGRCA.crl", "/LTRCA.crl",
+			"/eidc201631.crl", "/crl_with_expiredCertsOnCRL_extension.crl", "/hgcaclass2.crl", "/EE-GovCA2018.crl",
+			"/http___crl.globalsign.com_gs_gspersonalsign2sha2g2.crl", "/notaires2020.arl", "/realts2019.crl" };
+
+	@Test
+	public void indexContainsAllEntries() throws Exception {
+		for (String crlFile : CRL_FILES) {
+			checkIndex(crlFile);
+		}
+	}
+
+	private void checkIndex(String crlFile) throws Exception {
+		byte[] crlBinaries = getBinaries(crlFile);
+		X509CRL x509CRL = loadCRL(crlBinaries);
+		Set<? extends X509CRLEntry> revokedCertificates = x509CRL.getRevokedCertificates();
+
+		CRLSerialIndex index = parser.retrieveSerialIndex(crlBinaries);
+		if (revokedCertificates == null) {
+			assertEquals(0, index.size());
+			return;
+		}
+		// a serial number can be present several times within a CRL
+		assertTrue(index.size() >= revokedCertificates.size(), crlFile);
+
+		int counter = 0;
+		for (X509CRLEntry expected : revokedCertificates) {
+			X509CRLEntry entry = index.getRevocationInfo(crlBinaries, expected.getSerialNumber());
+			assertNotNull(entry);
+			assertEquals(expected.getSerialNumber(), entry.getSerialNumber());
+
+			// the same entry as the stream scan (the first one in case of duplicates) is returned
+			if (counter++ < 50) {
+				try (InputStream is = new ByteArrayInputStream(crlBinaries)) {
+					X509CRLEntry scanEntry = parser.retrieveRevocationInfo(is, expected.getSerialNumber());
+					assertEquals(scanEntry.getRevocationDate(), entry.getRevocationDate());
+					assertEquals(scanEntry.getRevocationReason(), entry.getRevocationReason());
+				}
+			}
+		}
+		assertNull(index.getRevocationInfo(crlBinaries, new BigInteger("123456789123456789123456789")));
+	}
+
+	@Test
+	@Tag("slow")
+	public void compareWithStreamScan() throws Exception {
+		byte[] crlBinaries = getBinaries("/esteid2011.crl");
+
+		List<BigInteger> serialNumbers = new ArrayList<>();
+		for (X509CRLEntry entry : loadCRL(crlBinaries).getRevokedCertificates()) {
+			serialNumbers.add(entry.getSerialNumber());
+			if (serialNumbers.size() == 20) {
+				break;
+			}
+		}
+
+		long start = System.nanoTime();
+		for (BigInteger serialNumber : serialNumbers) {
+			try (InputStream is = new ByteArrayInputStream(crlBinaries)) {
+				assertNotNull(parser.retrieveRevocationInfo(is, serialNumber));
+			}
+		}
+		long scanTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		CRLSerialIndex index = parser.retrieveSerialIndex(crlBinaries);
+		long indexBuildTime = System.nanoTime() - start;
+		for (BigInteger serialNumber : serialNumbers) {
+			assertNotNull(index.getRevocationInfo(crlBinaries, serialNumber));
+		}
+		long indexTime = System.nanoTime() - start;
+
+		LOG.info("{} lookups within a CRL of {} entries : stream scan {} ms, index {} ms (including {} ms to build the index)",
+				serialNumbers.size(), index.size(), scanTime / 1000000, indexTime / 1000000, indexBuildTime / 1000000);
+	}
+
+	private byte[] getBinaries(String crlFile) throws IOException {
+		try (InputStream is = CRLSerialIndexTest.class.getResourceAsStream(crlFile)) {
+			// converts PEM encoded CRLs
+			return new CRLUtilsStreamImpl().buildCRLBinary(Utils.toByteArray(is)).getBinaries();
+		}
+	}
+
+	private X509CRL loadCRL(byte[] crlBinaries) throws Exception {
+		return (X509CRL) CertificateFactory.getInstance("X.509").generateCRL(new ByteArrayInputStream(crlBinaries));
+	}
+
+}
@@ -22,6 +22,7 @@ package eu.europa.esig.dss.crl;
 
 import eu.europa.esig.dss.model.DSSException;
 import org.bouncycastle.asn1.ASN1GeneralizedTime;
+import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.ASN1String;
@@ -35,6 +36,9 @@ import org.bouncycastle.asn1.x509.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.math.BigInteger;
+
 /**
  * The abstract class containing common code for CRL parsing
  */
@@ -96,6 +100,43 @@ public abstract class AbstractCRLUtils {
 		}
 	}
 
+	/**
+	 * Parses and sets the 'cRLNumber' value
+	 *
+	 * @param validity {@link CRLValidity} to set the value to
+	 * @param crlNumberBinaries the 'cRLNumber' extension value
+	 */
+	protected void extractCRLNumber(CRLValidity validity, byte[] crlNumberBinaries) {
+		if (crlNumberBinaries != null) {
+			try {
+				validity.setCrlNumber(getInteger(crlNumberBinaries));
+			} catch (Exception e) {
+				LOG.warn("Unable to parse cRLNumber on CRL : {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Parses and sets the 'deltaCRLIndicator' value (the number of the base CRL)
+	 *
+	 * @param validity {@link CRLValidity} to set the value to
+	 * @param deltaCRLIndicatorBinaries the 'deltaCRLIndicator' extension value
+	 */
+	protected void extractDeltaCRLIndicator(CRLValidity validity, byte[] deltaCRLIndicatorBinaries) {
+		if (deltaCRLIndicatorBinaries != null) {
+			try {
+				validity.setBaseCrlNumber(getInteger(deltaCRLIndicatorBinaries));
+			} catch (Exception e) {
+				LOG.warn("Unable to parse deltaCRLIndicator on CRL : {}", e.getMessage());
+			}
+		}
+	}
+
+	private BigInteger getInteger(byte[] extensionBinaries) throws IOException {
+		ASN1OctetString octetString = (ASN1OctetString) ASN1Primitive.fromByteArray(extensionBinaries);
+		return ASN1Integer.getInstance(octetString.getOctets()).getValue();
+	}
+
 	/**
 	 * Parses and sets the issuing distribution point binaries
 	 *
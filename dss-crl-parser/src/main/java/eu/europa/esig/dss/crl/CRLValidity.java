@@ -26,6 +26,7 @@ import org.bouncycastle.asn1.x509.ReasonFlags;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Objects;
@@ -81,6 +82,12 @@ public class CRLValidity {
 	/** The 'expiredCertsOnCRL' date value */
 	private Date expiredCertsOnCRL;
 
+	/** The 'cRLNumber' extension value */
+	private BigInteger crlNumber;
+
+	/** The 'deltaCRLIndicator' extension value (the number of the base CRL), present for delta CRLs only */
+	private BigInteger baseCrlNumber;
+
 	/** The 'nextUpdate' date value */
 	private Date nextUpdate;
 
@@ -196,6 +203,51 @@ public class CRLValidity {
 		this.expiredCertsOnCRL = expiredCertsOnCRL;
 	}
 
+	/**
+	 * Gets the 'cRLNumber' extension value
+	 *
+	 * @return {@link BigInteger}, null if the extension is not present
+	 */
+	public BigInteger getCrlNumber() {
+		return crlNumber;
+	}
+
+	/**
+	 * Sets the 'cRLNumber' extension value
+	 *
+	 * @param crlNumber {@link BigInteger}
+	 */
+	public void setCrlNumber(BigInteger crlNumber) {
+		this.crlNumber = crlNumber;
+	}
+
+	/**
+	 * Gets the 'deltaCRLIndicator' extension value, i.e. the number of the base CRL the delta CRL refers to
+	 *
+	 * @return {@link BigInteger}, null if the CRL is not a delta CRL
+	 */
+	public BigInteger getBaseCrlNumber() {
+		return baseCrlNumber;
+	}
+
+	/**
+	 * Sets the 'deltaCRLIndicator' extension value
+	 *
+	 * @param baseCrlNumber {@link BigInteger}
+	 */
+	public void setBaseCrlNumber(BigInteger baseCrlNumber) {
+		this.baseCrlNumber = baseCrlNumber;
+	}
+
+	/**
+	 * Checks if the CRL is a delta CRL (contains the 'deltaCRLIndicator' extension)
+	 *
+	 * @return TRUE if the CRL is a delta CRL, FALSE otherwise
+	 */
+	public boolean isDeltaCrl() {
+		return baseCrlNumber != null;
+	}
+
 	/**
 	 * Returns if the issuer X509 Principal matches between one defined in CRL and
 	 * its issuer certificate corresponding value
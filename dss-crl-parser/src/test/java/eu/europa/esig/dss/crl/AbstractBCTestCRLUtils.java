@@ -21,12 +21,14 @@
 package eu.europa.esig.dss.crl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.security.NoSuchProviderException;
 import java.security.Security;
 import java.security.cert.CertificateException;
@@ -129,6 +131,9 @@ public abstract class AbstractBCTestCRLUtils extends AbstractCRLParserTestUtils
 			assertTrue(validCRL.isSignatureIntact());
 			assertTrue(validCRL.isValid());
 			assertEquals(SignatureAlgorithm.RSA_SHA256, validCRL.getSignatureAlgorithm());
+			assertEquals(BigInteger.valueOf(4), validCRL.getCrlNumber());
+			assertNull(validCRL.getBaseCrlNumber());
+			assertFalse(validCRL.isDeltaCrl());
 		}
 	}
 
@@ -50,4 +50,9 @@ public class CRLFirstRevocationDataLoadingStrategy extends RevocationDataLoading
         return null;
     }
 
+    @Override
+    protected CRLFirstRevocationDataLoadingStrategy copy() {
+        return new CRLFirstRevocationDataLoadingStrategy();
+    }
+
 }
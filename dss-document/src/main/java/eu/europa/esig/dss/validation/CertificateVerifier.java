@@ -31,6 +31,8 @@ import eu.europa.esig.dss.spi.x509.ListCertificateSource;
 import eu.europa.esig.dss.spi.x509.aia.AIASource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * Provides information on the sources to be used in the validation process in
  * the context of a signature.
@@ -87,6 +89,36 @@ public interface CertificateVerifier {
 	 */
 	void setRevocationDataLoadingStrategy(final RevocationDataLoadingStrategy revocationDataLoadingStrategy);
 
+	/**
+	 * Returns the executor used to fetch the revocation data from the online sources concurrently
+	 *
+	 * @return {@link ExecutorService}
+	 */
+	ExecutorService getRevocationPrefetchExecutor();
+
+	/**
+	 * Defines an executor used to fetch the revocation data from the online sources concurrently.
+	 * When defined, the validation process builds all the certificate chains first
+	 * and then requests the required revocation data for all the certificates in parallel.
+	 * The obtained tokens are then processed in the same order as in the sequential mode,
+	 * so the validation result does not depend on the configuration.
+	 *
+	 * NOTE: only the certificate chains known before the revocation data is requested are covered
+	 *       (e.g. the signing, timestamp and embedded certificates). The chains discovered later
+	 *       (e.g. of an OCSP responder or a CRL issuer) are processed sequentially.
+	 *
+	 * NOTE: the {@code RevocationDataLoadingStrategy} shall support the concurrent requests
+	 *       (see {@code RevocationDataLoadingStrategy.copy()}), otherwise the revocation data is requested sequentially
+	 *
+	 * NOTE: the executor is not shut down by the validation process
+	 *
+	 * Default: null (the revocation data is requested sequentially)
+	 *
+	 * @param revocationPrefetchExecutor
+	 *                   {@link ExecutorService}
+	 */
+	void setRevocationPrefetchExecutor(final ExecutorService revocationPrefetchExecutor);
+
 	/**
 	 * Returns the trusted certificate sources associated with this verifier. These
 	 * sources are used to identify the trusted anchors.
@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This class provides the different sources used to verify the status of a certificate using the trust model. There are
@@ -81,6 +82,13 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 	 */
 	private RevocationDataLoadingStrategy revocationDataLoadingStrategy = new OCSPFirstRevocationDataLoadingStrategy();
 
+	/**
+	 * Defines an executor used to fetch the revocation data from the online sources concurrently.
+	 *
+	 * Default: null (the revocation data is requested sequentially)
+	 */
+	private ExecutorService revocationPrefetchExecutor;
+
 	/**
 	 * The AIA source used to download a certificate's issuer by the AIA URI(s)
 	 * defining within a certificate.
@@ -203,6 +211,16 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 		this.revocationDataLoadingStrategy = revocationDataLoadingStrategy;
 	}
 
+	@Override
+	public ExecutorService getRevocationPrefetchExecutor() {
+		return revocationPrefetchExecutor;
+	}
+
+	@Override
+	public void setRevocationPrefetchExecutor(ExecutorService revocationPrefetchExecutor) {
+		this.revocationPrefetchExecutor = revocationPrefetchExecutor;
+	}
+
 	@Override
 	public ListCertificateSource getTrustedCertSources() {
 		return trustedCertSources;
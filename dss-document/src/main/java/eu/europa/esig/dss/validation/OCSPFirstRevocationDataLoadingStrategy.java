@@ -52,4 +52,9 @@ public class OCSPFirstRevocationDataLoadingStrategy extends RevocationDataLoadin
         return null;
     }
 
+    @Override
+    protected OCSPFirstRevocationDataLoadingStrategy copy() {
+        return new OCSPFirstRevocationDataLoadingStrategy();
+    }
+
 }
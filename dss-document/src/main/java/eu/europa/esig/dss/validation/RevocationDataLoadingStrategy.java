@@ -88,6 +88,20 @@ public abstract class RevocationDataLoadingStrategy {
 		this.trustedListCertificateSource = trustedListCertificateSource;
 	}
 
+	/**
+	 * Creates a new instance of the strategy with the same configuration. Used when the revocation data is
+	 * requested concurrently (see {@code CertificateVerifier.setRevocationPrefetchExecutor(executor)}),
+	 * as the revocation sources are set for each request.
+	 *
+	 * NOTE: the method shall be overridden by the implementations supporting the concurrent requests.
+	 *       When null is returned, the revocation data is requested sequentially.
+	 *
+	 * @return a new {@link RevocationDataLoadingStrategy}, null if the concurrent requests are not supported
+	 */
+	protected RevocationDataLoadingStrategy copy() {
+		return null;
+	}
+
 	/**
 	 * This method retrieves a {@code RevocationToken} for the given certificateToken
 	 *
@@ -46,6 +46,7 @@ import eu.europa.esig.dss.spi.x509.revocation.RevocationCertificateSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.status.RevocationFreshnessStatus;
@@ -62,12 +63,16 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * During the validation of a signature, the software retrieves different X509 artifacts like Certificate, CRL and OCSP
@@ -143,6 +148,12 @@ public class SignatureValidationContext implements ValidationContext {
 	/** This strategy defines the revocation loading logic and returns OCSP or CRL token for a provided certificate */
 	private RevocationDataLoadingStrategy revocationDataLoadingStrategy;
 
+	/** The executor used to fetch the revocation data concurrently (optional) */
+	private ExecutorService revocationPrefetchExecutor;
+
+	/** The revocation tokens obtained from the online sources in advance, by certificate and issuer ids */
+	private final Map<String, RevocationToken<?>> prefetchedRevocationTokens = new HashMap<>();
+
 	/** External trusted certificate sources */
 	private ListCertificateSource trustedCertSources;
 
@@ -173,6 +184,7 @@ public class SignatureValidationContext implements ValidationContext {
 		this.remoteOCSPSource = certificateVerifier.getOcspSource();
 		this.aiaSource = certificateVerifier.getAIASource();
 		this.revocationDataLoadingStrategy = certificateVerifier.getRevocationDataLoadingStrategy();
+		this.revocationPrefetchExecutor = certificateVerifier.getRevocationPrefetchExecutor();
 		this.adjunctCertSources = certificateVerifier.getAdjunctCertSources();
 		this.trustedCertSources = certificateVerifier.getTrustedCertSources();
 		this.checkRevocationForUntrustedChains = certificateVerifier.isCheckRevocationForUntrustedChains();
@@ -582,6 +594,14 @@ public class SignatureValidationContext implements ValidationContext {
 				}
 			}
 
+			if (revocationToken instanceof CRLToken) {
+				// a delta CRL is processed together with its base CRL
+				CRLToken baseCRLToken = ((CRLToken) revocationToken).getBaseCRLToken();
+				if (baseCRLToken != null) {
+					addRevocationTokenForVerification(baseCRLToken);
+				}
+			}
+
 		}
 	}
 
@@ -683,6 +703,10 @@ public class SignatureValidationContext implements ValidationContext {
 			getCertChain(timestampToken);
 			timestampToken = getNotYetVerifiedTimestamp();
 		}
+
+		if (revocationPrefetchExecutor != null) {
+			prefetchRevocationData();
+		}
 		
 		Token token = getNotYetVerifiedToken();
 		while (token != null) {
@@ -695,6 +719,74 @@ public class SignatureValidationContext implements ValidationContext {
 		}
 	}
 
+	/**
+	 * Builds the certificate chains for all the tokens to be verified and requests concurrently
+	 * the revocation data from the online sources for the certificates which will require it.
+	 * The obtained tokens are consumed by {@code getRevocationData} in the sequential order.
+	 */
+	private void prefetchRevocationData() {
+		int nbCertificates;
+		do {
+			nbCertificates = processedCertificates.size();
+			for (Token token : getTokensToProcess()) {
+				getCertChain(token);
+			}
+		} while (nbCertificates != processedCertificates.size());
+
+		final Map<String, Future<RevocationToken<?>>> futures = new LinkedHashMap<>();
+		for (final CertificateToken certToken : new ArrayList<>(processedCertificates)) {
+			if (isRevocationDataNotRequired(certToken)) {
+				continue;
+			}
+			final CertificateToken issuerToken = getIssuer(certToken);
+			if (issuerToken == null) {
+				continue;
+			}
+			final List<Token> certChain = getCertChain(certToken);
+			if (!checkRevocationForUntrustedChains && !containsTrustAnchor(certChain)) {
+				continue;
+			}
+			final Set<RevocationToken<?>> revocations = new HashSet<>();
+			revocations.addAll(documentCRLSource.getRevocationTokens(certToken, issuerToken));
+			revocations.addAll(documentOCSPSource.getRevocationTokens(certToken, issuerToken));
+			revocations.addAll(getRelatedRevocationTokens(certToken));
+			if (Utils.isCollectionEmpty(revocations) || isRevocationDataRefreshNeeded(certToken, revocations)) {
+				final CertificateToken trustAnchor = (CertificateToken) getFirstTrustAnchor(certChain);
+				final RevocationDataLoadingStrategy strategy = revocationDataLoadingStrategy.copy();
+				if (strategy == null) {
+					LOG.warn("The RevocationDataLoadingStrategy '{}' does not support concurrent requests. " +
+							"The revocation data is requested sequentially.", revocationDataLoadingStrategy.getClass().getName());
+					break;
+				}
+				futures.put(getPrefetchKey(certToken, issuerToken), revocationPrefetchExecutor.submit(
+						() -> getRevocationToken(certToken, issuerToken, trustAnchor, strategy)));
+			}
+		}
+		LOG.debug("{} revocation request(s) submitted in parallel", futures.size());
+
+		for (Entry<String, Future<RevocationToken<?>>> entry : futures.entrySet()) {
+			try {
+				prefetchedRevocationTokens.put(entry.getKey(), entry.getValue().get());
+			} catch (ExecutionException e) {
+				LOG.warn("Unable to prefetch the revocation data. The request will be repeated. Reason : {}", e.getMessage(), e);
+			} catch (InterruptedException e) {
+				LOG.warn("The revocation data prefetch has been interrupted.");
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private List<Token> getTokensToProcess() {
+		synchronized (tokensToProcess) {
+			return new ArrayList<>(tokensToProcess.keySet());
+		}
+	}
+
+	private String getPrefetchKey(CertificateToken certToken, CertificateToken issuerToken) {
+		return certToken.getDSSIdAsString() + "|" + issuerToken.getDSSIdAsString();
+	}
+
 	/**
 	 * Retrieves the revocation data from signature (if exists) or from the online
 	 * sources. The issuer certificate must be provided, the underlining library
@@ -747,7 +839,7 @@ public class SignatureValidationContext implements ValidationContext {
 				CertificateToken trustAnchor = (CertificateToken) getFirstTrustAnchor(certChain);
 
 				// Fetch OCSP or CRL from online sources
-				final RevocationToken<?> onlineRevocationToken = getRevocationToken(certToken, issuerToken, trustAnchor);
+				final RevocationToken<?> onlineRevocationToken = getOnlineRevocationToken(certToken, issuerToken, trustAnchor);
 
 				// Check if the obtained revocation is not yet present
 				if (onlineRevocationToken != null && !revocations.contains(onlineRevocationToken)) {
@@ -782,8 +874,18 @@ public class SignatureValidationContext implements ValidationContext {
 		return null;
 	}
 
+	private RevocationToken<?> getOnlineRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificate,
+														CertificateToken trustAnchor) {
+		final String prefetchKey = getPrefetchKey(certificateToken, issuerCertificate);
+		if (prefetchedRevocationTokens.containsKey(prefetchKey)) {
+			LOG.trace("Revocation data for certificate {} has been prefetched", certificateToken.getDSSIdAsString());
+			return prefetchedRevocationTokens.remove(prefetchKey);
+		}
+		return getRevocationToken(certificateToken, issuerCertificate, trustAnchor, revocationDataLoadingStrategy);
+	}
+
 	private RevocationToken<?> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificate,
-											   CertificateToken trustAnchor) {
+												  CertificateToken trustAnchor, RevocationDataLoadingStrategy strategy) {
 		// configure the CompositeRevocationSource
 		RevocationSource<OCSP> currentOCSPSource;
 		RevocationSource<CRL> currentCRLSource;
@@ -798,12 +900,12 @@ public class SignatureValidationContext implements ValidationContext {
 			currentOCSPSource = remoteOCSPSource;
 			currentCRLSource = remoteCRLSource;
 		}
-		revocationDataLoadingStrategy.setOcspSource(currentOCSPSource);
-		revocationDataLoadingStrategy.setCrlSource(currentCRLSource);
-		revocationDataLoadingStrategy.setTrustedCertificateSource(currentCertSource);
+		strategy.setOcspSource(currentOCSPSource);
+		strategy.setCrlSource(currentCRLSource);
+		strategy.setTrustedCertificateSource(currentCertSource);
 
 		// fetch the data
-		return revocationDataLoadingStrategy.getRevocationToken(certificateToken, issuerCertificate);
+		return strategy.getRevocationToken(certificateToken, issuerCertificate);
 	}
 
 	private RevocationSource<OCSP> instantiateOCSPWithTrustServices(CertificateToken trustAnchor) {
@@ -22,24 +22,35 @@ package eu.europa.esig.dss.validation;
 
 import eu.europa.esig.dss.enumerations.TimestampType;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
 import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.timestamp.TimestampToken;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SignatureValidationContextTest {
 
@@ -166,6 +177,97 @@ public class SignatureValidationContextTest {
 																					// determine the trust anchor
 	}
 
+	@Test
+	public void revocationPrefetchTest() throws Exception {
+		CertificateToken citizenCA = DSSUtils.loadCertificate(new File("src/test/resources/certificates/citizen_ca.cer"));
+		CertificateToken goodUser = DSSUtils.loadCertificate(new File("src/test/resources/certificates/good-user.cer"));
+
+		RecordingOCSPSource sequentialSource = new RecordingOCSPSource();
+		Set<CertificateToken> sequentialCertificates = validateWithOCSPSource(sequentialSource, null, citizenCA, goodUser);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			RecordingOCSPSource parallelSource = new RecordingOCSPSource();
+			Set<CertificateToken> parallelCertificates = validateWithOCSPSource(parallelSource, executorService, citizenCA, goodUser);
+
+			assertEquals(sequentialCertificates, parallelCertificates);
+			assertEquals(2, sequentialSource.requestedCertificates.size());
+			assertEquals(new HashSet<>(sequentialSource.requestedCertificates), new HashSet<>(parallelSource.requestedCertificates));
+			// each request is executed only once and not by the validating thread
+			assertEquals(2, parallelSource.requestedCertificates.size());
+			assertFalse(parallelSource.threadNames.contains(Thread.currentThread().getName()));
+			assertTrue(sequentialSource.threadNames.contains(Thread.currentThread().getName()));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void revocationPrefetchNotSupportedTest() throws Exception {
+		CertificateToken citizenCA = DSSUtils.loadCertificate(new File("src/test/resources/certificates/citizen_ca.cer"));
+		CertificateToken goodUser = DSSUtils.loadCertificate(new File("src/test/resources/certificates/good-user.cer"));
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			// the strategy cannot be copied, the revocation data is requested sequentially
+			RecordingOCSPSource ocspSource = new RecordingOCSPSource();
+			validateWithOCSPSource(ocspSource, executorService, new OCSPFirstRevocationDataLoadingStrategy() {
+				@Override
+				protected OCSPFirstRevocationDataLoadingStrategy copy() {
+					return null;
+				}
+			}, citizenCA, goodUser);
+
+			assertEquals(2, ocspSource.requestedCertificates.size());
+			assertEquals(Collections.singleton(Thread.currentThread().getName()), ocspSource.threadNames);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private Set<CertificateToken> validateWithOCSPSource(RevocationSource<OCSP> ocspSource, ExecutorService executorService,
+			CertificateToken... certificateTokens) {
+		return validateWithOCSPSource(ocspSource, executorService, new OCSPFirstRevocationDataLoadingStrategy(), certificateTokens);
+	}
+
+	private Set<CertificateToken> validateWithOCSPSource(RevocationSource<OCSP> ocspSource, ExecutorService executorService,
+			RevocationDataLoadingStrategy revocationDataLoadingStrategy, CertificateToken... certificateTokens) {
+		CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setRevocationDataLoadingStrategy(revocationDataLoadingStrategy);
+		CertificateSource certSource = new CommonTrustedCertificateSource();
+		certSource.addCertificate(DSSUtils.loadCertificate(new File("src/test/resources/certificates/belgiumrca2-self-sign.crt")));
+		certSource.addCertificate(DSSUtils.loadCertificate(new File("src/test/resources/certificates/good-ca.cer")));
+		certificateVerifier.setTrustedCertSources(certSource);
+		certificateVerifier.setAIASource(null);
+		certificateVerifier.setOcspSource(ocspSource);
+		certificateVerifier.setRevocationPrefetchExecutor(executorService);
+
+		SignatureValidationContext svc = new SignatureValidationContext();
+		svc.initialize(certificateVerifier);
+		for (CertificateToken certificateToken : certificateTokens) {
+			svc.addCertificateTokenForVerification(certificateToken);
+		}
+		svc.validate();
+		return svc.getProcessedCertificates();
+	}
+
+	private static class RecordingOCSPSource implements RevocationSource<OCSP> {
+
+		private static final long serialVersionUID = -4226413468553297493L;
+
+		private final List<String> requestedCertificates = Collections.synchronizedList(new ArrayList<>());
+
+		private final Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+
+		@Override
+		public RevocationToken<OCSP> getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			requestedCertificates.add(certificateToken.getDSSIdAsString());
+			threadNames.add(Thread.currentThread().getName());
+			return null;
+		}
+
+	}
+
 	public CertificateToken getRootCertificate(CertificateToken token, Set<CertificateToken> allCerts) {
 		Set<CertificateToken> processed = new HashSet<>();
 		while (token.getPublicKeyOfTheSigner() != null) {
@@ -0,0 +1,225 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.jades;
+
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a concatenation of documents, each of them being optionally base64url-encoded.
+ * Used to compute a JWS Payload or a JWS Signing Input from detached documents (see RFC 7515 and RFC 7797).
+ *
+ * The documents are not loaded into memory: their content is read and encoded on the fly
+ * on every {@code openStream()} or {@code writeTo(outputStream)} call.
+ */
+@SuppressWarnings("serial")
+public class ConcatenatedDocument extends CommonDocument {
+
+	/** The base64url encoder without padding, as defined in RFC 7515 */
+	private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	/** The concatenated parts */
+	private final List<Part> parts = new ArrayList<>();
+
+	/**
+	 * Adds the given {@code document} at the end of the concatenation
+	 *
+	 * @param document {@link DSSDocument} to add
+	 * @param isBase64UrlEncoded defines whether the document octets shall be base64url-encoded
+	 */
+	public void addDocument(DSSDocument document, boolean isBase64UrlEncoded) {
+		Objects.requireNonNull(document, "The document to concatenate cannot be null!");
+		parts.add(new Part(document, isBase64UrlEncoded));
+	}
+
+	/**
+	 * Adds the given octets at the end of the concatenation (without encoding)
+	 *
+	 * @param octets byte array to add
+	 */
+	public void addOctets(byte[] octets) {
+		Objects.requireNonNull(octets, "The octets to concatenate cannot be null!");
+		parts.add(new Part(new InMemoryDocument(octets), false));
+	}
+
+	@Override
+	public InputStream openStream() {
+		final Iterator<Part> iterator = parts.iterator();
+		return new SequenceInputStream(new Enumeration<InputStream>() {
+
+			@Override
+			public boolean hasMoreElements() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public InputStream nextElement() {
+				return iterator.next().openStream();
+			}
+
+		});
+	}
+
+	@Override
+	public void writeTo(OutputStream stream) throws IOException {
+		for (Part part : parts) {
+			part.writeTo(stream);
+		}
+	}
+
+	/**
+	 * A document of the concatenation
+	 */
+	private static class Part implements Serializable {
+
+		private static final long serialVersionUID = 1540424567245736424L;
+
+		/** The document */
+		private final DSSDocument document;
+
+		/** Defines whether the document octets shall be base64url-encoded */
+		private final boolean isBase64UrlEncoded;
+
+		private Part(DSSDocument document, boolean isBase64UrlEncoded) {
+			this.document = document;
+			this.isBase64UrlEncoded = isBase64UrlEncoded;
+		}
+
+		private InputStream openStream() {
+			InputStream is = document.openStream();
+			return isBase64UrlEncoded ? new Base64UrlEncodingInputStream(is) : is;
+		}
+
+		private void writeTo(OutputStream stream) throws IOException {
+			if (isBase64UrlEncoded) {
+				// the wrapper writes the final quantum on close, but shall not close the target stream
+				try (OutputStream os = BASE64_URL_ENCODER.wrap(new FilterOutputStream(stream) {
+
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						out.write(b, off, len);
+					}
+
+					@Override
+					public void close() throws IOException {
+						flush();
+					}
+
+				})) {
+					document.writeTo(os);
+				}
+			} else {
+				document.writeTo(stream);
+			}
+		}
+
+	}
+
+	/**
+	 * Base64url-encodes (without padding) the content of the wrapped {@code InputStream}
+	 */
+	private static class Base64UrlEncodingInputStream extends InputStream {
+
+		/** The size of a chunk to be encoded (multiple of 3, in order to not produce intermediate padding) */
+		private static final int CHUNK_SIZE = 3 * 1024;
+
+		/** The original content */
+		private final InputStream is;
+
+		/** The current chunk of the original content */
+		private final byte[] chunk = new byte[CHUNK_SIZE];
+
+		/** The encoded current chunk */
+		private byte[] encoded = new byte[0];
+
+		/** The position within the encoded current chunk */
+		private int position;
+
+		/** Defines whether the end of the original content has been reached */
+		private boolean eof;
+
+		private Base64UrlEncodingInputStream(InputStream is) {
+			this.is = is;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (position == encoded.length && !readChunk()) {
+				return -1;
+			}
+			return encoded[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (position == encoded.length && !readChunk()) {
+				return -1;
+			}
+			int count = Math.min(len, encoded.length - position);
+			System.arraycopy(encoded, position, b, off, count);
+			position += count;
+			return count;
+		}
+
+		private boolean readChunk() throws IOException {
+			int length = 0;
+			while (!eof && length < CHUNK_SIZE) {
+				int count = is.read(chunk, length, CHUNK_SIZE - length);
+				if (count < 0) {
+					eof = true;
+				} else {
+					length += count;
+				}
+			}
+			if (length == 0) {
+				return false;
+			}
+			encoded = BASE64_URL_ENCODER.encode(ByteBuffer.wrap(chunk, 0, length)).array();
+			position = 0;
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			is.close();
+		}
+
+	}
+
+}
@@ -487,22 +487,25 @@ public class DSSJsonUtils {
 	 * @return a byte array of document octets
 	 */
 	public static byte[] concatenateDSSDocuments(List<DSSDocument> documents, boolean isBase64UrlEncoded) {
+		return DSSUtils.toByteArray(getConcatenatedDocument(documents, isBase64UrlEncoded));
+	}
+
+	/**
+	 * Returns a document representing the concatenation of the document octets, without loading them into memory
+	 *
+	 * @param documents a list of {@link DSSDocument}s to concatenate
+	 * @param isBase64UrlEncoded defines whether the document octets shall be base64url-encoded
+	 * @return {@link DSSDocument} representing the concatenated document octets
+	 */
+	public static DSSDocument getConcatenatedDocument(List<DSSDocument> documents, boolean isBase64UrlEncoded) {
 		if (Utils.isCollectionEmpty(documents)) {
 			throw new IllegalArgumentException("Unable to build a JWS Payload. Reason : the detached content is not provided!");
 		}
-		if (documents.size() == 1) {
-			return getDocumentOctets(documents.get(0), isBase64UrlEncoded);
-		}
-
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-			for (DSSDocument document : documents) {
-				baos.write(getDocumentOctets(document, isBase64UrlEncoded));
-			}
-			return baos.toByteArray();
-
-		} catch (IOException e) {
-			throw new DSSException(String.format("Unable to build a JWS Payload. Reason : %s", e.getMessage()), e);
+		ConcatenatedDocument concatenatedDocument = new ConcatenatedDocument();
+		for (DSSDocument document : documents) {
+			concatenatedDocument.addDocument(document, isBase64UrlEncoded);
 		}
+		return concatenatedDocument;
 	}
 
 	/**
@@ -516,13 +519,35 @@ public class DSSJsonUtils {
 	 * @return octets of the provided {@link DSSDocument}
 	 */
 	public static byte[] getDocumentOctets(DSSDocument document, boolean isBase64UrlEncoded) {
-		byte[] octets = DSSUtils.toByteArray(document);
-		if (isBase64UrlEncoded) {
-			octets = DSSJsonUtils.toBase64Url(octets).getBytes();
+		if (!isBase64UrlEncoded) {
+			return DSSUtils.toByteArray(document);
 		}
-		return octets;
+		ConcatenatedDocument concatenatedDocument = new ConcatenatedDocument();
+		concatenatedDocument.addDocument(document, true);
+		return DSSUtils.toByteArray(concatenatedDocument);
 	}
-	
+
+	/**
+	 * Returns a document representing the JWS Signing Input computed from the {@code encodedHeader}
+	 * and a detached {@code payload} (see RFC 7515 and RFC 7797), without loading the payload into memory:
+	 * ASCII(BASE64URL(UTF8(JWS Protected Header)) || '.') || JWS Payload
+	 *
+	 * NOTE: the payload shall be already base64url-encoded, when required
+	 *
+	 * @param encodedHeader {@link String} base64url-encoded protected header
+	 * @param payload {@link DSSDocument} the JWS Payload octets
+	 * @return {@link DSSDocument} representing the JWS Signing Input
+	 */
+	public static DSSDocument getSigningInputDocument(String encodedHeader, DSSDocument payload) {
+		ConcatenatedDocument signingInput = new ConcatenatedDocument();
+		signingInput.addOctets(getAsciiBytes(encodedHeader));
+		signingInput.addOctets(new byte[] { 0x2e }); // ascii for "."
+		if (payload != null) {
+			signingInput.addDocument(payload, false);
+		}
+		return signingInput;
+	}
+
 	/**
 	 * Checks if the provided document is JSON document
 	 * 
@@ -720,22 +745,22 @@ public class DSSJsonUtils {
 	@SuppressWarnings("unchecked")
 	public static List<String> validateAgainstJAdESSchema(JWS jws) {
 		List<String> errors = new ArrayList<>();
+		JAdESUtils jadesUtils = JAdESUtils.getInstance();
 		
+		// the protected header is validated from its decoded JSON, as the parsed map is not exposed by jose4j
 		String headerJson = jws.getHeaders().getFullHeaderAsJsonString();
-		errors.addAll(JAdESUtils.getInstance().validateAgainstJWSProtectedHeaderSchema(headerJson));
+		errors.addAll(jadesUtils.validateAgainstJWSProtectedHeaderSchema(headerJson));
 		
 		Map<String, Object> unprotected = jws.getUnprotected();
 		if (Utils.isMapNotEmpty(unprotected)) {
-			String unprotectedJson = JsonUtil.toJson(unprotected);
-			errors.addAll(JAdESUtils.getInstance().validateAgainstJWSUnprotectedHeaderSchema(unprotectedJson));
+			errors.addAll(jadesUtils.validateAgainstJWSUnprotectedHeaderSchema(unprotected));
 
 			Object etsiU = unprotected.get(JAdESHeaderParameterNames.ETSI_U);
 			if (etsiU instanceof List<?>) {
 				List<Object> etsiUComponents = (List<Object>) etsiU;
 				if (areAllBase64UrlComponents(etsiUComponents)) {
 					Map<String, Object> clearEtsiURepresentation = getClearEtsiURepresentation(unprotected);
-					String clearEtsiUJson = JsonUtil.toJson(clearEtsiURepresentation);
-					errors.addAll(JAdESUtils.getInstance().validateAgainstJWSUnprotectedHeaderSchema(clearEtsiUJson));
+					errors.addAll(jadesUtils.validateAgainstJWSUnprotectedHeaderSchema(clearEtsiURepresentation));
 				}
 			}
 		}
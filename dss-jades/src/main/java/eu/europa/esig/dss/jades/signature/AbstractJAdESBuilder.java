@@ -20,11 +20,13 @@
  */
 package eu.europa.esig.dss.jades.signature;
 
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
 import eu.europa.esig.dss.jades.DSSJsonUtils;
 import eu.europa.esig.dss.jades.JAdESSignatureParameters;
 import eu.europa.esig.dss.jades.validation.JWS;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import org.slf4j.Logger;
@@ -71,6 +73,11 @@ public abstract class AbstractJAdESBuilder implements JAdESBuilder {
 		
 		JWS jws = new JWS();
 		incorporateHeader(jws);
+		if (SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging())) {
+			// the detached payload is not incorporated into the signature, stream it to the signing input
+			DSSDocument payload = jadesLevelBaselineB.getPayloadDocument();
+			return new ToBeSigned(DSSUtils.toByteArray(DSSJsonUtils.getSigningInputDocument(jws.getEncodedHeader(), payload)));
+		}
 		incorporatePayload(jws);
 		
 		byte[] dataToSign = DSSJsonUtils.getSigningInputBytes(jws);
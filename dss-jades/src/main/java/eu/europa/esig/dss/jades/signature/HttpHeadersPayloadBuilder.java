@@ -20,16 +20,14 @@
  */
 package eu.europa.esig.dss.jades.signature;
 
+import eu.europa.esig.dss.jades.ConcatenatedDocument;
 import eu.europa.esig.dss.jades.DSSJsonUtils;
 import eu.europa.esig.dss.jades.HTTPHeader;
 import eu.europa.esig.dss.jades.HTTPHeaderDigest;
 import eu.europa.esig.dss.model.DSSDocument;
-import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -66,6 +64,15 @@ public class HttpHeadersPayloadBuilder {
 	 * @return payload binaries
 	 */
 	public byte[] build() {
+		return DSSUtils.toByteArray(buildDocument());
+	}
+
+	/**
+	 * Builds the payload from HTTPHeaderDocuments, without loading the HTTP message body into memory
+	 *
+	 * @return {@link DSSDocument} representing the payload
+	 */
+	public DSSDocument buildDocument() {
 		assertHttpHeadersConfigurationIsValid();
 
 		List<HTTPHeader> httpHeaderDocuments = toHTTPHeaders(detachedContents);
@@ -128,32 +135,26 @@ public class HttpHeadersPayloadBuilder {
 			}
 		}
 
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-			Iterator<HTTPHeader> iterator = concatenatedHttpFields.iterator();
-			while (iterator.hasNext()) {
-				HTTPHeader header = iterator.next();
-				if (DSSJsonUtils.HTTP_HEADER_DIGEST.equals(header.getName()) && isTimestamp) {
-					HTTPHeaderDigest httpHeaderDigest = (HTTPHeaderDigest) header;
-					DSSDocument messageBodyDocument = httpHeaderDigest.getMessageBodyDocument();
-					baos.write(DSSUtils.toByteArray(messageBodyDocument));
-				} else {
-					StringBuilder stringBuilder = new StringBuilder();
-					stringBuilder.append(Utils.lowerCase(header.getName()));
-					stringBuilder.append(":");
-					stringBuilder.append(" ");
-					stringBuilder.append(header.getValue());
-					baos.write(stringBuilder.toString().getBytes());
-				}
-				if (iterator.hasNext()) {
-					baos.write("\n".getBytes());
-				}
+		ConcatenatedDocument payload = new ConcatenatedDocument();
+		Iterator<HTTPHeader> iterator = concatenatedHttpFields.iterator();
+		while (iterator.hasNext()) {
+			HTTPHeader header = iterator.next();
+			if (DSSJsonUtils.HTTP_HEADER_DIGEST.equals(header.getName()) && isTimestamp) {
+				HTTPHeaderDigest httpHeaderDigest = (HTTPHeaderDigest) header;
+				payload.addDocument(httpHeaderDigest.getMessageBodyDocument(), false);
+			} else {
+				StringBuilder stringBuilder = new StringBuilder();
+				stringBuilder.append(Utils.lowerCase(header.getName()));
+				stringBuilder.append(":");
+				stringBuilder.append(" ");
+				stringBuilder.append(header.getValue());
+				payload.addOctets(stringBuilder.toString().getBytes());
+			}
+			if (iterator.hasNext()) {
+				payload.addOctets("\n".getBytes());
 			}
-			return baos.toByteArray();
-
-		} catch (IOException e) {
-			throw new DSSException(String.format("An error occurred while building an HTTPHeaders payload : %s",
-					e.getMessage()), e);
 		}
+		return payload;
 	}
 
 	private HTTPHeader getHTTPHeaderWithName(List<HTTPHeader> httpHeaders, String name) {
@@ -33,6 +33,7 @@ import eu.europa.esig.dss.jades.JsonObject;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.MimeType;
 import eu.europa.esig.dss.model.Policy;
 import eu.europa.esig.dss.model.SignerLocation;
@@ -307,10 +308,12 @@ public class JAdESLevelBaselineB {
 	}
 
 	private void assertPayloadEncodingValid() {
-		byte[] payloadBytes = getPayloadBytes();
 		// see RFC 7797 (only for compact format not detached payload shall be uri-safe)
-		if (!parameters.isBase64UrlEncodedPayload() && !SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging())
-				&& Utils.isArrayNotEmpty(payloadBytes)) {
+		if (parameters.isBase64UrlEncodedPayload() || SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging())) {
+			return;
+		}
+		byte[] payloadBytes = getPayloadBytes();
+		if (Utils.isArrayNotEmpty(payloadBytes)) {
 
 			switch (parameters.getJwsSerializationType()) {
 				/*
@@ -849,6 +852,15 @@ public class JAdESLevelBaselineB {
 	 * @return payload byte array
 	 */
 	public byte[] getPayloadBytes() {
+		return DSSUtils.toByteArray(getPayloadDocument());
+	}
+
+	/**
+	 * Returns JWS payload for the given signature parameters, without loading the signed documents into memory
+	 *
+	 * @return {@link DSSDocument} representing the payload
+	 */
+	public DSSDocument getPayloadDocument() {
 		if (!SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging()) ||
 				SigDMechanism.NO_SIG_D.equals(parameters.getSigDMechanism())) {
 			return getIncorporatedPayload();
@@ -866,23 +878,23 @@ public class JAdESLevelBaselineB {
 			 * When using this mechanism, the JWS Payload shall contribute as an empty
 			 * stream to the computation of the JWS Signature Value.
 			 */
-			return DSSUtils.EMPTY_BYTE_ARRAY;
+			return new InMemoryDocument(DSSUtils.EMPTY_BYTE_ARRAY);
 		}
 		throw new IllegalArgumentException("The configured signature format is not supported!");
 	}
 
-	private byte[] getIncorporatedPayload() {
-		return DSSJsonUtils.getDocumentOctets(documentsToSign.get(0), parameters.isBase64UrlEncodedPayload());
+	private DSSDocument getIncorporatedPayload() {
+		return DSSJsonUtils.getConcatenatedDocument(documentsToSign.subList(0, 1), parameters.isBase64UrlEncodedPayload());
 	}
 	
-	private byte[] getPayloadForHttpHeadersMechanism() {
+	private DSSDocument getPayloadForHttpHeadersMechanism() {
 		HttpHeadersPayloadBuilder httpHeadersPayloadBuilder = new HttpHeadersPayloadBuilder(documentsToSign, false);
-		return httpHeadersPayloadBuilder.build();
+		return httpHeadersPayloadBuilder.buildDocument();
 	}
 	
-	private byte[] getPayloadForObjectIdByUriMechanism() {
+	private DSSDocument getPayloadForObjectIdByUriMechanism() {
 		// NOTE: base64url encoding is processed by JWS
-		return DSSJsonUtils.concatenateDSSDocuments(documentsToSign, parameters.isBase64UrlEncodedPayload());
+		return DSSJsonUtils.getConcatenatedDocument(documentsToSign, parameters.isBase64UrlEncodedPayload());
 	}
 
 }
@@ -140,7 +140,10 @@ public class JAdESSerializationBuilder extends AbstractJAdESBuilder {
 	private JWS getJWS() {
 		JWS jws = new JWS();
 		incorporateHeader(jws);
-		incorporatePayload(jws);
+		if (!SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging())) {
+			// the detached payload is not included into the signature
+			incorporatePayload(jws);
+		}
 		return jws;
 	}
 
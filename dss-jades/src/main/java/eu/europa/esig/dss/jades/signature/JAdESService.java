@@ -44,7 +44,6 @@ import eu.europa.esig.dss.signature.AbstractSignatureService;
 import eu.europa.esig.dss.signature.CounterSignatureService;
 import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
 import eu.europa.esig.dss.signature.SigningOperation;
-import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.timestamp.TimestampToken;
@@ -101,17 +100,17 @@ public class JAdESService extends AbstractSignatureService<JAdESSignatureParamet
 		Objects.requireNonNull(tspSource, "A TSPSource is required!");
 		assertContentTimestampCreationPossible(toSignDocuments);
 		
-		byte[] messageImprint;
+		DSSDocument messageImprint;
 		if (SigDMechanism.HTTP_HEADERS.equals(parameters.getSigDMechanism())) {
 			HttpHeadersPayloadBuilder httpHeadersPayloadBuilder = new HttpHeadersPayloadBuilder(toSignDocuments, true);
-			messageImprint = httpHeadersPayloadBuilder.build();
+			messageImprint = httpHeadersPayloadBuilder.buildDocument();
 		} else {
-			messageImprint = DSSJsonUtils.concatenateDSSDocuments(toSignDocuments, parameters.isBase64UrlEncodedPayload());
+			messageImprint = DSSJsonUtils.getConcatenatedDocument(toSignDocuments, parameters.isBase64UrlEncodedPayload());
 		}
 
 		DigestAlgorithm digestAlgorithm = parameters.getContentTimestampParameters().getDigestAlgorithm();
 		TimestampBinary timeStampResponse = tspSource.getTimeStampResponse(digestAlgorithm,
-				DSSUtils.digest(digestAlgorithm, messageImprint));
+				Utils.fromBase64(messageImprint.getDigest(digestAlgorithm)));
 		try {
 			return new TimestampToken(timeStampResponse.getBytes(), TimestampType.CONTENT_TIMESTAMP);
 		} catch (TSPException | IOException | CMSException e) {
@@ -61,10 +61,19 @@ import eu.europa.esig.dss.validation.SignaturePolicy;
 import eu.europa.esig.dss.validation.SignatureProductionPlace;
 import eu.europa.esig.dss.validation.SignerRole;
 import eu.europa.esig.dss.validation.timestamp.TimestampToken;
+import org.bouncycastle.jcajce.io.OutputStreamFactory;
 import org.jose4j.jwx.HeaderParameterNames;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -529,12 +538,51 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 	@Override
 	public SignatureDigestReference getSignatureDigestReference(DigestAlgorithm digestAlgorithm) {
 		String encodedHeader = jws.getEncodedHeader();
-		String payload = jws.isRfc7797UnencodedPayload() ? jws.getUnverifiedPayload() : jws.getEncodedPayload();
 		String encodedSignature = jws.getEncodedSignature();
+		byte[] detachedDigestValue = getDetachedSignatureReferenceDigest(encodedHeader, encodedSignature, digestAlgorithm);
+		if (detachedDigestValue != null) {
+			return new SignatureDigestReference(new Digest(digestAlgorithm, detachedDigestValue));
+		}
+		String payload = jws.isRfc7797UnencodedPayload() ? jws.getUnverifiedPayload() : jws.getEncodedPayload();
 		byte[] signatureReferenceBytes = DSSJsonUtils.concatenate(encodedHeader, payload, encodedSignature).getBytes();
 		byte[] digestValue = DSSUtils.digest(digestAlgorithm, signatureReferenceBytes);
 		return new SignatureDigestReference(new Digest(digestAlgorithm, digestValue));
 	}
+
+	private byte[] getDetachedSignatureReferenceDigest(String encodedHeader, String encodedSignature,
+													   DigestAlgorithm digestAlgorithm) {
+		try {
+			DSSDocument detachedPayload = getDetachedPayload();
+			if (detachedPayload != null) {
+				// the detached payload is digested without being loaded into memory
+				MessageDigest messageDigest = DSSUtils.getMessageDigest(digestAlgorithm);
+				try (OutputStream os = OutputStreamFactory.createStream(messageDigest)) {
+					os.write(DSSJsonUtils.getAsciiBytes(encodedHeader));
+					os.write('.');
+					if (jws.isRfc7797UnencodedPayload()) {
+						// the same conversion as for the String payload of an attached signature
+						Writer writer = new OutputStreamWriter(os, Charset.defaultCharset());
+						try (Reader reader = new InputStreamReader(detachedPayload.openStream(), StandardCharsets.UTF_8)) {
+							char[] buffer = new char[8192];
+							int count;
+							while ((count = reader.read(buffer)) > 0) {
+								writer.write(buffer, 0, count);
+							}
+						}
+						writer.flush();
+					} else {
+						detachedPayload.writeTo(os);
+					}
+					os.write('.');
+					os.write(DSSJsonUtils.getAsciiBytes(encodedSignature));
+				}
+				return messageDigest.digest();
+			}
+		} catch (Exception e) {
+			LOG.debug("Unable to digest the detached payload : {}", e.getMessage());
+		}
+		return null;
+	}
 	
 	@Override
 	public Digest getDataToBeSignedRepresentation() {
@@ -623,7 +671,10 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 				
 				String encodedHeader = jws.getEncodedHeader();
 				if (Utils.isStringNotEmpty(encodedHeader)) {
+					DigestAlgorithm digestAlgorithm = signatureAlgorithm.getDigestAlgorithm();
+
 					// get payload for a detached signature
+					DSSDocument detachedSigningInput = null;
 					try {
 						SigDMechanism sigDMechanism = getSigDMechanism();
 						boolean detachedContentPresent = Utils.isCollectionNotEmpty(detachedContents);
@@ -633,21 +684,18 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 
 						} else if (sigDMechanism == null && detachedContentPresent) {
 							// simple detached signature
-							byte[] payload = getIncorporatedPayload();
-							jws.setPayloadOctets(payload);
+							detachedSigningInput = getDetachedSigningInput(encodedHeader, getIncorporatedPayload(), digestAlgorithm);
 							signatureValueReferenceValidation.setFound(detachedContents.size() == 1);
 
 						} else if (SigDMechanism.HTTP_HEADERS.equals(getSigDMechanism())) {
 							// detached with HTTP_HEADERS mechanism
-							byte[] payload = getPayloadForHttpHeadersMechanism();
-							jws.setPayloadOctets(payload);
-							signatureValueReferenceValidation.setFound(payload != null);
+							detachedSigningInput = getDetachedSigningInput(encodedHeader, getPayloadForHttpHeadersMechanism(), digestAlgorithm);
+							signatureValueReferenceValidation.setFound(true);
 
 						} else if (SigDMechanism.OBJECT_ID_BY_URI.equals(getSigDMechanism())) {
 							// detached with OBJECT_ID_BY_URI mechanism
-							byte[] payload = getPayloadForObjectIdByUriMechanism();
-							jws.setPayloadOctets(payload);
-							signatureValueReferenceValidation.setFound(payload != null);
+							detachedSigningInput = getDetachedSigningInput(encodedHeader, getPayloadForObjectIdByUriMechanism(), digestAlgorithm);
+							signatureValueReferenceValidation.setFound(true);
 
 						} else if (SigDMechanism.OBJECT_ID_BY_URI_HASH.equals(getSigDMechanism())) {
 							// the sigD itself is signed with OBJECT_ID_BY_URI_HASH mechanism
@@ -667,16 +715,20 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 						}
 					}
 
-					byte[] dataToSign = DSSJsonUtils.getSigningInputBytes(jws);
-					DigestAlgorithm digestAlgorithm = signatureAlgorithm.getDigestAlgorithm();
-					Digest digest = new Digest(digestAlgorithm, DSSUtils.digest(digestAlgorithm, dataToSign));
+					Digest digest;
+					if (detachedSigningInput != null) {
+						digest = new Digest(digestAlgorithm, Utils.fromBase64(detachedSigningInput.getDigest(digestAlgorithm)));
+					} else {
+						byte[] dataToSign = DSSJsonUtils.getSigningInputBytes(jws);
+						digest = new Digest(digestAlgorithm, DSSUtils.digest(digestAlgorithm, dataToSign));
+					}
 					signatureValueReferenceValidation.setDigest(digest);
 
 					jws.setDoKeyValidation(false); // restrict on key size,...
 	
 					CandidatesForSigningCertificate candidatesForSigningCertificate = getCandidatesForSigningCertificate();
 					
-					SignatureIntegrityValidator signingCertificateValidator = new JAdESSignatureIntegrityValidator(jws);
+					SignatureIntegrityValidator signingCertificateValidator = new JAdESSignatureIntegrityValidator(jws, detachedSigningInput);
 					CertificateValidity certificateValidity = signingCertificateValidator.validate(candidatesForSigningCertificate);
 					if (certificateValidity != null) {
 						candidatesForSigningCertificate.setTheCertificateValidity(certificateValidity);
@@ -740,11 +792,45 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		return null;
 	}
 
-	private byte[] getIncorporatedPayload() {
-		return DSSJsonUtils.getDocumentOctets(detachedContents.get(0), !jws.isRfc7797UnencodedPayload());
+	/**
+	 * Returns the JWS Signing Input for a detached {@code payload}. The payload is not loaded into memory,
+	 * but read when computing the digest and verifying the signature value.
+	 *
+	 * NOTE: the digest is computed on creation, in order to report an invalid detached content
+	 */
+	private DSSDocument getDetachedSigningInput(String encodedHeader, DSSDocument payload, DigestAlgorithm digestAlgorithm) {
+		DSSDocument signingInput = DSSJsonUtils.getSigningInputDocument(encodedHeader, payload);
+		signingInput.getDigest(digestAlgorithm);
+		return signingInput;
+	}
+
+	/**
+	 * Returns the JWS Payload of a detached signature, computed from the provided detached contents
+	 * according to the 'sigD' mechanism. The detached contents are not loaded into memory.
+	 *
+	 * @return {@link DSSDocument} representing the JWS Payload, NULL if the signature is not detached
+	 *         or the payload does not contribute to the JWS Signing Input
+	 */
+	public DSSDocument getDetachedPayload() {
+		if (!isDetachedSignature()) {
+			return null;
+		}
+		SigDMechanism sigDMechanism = getSigDMechanism();
+		if (sigDMechanism == null && Utils.isCollectionNotEmpty(detachedContents)) {
+			return getIncorporatedPayload();
+		} else if (SigDMechanism.HTTP_HEADERS.equals(sigDMechanism)) {
+			return getPayloadForHttpHeadersMechanism();
+		} else if (SigDMechanism.OBJECT_ID_BY_URI.equals(sigDMechanism)) {
+			return getPayloadForObjectIdByUriMechanism();
+		}
+		return null;
+	}
+
+	private DSSDocument getIncorporatedPayload() {
+		return DSSJsonUtils.getConcatenatedDocument(detachedContents.subList(0, 1), !jws.isRfc7797UnencodedPayload());
 	}
 	
-	private byte[] getPayloadForHttpHeadersMechanism() {
+	private DSSDocument getPayloadForHttpHeadersMechanism() {
 		if (Utils.isCollectionEmpty(detachedContents)) {
 			throw new IllegalArgumentException("The detached contents shall be provided for validating a detached signature!");
 		}
@@ -760,7 +846,7 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		List<DSSDocument> documentsByUri = getSignedDocumentsByHTTPHeaderName();
 		HttpHeadersPayloadBuilder httpHeadersPayloadBuilder = new HttpHeadersPayloadBuilder(documentsByUri, false);
 		
-		return httpHeadersPayloadBuilder.build();
+		return httpHeadersPayloadBuilder.buildDocument();
 	}
 	
 	/**
@@ -801,13 +887,13 @@ public class JAdESSignature extends DefaultAdvancedSignature {
 		return signedDocuments;
 	}
 	
-	private byte[] getPayloadForObjectIdByUriMechanism() {
+	private DSSDocument getPayloadForObjectIdByUriMechanism() {
 		if (Utils.isCollectionEmpty(detachedContents)) {
 			throw new IllegalArgumentException("The detached contents shall be provided for validating a detached signature!");
 		}
 
 		List<DSSDocument> signedDocumentsByUri = getSignedDocumentsForObjectIdByUriMechanism();
-		return DSSJsonUtils.concatenateDSSDocuments(signedDocumentsByUri, !jws.isRfc7797UnencodedPayload());
+		return DSSJsonUtils.getConcatenatedDocument(signedDocumentsByUri, !jws.isRfc7797UnencodedPayload());
 	}
 
 	/**
@@ -20,31 +20,62 @@
  */
 package eu.europa.esig.dss.jades.validation;
 
+import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.DSSSecurityProvider;
 import eu.europa.esig.dss.spi.x509.SignatureIntegrityValidator;
 import org.jose4j.lang.JoseException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
 import java.security.PublicKey;
+import java.security.Signature;
 
 /**
  * Checks the integrity of a JAdES SignatureValue
  */
 public class JAdESSignatureIntegrityValidator extends SignatureIntegrityValidator {
 
+	/** The size of the buffer used to read the detached JWS Signing Input */
+	private static final int BUFFER_SIZE = 8192;
+
 	/** The JWS signature to validate */
 	private final JWS jws;
 
+	/** The JWS Signing Input computed from a detached payload (null for a not detached signature) */
+	private final DSSDocument detachedSigningInput;
+
 	/**
 	 * Default constructor
 	 *
 	 * @param jws {@link JWS}
 	 */
 	public JAdESSignatureIntegrityValidator(final JWS jws) {
+		this(jws, null);
+	}
+
+	/**
+	 * Constructor for a signature with a detached payload.
+	 * The JWS Signing Input is read from the {@code detachedSigningInput} document on the signature value verification,
+	 * without being loaded into memory.
+	 *
+	 * @param jws {@link JWS}
+	 * @param detachedSigningInput {@link DSSDocument} the JWS Signing Input computed from the detached payload,
+	 *                             when NULL the JWS Signing Input is computed from the {@code jws}
+	 */
+	public JAdESSignatureIntegrityValidator(final JWS jws, final DSSDocument detachedSigningInput) {
 		this.jws = jws;
+		this.detachedSigningInput = detachedSigningInput;
 	}
 
 	@Override
 	protected boolean verify(PublicKey publicKey) throws DSSException {
+		if (detachedSigningInput != null) {
+			return verifyDetachedSigningInput(publicKey);
+		}
 		try {
 			jws.setKey(publicKey);
 			return jws.verifySignature();
@@ -53,4 +84,24 @@ public class JAdESSignatureIntegrityValidator extends SignatureIntegrityValidato
 		}
 	}
 
+	private boolean verifyDetachedSigningInput(PublicKey publicKey) {
+		SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forJWA(jws.getAlgorithmHeaderValue());
+		if (EncryptionAlgorithm.ECDSA.equals(signatureAlgorithm.getEncryptionAlgorithm())) {
+			// JWS ECDSA signature values are the concatenation of R and S values (see RFC 7518)
+			signatureAlgorithm = SignatureAlgorithm.getAlgorithm(EncryptionAlgorithm.PLAIN_ECDSA, signatureAlgorithm.getDigestAlgorithm());
+		}
+		try (InputStream is = detachedSigningInput.openStream()) {
+			Signature signature = Signature.getInstance(signatureAlgorithm.getJCEId(), DSSSecurityProvider.getSecurityProviderName());
+			signature.initVerify(publicKey);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int count;
+			while ((count = is.read(buffer)) > 0) {
+				signature.update(buffer, 0, count);
+			}
+			return signature.verify(jws.getSignatureValue());
+		} catch (GeneralSecurityException | IOException e) {
+			throw new DSSException(String.format("Unable to verify the signature value : %s", e.getMessage()), e);
+		}
+	}
+
 }
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.jades.validation.timestamp;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.SigDMechanism;
 import eu.europa.esig.dss.jades.DSSJsonUtils;
 import eu.europa.esig.dss.jades.JAdESHeaderParameterNames;
@@ -30,6 +31,7 @@ import eu.europa.esig.dss.jades.validation.JAdESSignature;
 import eu.europa.esig.dss.jades.validation.JWS;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.timestamp.TimestampDataBuilder;
@@ -68,8 +70,13 @@ public class JAdESTimestampDataBuilder implements TimestampDataBuilder {
 	@Override
 	public DSSDocument getContentTimestampData(TimestampToken timestampToken) {
 		try {
-			byte[] signedDataBinaries = getSignedDataBinaries();
-			return new InMemoryDocument(signedDataBinaries);
+			// the signed data is digested in a streaming way, without loading the detached documents into memory
+			DSSDocument signedDataDocument = getSignedDataDocument();
+			if (signedDataDocument == null) {
+				return null;
+			}
+			DigestAlgorithm digestAlgorithm = timestampToken.getMessageImprint().getAlgorithm();
+			return new DigestDocument(digestAlgorithm, signedDataDocument.getDigest(digestAlgorithm));
 
 		} catch (Exception e) {
 			if (LOG.isDebugEnabled()) {
@@ -81,12 +88,16 @@ public class JAdESTimestampDataBuilder implements TimestampDataBuilder {
 		return null;
 	}
 	
-	private byte[] getSignedDataBinaries() {
+	private DSSDocument getSignedDataDocument() {
 		SigDMechanism sigDMechanism = signature.getSigDMechanism();
 		if (sigDMechanism != null) {
-			return getSigDReferencedOctets(sigDMechanism);
+			return getSigDReferencedDocument(sigDMechanism);
+		}
+		DSSDocument detachedPayload = signature.getDetachedPayload();
+		if (detachedPayload != null) {
+			return detachedPayload;
 		} else {
-			return getJWSPayloadValue();
+			return new InMemoryDocument(getJWSPayloadValue());
 		}
 	}
 	
@@ -103,26 +114,26 @@ public class JAdESTimestampDataBuilder implements TimestampDataBuilder {
 		return payload;
 	}
 	
-	private byte[] getSigDReferencedOctets(SigDMechanism sigDMechanism) {
-		byte[] sigDOctets = null;
+	private DSSDocument getSigDReferencedDocument(SigDMechanism sigDMechanism) {
+		DSSDocument sigDDocument = null;
 		List<DSSDocument> documentList;
 
 		switch (sigDMechanism) {
 			case HTTP_HEADERS:
 				documentList = signature.getSignedDocumentsByHTTPHeaderName();
 				HttpHeadersPayloadBuilder httpHeadersPayloadBuilder = new HttpHeadersPayloadBuilder(documentList, true);
-				sigDOctets = httpHeadersPayloadBuilder.build();
+				sigDDocument = httpHeadersPayloadBuilder.buildDocument();
 				break;
 			case OBJECT_ID_BY_URI:
 			case OBJECT_ID_BY_URI_HASH:
 				documentList = signature.getSignedDocumentsForObjectIdByUriMechanism();
-				sigDOctets = DSSJsonUtils.concatenateDSSDocuments(documentList, !signature.getJws().isRfc7797UnencodedPayload());
+				sigDDocument = DSSJsonUtils.getConcatenatedDocument(documentList, !signature.getJws().isRfc7797UnencodedPayload());
 				break;
 			default:
 				LOG.warn("Unsupported SigDMechanism '{}' has been found!", sigDMechanism);
 		}
 
-		return sigDOctets;
+		return sigDDocument;
 	}
 
 	@Override
@@ -418,7 +429,7 @@ public class JAdESTimestampDataBuilder implements TimestampDataBuilder {
 			 * in retrieving the bytes of the body of the HTTP message.
 			 * 
 			 */
-			baos.write(getSignedDataBinaries());
+			getSignedDataDocument().writeTo(baos);
 			
 			/*
 			 * 3) The character '.'.
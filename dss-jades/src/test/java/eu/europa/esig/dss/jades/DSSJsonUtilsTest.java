@@ -22,18 +22,27 @@ package eu.europa.esig.dss.jades;
 
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
+import eu.europa.esig.dss.jades.validation.JWS;
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
+import org.jose4j.base64url.Base64Url;
 import org.jose4j.jws.EcdsaUsingShaAlgorithm;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -112,4 +121,52 @@ public class DSSJsonUtilsTest {
 		assertFalse(DSSJsonUtils.isJsonDocument(new DigestDocument(DigestAlgorithm.SHA1, Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA1, jsonDoc)))));
 	}
 
+	@Test
+	public void concatenatedDocumentTest() throws Exception {
+		Random random = new Random(42);
+		List<DSSDocument> documents = new ArrayList<>();
+		for (int size : new int[] { 0, 1, 2, 3, 3071, 3072, 3073, 100000 }) {
+			byte[] bytes = new byte[size];
+			random.nextBytes(bytes);
+			documents.add(new InMemoryDocument(bytes));
+		}
+
+		for (boolean isBase64UrlEncoded : new boolean[] { true, false }) {
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			for (DSSDocument document : documents) {
+				byte[] bytes = DSSUtils.toByteArray(document);
+				expected.write(isBase64UrlEncoded ? Base64Url.encode(bytes).getBytes(StandardCharsets.US_ASCII) : bytes);
+			}
+
+			DSSDocument concatenatedDocument = DSSJsonUtils.getConcatenatedDocument(documents, isBase64UrlEncoded);
+			assertArrayEquals(expected.toByteArray(), DSSUtils.toByteArray(concatenatedDocument));
+			try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+				concatenatedDocument.writeTo(baos);
+				assertArrayEquals(expected.toByteArray(), baos.toByteArray());
+			}
+			try (InputStream is = concatenatedDocument.openStream(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+				int b;
+				while ((b = is.read()) != -1) {
+					baos.write(b);
+				}
+				assertArrayEquals(expected.toByteArray(), baos.toByteArray());
+			}
+			assertEquals(Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, expected.toByteArray())),
+					concatenatedDocument.getDigest(DigestAlgorithm.SHA256));
+			assertArrayEquals(expected.toByteArray(), DSSJsonUtils.concatenateDSSDocuments(documents, isBase64UrlEncoded));
+		}
+	}
+
+	@Test
+	public void signingInputDocumentTest() {
+		JWS jws = new JWS();
+		jws.setHeader("alg", "RS256");
+		jws.setHeader("b64", false);
+		DSSDocument payload = new InMemoryDocument("Hello World!".getBytes());
+		jws.setPayloadOctets(DSSUtils.toByteArray(payload));
+
+		DSSDocument signingInput = DSSJsonUtils.getSigningInputDocument(jws.getEncodedHeader(), payload);
+		assertArrayEquals(DSSJsonUtils.getSigningInputBytes(jws), DSSUtils.toByteArray(signingInput));
+	}
+
 }
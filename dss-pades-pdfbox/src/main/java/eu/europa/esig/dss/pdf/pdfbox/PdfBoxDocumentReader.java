@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.pdf.pdfbox;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.enumerations.CertificationPermission;
 import eu.europa.esig.dss.pades.exception.ProtectedDocumentException;
 import eu.europa.esig.dss.pades.validation.ByteRange;
@@ -41,6 +42,7 @@ import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -54,6 +56,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -112,10 +115,30 @@ public class PdfBoxDocumentReader implements PdfDocumentReader {
 	 */
 	public PdfBoxDocumentReader(DSSDocument dssDocument, String passwordProtection)
 			throws IOException, eu.europa.esig.dss.pades.exception.InvalidPasswordException {
+		this(dssDocument, passwordProtection, MemoryUsageSetting.setupMainMemoryOnly());
+	}
+
+	/**
+	 * The PDFBox implementation of the Reader with a custom memory usage.
+	 *
+	 * A {@code FileDocument} is read directly from its file, without buffering its content. The memory usage setting
+	 * defines whether the other documents and the parsed objects are buffered in main memory, in a scratch file,
+	 * or in both (e.g. {@code MemoryUsageSetting.setupMixed(maxMainMemoryBytes)}).
+	 *
+	 * @param dssDocument        {@link DSSDocument} to read
+	 * @param passwordProtection {@link String} a password to open a protected document
+	 * @param memoryUsageSetting {@link MemoryUsageSetting} defining the memory/scratch file usage
+	 * @throws IOException       if an exception occurs
+	 * @throws eu.europa.esig.dss.pades.exception.InvalidPasswordException if the password is not provided or
+	 *                           invalid for a protected document
+	 */
+	public PdfBoxDocumentReader(DSSDocument dssDocument, String passwordProtection, MemoryUsageSetting memoryUsageSetting)
+			throws IOException, eu.europa.esig.dss.pades.exception.InvalidPasswordException {
 		Objects.requireNonNull(dssDocument, "The document must be defined!");
+		Objects.requireNonNull(memoryUsageSetting, "The memoryUsageSetting must be defined!");
 		this.dssDocument = dssDocument;
-		try (InputStream is = dssDocument.openStream()) {
-			this.pdDocument = PDDocument.load(is, passwordProtection);
+		try {
+			this.pdDocument = loadPDDocument(dssDocument, passwordProtection, memoryUsageSetting);
 		} catch (InvalidPasswordException e) {
 			throw new eu.europa.esig.dss.pades.exception.InvalidPasswordException(
 					String.format("Encrypted document : %s", e.getMessage()));
@@ -134,9 +157,26 @@ public class PdfBoxDocumentReader implements PdfDocumentReader {
 	 */
 	public PdfBoxDocumentReader(byte[] binaries, String passwordProtection)
 			throws IOException, eu.europa.esig.dss.pades.exception.InvalidPasswordException {
+		this(binaries, passwordProtection, MemoryUsageSetting.setupMainMemoryOnly());
+	}
+
+	/**
+	 * The PDFBox implementation of the Reader with a custom memory usage
+	 *
+	 * @param binaries           a byte array of a PDF to read
+	 * @param passwordProtection {@link String} a password to open a protected
+	 *                           document
+	 * @param memoryUsageSetting {@link MemoryUsageSetting} defining the memory/scratch file usage
+	 * @throws IOException       if an exception occurs
+	 * @throws eu.europa.esig.dss.pades.exception.InvalidPasswordException if the password is not provided or
+	 *                           invalid for a protected document
+	 */
+	public PdfBoxDocumentReader(byte[] binaries, String passwordProtection, MemoryUsageSetting memoryUsageSetting)
+			throws IOException, eu.europa.esig.dss.pades.exception.InvalidPasswordException {
 		Objects.requireNonNull(binaries, "The document binaries must be defined!");
+		Objects.requireNonNull(memoryUsageSetting, "The memoryUsageSetting must be defined!");
 		try {
-			this.pdDocument = PDDocument.load(binaries, passwordProtection);
+			this.pdDocument = PDDocument.load(binaries, passwordProtection, null, null, memoryUsageSetting);
 		} catch (InvalidPasswordException e) {
 			throw new eu.europa.esig.dss.pades.exception.InvalidPasswordException(
 					String.format("Encrypted document : %s", e.getMessage()));
@@ -152,6 +192,29 @@ public class PdfBoxDocumentReader implements PdfDocumentReader {
 		this.pdDocument = pdDocument;
 	}
 
+	/**
+	 * Loads the {@code PDDocument}. A {@code FileDocument} is read directly from its file (random access),
+	 * other documents are buffered according to the {@code memoryUsageSetting}.
+	 *
+	 * @param dssDocument        {@link DSSDocument} to load
+	 * @param passwordProtection {@link String} a password to open a protected document
+	 * @param memoryUsageSetting {@link MemoryUsageSetting} defining the memory/scratch file usage
+	 * @return {@link PDDocument}
+	 * @throws IOException if an exception occurs
+	 */
+	static PDDocument loadPDDocument(DSSDocument dssDocument, String passwordProtection,
+									 MemoryUsageSetting memoryUsageSetting) throws IOException {
+		if (dssDocument instanceof FileDocument) {
+			final File file = ((FileDocument) dssDocument).getFile();
+			if (file.isFile()) {
+				return PDDocument.load(file, passwordProtection, memoryUsageSetting);
+			}
+		}
+		try (InputStream is = dssDocument.openStream()) {
+			return PDDocument.load(is, passwordProtection, memoryUsageSetting);
+		}
+	}
+
 	/**
 	 * Returns the current instance of {@code PDDocument}
 	 *
@@ -57,6 +57,7 @@ import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.cos.COSObject;
 import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -101,6 +102,9 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	/** Used to generate encrypted content for protected documents */
 	private SecureRandomProvider secureRandomProvider;
 
+	/** Defines the memory/scratch file usage for the loaded documents */
+	private MemoryUsageSetting memoryUsageSetting = MemoryUsageSetting.setupMainMemoryOnly();
+
 	/**
 	 * Set the {@code SecureRandomProvider}. Allows modifying a custom behavior for signing of encrypted documents.
 	 * 
@@ -111,6 +115,21 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 		this.secureRandomProvider = secureRandomProvider;
 	}
 
+	/**
+	 * Sets the memory usage setting used to load the PDF documents. Allows buffering the documents and their
+	 * parsed objects in a scratch file instead of the main memory, for example
+	 * {@code MemoryUsageSetting.setupMixed(maxMainMemoryBytes)} to use the main memory up to a byte budget.
+	 * A {@code FileDocument} is always read directly from its file.
+	 *
+	 * Default : {@code MemoryUsageSetting.setupMainMemoryOnly()}
+	 *
+	 * @param memoryUsageSetting {@link MemoryUsageSetting}
+	 */
+	public void setMemoryUsageSetting(MemoryUsageSetting memoryUsageSetting) {
+		Objects.requireNonNull(memoryUsageSetting, "MemoryUsageSetting cannot be null");
+		this.memoryUsageSetting = memoryUsageSetting;
+	}
+
 	/**
 	 * Constructor for the PdfBoxSignatureService
 	 * 
@@ -128,7 +147,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	public byte[] digest(final DSSDocument toSignDocument, final PAdESCommonParameters parameters) {
 		final byte[] signatureValue = DSSUtils.EMPTY_BYTE_ARRAY;
 		try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-			 	PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection())) {
+			 	PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection(), memoryUsageSetting)) {
 			checkDocumentPermissions(documentReader);
 			if (parameters instanceof PAdESSignatureParameters) {
 				checkNewSignatureIsPermitted(documentReader, parameters.getImageParameters().getFieldParameters());
@@ -148,7 +167,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	public DSSDocument previewPageWithVisualSignature(final DSSDocument toSignDocument, final PAdESCommonParameters parameters) {
 		final byte[] signatureValue = DSSUtils.EMPTY_BYTE_ARRAY;
 		try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-			 PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection())) {
+			 PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection(), memoryUsageSetting)) {
 			checkDocumentPermissions(documentReader);
 			if (parameters instanceof PAdESSignatureParameters) {
 				checkNewSignatureIsPermitted(documentReader, parameters.getImageParameters().getFieldParameters());
@@ -167,7 +186,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	public DSSDocument previewSignatureField(final DSSDocument toSignDocument, final PAdESCommonParameters parameters) {
 		final byte[] signatureValue = DSSUtils.EMPTY_BYTE_ARRAY;
 		try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-			 PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection())) {
+			 PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection(), memoryUsageSetting)) {
 			checkDocumentPermissions(documentReader);
 			if (parameters instanceof PAdESSignatureParameters) {
 				checkNewSignatureIsPermitted(documentReader, parameters.getImageParameters().getFieldParameters());
@@ -185,7 +204,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	}
 
 	private DSSDocument getNewSignatureFieldScreenshot(DSSDocument doc, PAdESCommonParameters parameters, List<PdfAnnotation> originalAnnotations) throws IOException {
-		try (PdfBoxDocumentReader reader = new PdfBoxDocumentReader(doc, parameters.getPasswordProtection())) {
+		try (PdfBoxDocumentReader reader = new PdfBoxDocumentReader(doc, parameters.getPasswordProtection(), memoryUsageSetting)) {
 			List<PdfAnnotation> newAnnotations = reader.getPdfAnnotations(parameters.getImageParameters().getFieldParameters().getPage());
 			AnnotationBox pageBox = reader.getPageBox(parameters.getImageParameters().getFieldParameters().getPage());
 
@@ -225,7 +244,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	public DSSDocument sign(final DSSDocument toSignDocument, final byte[] signatureValue,
 			final PAdESCommonParameters parameters) {
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			 	PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection())) {
+			 	PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(toSignDocument, parameters.getPasswordProtection(), memoryUsageSetting)) {
 			checkDocumentPermissions(documentReader);
 			if (parameters instanceof PAdESSignatureParameters) {
 				checkNewSignatureIsPermitted(documentReader, parameters.getImageParameters().getFieldParameters());
@@ -487,8 +506,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	@Override
 	public DSSDocument addDssDictionary(DSSDocument document, PdfValidationDataContainer validationDataForInclusion, String pwd) {
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				InputStream is = document.openStream();
-				PDDocument pdDocument = PDDocument.load(is, pwd)) {
+				PDDocument pdDocument = PdfBoxDocumentReader.loadPDDocument(document, pwd, memoryUsageSetting)) {
 
 			if (!validationDataForInclusion.isEmpty()) {
 				final COSDictionary cosDictionary = pdDocument.getDocumentCatalog().getCOSObject();
@@ -675,7 +693,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	@Override
 	public List<String> getAvailableSignatureFields(final DSSDocument document, final String pwd) {
 		List<String> result = new ArrayList<>();
-		try (InputStream is = document.openStream(); PDDocument pdfDoc = PDDocument.load(is, pwd)) {
+		try (PDDocument pdfDoc = PdfBoxDocumentReader.loadPDDocument(document, pwd, memoryUsageSetting)) {
 			List<PDSignatureField> signatureFields = pdfDoc.getSignatureFields();
 			for (PDSignatureField pdSignatureField : signatureFields) {
 				PDSignature signature = pdSignatureField.getSignature();
@@ -694,7 +712,7 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 	@Override
 	public DSSDocument addNewSignatureField(DSSDocument document, SignatureFieldParameters parameters, String pwd) {
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			 	PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(document, pwd)) {
+			 	PdfBoxDocumentReader documentReader = new PdfBoxDocumentReader(document, pwd, memoryUsageSetting)) {
 			checkDocumentPermissions(documentReader);
 			checkNewSignatureIsPermitted(documentReader, parameters);
 
@@ -758,12 +776,12 @@ public class PdfBoxSignatureService extends AbstractPDFSignatureService {
 
 	@Override
 	protected PdfDocumentReader loadPdfDocumentReader(DSSDocument dssDocument, String passwordProtection) throws IOException, eu.europa.esig.dss.pades.exception.InvalidPasswordException {
-		return new PdfBoxDocumentReader(dssDocument, passwordProtection);
+		return new PdfBoxDocumentReader(dssDocument, passwordProtection, memoryUsageSetting);
 	}
 
 	@Override
 	protected PdfDocumentReader loadPdfDocumentReader(byte[] binaries, String passwordProtection) throws IOException, eu.europa.esig.dss.pades.exception.InvalidPasswordException {
-		return new PdfBoxDocumentReader(binaries, passwordProtection);
+		return new PdfBoxDocumentReader(binaries, passwordProtection, memoryUsageSetting);
 	}
 
 }
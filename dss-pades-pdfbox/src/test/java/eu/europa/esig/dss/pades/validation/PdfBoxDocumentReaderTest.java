@@ -21,21 +21,37 @@
 package eu.europa.esig.dss.pades.validation;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.pades.SignatureFieldParameters;
+import eu.europa.esig.dss.pdf.PDFServiceMode;
 import eu.europa.esig.dss.pdf.PdfDocumentReader;
 import eu.europa.esig.dss.pdf.PdfDssDict;
 import eu.europa.esig.dss.pdf.pdfbox.PdfBoxDocumentReader;
+import eu.europa.esig.dss.pdf.pdfbox.PdfBoxSignatureService;
+import eu.europa.esig.dss.pdf.pdfbox.visible.defaultdrawer.PdfBoxDefaultSignatureDrawerFactory;
 import eu.europa.esig.dss.spi.DSSUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PdfBoxDocumentReaderTest {
 
+	@TempDir
+	File tempDir;
+
 	private static final String FILE = "/validation/doc-firmado-LT.pdf";
 
 	@Test
@@ -46,6 +62,46 @@ public class PdfBoxDocumentReaderTest {
 		}
 	}
 	
+	@Test
+	public void memoryUsageSettingTest() throws Exception {
+		File file = new File(tempDir, "doc.pdf");
+		try (InputStream is = getClass().getResourceAsStream(FILE)) {
+			Files.copy(is, file.toPath());
+		}
+		DSSDocument inMemoryDocument = new InMemoryDocument(getClass().getResourceAsStream(FILE));
+		DSSDocument fileDocument = new FileDocument(file);
+
+		int expectedSignatures;
+		try (PdfDocumentReader documentReader = new PdfBoxDocumentReader(inMemoryDocument)) {
+			expectedSignatures = documentReader.extractSigDictionaries().size();
+		}
+		assertTrue(expectedSignatures > 0);
+
+		for (MemoryUsageSetting memoryUsageSetting : Arrays.asList(MemoryUsageSetting.setupMainMemoryOnly(),
+				MemoryUsageSetting.setupMixed(1024), MemoryUsageSetting.setupTempFileOnly())) {
+			for (DSSDocument document : Arrays.asList(inMemoryDocument, fileDocument)) {
+				try (PdfDocumentReader documentReader = new PdfBoxDocumentReader(document, null, memoryUsageSetting)) {
+					assertNotNull(documentReader.getDSSDictionary());
+					assertEquals(expectedSignatures, documentReader.extractSigDictionaries().size());
+				}
+			}
+			try (PdfDocumentReader documentReader = new PdfBoxDocumentReader(DSSUtils.toByteArray(inMemoryDocument), null, memoryUsageSetting)) {
+				assertEquals(expectedSignatures, documentReader.extractSigDictionaries().size());
+			}
+
+			PdfBoxSignatureService signatureService = new PdfBoxSignatureService(PDFServiceMode.SIGNATURE, new PdfBoxDefaultSignatureDrawerFactory());
+			signatureService.setMemoryUsageSetting(memoryUsageSetting);
+			assertEquals(new PdfBoxSignatureService(PDFServiceMode.SIGNATURE, new PdfBoxDefaultSignatureDrawerFactory()).getRevisions(inMemoryDocument, null).size(),
+					signatureService.getRevisions(fileDocument, null).size());
+			assertEquals(0, signatureService.getAvailableSignatureFields(fileDocument, null).size());
+
+			SignatureFieldParameters fieldParameters = new SignatureFieldParameters();
+			fieldParameters.setFieldId("new-field");
+			DSSDocument withNewField = signatureService.addNewSignatureField(fileDocument, fieldParameters, null);
+			assertEquals(Collections.singletonList("new-field"), signatureService.getAvailableSignatureFields(withNewField, null));
+		}
+	}
+
 	@Test
 	public void testPdfBoxUtilsEmptyDocument() throws Exception {
 		assertThrows(IOException.class, () -> new PdfBoxDocumentReader(new InMemoryDocument(DSSUtils.EMPTY_BYTE_ARRAY, "empty_doc")));
@@ -0,0 +1,119 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf.pdfbox;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.pades.PAdESUtils;
+import eu.europa.esig.dss.pades.validation.PAdESSignature;
+import eu.europa.esig.dss.pades.validation.PDFDocumentValidator;
+import eu.europa.esig.dss.pades.validation.PdfModification;
+import eu.europa.esig.dss.pdf.PdfModificationDetectionUtils;
+import eu.europa.esig.dss.pdf.PdfVisualComparator;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class PdfBoxVisualComparatorTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = { "/validation/dss-2236/hide.pdf", "/validation/dss-2236/replace.pdf",
+			"/validation/pades-5-signatures-and-1-document-timestamp.pdf",
+			"/validation/pades-multiple-pages-annots-overlap.pdf", "/validation/pdf-signed-added-page.pdf" })
+	public void sameResultsTest(String fileName) throws IOException {
+		DSSDocument document = new InMemoryDocument(getClass().getResourceAsStream(fileName));
+		List<AdvancedSignature> signatures = new PDFDocumentValidator(document).getSignatures();
+		assertFalse(signatures.isEmpty());
+
+		ExecutorService executorService = Executors.newFixedThreadPool(3);
+		try (PdfBoxDocumentReader finalRevisionReader = new PdfBoxDocumentReader(document);
+			 PdfVisualComparator sequentialComparator = new PdfVisualComparator(finalRevisionReader);
+			 PdfVisualComparator parallelComparator = new PdfVisualComparator(finalRevisionReader,
+					 () -> new PdfBoxDocumentReader(document), executorService, 2)) {
+			for (AdvancedSignature signature : signatures) {
+				DSSDocument signedRevision = new InMemoryDocument(PAdESUtils.getRevisionContent(document,
+						((PAdESSignature) signature).getPdfRevision().getByteRange()));
+				try (PdfBoxDocumentReader signedRevisionReader = new PdfBoxDocumentReader(signedRevision)) {
+					List<Integer> expected = getPages(PdfModificationDetectionUtils.getVisualDifferences(
+							signedRevisionReader, finalRevisionReader));
+					assertEquals(expected, getPages(sequentialComparator.getVisualDifferences(signedRevisionReader, null)));
+					assertEquals(expected, getPages(parallelComparator.getVisualDifferences(signedRevisionReader,
+							() -> new PdfBoxDocumentReader(signedRevision))));
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void visualDifferenceTest() throws IOException {
+		DSSDocument document = new InMemoryDocument(getClass().getResourceAsStream("/validation/dss-2236/hide.pdf"));
+		PAdESSignature signature = (PAdESSignature) new PDFDocumentValidator(document).getSignatures().get(0);
+		DSSDocument signedRevision = new InMemoryDocument(PAdESUtils.getRevisionContent(document,
+				signature.getPdfRevision().getByteRange()));
+
+		try (PdfBoxDocumentReader finalRevisionReader = new PdfBoxDocumentReader(document);
+			 PdfBoxDocumentReader signedRevisionReader = new PdfBoxDocumentReader(signedRevision);
+			 PdfVisualComparator visualComparator = new PdfVisualComparator(finalRevisionReader)) {
+			List<PdfModification> visualDifferences = visualComparator.getVisualDifferences(signedRevisionReader, null);
+			assertEquals(1, visualDifferences.size());
+			assertEquals(1, visualDifferences.get(0).getPage());
+
+			// the final revision renderings are reused
+			assertEquals(getPages(visualDifferences),
+					getPages(visualComparator.getVisualDifferences(signedRevisionReader, null)));
+		}
+	}
+
+	@Test
+	public void unchangedPagesTest() throws IOException {
+		DSSDocument document = new InMemoryDocument(getClass().getResourceAsStream("/validation/pdf-signed-original.pdf"));
+		try (PdfBoxDocumentReader finalRevisionReader = new PdfBoxDocumentReader(document);
+			 PdfBoxDocumentReader signedRevisionReader = new PdfBoxDocumentReader(document) {
+
+				 @Override
+				 public BufferedImage generateImageScreenshot(int page) {
+					 throw new IllegalStateException("The unchanged pages shall not be rendered");
+				 }
+
+			 };
+			 PdfVisualComparator visualComparator = new PdfVisualComparator(finalRevisionReader)) {
+			assertEquals(0, visualComparator.getVisualDifferences(signedRevisionReader, null).size());
+		}
+	}
+
+	private List<Integer> getPages(List<PdfModification> modifications) {
+		return modifications.stream().map(PdfModification::getPage).collect(Collectors.toList());
+	}
+
+}
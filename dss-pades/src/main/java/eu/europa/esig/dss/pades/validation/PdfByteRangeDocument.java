@@ -0,0 +1,143 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pades.validation;
+
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Represents the content of a PDF document covered by a signature {@code ByteRange} ([0]-[1] and [2]-[3]).
+ *
+ * The binaries are not copied : the two ranges are read from the original document on each
+ * {@link #openStream()} call, and the digests are computed by streaming.
+ */
+@SuppressWarnings("serial")
+public class PdfByteRangeDocument extends CommonDocument {
+
+	/** The original PDF document */
+	private final DSSDocument document;
+
+	/** The ByteRange defining the covered content */
+	private final ByteRange byteRange;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param document {@link DSSDocument} the original PDF document
+	 * @param byteRange {@link ByteRange} defining the covered content
+	 */
+	public PdfByteRangeDocument(final DSSDocument document, final ByteRange byteRange) {
+		Objects.requireNonNull(document, "The document cannot be null!");
+		Objects.requireNonNull(byteRange, "The byteRange cannot be null!");
+		this.document = document;
+		this.byteRange = byteRange;
+	}
+
+	/**
+	 * Returns the ByteRange defining the covered content
+	 *
+	 * @return {@link ByteRange}
+	 */
+	public ByteRange getByteRange() {
+		return byteRange;
+	}
+
+	@Override
+	public InputStream openStream() {
+		return new ByteRangeInputStream(document.openStream(), byteRange);
+	}
+
+	/**
+	 * Reads the two parts of the ByteRange from the original document stream
+	 */
+	private static class ByteRangeInputStream extends InputStream {
+
+		/** The original document stream */
+		private final InputStream is;
+
+		/** The ByteRange to read */
+		private final ByteRange byteRange;
+
+		/** The current position in the original document */
+		private long position = 0;
+
+		private ByteRangeInputStream(InputStream is, ByteRange byteRange) {
+			this.is = is;
+			this.byteRange = byteRange;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			int count = read(b, 0, 1);
+			return count == -1 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (position < byteRange.getFirstPartStart()) {
+				skipTo(byteRange.getFirstPartStart());
+			} else if (position >= byteRange.getFirstPartEnd() && position < byteRange.getSecondPartStart()) {
+				skipTo(byteRange.getSecondPartStart());
+			}
+
+			final long end = position < byteRange.getFirstPartEnd() ? byteRange.getFirstPartEnd()
+					: (long) byteRange.getSecondPartStart() + byteRange.getSecondPartEnd();
+			if (position < byteRange.getFirstPartStart() || position >= end) {
+				// end of the document, or end of the second part
+				return -1;
+			}
+
+			final int count = is.read(b, off, (int) Math.min(len, end - position));
+			if (count > 0) {
+				position += count;
+			}
+			return count;
+		}
+
+		private void skipTo(long target) throws IOException {
+			while (position < target) {
+				long skipped = is.skip(target - position);
+				if (skipped <= 0) {
+					if (is.read() == -1) {
+						return;
+					}
+					skipped = 1;
+				}
+				position += skipped;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			is.close();
+		}
+
+	}
+
+}
@@ -35,6 +35,7 @@ import eu.europa.esig.dss.pades.validation.ByteRange;
 import eu.europa.esig.dss.pades.validation.PAdESSignature;
 import eu.europa.esig.dss.pades.validation.PdfModification;
 import eu.europa.esig.dss.pades.validation.PdfModificationDetection;
+import eu.europa.esig.dss.pades.validation.PdfByteRangeDocument;
 import eu.europa.esig.dss.pades.validation.PdfRevision;
 import eu.europa.esig.dss.pades.validation.PdfSignatureDictionary;
 import eu.europa.esig.dss.pades.validation.PdfSignatureField;
@@ -60,6 +61,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 /**
@@ -108,6 +110,22 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 	 */
 	private int maximalPagesAmountForVisualComparison = 10;
 
+	/**
+	 * The executor service used to render the pages of the revisions in parallel
+	 * during the visual screenshot comparison
+	 *
+	 * Default : null (the pages are rendered sequentially)
+	 */
+	private ExecutorService visualComparisonExecutorService;
+
+	/**
+	 * This variable sets the maximal amount of pages rendered at the same time
+	 * during a parallel visual screenshot comparison
+	 *
+	 * Default : 4 pages
+	 */
+	private int maximalPagesInFlightForVisualComparison = 4;
+
 	/**
 	 * Constructor for the PDFSignatureService
 	 * 
@@ -174,6 +192,37 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 		this.maximalPagesAmountForVisualComparison = pagesAmount;
 	}
 
+	/**
+	 * Sets an executor service to render the pages of the signed and final
+	 * revisions in parallel during the visual screenshot comparison. Every
+	 * parallel rendering loads its own instance of the document reader.
+	 * 
+	 * NOTE: the executor service is not shut down by the PDFSignatureService
+	 * 
+	 * Default : null (the pages are rendered sequentially)
+	 * 
+	 * @param visualComparisonExecutorService {@link ExecutorService} to use
+	 */
+	public void setVisualComparisonExecutorService(ExecutorService visualComparisonExecutorService) {
+		this.visualComparisonExecutorService = visualComparisonExecutorService;
+	}
+
+	/**
+	 * Sets a maximal amount of pages rendered at the same time during a parallel
+	 * visual screenshot comparison. The value limits the memory used by the
+	 * rendered images and the additionally loaded document readers.
+	 * 
+	 * Default : 4 pages
+	 * 
+	 * @param pagesAmount the maximal amount of pages rendered at the same time
+	 */
+	public void setMaximalPagesInFlightForVisualComparison(int pagesAmount) {
+		if (pagesAmount < 1) {
+			throw new IllegalArgumentException("The maximal amount of pages in flight shall be positive!");
+		}
+		this.maximalPagesInFlightForVisualComparison = pagesAmount;
+	}
+
 	/**
 	 * Returns a SignatureDrawer initialized from a provided
 	 * {@code signatureDrawerFactory}
@@ -304,8 +353,13 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 					}
 
 					boolean signatureCoversWholeDocument = reader.isSignatureCoversWholeDocument(signatureDictionary);
-					byte[] signedData = PAdESUtils.getSignedContentFromRevision(revisionContent, byteRange);
-					DSSDocument signedContent = new InMemoryDocument(signedData);
+					final DSSDocument signedContent;
+					if (Utils.isArrayNotEmpty(revisionContent)) {
+						// streamed from the original document, without copy
+						signedContent = new PdfByteRangeDocument(document, byteRange);
+					} else {
+						signedContent = new InMemoryDocument(PAdESUtils.getSignedContentFromRevision(revisionContent, byteRange));
+					}
 
 					// create a DSS revision if updated
 					lastDSSDictionary = getPreviousDssDictAndUpdateIfNeeded(revisions, compositeDssDictionary,
@@ -690,12 +744,16 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 
 	@Override
 	public void analyzePdfModifications(DSSDocument document, List<AdvancedSignature> signatures, String pwd) {
-		try (PdfDocumentReader finalRevisionReader = loadPdfDocumentReader(document, pwd)) {
+		try (PdfDocumentReader finalRevisionReader = loadPdfDocumentReader(document, pwd);
+			 PdfVisualComparator visualComparator = new PdfVisualComparator(finalRevisionReader,
+					 () -> loadPdfDocumentReader(document, pwd), visualComparisonExecutorService,
+					 maximalPagesInFlightForVisualComparison)) {
 			for (AdvancedSignature signature : signatures) {
 				PAdESSignature padesSignature = (PAdESSignature) signature;
 				PdfSignatureRevision pdfRevision = padesSignature.getPdfRevision();
 				byte[] revisionContent = PAdESUtils.getRevisionContent(document, pdfRevision.getByteRange());
-				pdfRevision.setModificationDetection(getModificationDetection(finalRevisionReader, new InMemoryDocument(revisionContent), pwd));
+				pdfRevision.setModificationDetection(getModificationDetection(finalRevisionReader, visualComparator,
+						new InMemoryDocument(revisionContent), pwd));
 			}
 
 		} catch (Exception e) {
@@ -708,7 +766,8 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 		}
 	}
 
-	private PdfModificationDetection getModificationDetection(PdfDocumentReader finalRevisionReader, DSSDocument originalDocument, String pwd) throws IOException {
+	private PdfModificationDetection getModificationDetection(PdfDocumentReader finalRevisionReader,
+			PdfVisualComparator visualComparator, DSSDocument originalDocument, String pwd) throws IOException {
 		try (PdfDocumentReader signedRevisionReader = loadPdfDocumentReader(originalDocument , pwd)) {
 			PdfModificationDetectionImpl pdfModificationDetection = new PdfModificationDetectionImpl();
 
@@ -717,7 +776,8 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 			pdfModificationDetection.setPageDifferences(
 					PdfModificationDetectionUtils.getPagesDifferences(signedRevisionReader, finalRevisionReader));
 			pdfModificationDetection.setVisualDifferences(
-					getVisualDifferences(signedRevisionReader, finalRevisionReader));
+					getVisualDifferences(signedRevisionReader, finalRevisionReader, visualComparator,
+							() -> loadPdfDocumentReader(originalDocument, pwd)));
 
 			Set<ObjectModification> modificationsSet =
 					PdfModificationDetectionUtils.getModificationSet(signedRevisionReader, finalRevisionReader);
@@ -735,14 +795,19 @@ public abstract class AbstractPDFSignatureService implements PDFSignatureService
 	 *                             content
 	 * @param finalRevisionReader  {@link PdfDocumentReader} for the input PDF
 	 *                             document
+	 * @param visualComparator     {@link PdfVisualComparator} shared between the
+	 *                             signed revisions of the input PDF document
+	 * @param signedRevisionLoader {@link PdfVisualComparator.PdfDocumentReaderLoader}
+	 *                             to load additional readers for the signed revision
 	 * @return a list of {@link PdfModification}s
 	 * @throws IOException if an exception occurs
 	 */
 	protected List<PdfModification> getVisualDifferences(final PdfDocumentReader signedRevisionReader,
-			final PdfDocumentReader finalRevisionReader) throws IOException {
+			final PdfDocumentReader finalRevisionReader, final PdfVisualComparator visualComparator,
+			final PdfVisualComparator.PdfDocumentReaderLoader signedRevisionLoader) throws IOException {
 		int pagesAmount = finalRevisionReader.getNumberOfPages();
 		if (maximalPagesAmountForVisualComparison >= pagesAmount) {
-			return PdfModificationDetectionUtils.getVisualDifferences(signedRevisionReader, finalRevisionReader);
+			return visualComparator.getVisualDifferences(signedRevisionReader, signedRevisionLoader);
 		} else {
 			LOG.debug("The provided document contains {} pages, while the limit for a visual comparison is set to {}.",
 					pagesAmount, maximalPagesAmountForVisualComparison);
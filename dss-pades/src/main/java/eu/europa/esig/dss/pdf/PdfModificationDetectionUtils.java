@@ -163,7 +163,14 @@ public class PdfModificationDetectionUtils {
 		return missingPages;
 	}
 
-	private static List<PdfAnnotation> getUpdatedAnnotations(List<PdfAnnotation> signedAnnotations,
+	/**
+	 * Returns a list of annotations present in the final revision, but not in the signed revision
+	 *
+	 * @param signedAnnotations a list of {@link PdfAnnotation}s of the signed revision page
+	 * @param finalAnnotations a list of {@link PdfAnnotation}s of the final revision page
+	 * @return a list of added {@link PdfAnnotation}s
+	 */
+	static List<PdfAnnotation> getUpdatedAnnotations(List<PdfAnnotation> signedAnnotations,
 			List<PdfAnnotation> finalAnnotations) {
 		List<PdfAnnotation> updatesAnnotations = new ArrayList<>();
 		for (PdfAnnotation annotationBox : finalAnnotations) {
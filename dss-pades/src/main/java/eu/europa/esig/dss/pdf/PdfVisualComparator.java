@@ -0,0 +1,578 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.pades.validation.PdfModification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Compares the visual representation of the pages of the signed revisions against the final PDF document.
+ *
+ * The pages with identical page dictionaries (content streams, resources and annotations including their
+ * appearance streams) in the signed and final revisions are not rendered. The rendered pages are compared by
+ * a digest of their pixels, and a page of the final revision is rendered only once for all the signed revisions
+ * sharing the same added annotations.
+ *
+ * When an {@code ExecutorService} is provided, the pages are rendered in parallel with at most
+ * {@code maxInFlightPages} pages rendered at the same time. As a {@code PdfDocumentReader} cannot be used
+ * concurrently, every parallel rendering uses its own instance of the reader for the concerned revision.
+ *
+ * NOTE: the comparator shall be closed in order to release the additionally loaded readers
+ */
+public class PdfVisualComparator implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PdfVisualComparator.class);
+
+	/** The keys not taken into account in a page fingerprint (references to the parent objects) */
+	private static final Set<String> EXCLUDED_KEYS = new HashSet<>(Arrays.asList("Parent", "P"));
+
+	/** The inheritable page attributes (see ISO 32000-1, 7.7.3.4 "Inheritance of Page Attributes") */
+	private static final String[] INHERITABLE_KEYS = { "Resources", "MediaBox", "CropBox", "Rotate" };
+
+	/** The optional content properties of the catalog, which define the visibility of the page content */
+	private static final String OC_PROPERTIES = "OCProperties";
+
+	/** The readers for the final document revision */
+	private final PdfDocumentReaderPool finalRevisionReaders;
+
+	/** The executor service to render the pages in parallel (when null, the pages are rendered sequentially) */
+	private final ExecutorService executorService;
+
+	/** The maximal number of pages rendered at the same time */
+	private final int maxInFlightPages;
+
+	/** The digests of the final revision pages renderings, by page number and hidden annotations */
+	private final Map<List<Object>, Future<byte[]>> finalPageDigests = new ConcurrentHashMap<>();
+
+	/** The fingerprints of the final revision pages (lazily computed) */
+	private List<byte[]> finalPageFingerprints;
+
+	/**
+	 * Default constructor rendering the pages sequentially
+	 *
+	 * @param finalRevisionReader {@link PdfDocumentReader} for the final document revision
+	 */
+	public PdfVisualComparator(PdfDocumentReader finalRevisionReader) {
+		this(finalRevisionReader, null, null, 1);
+	}
+
+	/**
+	 * Constructor allowing a parallel rendering of the pages
+	 *
+	 * @param finalRevisionReader {@link PdfDocumentReader} for the final document revision
+	 * @param finalRevisionLoader {@link PdfDocumentReaderLoader} to load additional readers for the final document
+	 *                            revision (can be null when {@code executorService} is not defined)
+	 * @param executorService {@link ExecutorService} to render the pages in parallel (null to render sequentially)
+	 * @param maxInFlightPages the maximal number of pages rendered at the same time
+	 */
+	public PdfVisualComparator(PdfDocumentReader finalRevisionReader, PdfDocumentReaderLoader finalRevisionLoader,
+							   ExecutorService executorService, int maxInFlightPages) {
+		Objects.requireNonNull(finalRevisionReader, "The final revision reader shall be defined!");
+		if (executorService != null) {
+			Objects.requireNonNull(finalRevisionLoader, "The final revision loader shall be defined for a parallel comparison!");
+			if (maxInFlightPages < 1) {
+				throw new IllegalArgumentException("The maximal number of pages in flight shall be positive!");
+			}
+		}
+		this.executorService = executorService;
+		this.maxInFlightPages = executorService != null ? maxInFlightPages : 1;
+		this.finalRevisionReaders = new PdfDocumentReaderPool(finalRevisionReader, finalRevisionLoader, this.maxInFlightPages);
+	}
+
+	/**
+	 * Returns a list of visual differences found between the signed revision and the final revision
+	 * excluding the newly created annotations
+	 *
+	 * @param signedRevisionReader {@link PdfDocumentReader} for the signed (covered) revision content
+	 * @param signedRevisionLoader {@link PdfDocumentReaderLoader} to load additional readers for the signed revision
+	 *                             (can be null when the pages are rendered sequentially)
+	 * @return a list of {@link PdfModification}s
+	 * @throws IOException if an exception occurs
+	 */
+	public List<PdfModification> getVisualDifferences(final PdfDocumentReader signedRevisionReader,
+			final PdfDocumentReaderLoader signedRevisionLoader) throws IOException {
+		final PdfDocumentReader finalRevisionReader = finalRevisionReaders.getInitialReader();
+		final List<byte[]> signedFingerprints = getPageFingerprints(signedRevisionReader);
+		final List<byte[]> finalFingerprints = getFinalPageFingerprints();
+
+		final List<PageComparison> pageComparisons = new ArrayList<>();
+		for (int pageNumber = 1; pageNumber <= signedRevisionReader.getNumberOfPages()
+				&& pageNumber <= finalRevisionReader.getNumberOfPages(); pageNumber++) {
+			if (signedFingerprints != null && finalFingerprints != null &&
+					Arrays.equals(signedFingerprints.get(pageNumber - 1), finalFingerprints.get(pageNumber - 1))) {
+				LOG.trace("The page {} is unchanged between the signed revision and the final document.", pageNumber);
+				continue;
+			}
+			List<PdfAnnotation> signedAnnotations = signedRevisionReader.getPdfAnnotations(pageNumber);
+			List<PdfAnnotation> finalAnnotations = finalRevisionReader.getPdfAnnotations(pageNumber);
+			pageComparisons.add(new PageComparison(pageNumber,
+					PdfModificationDetectionUtils.getUpdatedAnnotations(signedAnnotations, finalAnnotations)));
+		}
+
+		try (PdfDocumentReaderPool signedRevisionReaders = new PdfDocumentReaderPool(
+				signedRevisionReader, signedRevisionLoader, maxInFlightPages)) {
+			List<Integer> changedPages = compare(pageComparisons, signedRevisionReaders);
+
+			List<PdfModification> visualDifferences = new ArrayList<>();
+			for (Integer pageNumber : changedPages) {
+				LOG.warn("A visual difference found on page {} between a signed revision and the final document!",
+						pageNumber);
+				visualDifferences.add(new CommonPdfModification(pageNumber));
+			}
+			return visualDifferences;
+		}
+	}
+
+	private List<Integer> compare(List<PageComparison> pageComparisons, PdfDocumentReaderPool signedRevisionReaders)
+			throws IOException {
+		List<Integer> changedPages = new ArrayList<>();
+		if (executorService == null) {
+			for (PageComparison pageComparison : pageComparisons) {
+				if (pageComparison.isChanged(signedRevisionReaders)) {
+					changedPages.add(pageComparison.pageNumber);
+				}
+			}
+			return changedPages;
+		}
+
+		final Semaphore inFlightPages = new Semaphore(maxInFlightPages);
+		final List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for (final PageComparison pageComparison : pageComparisons) {
+				inFlightPages.acquire();
+				try {
+					results.add(executorService.submit(() -> {
+						try {
+							return pageComparison.isChanged(signedRevisionReaders);
+						} finally {
+							inFlightPages.release();
+						}
+					}));
+				} catch (RuntimeException e) {
+					inFlightPages.release();
+					throw e;
+				}
+			}
+			for (int i = 0; i < pageComparisons.size(); i++) {
+				if (getResult(results.get(i))) {
+					changedPages.add(pageComparisons.get(i).pageNumber);
+				}
+			}
+			return changedPages;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The visual comparison has been interrupted", e);
+
+		} finally {
+			// the readers cannot be released before the end of the submitted renderings
+			awaitTermination(results);
+		}
+	}
+
+	private static void awaitTermination(List<Future<Boolean>> results) {
+		boolean interrupted = false;
+		for (Future<Boolean> result : results) {
+			while (!result.isDone()) {
+				try {
+					result.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					// already processed or to be ignored after a failure
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private byte[] getFinalPageDigest(final int pageNumber, final List<PdfAnnotation> addedAnnotations) throws IOException {
+		final List<Object> key = Arrays.<Object>asList(pageNumber, addedAnnotations);
+		FutureTask<byte[]> task = new FutureTask<>(() -> render(finalRevisionReaders,
+				reader -> reader.generateImageScreenshotWithoutAnnotations(pageNumber, addedAnnotations)));
+		Future<byte[]> pageDigest = finalPageDigests.putIfAbsent(key, task);
+		if (pageDigest == null) {
+			pageDigest = task;
+			task.run();
+		}
+		return getResult(pageDigest);
+	}
+
+	private static byte[] render(PdfDocumentReaderPool readers, PageRenderer renderer) throws IOException {
+		PdfDocumentReader reader = readers.acquire();
+		try {
+			return getImageDigest(renderer.render(reader));
+		} finally {
+			readers.release(reader);
+		}
+	}
+
+	private static <T> T getResult(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The visual comparison has been interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new DSSException(String.format("Unable to render the page : %s", cause.getMessage()), cause);
+		}
+	}
+
+	/**
+	 * Computes a digest of the RGB values of the image (equivalent to the pixel per pixel comparison)
+	 *
+	 * @param image {@link BufferedImage}
+	 * @return digest of the image
+	 */
+	static byte[] getImageDigest(BufferedImage image) {
+		MessageDigest messageDigest = getMessageDigest();
+		int width = image.getWidth();
+		int height = image.getHeight();
+		messageDigest.update(String.format("%sx%s", width, height).getBytes(StandardCharsets.UTF_8));
+		int[] row = new int[width];
+		byte[] rowBytes = new byte[width * 3];
+		for (int y = 0; y < height; y++) {
+			image.getRGB(0, y, width, 1, row, 0, width);
+			for (int x = 0; x < width; x++) {
+				rowBytes[x * 3] = (byte) (row[x] >> 16);
+				rowBytes[x * 3 + 1] = (byte) (row[x] >> 8);
+				rowBytes[x * 3 + 2] = (byte) row[x];
+			}
+			messageDigest.update(rowBytes);
+		}
+		return messageDigest.digest();
+	}
+
+	private synchronized List<byte[]> getFinalPageFingerprints() {
+		if (finalPageFingerprints == null) {
+			List<byte[]> fingerprints = getPageFingerprints(finalRevisionReaders.getInitialReader());
+			finalPageFingerprints = fingerprints != null ? fingerprints : Collections.emptyList();
+		}
+		return finalPageFingerprints.isEmpty() ? null : finalPageFingerprints;
+	}
+
+	/**
+	 * Computes the fingerprints of the pages of the document, based on the page dictionaries with their
+	 * inherited attributes and the optional content properties of the document
+	 *
+	 * @param reader {@link PdfDocumentReader}
+	 * @return a list of page fingerprints, or null if the pages tree cannot be processed
+	 */
+	static List<byte[]> getPageFingerprints(PdfDocumentReader reader) {
+		try {
+			PdfDict catalog = reader.getCatalogDictionary();
+			PdfDict pages = catalog != null ? catalog.getAsDict("Pages") : null;
+			if (pages == null) {
+				return null;
+			}
+			MessageDigest ocDigest = getMessageDigest();
+			digestObject(ocDigest, catalog.getObject(OC_PROPERTIES), catalog.getObjectNumber(OC_PROPERTIES), new HashSet<>());
+			byte[] ocPropertiesDigest = ocDigest.digest();
+
+			List<byte[]> fingerprints = new ArrayList<>();
+			collectPageFingerprints(fingerprints, pages, catalog.getObjectNumber("Pages"), new HashMap<>(),
+					new HashSet<>(), ocPropertiesDigest);
+			if (fingerprints.size() != reader.getNumberOfPages()) {
+				LOG.debug("The pages tree does not match the number of pages. The pages will be rendered.");
+				return null;
+			}
+			return fingerprints;
+
+		} catch (Exception e) {
+			LOG.debug("Unable to compute the page fingerprints : {}. The pages will be rendered.", e.getMessage());
+			return null;
+		}
+	}
+
+	private static void collectPageFingerprints(List<byte[]> fingerprints, PdfDict node, Long objectNumber,
+			Map<String, InheritedAttribute> inheritedAttributes, Set<Long> processedNodes, byte[] ocPropertiesDigest)
+			throws IOException {
+		if (objectNumber != null && !processedNodes.add(objectNumber)) {
+			throw new IOException(String.format("A loop found in the pages tree for the object '%s'", objectNumber));
+		}
+		PdfArray kids = node.getAsArray("Kids");
+		if (kids == null) {
+			fingerprints.add(getPageFingerprint(node, objectNumber, inheritedAttributes, ocPropertiesDigest));
+			return;
+		}
+		Map<String, InheritedAttribute> nodeAttributes = new HashMap<>(inheritedAttributes);
+		for (String key : INHERITABLE_KEYS) {
+			Object value = node.getObject(key);
+			if (value != null) {
+				nodeAttributes.put(key, new InheritedAttribute(value, node.getObjectNumber(key)));
+			}
+		}
+		for (int i = 0; i < kids.size(); i++) {
+			PdfDict kid = kids.getAsDict(i);
+			if (kid != null) {
+				collectPageFingerprints(fingerprints, kid, kids.getObjectNumber(i), nodeAttributes, processedNodes,
+						ocPropertiesDigest);
+			}
+		}
+	}
+
+	private static byte[] getPageFingerprint(PdfDict page, Long objectNumber, Map<String, InheritedAttribute> inheritedAttributes,
+			byte[] ocPropertiesDigest) throws IOException {
+		MessageDigest messageDigest = getMessageDigest();
+		messageDigest.update(ocPropertiesDigest);
+		Set<Long> visitedObjects = new HashSet<>();
+		if (objectNumber != null) {
+			visitedObjects.add(objectNumber);
+		}
+		for (String key : INHERITABLE_KEYS) {
+			InheritedAttribute inheritedAttribute = inheritedAttributes.get(key);
+			if (page.getObject(key) == null && inheritedAttribute != null) {
+				update(messageDigest, "/" + key);
+				digestObject(messageDigest, inheritedAttribute.value, inheritedAttribute.objectNumber, visitedObjects);
+			}
+		}
+		digestObject(messageDigest, page, null, visitedObjects);
+		return messageDigest.digest();
+	}
+
+	private static void digestObject(MessageDigest messageDigest, Object object, Long objectNumber,
+			Set<Long> visitedObjects) throws IOException {
+		if (objectNumber != null && !visitedObjects.add(objectNumber)) {
+			update(messageDigest, "R" + objectNumber);
+			return;
+		}
+		if (object instanceof PdfDict) {
+			PdfDict dict = (PdfDict) object;
+			String[] keys = dict.list();
+			Arrays.sort(keys);
+			update(messageDigest, "<<");
+			for (String key : keys) {
+				if (!EXCLUDED_KEYS.contains(key)) {
+					update(messageDigest, "/" + key);
+					digestObject(messageDigest, dict.getObject(key), dict.getObjectNumber(key), visitedObjects);
+				}
+			}
+			update(messageDigest, ">>");
+			byte[] streamBytes = dict.getStreamBytes();
+			if (streamBytes != null) {
+				update(messageDigest, "stream" + streamBytes.length);
+				messageDigest.update(streamBytes);
+			}
+
+		} else if (object instanceof PdfArray) {
+			PdfArray array = (PdfArray) object;
+			update(messageDigest, "[");
+			for (int i = 0; i < array.size(); i++) {
+				digestObject(messageDigest, array.getObject(i), array.getObjectNumber(i), visitedObjects);
+			}
+			update(messageDigest, "]");
+
+		} else if (object != null) {
+			update(messageDigest, object.getClass().getSimpleName() + ":" + object);
+
+		} else {
+			update(messageDigest, "null");
+		}
+	}
+
+	private static void update(MessageDigest messageDigest, String value) {
+		messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+		messageDigest.update((byte) 0);
+	}
+
+	private static MessageDigest getMessageDigest() {
+		try {
+			return DigestAlgorithm.SHA256.getMessageDigest();
+		} catch (NoSuchAlgorithmException e) {
+			throw new DSSException("Unable to instantiate a SHA-256 message digest", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		finalRevisionReaders.close();
+	}
+
+	/**
+	 * Loads a new instance of a {@code PdfDocumentReader} for a document revision
+	 */
+	@FunctionalInterface
+	public interface PdfDocumentReaderLoader {
+
+		/**
+		 * Loads a new {@code PdfDocumentReader}
+		 *
+		 * @return {@link PdfDocumentReader}
+		 * @throws IOException if an exception occurs
+		 */
+		PdfDocumentReader load() throws IOException;
+
+	}
+
+	@FunctionalInterface
+	private interface PageRenderer {
+
+		BufferedImage render(PdfDocumentReader reader) throws IOException;
+
+	}
+
+	/**
+	 * The comparison of a page of the signed revision with the final revision
+	 */
+	private class PageComparison {
+
+		private final int pageNumber;
+
+		private final List<PdfAnnotation> addedAnnotations;
+
+		private PageComparison(int pageNumber, List<PdfAnnotation> addedAnnotations) {
+			this.pageNumber = pageNumber;
+			this.addedAnnotations = addedAnnotations;
+		}
+
+		private boolean isChanged(PdfDocumentReaderPool signedRevisionReaders) throws IOException {
+			byte[] signedPageDigest = render(signedRevisionReaders, reader -> reader.generateImageScreenshot(pageNumber));
+			return !Arrays.equals(signedPageDigest, getFinalPageDigest(pageNumber, addedAnnotations));
+		}
+
+	}
+
+	private static class InheritedAttribute {
+
+		private final Object value;
+
+		private final Long objectNumber;
+
+		private InheritedAttribute(Object value, Long objectNumber) {
+			this.value = value;
+			this.objectNumber = objectNumber;
+		}
+
+	}
+
+	/**
+	 * Provides the readers of a document revision, so that a reader is used by only one thread at a time
+	 */
+	private static class PdfDocumentReaderPool implements Closeable {
+
+		private final PdfDocumentReader initialReader;
+
+		private final PdfDocumentReaderLoader loader;
+
+		private final int maxSize;
+
+		private final BlockingQueue<PdfDocumentReader> availableReaders = new LinkedBlockingQueue<>();
+
+		private final List<PdfDocumentReader> loadedReaders = new ArrayList<>();
+
+		private int size = 1;
+
+		private PdfDocumentReaderPool(PdfDocumentReader initialReader, PdfDocumentReaderLoader loader, int maxSize) {
+			this.initialReader = initialReader;
+			this.loader = loader;
+			this.maxSize = loader != null ? maxSize : 1;
+			this.availableReaders.add(initialReader);
+		}
+
+		private PdfDocumentReader getInitialReader() {
+			return initialReader;
+		}
+
+		private PdfDocumentReader acquire() throws IOException {
+			PdfDocumentReader reader = availableReaders.poll();
+			if (reader != null) {
+				return reader;
+			}
+			if (reserve()) {
+				try {
+					reader = loader.load();
+				} catch (IOException | RuntimeException e) {
+					synchronized (this) {
+						size--;
+					}
+					throw e;
+				}
+				synchronized (this) {
+					loadedReaders.add(reader);
+				}
+				return reader;
+			}
+			try {
+				return availableReaders.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DSSException("The visual comparison has been interrupted", e);
+			}
+		}
+
+		private synchronized boolean reserve() {
+			if (size < maxSize) {
+				size++;
+				return true;
+			}
+			return false;
+		}
+
+		private void release(PdfDocumentReader reader) {
+			availableReaders.add(reader);
+		}
+
+		@Override
+		public synchronized void close() throws IOException {
+			for (PdfDocumentReader reader : loadedReaders) {
+				reader.close();
+			}
+			loadedReaders.clear();
+		}
+
+	}
+
+}
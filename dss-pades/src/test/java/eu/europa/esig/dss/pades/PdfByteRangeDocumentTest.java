@@ -0,0 +1,81 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pades;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.pades.validation.ByteRange;
+import eu.europa.esig.dss.pades.validation.PdfByteRangeDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+
+public class PdfByteRangeDocumentTest {
+
+	@TempDir
+	File tempDirectory;
+
+	@Test
+	public void sameContentAsCopy() throws IOException {
+		byte[] binaries = new byte[100000];
+		new Random(42).nextBytes(binaries);
+
+		File file = new File(tempDirectory, "doc.pdf");
+		Files.write(file.toPath(), binaries);
+
+		ByteRange byteRange = new ByteRange(new int[] { 0, 12345, 23456, 50000 });
+		byte[] expected = PAdESUtils.getSignedContentFromRevision(
+				PAdESUtils.getRevisionContent(new InMemoryDocument(binaries), byteRange), byteRange);
+
+		for (DSSDocument document : new DSSDocument[] { new InMemoryDocument(binaries), new FileDocument(file) }) {
+			PdfByteRangeDocument byteRangeDocument = new PdfByteRangeDocument(document, byteRange);
+			assertArrayEquals(expected, DSSUtils.toByteArray(byteRangeDocument));
+			assertEquals(new InMemoryDocument(expected).getDigest(DigestAlgorithm.SHA256),
+					byteRangeDocument.getDigest(DigestAlgorithm.SHA256));
+		}
+	}
+
+	@Test
+	public void byteRangeAfterEndOfDocument() {
+		byte[] binaries = new byte[1000];
+		new Random(42).nextBytes(binaries);
+
+		ByteRange byteRange = new ByteRange(new int[] { 0, 500, 800, 500 });
+		byte[] content = DSSUtils.toByteArray(new PdfByteRangeDocument(new InMemoryDocument(binaries), byteRange));
+		assertEquals(700, content.length);
+
+		byteRange = new ByteRange(new int[] { 0, 500, 2000, 500 });
+		content = DSSUtils.toByteArray(new PdfByteRangeDocument(new InMemoryDocument(binaries), byteRange));
+		assertEquals(500, content.length);
+	}
+
+}
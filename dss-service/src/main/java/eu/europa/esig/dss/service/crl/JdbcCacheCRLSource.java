@@ -34,6 +34,7 @@ import eu.europa.esig.dss.spi.x509.revocation.JdbcRevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.DeltaCRL;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -174,9 +175,47 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
 	}
 
 	@Override
-	protected void insertRevocation(final String revocationKey, final RevocationToken<CRL> token) {
+	protected boolean isSharedTokenSupported() {
+		return true;
+	}
+
+	@Override
+	protected RevocationToken<CRL> buildRevocationTokenFromSharedToken(RevocationToken<CRL> sharedToken,
+				CertificateToken certificateToken, CertificateToken issuerCertificateToken, RevocationOrigin origin) {
+		// the parsed CRL is shared, but the revocation status is specific to the certificate
+		return rebuildCRLToken((CRLToken) sharedToken, certificateToken, origin);
+	}
+
+	private CRLToken rebuildCRLToken(CRLToken sharedToken, CertificateToken certificateToken, RevocationOrigin origin) {
+		final CRLToken crlToken;
+		if (sharedToken.getBaseCRLToken() != null) {
+			CRLToken baseCRLToken = rebuildCRLToken(sharedToken.getBaseCRLToken(), certificateToken, origin);
+			crlToken = new CRLToken(certificateToken, new DeltaCRL(sharedToken.getCrlValidity()), baseCRLToken);
+		} else {
+			crlToken = new CRLToken(certificateToken, sharedToken.getCrlValidity());
+		}
+		crlToken.setSourceURL(sharedToken.getSourceURL());
+		crlToken.setExternalOrigin(origin);
+		return crlToken;
+	}
+
+	/**
+	 * Returns the complete CRL to be stored: only the base CRL is stored for a delta CRL token
+	 *
+	 * @param token {@link RevocationToken}
+	 * @return {@link CRLValidity}
+	 */
+	private CRLValidity getCompleteCrlValidity(final RevocationToken<CRL> token) {
 		CRLToken crlToken = (CRLToken) token;
-		CRLValidity crlValidity = crlToken.getCrlValidity();
+		if (crlToken.getBaseCRLToken() != null) {
+			crlToken = crlToken.getBaseCRLToken();
+		}
+		return crlToken.getCrlValidity();
+	}
+
+	@Override
+	protected void insertRevocation(final String revocationKey, final RevocationToken<CRL> token) {
+		CRLValidity crlValidity = getCompleteCrlValidity(token);
 
 		jdbcCacheConnector.execute(SQL_FIND_INSERT, revocationKey, crlValidity.getDerEncoded(),
 				crlValidity.getIssuerToken().getEncoded());
@@ -184,8 +223,7 @@ public class JdbcCacheCRLSource extends JdbcRevocationSource<CRL> implements CRL
 
 	@Override
 	protected void updateRevocation(final String revocationKey, final RevocationToken<CRL> token) {
-		CRLToken crlToken = (CRLToken) token;
-		CRLValidity crlValidity = crlToken.getCrlValidity();
+		CRLValidity crlValidity = getCompleteCrlValidity(token);
 
 		jdbcCacheConnector.execute(SQL_FIND_UPDATE, crlValidity.getDerEncoded(), crlValidity.getIssuerToken().getEncoded(),
 				revocationKey);
@@ -29,20 +29,28 @@ import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.client.http.AsyncDataLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
+import eu.europa.esig.dss.spi.util.RequestCoalescer;
 import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
 import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.DeltaCRL;
 import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Online CRL repository. This CRL repository implementation will download the
@@ -71,6 +79,21 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * Optional coalescer, ensuring only one download is in flight for the same CRL URLs
+	 */
+	private RequestCoalescer requestCoalescer;
+
+	/**
+	 * Defines whether the delta CRLs (FreshestCRL extension) shall be used
+	 */
+	private boolean deltaCrlSupport = false;
+
+	/**
+	 * The base CRLs and their latest delta CRLs, cached when {@code deltaCrlSupport} is enabled
+	 */
+	private transient Map<String, CachedCRL> cachedCRLs;
+
 	/**
 	 * The default constructor. A {@code CommonsDataLoader is created}.
 	 */
@@ -109,6 +132,45 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		this.dataLoader = dataLoader;
 	}
 
+	/**
+	 * Sets the coalescer used to download a CRL only once when it is requested concurrently
+	 * (e.g. by several threads validating certificates of the same issuer).
+	 * The concurrent callers wait for the download in progress and share the obtained binaries.
+	 *
+	 * Default : null (the concurrent downloads are executed independently)
+	 *
+	 * @param requestCoalescer {@link RequestCoalescer}
+	 */
+	public void setRequestCoalescer(RequestCoalescer requestCoalescer) {
+		this.requestCoalescer = requestCoalescer;
+	}
+
+	/**
+	 * Sets whether the delta CRLs, referenced within the FreshestCRL extension of the certificate, shall be used.
+	 * When enabled, the validated base CRLs are kept in memory and downloaded again only once
+	 * their nextUpdate is reached. In the meantime, the revocation status is obtained by merging
+	 * the base CRL with the latest delta CRL, downloaded once the previous one has expired.
+	 * The delta CRL is returned as its own {@code CRLToken}, linked to the token of its base CRL
+	 * (see {@code CRLToken.getBaseCRLToken()}), so both CRLs are reported and can be incorporated.
+	 *
+	 * Default : false (only complete CRLs are used, downloaded on each request)
+	 *
+	 * @param deltaCrlSupport whether the delta CRLs shall be used
+	 */
+	public void setDeltaCrlSupport(boolean deltaCrlSupport) {
+		this.deltaCrlSupport = deltaCrlSupport;
+		clearCachedCRLs();
+	}
+
+	/**
+	 * Removes all the base and delta CRLs kept in memory
+	 */
+	public void clearCachedCRLs() {
+		if (cachedCRLs != null) {
+			cachedCRLs.clear();
+		}
+	}
+
 	@Override
 	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		return getRevocationToken(certificateToken, issuerCertificateToken, Collections.emptyList());
@@ -183,28 +245,206 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Trying to retrieve a CRL from URL(s) {}...", crlUrls);
 		}
+		if (deltaCrlSupport) {
+			return getRevocationTokenAndUrlWithDeltaCRL(certificateToken, issuerToken, crlUrls);
+		}
 		final DataLoader.DataAndUrl dataAndUrl = downloadCrl(crlUrls);
 		if (dataAndUrl == null) {
 			return null;
 		}
 		try {
-			CRLBinary crlBinary = CRLUtils.buildCRLBinary(dataAndUrl.getData());
-			final CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, issuerToken);
-			final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
-			crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
-			crlToken.setSourceURL(dataAndUrl.getUrlString());
+			final CRLValidity crlValidity = buildCRLValidity(dataAndUrl, issuerToken);
+			return new RevocationTokenAndUrl<>(dataAndUrl.getUrlString(),
+					buildCRLToken(certificateToken, crlValidity, dataAndUrl.getUrlString()));
+
+		} catch (Exception e) {
+			LOG.warn("Unable to parse/validate the CRL (url: {}) : {}", dataAndUrl.getUrlString(), e.getMessage(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Asynchronously extracts a CRL token for a {@code certificateToken} from the CRL distribution points
+	 * defined within the certificate.
+	 *
+	 * When the defined {@code DataLoader} is an {@code AsyncDataLoader}, the CRL is downloaded without blocking
+	 * the calling thread and is parsed by the thread completing the download.
+	 * Otherwise, as well as when the delta CRL support is enabled, the blocking request is processed
+	 * within the calling thread and a completed future is returned.
+	 *
+	 * NOTE: the {@code RequestCoalescer} is not used for the asynchronous downloads.
+	 *
+	 * @param certificateToken {@link CertificateToken} to get a CRL token for
+	 * @param issuerToken {@link CertificateToken} issued the {@code certificateToken}
+	 * @return {@link CompletableFuture} completed with the {@link RevocationTokenAndUrl}, or with null if
+	 *         no CRL has been obtained
+	 */
+	public CompletableFuture<RevocationTokenAndUrl<CRL>> getRevocationTokenAndUrlAsync(
+			CertificateToken certificateToken, CertificateToken issuerToken) {
+		try {
+			Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
+			if (!(dataLoader instanceof AsyncDataLoader) || deltaCrlSupport) {
+				return CompletableFuture.completedFuture(getRevocationTokenAndUrl(certificateToken, issuerToken));
+			}
+			if (certificateToken == null || issuerToken == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			final List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificateToken);
+			if (Utils.isCollectionEmpty(crlUrls)) {
+				LOG.debug("No CRL location found for {}", certificateToken.getDSSIdAsString());
+				return CompletableFuture.completedFuture(null);
+			}
+			prioritize(crlUrls);
+
 			if (LOG.isDebugEnabled()) {
-				LOG.debug("CRL '{}' has been retrieved from a source with URL '{}'.",
-						crlToken.getDSSIdAsString(), dataAndUrl.getUrlString());
+				LOG.debug("Trying to retrieve a CRL asynchronously from URL(s) {}...", crlUrls);
 			}
-			return new RevocationTokenAndUrl<>(dataAndUrl.getUrlString(), crlToken);
+			return ((AsyncDataLoader) dataLoader).getAsync(crlUrls).handle((dataAndUrl, throwable) -> {
+				if (throwable != null) {
+					LOG.warn("Unable to download CRL from URLs [{}]. Reason : [{}]", crlUrls, throwable.getMessage(), throwable);
+					return null;
+				}
+				try {
+					final CRLValidity crlValidity = buildCRLValidity(dataAndUrl, issuerToken);
+					return new RevocationTokenAndUrl<>(dataAndUrl.getUrlString(),
+							buildCRLToken(certificateToken, crlValidity, dataAndUrl.getUrlString()));
+
+				} catch (Exception e) {
+					LOG.warn("Unable to parse/validate the CRL (url: {}) : {}", dataAndUrl.getUrlString(), e.getMessage(), e);
+					return null;
+				}
+			});
 
 		} catch (Exception e) {
-			LOG.warn("Unable to parse/validate the CRL (url: {}) : {}", dataAndUrl.getUrlString(), e.getMessage(), e);
+			final CompletableFuture<RevocationTokenAndUrl<CRL>> future = new CompletableFuture<>();
+			future.completeExceptionally(e);
+			return future;
+		}
+	}
+
+	private RevocationTokenAndUrl<CRL> getRevocationTokenAndUrlWithDeltaCRL(CertificateToken certificateToken,
+			CertificateToken issuerToken, List<String> crlUrls) {
+		final String key = Utils.joinStrings(crlUrls, ";") + "|" + issuerToken.getDSSIdAsString();
+		final Date currentDate = new Date();
+
+		CachedCRL cachedCRL = getCachedCRLs().get(key);
+		if (cachedCRL == null || cachedCRL.isBaseExpired(currentDate)) {
+			final DataLoader.DataAndUrl dataAndUrl = downloadCrl(crlUrls);
+			if (dataAndUrl == null) {
+				return null;
+			}
+			try {
+				cachedCRL = new CachedCRL(dataAndUrl.getUrlString(), buildCRLValidity(dataAndUrl, issuerToken));
+			} catch (Exception e) {
+				LOG.warn("Unable to parse/validate the CRL (url: {}) : {}", dataAndUrl.getUrlString(), e.getMessage(), e);
+				return null;
+			}
+		} else {
+			LOG.debug("The base CRL from URL '{}' is obtained from memory", cachedCRL.url);
+		}
+
+		if (cachedCRL.isDeltaExpired(currentDate)) {
+			cachedCRL = refreshDeltaCRL(certificateToken, issuerToken, cachedCRL);
+		}
+
+		if (cachedCRL.base.isValid() && cachedCRL.base.getNextUpdate() != null) {
+			getCachedCRLs().put(key, cachedCRL);
+		}
+
+		final CRLToken baseCRLToken;
+		try {
+			baseCRLToken = buildCRLToken(certificateToken, cachedCRL.base, cachedCRL.url);
+		} catch (Exception e) {
+			LOG.warn("Unable to build the CRL token (url: {}) : {}", cachedCRL.url, e.getMessage(), e);
+			return null;
+		}
+		if (cachedCRL.delta == null) {
+			return new RevocationTokenAndUrl<>(cachedCRL.url, baseCRLToken);
+		}
+		try {
+			// the delta CRL is returned as a distinct token, linked to the base CRL token
+			final CRLToken deltaCRLToken = new CRLToken(certificateToken, cachedCRL.delta, baseCRLToken);
+			deltaCRLToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+			deltaCRLToken.setSourceURL(cachedCRL.deltaUrl);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Delta CRL '{}' has been retrieved from a source with URL '{}'.",
+						deltaCRLToken.getDSSIdAsString(), cachedCRL.deltaUrl);
+			}
+			// the URL of the base CRL is returned, as the delta CRL is only applicable in conjunction with it
+			return new RevocationTokenAndUrl<>(cachedCRL.url, deltaCRLToken);
+		} catch (Exception e) {
+			LOG.warn("Unable to build the delta CRL token (url: {}) : {}", cachedCRL.deltaUrl, e.getMessage(), e);
+			return new RevocationTokenAndUrl<>(cachedCRL.url, baseCRLToken);
+		}
+	}
+
+	private CachedCRL refreshDeltaCRL(CertificateToken certificateToken, CertificateToken issuerToken, CachedCRL cachedCRL) {
+		final List<String> deltaCrlUrls = DSSASN1Utils.getFreshestCrlUrls(certificateToken);
+		if (Utils.isCollectionEmpty(deltaCrlUrls) || !cachedCRL.base.isValid()) {
+			return new CachedCRL(cachedCRL.url, cachedCRL.base);
+		}
+		prioritize(deltaCrlUrls);
+
+		LOG.debug("Trying to retrieve a delta CRL from URL(s) {}...", deltaCrlUrls);
+		final DataLoader.DataAndUrl dataAndUrl = downloadCrl(deltaCrlUrls);
+		if (dataAndUrl == null) {
+			return new CachedCRL(cachedCRL.url, cachedCRL.base);
+		}
+		final DeltaCRL deltaCRL = buildDeltaCRL(dataAndUrl, issuerToken, cachedCRL.base);
+		if (deltaCRL == null) {
+			return new CachedCRL(cachedCRL.url, cachedCRL.base);
+		}
+		return new CachedCRL(cachedCRL.url, cachedCRL.base, deltaCRL, dataAndUrl.getUrlString());
+	}
+
+	private DeltaCRL buildDeltaCRL(DataLoader.DataAndUrl dataAndUrl, CertificateToken issuerToken, CRLValidity baseCrlValidity) {
+		try {
+			final CRLValidity deltaCrlValidity = buildCRLValidity(dataAndUrl, issuerToken);
+			if (!deltaCrlValidity.isDeltaCrl()) {
+				LOG.warn("The CRL obtained from the FreshestCRL URL '{}' is not a delta CRL!", dataAndUrl.getUrlString());
+				return null;
+			}
+			final DeltaCRL deltaCRL = new DeltaCRL(deltaCrlValidity);
+			if (!deltaCRL.isValid()) {
+				LOG.warn("The delta CRL obtained from URL '{}' is not valid!", dataAndUrl.getUrlString());
+				return null;
+			}
+			if (!deltaCRL.isApplicableTo(baseCrlValidity)) {
+				LOG.warn("The delta CRL obtained from URL '{}' is not applicable to the base CRL with number '{}'!",
+						dataAndUrl.getUrlString(), baseCrlValidity.getCrlNumber());
+				return null;
+			}
+			return deltaCRL;
+
+		} catch (Exception e) {
+			LOG.warn("Unable to parse/validate the delta CRL (url: {}) : {}", dataAndUrl.getUrlString(), e.getMessage(), e);
 			return null;
 		}
 	}
 
+	private CRLValidity buildCRLValidity(DataLoader.DataAndUrl dataAndUrl, CertificateToken issuerToken) throws IOException {
+		CRLBinary crlBinary = CRLUtils.buildCRLBinary(dataAndUrl.getData());
+		return CRLUtils.buildCRLValidity(crlBinary, issuerToken);
+	}
+
+	private CRLToken buildCRLToken(CertificateToken certificateToken, CRLValidity crlValidity, String url) {
+		final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+		crlToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+		crlToken.setSourceURL(url);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("CRL '{}' has been retrieved from a source with URL '{}'.", crlToken.getDSSIdAsString(), url);
+		}
+		return crlToken;
+	}
+
+	private synchronized Map<String, CachedCRL> getCachedCRLs() {
+		if (cachedCRLs == null) {
+			cachedCRLs = new ConcurrentHashMap<>();
+		}
+		return cachedCRLs;
+	}
+
 	/**
 	 * Download a CRL from any location with any protocol.
 	 *
@@ -216,6 +456,9 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 	 */
 	private DataLoader.DataAndUrl downloadCrl(final List<String> downloadUrls) {
 		try {
+			if (requestCoalescer != null) {
+				return requestCoalescer.execute(Utils.joinStrings(downloadUrls, ";"), () -> dataLoader.get(downloadUrls));
+			}
 			return dataLoader.get(downloadUrls);
 		} catch (DSSException e) {
 			LOG.warn("Unable to download CRL from URLs [{}]. Reason : [{}]", downloadUrls, e.getMessage(), e);
@@ -248,4 +491,42 @@ public class OnlineCRLSource implements CRLSource, RevocationSourceAlternateUrls
 		}
 	}
 
+	/**
+	 * Represents a base CRL kept in memory with its latest applicable delta CRL
+	 */
+	private static final class CachedCRL {
+
+		/** The URL the base CRL has been downloaded from */
+		private final String url;
+
+		/** The base CRL */
+		private final CRLValidity base;
+
+		/** The latest delta CRL (can be null) */
+		private final DeltaCRL delta;
+
+		/** The URL the delta CRL has been downloaded from (can be null) */
+		private final String deltaUrl;
+
+		private CachedCRL(String url, CRLValidity base) {
+			this(url, base, null, null);
+		}
+
+		private CachedCRL(String url, CRLValidity base, DeltaCRL delta, String deltaUrl) {
+			this.url = url;
+			this.base = base;
+			this.delta = delta;
+			this.deltaUrl = deltaUrl;
+		}
+
+		private boolean isBaseExpired(Date currentDate) {
+			return base.getNextUpdate() == null || !base.getNextUpdate().after(currentDate);
+		}
+
+		private boolean isDeltaExpired(Date currentDate) {
+			return delta == null || delta.getNextUpdate() == null || !delta.getNextUpdate().after(currentDate);
+		}
+
+	}
+
 }
@@ -0,0 +1,372 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.AsyncDataLoader;
+import eu.europa.esig.dss.spi.client.http.Protocol;
+import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.utils.Utils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.routing.HttpRoutePlanner;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@code AsyncDataLoader} using the non-blocking Apache HttpClient 5 async client.
+ * <p>
+ * HTTP and HTTPS requests are executed by the I/O reactor of the client, so that many slow requests can be processed
+ * concurrently without occupying a thread per request. The returned futures are completed by the I/O threads:
+ * long-running dependent computations should be executed with the {@code *Async} methods of {@code CompletableFuture}.
+ * <p>
+ * Other protocols (FILE, FTP, LDAP) are processed with the blocking implementation of {@code CommonsDataLoader}
+ * within the calling thread. The blocking methods of {@code CommonsDataLoader} remain available as well.
+ * <p>
+ * The configuration (timeouts, connection pool, proxy, authentication, SSL) is shared with {@code CommonsDataLoader}.
+ */
+public class AsyncCommonsDataLoader extends CommonsDataLoader implements AsyncDataLoader {
+
+	private static final long serialVersionUID = -2193817346589226475L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(AsyncCommonsDataLoader.class);
+
+	/** The inactivity period after which a pooled connection is checked before being re-used */
+	private static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofMilliseconds(2000);
+
+	/**
+	 * The HTTP version policy (default: HTTP/1.1 only)
+	 */
+	private HttpVersionPolicy versionPolicy = HttpVersionPolicy.FORCE_HTTP_1;
+
+	/**
+	 * The started asynchronous HTTP clients shared between the requests, by protocol
+	 */
+	private transient Map<String, CloseableHttpAsyncClient> httpAsyncClients;
+
+	/**
+	 * The default constructor for AsyncCommonsDataLoader.
+	 */
+	public AsyncCommonsDataLoader() {
+		super();
+	}
+
+	/**
+	 * The constructor for AsyncCommonsDataLoader with defined content-type.
+	 *
+	 * @param contentType The content type of each request
+	 */
+	public AsyncCommonsDataLoader(final String contentType) {
+		super(contentType);
+	}
+
+	/**
+	 * Gets the HTTP version policy used by the asynchronous client
+	 *
+	 * @return {@link HttpVersionPolicy}
+	 */
+	public HttpVersionPolicy getVersionPolicy() {
+		return versionPolicy;
+	}
+
+	/**
+	 * Sets the HTTP version policy used by the asynchronous client.
+	 * {@code HttpVersionPolicy.NEGOTIATE} allows to use HTTP/2 for TLS connections when supported by the server
+	 * (requires ALPN support by the JVM).
+	 *
+	 * Default : {@code HttpVersionPolicy.FORCE_HTTP_1}
+	 *
+	 * @param versionPolicy {@link HttpVersionPolicy}
+	 */
+	public void setVersionPolicy(HttpVersionPolicy versionPolicy) {
+		Objects.requireNonNull(versionPolicy, "HttpVersionPolicy cannot be null!");
+		this.versionPolicy = versionPolicy;
+		resetHttpClient();
+	}
+
+	@Override
+	public CompletableFuture<byte[]> getAsync(final String url) {
+		if (!Protocol.isHttpUrl(url)) {
+			return executeSynchronously(() -> get(url));
+		}
+		try {
+			final SimpleRequestBuilder requestBuilder = SimpleRequestBuilder.get(URI.create(Utils.trim(url)));
+			if (contentType != null) {
+				requestBuilder.setHeader("Content-Type", contentType);
+			}
+			return execute(url, requestBuilder.build(), "GET");
+
+		} catch (Exception e) {
+			return failedFuture(new DSSExternalResourceException(String.format(
+					"Unable to process GET call for url [%s]. Reason : [%s]", url, DSSUtils.getExceptionMessage(e)), e));
+		}
+	}
+
+	@Override
+	public CompletableFuture<DataAndUrl> getAsync(final List<String> urlStrings) {
+		if (Utils.isCollectionEmpty(urlStrings)) {
+			return failedFuture(new DSSExternalResourceException("Cannot process the GET call. List of URLs is empty!"));
+		}
+		return getAsync(urlStrings, 0, new LinkedHashMap<>());
+	}
+
+	private CompletableFuture<DataAndUrl> getAsync(final List<String> urlStrings, final int index,
+												   final Map<String, Throwable> exceptions) {
+		if (index >= urlStrings.size()) {
+			return failedFuture(new DSSDataLoaderMultipleException(exceptions));
+		}
+		final String urlString = urlStrings.get(index);
+		LOG.debug("Processing an asynchronous GET call to URL [{}]...", urlString);
+		return getAsync(urlString).handle((bytes, throwable) -> {
+			if (throwable != null) {
+				final Throwable cause = unwrap(throwable);
+				LOG.warn("Cannot obtain data using '{}' : {}", urlString, cause.getMessage());
+				exceptions.put(urlString, cause);
+			} else if (Utils.isArrayEmpty(bytes)) {
+				LOG.debug("The retrieved content from URL [{}] is empty. Continue with other URLs...", urlString);
+			} else {
+				return CompletableFuture.completedFuture(new DataAndUrl(urlString, bytes));
+			}
+			return getAsync(urlStrings, index + 1, exceptions);
+		}).thenCompose(future -> future);
+	}
+
+	@Override
+	public CompletableFuture<byte[]> postAsync(final String url, final byte[] content) {
+		LOG.debug("Fetching data asynchronously via POST from url {}", url);
+		try {
+			final SimpleHttpRequest request = SimpleRequestBuilder.post(URI.create(Utils.trim(url)))
+					.setBody(content, contentType != null ? ContentType.create(contentType) : null)
+					.build();
+			return execute(url, request, "POST");
+
+		} catch (Exception e) {
+			return failedFuture(new DSSExternalResourceException(String.format(
+					"Unable to process POST call for url [%s]. Reason : [%s]", url, e.getMessage()), e));
+		}
+	}
+
+	private CompletableFuture<byte[]> execute(final String url, final SimpleHttpRequest request, final String method) {
+		final CompletableFuture<byte[]> future = new CompletableFuture<>();
+		final CloseableHttpAsyncClient client = getHttpAsyncClient(url);
+		client.execute(request, getHttpContext(), new FutureCallback<SimpleHttpResponse>() {
+
+			@Override
+			public void completed(SimpleHttpResponse response) {
+				try {
+					future.complete(readHttpResponse(response));
+				} catch (Exception e) {
+					failed(e);
+				}
+			}
+
+			@Override
+			public void failed(Exception e) {
+				future.completeExceptionally(new DSSExternalResourceException(String.format(
+						"Unable to process %s call for url [%s]. Reason : [%s]", method, url, DSSUtils.getExceptionMessage(e)), e));
+			}
+
+			@Override
+			public void cancelled() {
+				future.cancel(false);
+			}
+
+		});
+		return future;
+	}
+
+	/**
+	 * Reads the asynchronous HTTP response
+	 *
+	 * @param httpResponse {@link SimpleHttpResponse}
+	 * @return the response's content
+	 */
+	protected byte[] readHttpResponse(final SimpleHttpResponse httpResponse) {
+		final int statusCode = httpResponse.getCode();
+		final String reasonPhrase = httpResponse.getReasonPhrase();
+
+		if (!getAcceptedHttpStatus().contains(statusCode)) {
+			String reason = Utils.isStringNotEmpty(reasonPhrase) ? " / reason : " + reasonPhrase : "";
+			throw new DSSExternalResourceException("Not acceptable HTTP Status (HTTP status code : " + statusCode + reason + ")");
+		}
+
+		final byte[] content = httpResponse.getBodyBytes();
+		if (content == null) {
+			throw new DSSExternalResourceException("No message entity for this response");
+		}
+		return content;
+	}
+
+	/**
+	 * Gets the {@code HttpAsyncClientBuilder} for the url
+	 *
+	 * @param url {@link String} request url
+	 * @return {@link HttpAsyncClientBuilder}
+	 */
+	protected synchronized HttpAsyncClientBuilder getHttpAsyncClientBuilder(final String url) {
+		final HttpAsyncClientBuilder httpAsyncClientBuilder = HttpAsyncClients.custom();
+
+		if (isUseSystemProperties()) {
+			httpAsyncClientBuilder.useSystemProperties();
+		}
+
+		final BasicCredentialsProvider credentialsProvider = getCredentialsProvider();
+		final HttpRoutePlanner routePlanner = getProxyRoutePlanner(credentialsProvider, url);
+		httpAsyncClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+		if (routePlanner != null) {
+			httpAsyncClientBuilder.setRoutePlanner(routePlanner);
+		}
+		if (getRetryStrategy() != null) {
+			httpAsyncClientBuilder.setRetryStrategy(getRetryStrategy());
+		}
+
+		final IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+				.setSoTimeout(getIOReactorSoTimeout())
+				.build();
+
+		// no evictor thread : the expired connections are discarded on lease
+		httpAsyncClientBuilder.setConnectionManager(getAsyncConnectionManager())
+				.setIOReactorConfig(ioReactorConfig)
+				.setDefaultRequestConfig(getRequestConfig())
+				.setVersionPolicy(versionPolicy);
+
+		return httpAsyncClientBuilder;
+	}
+
+	/**
+	 * Gets the started asynchronous HTTP client, shared by the requests with the same protocol
+	 *
+	 * @param url {@link String} request url
+	 * @return {@link CloseableHttpAsyncClient}
+	 */
+	protected synchronized CloseableHttpAsyncClient getHttpAsyncClient(final String url) {
+		if (httpAsyncClients == null) {
+			httpAsyncClients = new HashMap<>();
+		}
+		final String protocol = URI.create(Utils.trim(url)).getScheme().toLowerCase();
+		CloseableHttpAsyncClient httpAsyncClient = httpAsyncClients.get(protocol);
+		if (httpAsyncClient == null) {
+			LOG.debug("Creating a new shared asynchronous HTTP client for protocol '{}'", protocol);
+			httpAsyncClient = getHttpAsyncClientBuilder(url).build();
+			httpAsyncClient.start();
+			httpAsyncClients.put(protocol, httpAsyncClient);
+		}
+		return httpAsyncClient;
+	}
+
+	/**
+	 * Closes the shared synchronous and asynchronous HTTP clients. New clients are created on the next request.
+	 */
+	@Override
+	public synchronized void resetHttpClient() {
+		super.resetHttpClient();
+		if (httpAsyncClients != null) {
+			for (CloseableHttpAsyncClient httpAsyncClient : httpAsyncClients.values()) {
+				httpAsyncClient.close(CloseMode.GRACEFUL);
+			}
+			httpAsyncClients.clear();
+		}
+	}
+
+	private Timeout getIOReactorSoTimeout() {
+		// an undefined (negative) socket timeout is disabled
+		final Timeout timeoutSocket = getSocketTimeout();
+		return timeoutSocket != null ? timeoutSocket : Timeout.DISABLED;
+	}
+
+	private PoolingAsyncClientConnectionManager getAsyncConnectionManager() {
+		final PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+				.setTlsStrategy(getTlsStrategy())
+				.setMaxConnTotal(getConnectionsMaxTotal())
+				.setMaxConnPerRoute(getConnectionsMaxPerRoute())
+				.setConnectionTimeToLive(TimeValue.ofMilliseconds(getConnectionTimeToLive()))
+				.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY)
+				.build();
+
+		LOG.debug("PoolingAsyncClientConnectionManager: max total: {}", connectionManager.getMaxTotal());
+		LOG.debug("PoolingAsyncClientConnectionManager: max per route: {}", connectionManager.getDefaultMaxPerRoute());
+
+		return connectionManager;
+	}
+
+	private TlsStrategy getTlsStrategy() {
+		try {
+			return ClientTlsStrategyBuilder.create()
+					.setSslContext(getSSLContext())
+					.setTlsVersions(getSupportedSSLProtocols())
+					.setCiphers(getSupportedSSLCipherSuites())
+					.setHostnameVerifier(getHostnameVerifier())
+					.build();
+
+		} catch (final Exception e) {
+			throw new IllegalArgumentException("Unable to configure the SSLContext/TlsStrategy", e);
+		}
+	}
+
+	private <T> CompletableFuture<T> executeSynchronously(final Supplier<T> call) {
+		try {
+			return CompletableFuture.completedFuture(call.get());
+		} catch (Exception e) {
+			return failedFuture(e);
+		}
+	}
+
+	private static <T> CompletableFuture<T> failedFuture(final Throwable throwable) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(throwable);
+		return future;
+	}
+
+	private static Throwable unwrap(final Throwable throwable) {
+		if (throwable instanceof CompletionException && throwable.getCause() != null) {
+			return throwable.getCause();
+		}
+		return throwable;
+	}
+
+}
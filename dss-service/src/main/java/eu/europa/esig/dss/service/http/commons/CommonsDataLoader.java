@@ -52,8 +52,10 @@ import org.apache.hc.client5.http.ssl.DefaultHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.SocketConfig;
@@ -62,6 +64,7 @@ import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.InputStreamEntity;
 import org.apache.hc.core5.http.message.StatusLine;
 import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.hc.core5.ssl.TrustStrategy;
 import org.apache.hc.core5.util.TimeValue;
@@ -75,6 +78,7 @@ import javax.naming.directory.Attributes;
 import javax.naming.directory.DirContext;
 import javax.naming.directory.InitialDirContext;
 import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -121,9 +125,15 @@ public class CommonsDataLoader implements DataLoader {
 	/** The default connection total time to live (TTL) (1 minute) */
 	private static final TimeValue CONNECTION_TIME_TO_LIVE = toTimeValueMilliseconds(60000);
 
+	/** The inactivity period after which a pooled connection is checked before being re-used */
+	private static final TimeValue VALIDATE_AFTER_INACTIVITY = toTimeValueMilliseconds(2000);
+
 	/** The content-type string */
 	private static final String CONTENT_TYPE = "Content-Type";
 
+	/** The max-age directive of the Cache-Control header */
+	private static final String MAX_AGE_DIRECTIVE = "max-age=";
+
 	/** The default SSL protocol */
 	private static final String DEFAULT_SSL_PROTOCOL = "TLSv1.2";
 
@@ -237,6 +247,11 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	private transient HttpRequestRetryStrategy retryStrategy;
 
+	/**
+	 * The HTTP clients shared between the requests, by protocol (created lazily, reset on configuration change)
+	 */
+	private transient Map<String, CloseableHttpClient> httpClients;
+
 	/**
 	 * The default constructor for CommonsDataLoader.
 	 */
@@ -272,6 +287,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setTimeoutConnection(final int timeoutConnection) {
 		this.timeoutConnection = toTimeoutMilliseconds(timeoutConnection);
+		resetHttpClient();
 	}
 
 	/**
@@ -293,6 +309,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setTimeoutConnectionRequest(int timeoutConnectionRequest) {
 		this.timeoutConnectionRequest = toTimeoutMilliseconds(timeoutConnectionRequest);
+		resetHttpClient();
 	}
 
 	/**
@@ -314,6 +331,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setTimeoutResponse(int timeoutResponse) {
 		this.timeoutResponse = toTimeoutMilliseconds(timeoutResponse);
+		resetHttpClient();
 	}
 
 	/**
@@ -325,6 +343,15 @@ public class CommonsDataLoader implements DataLoader {
 		return timeoutSocket.toMillisecondsIntBound();
 	}
 
+	/**
+	 * Gets the socket timeout
+	 *
+	 * @return {@link Timeout}, null when a negative value has been provided (system default)
+	 */
+	protected Timeout getSocketTimeout() {
+		return timeoutSocket;
+	}
+
 	/**
 	 * Sets the socket timeout in milliseconds.
 	 *
@@ -335,6 +362,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setTimeoutSocket(final int timeoutSocket) {
 		this.timeoutSocket = toTimeoutMilliseconds(timeoutSocket);
+		resetHttpClient();
 	}
 
 	/**
@@ -354,6 +382,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setConnectionKeepAlive(int connectionKeepAlive) {
 		this.connectionKeepAlive = toTimeValueMilliseconds(connectionKeepAlive);
+		resetHttpClient();
 	}
 
 	/**
@@ -373,6 +402,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setConnectionsMaxTotal(int connectionsMaxTotal) {
 		this.connectionsMaxTotal = connectionsMaxTotal;
+		resetHttpClient();
 	}
 
 	/**
@@ -392,6 +422,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setConnectionsMaxPerRoute(int connectionsMaxPerRoute) {
 		this.connectionsMaxPerRoute = connectionsMaxPerRoute;
+		resetHttpClient();
 	}
 
 	/**
@@ -411,6 +442,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setConnectionTimeToLive(int connectionTimeToLive) {
 		this.connectionTimeToLive = toTimeValueMilliseconds(connectionTimeToLive);
+		resetHttpClient();
 	}
 
 	/**
@@ -430,6 +462,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setRedirectsEnabled(boolean redirectsEnabled) {
 		this.redirectsEnabled = redirectsEnabled;
+		resetHttpClient();
 	}
 
 	/**
@@ -452,6 +485,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setUseSystemProperties(boolean useSystemProperties) {
 		this.useSystemProperties = useSystemProperties;
+		resetHttpClient();
 	}
 
 	/**
@@ -500,6 +534,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setProxyConfig(final ProxyConfig proxyConfig) {
 		this.proxyConfig = proxyConfig;
+		resetHttpClient();
 	}
 
 	/**
@@ -510,6 +545,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslProtocol(String sslProtocol) {
 		this.sslProtocol = sslProtocol;
+		resetHttpClient();
 	}
 
 	/**
@@ -519,6 +555,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslKeystore(DSSDocument sslKeyStore) {
 		this.sslKeystore = sslKeyStore;
+		resetHttpClient();
 	}
 
 	/**
@@ -528,6 +565,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setKeyStoreAsTrustMaterial(boolean loadKeyStoreAsTrustMaterial) {
 		this.loadKeyStoreAsTrustMaterial = loadKeyStoreAsTrustMaterial;
+		resetHttpClient();
 	}
 
 	/**
@@ -537,6 +575,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslKeystoreType(String sslKeystoreType) {
 		this.sslKeystoreType = sslKeystoreType;
+		resetHttpClient();
 	}
 
 	/**
@@ -546,6 +585,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslKeystorePassword(String sslKeystorePassword) {
 		this.sslKeystorePassword = sslKeystorePassword;
+		resetHttpClient();
 	}
 
 	/**
@@ -557,6 +597,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslTruststore(DSSDocument sslTrustStore) {
 		this.sslTruststore = sslTrustStore;
+		resetHttpClient();
 	}
 
 	/**
@@ -566,6 +607,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslTruststorePassword(final String sslTruststorePassword) {
 		this.sslTruststorePassword = sslTruststorePassword;
+		resetHttpClient();
 	}
 
 	/**
@@ -575,6 +617,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSslTruststoreType(String sslTruststoreType) {
 		this.sslTruststoreType = sslTruststoreType;
+		resetHttpClient();
 	}
 
 	/**
@@ -598,6 +641,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setAuthenticationMap(Map<HostConnection, UserCredentials> authenticationMap) {
 		this.authenticationMap = authenticationMap;
+		resetHttpClient();
 	}
 
 	/**
@@ -612,6 +656,7 @@ public class CommonsDataLoader implements DataLoader {
 	public CommonsDataLoader addAuthentication(HostConnection hostConnection, UserCredentials userCredentials) {
 		Map<HostConnection, UserCredentials> authenticationMap = getAuthenticationMap();
 		authenticationMap.put(hostConnection, userCredentials);
+		resetHttpClient();
 		return this;
 	}
 
@@ -644,6 +689,16 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setRetryStrategy(final HttpRequestRetryStrategy retryStrategy) {
 		this.retryStrategy = retryStrategy;
+		resetHttpClient();
+	}
+
+	/**
+	 * Gets the custom retry strategy
+	 *
+	 * @return {@link HttpRequestRetryStrategy}, null if the default one is used
+	 */
+	public HttpRequestRetryStrategy getRetryStrategy() {
+		return retryStrategy;
 	}
 
 	/**
@@ -662,6 +717,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSupportedSSLProtocols(String[] supportedSSLProtocols) {
 		this.supportedSSLProtocols = supportedSSLProtocols;
+		resetHttpClient();
 	}
 
 	/**
@@ -680,6 +736,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setSupportedSSLCipherSuites(String[] supportedSSLCipherSuites) {
 		this.supportedSSLCipherSuites = supportedSSLCipherSuites;
+		resetHttpClient();
 	}
 
 	/**
@@ -698,6 +755,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setHostnameVerifier(HostnameVerifier hostnameVerifier) {
 		this.hostnameVerifier = hostnameVerifier;
+		resetHttpClient();
 	}
 
 	/**
@@ -716,6 +774,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setTrustStrategy(TrustStrategy trustStrategy) {
 		this.trustStrategy = trustStrategy;
+		resetHttpClient();
 	}
 
 	@Override
@@ -883,6 +942,88 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
+	/**
+	 * This method executes a conditional HTTP GET request, using the given cache validators
+	 * ({@code If-None-Match} and {@code If-Modified-Since} headers).
+	 * When the server responds with 304 (Not Modified), no content is returned.
+	 *
+	 * @param url
+	 *            to access (HTTP or HTTPS)
+	 * @param validators
+	 *            {@link HttpCacheValidators} of the cached resource (can be null)
+	 * @return {@link ConditionalGetResponse} containing the obtained data (if modified) and the new cache validators
+	 */
+	public ConditionalGetResponse conditionalGet(final String url, final HttpCacheValidators validators) {
+
+		HttpGet httpRequest = null;
+		CloseableHttpResponse httpResponse = null;
+		CloseableHttpClient client = null;
+
+		try {
+			httpRequest = getHttpRequest(url);
+			final boolean conditional = validators != null && validators.isConditionalRequestSupported();
+			if (conditional) {
+				if (validators.getETag() != null) {
+					httpRequest.setHeader(HttpHeaders.IF_NONE_MATCH, validators.getETag());
+				}
+				if (validators.getLastModified() != null) {
+					httpRequest.setHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.getLastModified());
+				}
+			}
+			client = getHttpClient(url);
+			httpResponse = getHttpResponse(client, httpRequest);
+
+			final HttpCacheValidators responseValidators = readCacheValidators(httpResponse);
+			if (conditional && HttpStatus.SC_NOT_MODIFIED == httpResponse.getCode()) {
+				LOG.debug("The resource from url [{}] has not been modified", url);
+				return new ConditionalGetResponse(null, responseValidators.mergeWith(validators));
+			}
+			return new ConditionalGetResponse(readHttpResponse(httpResponse), responseValidators);
+
+		} catch (URISyntaxException | IOException e) {
+			throw new DSSExternalResourceException(String.format("Unable to process GET call for url [%s]. Reason : [%s]", url, DSSUtils.getExceptionMessage(e)), e);
+
+		} finally {
+			closeQuietly(httpRequest, httpResponse, client);
+
+		}
+	}
+
+	/**
+	 * Reads the cache validators ({@code ETag}, {@code Last-Modified}, {@code Cache-Control: max-age})
+	 * from the HTTP response
+	 *
+	 * @param httpResponse {@link CloseableHttpResponse}
+	 * @return {@link HttpCacheValidators}
+	 */
+	protected HttpCacheValidators readCacheValidators(final CloseableHttpResponse httpResponse) {
+		final String eTag = getHeaderValue(httpResponse, HttpHeaders.ETAG);
+		final String lastModified = getHeaderValue(httpResponse, HttpHeaders.LAST_MODIFIED);
+		Long maxAge = null;
+		final String cacheControl = getHeaderValue(httpResponse, HttpHeaders.CACHE_CONTROL);
+		if (cacheControl != null) {
+			for (String directive : cacheControl.split(",")) {
+				final String trimmedDirective = Utils.trim(directive).toLowerCase();
+				if (trimmedDirective.startsWith(MAX_AGE_DIRECTIVE)) {
+					try {
+						maxAge = Long.parseLong(Utils.trim(trimmedDirective.substring(MAX_AGE_DIRECTIVE.length())));
+					} catch (NumberFormatException e) {
+						LOG.debug("Unable to parse the max-age directive '{}' : {}", directive, e.getMessage());
+					}
+				}
+			}
+		}
+		return new HttpCacheValidators(eTag, lastModified, maxAge);
+	}
+
+	private String getHeaderValue(final CloseableHttpResponse httpResponse, final String headerName) {
+		final Header header = httpResponse.getFirstHeader(headerName);
+		if (header != null && Utils.isStringNotBlank(header.getValue())) {
+			return header.getValue();
+		}
+		return null;
+	}
+
 	@Override
 	public byte[] post(final String url, final byte[] content) {
 
@@ -1015,7 +1156,9 @@ public class CommonsDataLoader implements DataLoader {
 				Utils.closeQuietly(httpResponse);
 			}
 		} finally {
-			Utils.closeQuietly(client);
+			if (!isSharedHttpClient(client)) {
+				Utils.closeQuietly(client);
+			}
 		}
 	}
 
@@ -1025,7 +1168,8 @@ public class CommonsDataLoader implements DataLoader {
 				.setDefaultSocketConfig(getSocketConfig())
 				.setMaxConnTotal(getConnectionsMaxTotal())
 				.setMaxConnPerRoute(getConnectionsMaxPerRoute())
-				.setConnectionTimeToLive(connectionTimeToLive);
+				.setConnectionTimeToLive(connectionTimeToLive)
+				.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
 
 		final PoolingHttpClientConnectionManager connectionManager = builder.build();
 
@@ -1043,33 +1187,8 @@ public class CommonsDataLoader implements DataLoader {
 
 	private SSLConnectionSocketFactory getConnectionSocketFactoryHttps() {
 		try {
-			SSLContextBuilder sslContextBuilder = SSLContextBuilder.create();
-			sslContextBuilder.setProtocol(sslProtocol);
-			
-			TrustStrategy trustStrategy = getTrustStrategy();
-			if (trustStrategy != null) {
-				LOG.debug("Set the TrustStrategy");
-				sslContextBuilder.loadTrustMaterial(null, trustStrategy);
-			}
-
-			final KeyStore sslTrustStore = getSSLTrustStore();
-			if (sslTrustStore != null) {
-				LOG.debug("Set the SSL trust store as trust materials");
-				sslContextBuilder.loadTrustMaterial(sslTrustStore, trustStrategy);
-			}
-
-			final KeyStore sslKeystore = getSSLKeyStore();
-			if (sslKeystore != null) {
-				LOG.debug("Set the SSL keystore as key materials");
-				sslContextBuilder.loadKeyMaterial(sslKeystore, toCharArray(sslKeystorePassword));
-				if (loadKeyStoreAsTrustMaterial) {
-					LOG.debug("Set the SSL keystore as trust materials");
-					sslContextBuilder.loadTrustMaterial(sslKeystore, trustStrategy);
-				}
-			}
-
 			SSLConnectionSocketFactoryBuilder sslConnectionSocketFactoryBuilder = new SSLConnectionSocketFactoryBuilder();
-			return sslConnectionSocketFactoryBuilder.setSslContext(sslContextBuilder.build())
+			return sslConnectionSocketFactoryBuilder.setSslContext(getSSLContext())
 					.setTlsVersions(getSupportedSSLProtocols()).setCiphers(getSupportedSSLCipherSuites())
 					.setHostnameVerifier(getHostnameVerifier()).build();
 
@@ -1078,6 +1197,42 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
+	/**
+	 * Builds the {@code SSLContext} based on the defined key and trust materials
+	 *
+	 * @return {@link SSLContext}
+	 * @throws IOException if IOException occurs
+	 * @throws GeneralSecurityException if GeneralSecurityException occurs
+	 */
+	protected SSLContext getSSLContext() throws IOException, GeneralSecurityException {
+		SSLContextBuilder sslContextBuilder = SSLContextBuilder.create();
+		sslContextBuilder.setProtocol(sslProtocol);
+		
+		TrustStrategy trustStrategy = getTrustStrategy();
+		if (trustStrategy != null) {
+			LOG.debug("Set the TrustStrategy");
+			sslContextBuilder.loadTrustMaterial(null, trustStrategy);
+		}
+
+		final KeyStore sslTrustStore = getSSLTrustStore();
+		if (sslTrustStore != null) {
+			LOG.debug("Set the SSL trust store as trust materials");
+			sslContextBuilder.loadTrustMaterial(sslTrustStore, trustStrategy);
+		}
+
+		final KeyStore sslKeystore = getSSLKeyStore();
+		if (sslKeystore != null) {
+			LOG.debug("Set the SSL keystore as key materials");
+			sslContextBuilder.loadKeyMaterial(sslKeystore, toCharArray(sslKeystorePassword));
+			if (loadKeyStoreAsTrustMaterial) {
+				LOG.debug("Set the SSL keystore as trust materials");
+				sslContextBuilder.loadTrustMaterial(sslKeystore, trustStrategy);
+			}
+		}
+
+		return sslContextBuilder.build();
+	}
+
 	/**
 	 * Gets the SSL KeyStore
 	 *
@@ -1141,40 +1296,91 @@ public class CommonsDataLoader implements DataLoader {
 			httpClientBuilder.useSystemProperties();
 		}
 
-		httpClientBuilder = configCredentials(httpClientBuilder, url);
-
-		final RequestConfig.Builder requestConfigBuilder = RequestConfig.custom()
-				.setConnectTimeout(timeoutConnection)
-				.setConnectionRequestTimeout(timeoutConnectionRequest)
-				.setResponseTimeout(timeoutResponse)
-				.setConnectionKeepAlive(connectionKeepAlive)
-				.setRedirectsEnabled(redirectsEnabled);
+		final BasicCredentialsProvider credentialsProvider = getCredentialsProvider();
+		final HttpRoutePlanner routePlanner = getProxyRoutePlanner(credentialsProvider, url);
+		httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+		if (routePlanner != null) {
+			httpClientBuilder.setRoutePlanner(routePlanner);
+		}
 
 		httpClientBuilder.setConnectionManager(getConnectionManager())
-				.setDefaultRequestConfig(requestConfigBuilder.build())
+				.setDefaultRequestConfig(getRequestConfig())
 				.setRetryStrategy(retryStrategy);
 		
 		return httpClientBuilder;
 	}
 
 	/**
-	 * Gets the HTTP client
+	 * Gets the request configuration (timeouts, keep-alive, redirects)
+	 *
+	 * @return {@link RequestConfig}
+	 */
+	protected RequestConfig getRequestConfig() {
+		return RequestConfig.custom()
+				.setConnectTimeout(timeoutConnection)
+				.setConnectionRequestTimeout(timeoutConnectionRequest)
+				.setResponseTimeout(timeoutResponse)
+				.setConnectionKeepAlive(connectionKeepAlive)
+				.setRedirectsEnabled(redirectsEnabled)
+				.build();
+	}
+
+	/**
+	 * Gets the HTTP client.
+	 *
+	 * The client is created on the first request for the given protocol and shared by the following requests,
+	 * allowing the re-use of the pooled (keep-alive) connections and TLS sessions.
+	 * The shared client is closed and re-created when the configuration of the data loader is changed.
+	 * No background thread is started : the expired connections are discarded on lease
+	 * (see {@code connectionTimeToLive} and {@code connectionKeepAlive}) and the connections
+	 * idle for a while are validated before being re-used.
+	 *
+	 * NOTE: the maximum number of concurrent requests to the same host is limited by {@code connectionsMaxPerRoute}
 	 *
 	 * @param url {@link String} request url
 	 * @return {@link CloseableHttpClient}
 	 */
 	protected synchronized CloseableHttpClient getHttpClient(final String url) {
-		return getHttpClientBuilder(url).build();
+		if (httpClients == null) {
+			httpClients = new HashMap<>();
+		}
+		final String protocol = getURL(Utils.trim(url)).getProtocol().toLowerCase();
+		CloseableHttpClient httpClient = httpClients.get(protocol);
+		if (httpClient == null) {
+			LOG.debug("Creating a new shared HTTP client for protocol '{}'", protocol);
+			httpClient = getHttpClientBuilder(url).build();
+			httpClients.put(protocol, httpClient);
+		}
+		return httpClient;
 	}
 
 	/**
-	 * Defines the Credentials
+	 * Closes the shared HTTP clients. New clients are created on the next request.
 	 *
-	 * @param httpClientBuilder {@link HttpClientBuilder}
-	 * @param url {@link String}
-	 * @return {@link HttpClientBuilder}
+	 * The method is called on any change of the connection configuration through the setters.
+	 * It shall be called explicitly when the configuration is changed otherwise
+	 * (e.g. by modifying the map returned by {@code getAuthenticationMap()}),
+	 * or when the data loader is not used anymore.
 	 */
-	private HttpClientBuilder configCredentials(HttpClientBuilder httpClientBuilder, final String url) {
+	public synchronized void resetHttpClient() {
+		if (httpClients != null) {
+			for (CloseableHttpClient httpClient : httpClients.values()) {
+				httpClient.close(CloseMode.GRACEFUL);
+			}
+			httpClients.clear();
+		}
+	}
+
+	private synchronized boolean isSharedHttpClient(CloseableHttpClient client) {
+		return client != null && httpClients != null && httpClients.containsValue(client);
+	}
+
+	/**
+	 * Gets the credentials provider, containing the credentials defined within the {@code authenticationMap}
+	 *
+	 * @return {@link BasicCredentialsProvider}
+	 */
+	protected BasicCredentialsProvider getCredentialsProvider() {
 		final BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
 		for (final Map.Entry<HostConnection, UserCredentials> entry : getAuthenticationMap().entrySet()) {
 			final HostConnection hostConnection = entry.getKey();
@@ -1187,23 +1393,20 @@ public class CommonsDataLoader implements DataLoader {
 					userCredentials.getUsername(), toCharArray(userCredentials.getPassword()));
 			credentialsProvider.setCredentials(authscope, usernamePasswordCredentials);
 		}
-		httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
-		httpClientBuilder = configureProxy(httpClientBuilder, credentialsProvider, url);
-		return httpClientBuilder;
+		return credentialsProvider;
 	}
 
 	/**
-	 * Configure the proxy with the required credential if needed
+	 * Gets the route planner for the proxy to be used for the given url
+	 * and adds the required proxy credentials to the {@code credentialsProvider} if needed
 	 *
-	 * @param httpClientBuilder {@link HttpClientBuilder}
 	 * @param credentialsProvider {@link BasicCredentialsProvider}
 	 * @param url {@link String}
-	 * @return {@link HttpClientBuilder}
+	 * @return {@link HttpRoutePlanner}, null if no proxy is defined for the url's protocol
 	 */
-	private HttpClientBuilder configureProxy(HttpClientBuilder httpClientBuilder,
-											 BasicCredentialsProvider credentialsProvider, String url) {
+	protected HttpRoutePlanner getProxyRoutePlanner(BasicCredentialsProvider credentialsProvider, String url) {
 		if (proxyConfig == null) {
-			return httpClientBuilder;
+			return null;
 		}
 
 		final String protocol = getURL(url).getProtocol();
@@ -1218,7 +1421,7 @@ public class CommonsDataLoader implements DataLoader {
 			LOG.debug("Use proxy http parameters");
 			proxyProps = proxyConfig.getHttpProperties();
 		} else {
-			return httpClientBuilder;
+			return null;
 		}
 
 		String scheme = proxyProps.getScheme();
@@ -1240,7 +1443,7 @@ public class CommonsDataLoader implements DataLoader {
 
 		if (Utils.isCollectionNotEmpty(excludedHosts)) {
 
-			final HttpRoutePlanner routePlanner = new DefaultProxyRoutePlanner(proxy) {
+			return new DefaultProxyRoutePlanner(proxy) {
 
 				@Override
 				protected HttpHost determineProxy(HttpHost host, HttpContext context) throws HttpException {
@@ -1257,11 +1460,9 @@ public class CommonsDataLoader implements DataLoader {
 				}
 
 			};
-
-			httpClientBuilder.setRoutePlanner(routePlanner);
 		}
 
-		return httpClientBuilder.setProxy(proxy);
+		return new DefaultProxyRoutePlanner(proxy);
 	}
 
 	private static Timeout toTimeoutMilliseconds(int millis) {
@@ -1284,4 +1485,55 @@ public class CommonsDataLoader implements DataLoader {
 		return Utils.isStringNotBlank(contentTypeString) ? ContentType.create(contentTypeString) : null;
 	}
 
+	/**
+	 * Represents the result of a conditional GET request
+	 */
+	public static class ConditionalGetResponse {
+
+		/** The obtained data, null if the resource has not been modified */
+		private final byte[] data;
+
+		/** The cache validators of the resource */
+		private final HttpCacheValidators validators;
+
+		/**
+		 * Default constructor
+		 *
+		 * @param data byte array of the obtained data, null if the resource has not been modified
+		 * @param validators {@link HttpCacheValidators}
+		 */
+		public ConditionalGetResponse(final byte[] data, final HttpCacheValidators validators) {
+			this.data = data;
+			this.validators = validators;
+		}
+
+		/**
+		 * Checks if the server responded with 304 (Not Modified)
+		 *
+		 * @return TRUE if the resource has not been modified, FALSE otherwise
+		 */
+		public boolean isNotModified() {
+			return data == null;
+		}
+
+		/**
+		 * Gets the obtained data
+		 *
+		 * @return byte array, null if the resource has not been modified
+		 */
+		public byte[] getData() {
+			return data;
+		}
+
+		/**
+		 * Gets the cache validators of the resource
+		 *
+		 * @return {@link HttpCacheValidators}
+		 */
+		public HttpCacheValidators getValidators() {
+			return validators;
+		}
+
+	}
+
 }
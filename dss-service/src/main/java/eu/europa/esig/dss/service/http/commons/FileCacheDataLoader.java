@@ -35,17 +35,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 
 /**
  * This class provides some caching features to handle the resources. The default cache folder is set to
  * {@code java.io.tmpdir}. The urls of the resources is transformed to the
  * file name by replacing the special characters by {@code _}
+ *
+ * When the used {@code DataLoader} is a {@code CommonsDataLoader}, the HTTP cache validators
+ * (ETag, Last-Modified, Cache-Control max-age) are stored next to the cached files and an expired file
+ * is refreshed with a conditional GET request. If the server responds with 304 (Not Modified),
+ * the cached file is kept and only its validators and modification time are updated.
  */
 public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 
@@ -56,6 +67,14 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 	/** The error message if the dataloader is not configured */
 	private static final String DATA_LOADER_NOT_CONFIGURED = "The DataLoader is not configured";
 
+	/** The extension of the files containing the HTTP cache validators */
+	private static final String VALIDATORS_FILE_EXTENSION = ".validators";
+
+	/** The property names used to store the HTTP cache validators */
+	private static final String ETAG_PROPERTY = "ETag";
+	private static final String LAST_MODIFIED_PROPERTY = "Last-Modified";
+	private static final String MAX_AGE_PROPERTY = "max-age";
+
 	/** The directory to cache files */
 	private File fileCacheDirectory = new File(System.getProperty("java.io.tmpdir"));
 
@@ -74,6 +93,12 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 	/** The dataloader to be used for a remote files access */
 	private DataLoader dataLoader;
 
+	/** Defines whether the expired files shall be refreshed with conditional GET requests */
+	private boolean conditionalGetEnabled = false;
+
+	/** Defines whether the Cache-Control max-age returned by the server extends the cache expiration time */
+	private boolean useCacheControlMaxAge = false;
+
 	/**
 	 * Empty constructor
 	 */
@@ -142,6 +167,38 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		this.cacheExpirationTime = cacheExpirationTimeInMilliseconds;
 	}
 
+	/**
+	 * Sets whether the expired cached files shall be refreshed with conditional GET requests
+	 * (If-None-Match / If-Modified-Since), based on the HTTP cache validators stored next to the cached files.
+	 * The conditional requests are used only when the defined {@code DataLoader} is a {@code CommonsDataLoader},
+	 * and never when the refresh is forced (see {@code get(url, true)}).
+	 *
+	 * NOTE: when enabled, the HTTP(S) files are obtained with {@link #conditionalGet(String, HttpCacheValidators)}
+	 * instead of {@code DataLoader.get(url)}. A customization of the {@code get(url)} method of the data loader
+	 * shall be reflected in {@code CommonsDataLoader.conditionalGet(url, validators)} or in the overridden
+	 * {@link #conditionalGet(String, HttpCacheValidators)} method.
+	 *
+	 * Default: FALSE (the expired files are downloaded again with {@code DataLoader.get(url)})
+	 *
+	 * @param conditionalGetEnabled whether the conditional GET requests shall be used
+	 */
+	public void setConditionalGetEnabled(boolean conditionalGetEnabled) {
+		this.conditionalGetEnabled = conditionalGetEnabled;
+	}
+
+	/**
+	 * Sets whether the Cache-Control max-age directive returned by the server shall be taken into account.
+	 * When enabled, a cached file is not considered as expired until its max-age is reached,
+	 * even if the {@code cacheExpirationTime} has passed.
+	 *
+	 * Default: FALSE (only {@code cacheExpirationTime} is used)
+	 *
+	 * @param useCacheControlMaxAge whether the Cache-Control max-age directive shall be used
+	 */
+	public void setUseCacheControlMaxAge(boolean useCacheControlMaxAge) {
+		this.useCacheControlMaxAge = useCacheControlMaxAge;
+	}
+
 	/**
 	 * Sets the ResourceLoader for an absolute path creation
 	 *
@@ -212,7 +269,7 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		final String fileName = DSSUtils.getNormalizedString(url);
 		final File file = getCacheFile(fileName);
 		final boolean fileExists = file.exists();
-		final boolean isCacheExpired = isCacheExpired(file);
+		final boolean isCacheExpired = isCacheExpired(file, fileName);
 		
 		if (fileExists && !refresh && !isCacheExpired) {
 			LOG.debug("Cached file was used");
@@ -229,9 +286,24 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		}
 		
 		byte[] bytes;
+		HttpCacheValidators validators = null;
 		if (!isNetworkProtocol(url)) {
 			bytes = getLocalFileContent(url);
 			
+		} else if (!refresh && isConditionalGetSupported(url)) {
+			final CommonsDataLoader.ConditionalGetResponse response = conditionalGet(url,
+					fileExists ? readCacheValidators(fileName) : null);
+			if (response.isNotModified()) {
+				LOG.debug("The cached file has not been modified. The cache validators are refreshed.");
+				saveCacheValidators(fileName, response.getValidators());
+				if (!file.setLastModified(System.currentTimeMillis())) {
+					LOG.warn("Unable to update the last modification time of the file '{}'", file.getPath());
+				}
+				return new FileDocument(file);
+			}
+			bytes = response.getData();
+			validators = response.getValidators();
+			
 		} else {
 			bytes = dataLoader.get(url);
 			
@@ -239,6 +311,9 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		
 		if (Utils.isArrayNotEmpty(bytes)) {
 			final File out = createFile(fileName, bytes);
+			if (validators != null) {
+				saveCacheValidators(fileName, validators);
+			}
 			return new FileDocument(out);
 			
 		} 
@@ -259,6 +334,7 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("Deleting the file corresponding to URL '{}'...", url);
 			}
+			deleteCacheValidators(fileName);
 			return file.delete();
 		}
 		if (LOG.isDebugEnabled()) {
@@ -278,6 +354,23 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		return Protocol.isHttpUrl(normalizedUrl) || Protocol.isLdapUrl(normalizedUrl) || Protocol.isFtpUrl(normalizedUrl);
 	}
 
+	private boolean isConditionalGetSupported(final String urlString) {
+		return conditionalGetEnabled && dataLoader instanceof CommonsDataLoader && Protocol.isHttpUrl(urlString);
+	}
+
+	/**
+	 * Executes a conditional GET request for the given {@code url}, when the conditional requests are enabled
+	 * (see {@link #setConditionalGetEnabled(boolean)}).
+	 * The method can be overridden in order to customize the request.
+	 *
+	 * @param url {@link String} to access
+	 * @param validators {@link HttpCacheValidators} of the cached file (can be null)
+	 * @return {@link CommonsDataLoader.ConditionalGetResponse}
+	 */
+	protected CommonsDataLoader.ConditionalGetResponse conditionalGet(final String url, final HttpCacheValidators validators) {
+		return ((CommonsDataLoader) dataLoader).conditionalGet(url, validators);
+	}
+
 	private byte[] getLocalFileContent(final String urlString) throws DSSException {
 		Objects.requireNonNull(dataLoader, DATA_LOADER_NOT_CONFIGURED);
 		// TODO usage ??
@@ -314,9 +407,62 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		final String fileName = DSSUtils.getNormalizedString(urlString);
 		final File file = getCacheFile(fileName);
 		DSSUtils.saveToFile(bytes, file);
+		// the validators of the previous content are not relevant anymore
+		deleteCacheValidators(fileName);
 		return file;
 	}
 
+	private File getCacheValidatorsFile(final String fileName) {
+		return new File(fileCacheDirectory, Utils.trim(fileName) + VALIDATORS_FILE_EXTENSION);
+	}
+
+	private HttpCacheValidators readCacheValidators(final String fileName) {
+		final File validatorsFile = getCacheValidatorsFile(fileName);
+		if (!validatorsFile.exists()) {
+			return null;
+		}
+		try (InputStream is = new FileInputStream(validatorsFile)) {
+			final Properties properties = new Properties();
+			properties.load(is);
+			final String maxAge = properties.getProperty(MAX_AGE_PROPERTY);
+			return new HttpCacheValidators(properties.getProperty(ETAG_PROPERTY), properties.getProperty(LAST_MODIFIED_PROPERTY),
+					maxAge != null ? Long.valueOf(maxAge) : null);
+		} catch (Exception e) {
+			LOG.warn("Unable to read the cache validators from file '{}' : {}", validatorsFile.getPath(), e.getMessage());
+			return null;
+		}
+	}
+
+	private void saveCacheValidators(final String fileName, final HttpCacheValidators validators) {
+		final File validatorsFile = getCacheValidatorsFile(fileName);
+		if (!validators.isConditionalRequestSupported() && validators.getMaxAge() == null) {
+			deleteCacheValidators(fileName);
+			return;
+		}
+		final Properties properties = new Properties();
+		if (validators.getETag() != null) {
+			properties.setProperty(ETAG_PROPERTY, validators.getETag());
+		}
+		if (validators.getLastModified() != null) {
+			properties.setProperty(LAST_MODIFIED_PROPERTY, validators.getLastModified());
+		}
+		if (validators.getMaxAge() != null) {
+			properties.setProperty(MAX_AGE_PROPERTY, String.valueOf(validators.getMaxAge()));
+		}
+		try (OutputStream os = new FileOutputStream(validatorsFile)) {
+			properties.store(os, null);
+		} catch (IOException e) {
+			LOG.warn("Unable to save the cache validators to file '{}' : {}", validatorsFile.getPath(), e.getMessage());
+		}
+	}
+
+	private void deleteCacheValidators(final String fileName) {
+		final File validatorsFile = getCacheValidatorsFile(fileName);
+		if (validatorsFile.exists() && !validatorsFile.delete()) {
+			LOG.warn("Unable to delete the cache validators file '{}'", validatorsFile.getPath());
+		}
+	}
+
 	/**
 	 * Allows to load the file for a given file name from the cache folder.
 	 *
@@ -350,7 +496,7 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		final String cacheFileName = fileName + "." + digestHexEncoded;
 		final File file = getCacheFile(cacheFileName);
 		final boolean fileExists = file.exists();
-		final boolean isCacheExpired = isCacheExpired(file);
+		final boolean isCacheExpired = isCacheExpired(file, null);
 
 		if (fileExists && !isCacheExpired) {
 			LOG.debug("Cached file was used");
@@ -372,7 +518,7 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		throw new DSSExternalResourceException(String.format("Cannot retrieve data from URL [%s]", urlString));
 	}
 
-	private boolean isCacheExpired(File file) {
+	private boolean isCacheExpired(File file, String fileName) {
 		if (cacheExpirationTime < 0) {
 			return false;
 		}
@@ -381,6 +527,14 @@ public class FileCacheDataLoader implements DataLoader, DSSFileLoader {
 		}
 		long currentTime = new Date().getTime();
 		if (currentTime - file.lastModified() >= cacheExpirationTime) {
+			if (useCacheControlMaxAge && fileName != null) {
+				final HttpCacheValidators validators = readCacheValidators(fileName);
+				if (validators != null && validators.getMaxAge() != null
+						&& currentTime - file.lastModified() < validators.getMaxAge() * 1000) {
+					LOG.debug("Cache is still fresh according to the Cache-Control max-age");
+					return false;
+				}
+			}
 			LOG.debug("Cache is expired");
 			return true;
 		}
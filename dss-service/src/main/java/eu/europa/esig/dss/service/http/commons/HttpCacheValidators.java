@@ -0,0 +1,117 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import java.io.Serializable;
+
+/**
+ * Contains the cache validators returned by an HTTP server for a resource
+ * (the {@code ETag}, {@code Last-Modified} and {@code Cache-Control: max-age} header values).
+ *
+ * The validators are used to execute a conditional GET request
+ * ({@code If-None-Match} / {@code If-Modified-Since}) on a cached resource.
+ */
+public class HttpCacheValidators implements Serializable {
+
+	private static final long serialVersionUID = 3458106273496715480L;
+
+	/** The value of the ETag header */
+	private final String eTag;
+
+	/** The value of the Last-Modified header */
+	private final String lastModified;
+
+	/** The max-age directive of the Cache-Control header, in seconds */
+	private final Long maxAge;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param eTag {@link String} the ETag header value (can be null)
+	 * @param lastModified {@link String} the Last-Modified header value (can be null)
+	 * @param maxAge {@link Long} the max-age directive of the Cache-Control header in seconds (can be null)
+	 */
+	public HttpCacheValidators(String eTag, String lastModified, Long maxAge) {
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Gets the ETag header value
+	 *
+	 * @return {@link String}
+	 */
+	public String getETag() {
+		return eTag;
+	}
+
+	/**
+	 * Gets the Last-Modified header value
+	 *
+	 * @return {@link String}
+	 */
+	public String getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Gets the max-age directive of the Cache-Control header, in seconds
+	 *
+	 * @return {@link Long}
+	 */
+	public Long getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Checks if a conditional request can be built with the validators (i.e. an ETag or a Last-Modified is defined)
+	 *
+	 * @return TRUE if the ETag or the Last-Modified value is defined, FALSE otherwise
+	 */
+	public boolean isConditionalRequestSupported() {
+		return eTag != null || lastModified != null;
+	}
+
+	/**
+	 * Returns the validators, where the values not defined in this object are taken from {@code previous}.
+	 * Used to update the stored validators on a 304 (Not Modified) response,
+	 * which is not required to repeat all the headers.
+	 *
+	 * @param previous {@link HttpCacheValidators} the previously stored validators
+	 * @return {@link HttpCacheValidators}
+	 */
+	public HttpCacheValidators mergeWith(HttpCacheValidators previous) {
+		if (previous == null) {
+			return this;
+		}
+		return new HttpCacheValidators(
+				eTag != null ? eTag : previous.eTag,
+				lastModified != null ? lastModified : previous.lastModified,
+				maxAge != null ? maxAge : previous.maxAge);
+	}
+
+	@Override
+	public String toString() {
+		return "HttpCacheValidators [eTag=" + eTag + ", lastModified=" + lastModified + ", maxAge=" + maxAge + "]";
+	}
+
+}
@@ -160,6 +160,22 @@ public class JdbcCacheOCSPSource extends JdbcRevocationSource<OCSP> implements O
 		}
 	}
 
+	@Override
+	protected boolean isSharedTokenSupported() {
+		return true;
+	}
+
+	@Override
+	protected RevocationToken<OCSP> buildRevocationTokenFromSharedToken(RevocationToken<OCSP> sharedToken,
+				CertificateToken certificateToken, CertificateToken issuerCert, RevocationOrigin origin) {
+		BasicOCSPResp basicResponse = ((OCSPToken) sharedToken).getBasicOCSPResp();
+		SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerCert);
+		OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerCert);
+		ocspToken.setSourceURL(sharedToken.getSourceURL());
+		ocspToken.setExternalOrigin(origin);
+		return ocspToken;
+	}
+
 	@Override
 	protected void insertRevocation(final String revocationKey, final RevocationToken<OCSP> token) {
 		jdbcCacheConnector.execute(SQL_FIND_INSERT, revocationKey, token.getEncoded(), token.getSourceURL());
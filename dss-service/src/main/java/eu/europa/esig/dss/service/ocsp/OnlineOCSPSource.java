@@ -30,6 +30,7 @@ import eu.europa.esig.dss.service.NonceSource;
 import eu.europa.esig.dss.service.http.commons.OCSPDataLoader;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSRevocationUtils;
+import eu.europa.esig.dss.spi.client.http.AsyncDataLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.revocation.OnlineRevocationSource;
@@ -61,6 +62,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Online OCSP repository. This implementation will contact the OCSP Responder
@@ -223,45 +226,15 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 
 			try {
 				final byte[] ocspRespBytes = dataLoader.post(ocspAccessLocation, content);
-				if (!Utils.isArrayEmpty(ocspRespBytes)) {
-					if (LOG.isTraceEnabled()) {
-						LOG.trace(String.format("Obtained OCSPResponse binaries from URL '%s' : %s", ocspAccessLocation, Utils.toBase64(ocspRespBytes)));
-					}
-					final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
-					verifyNonce(ocspResp, nonce);
-
-					OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
-					if (OCSPRespStatus.SUCCESSFUL.equals(status)) {
-						BasicOCSPResp basicResponse = (BasicOCSPResp) ocspResp.getResponseObject();
-						SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerToken);
-						OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerToken);
-						ocspToken.setSourceURL(ocspAccessLocation);
-						ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
-						if (isAcceptableDigestAlgo(ocspToken.getSignatureAlgorithm())) {
-							if (LOG.isDebugEnabled()) {
-								LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
-										ocspToken.getDSSIdAsString(), ocspAccessLocation);
-							}
-							return new RevocationTokenAndUrl<>(ocspAccessLocation, ocspToken);
-
-						} else {
-							LOG.warn("The SignatureAlgorithm '{}' of the obtained OCSPToken from URL '{}' is not acceptable! "
-									+ "The OCSPToken is skipped.", ocspToken.getSignatureAlgorithm(), ocspAccessLocation);
-						}
-
-					} else {
-						LOG.warn("Ignored OCSP Response from URL '{}' : status -> {}", ocspAccessLocation, status);
-					}
-
-				} else {
-					LOG.warn("OCSP Data Loader for certificate {} responded with an empty byte array!", certificateToken.getDSSIdAsString());
+				RevocationTokenAndUrl<OCSP> revocationTokenAndUrl = buildRevocationTokenAndUrl(
+						certificateToken, issuerToken, ocspAccessLocation, ocspRespBytes, nonce);
+				if (revocationTokenAndUrl != null) {
+					return revocationTokenAndUrl;
 				}
 
 			} catch (Exception e) {
 				if (nbTries == 0) {
-					throw new DSSExternalResourceException(String.format(
-							"Unable to retrieve OCSP response for certificate with Id '%s' from URL '%s'. Reason : %s",
-							certificateToken.getDSSIdAsString(), ocspAccessLocation, e.getMessage()), e);
+					throw buildOCSPException(certificateToken, ocspAccessLocation, e);
 				} else {
 					LOG.warn("Unable to retrieve OCSP response with URL '{}' : {}", ocspAccessLocation, e.getMessage());
 				}
@@ -271,6 +244,126 @@ public class OnlineOCSPSource implements OCSPSource, RevocationSourceAlternateUr
 		return null;
 	}
 
+	/**
+	 * Asynchronously extracts an OCSP token for a {@code certificateToken} from the OCSP access locations
+	 * defined within the certificate.
+	 *
+	 * When the defined {@code DataLoader} is an {@code AsyncDataLoader}, the OCSP responders are requested
+	 * without blocking the calling thread (the URLs are tried one after another until a valid response is obtained).
+	 * Otherwise, the blocking request is processed within the calling thread and a completed future is returned.
+	 *
+	 * @param certificateToken {@link CertificateToken} to get an OCSP token for
+	 * @param issuerToken {@link CertificateToken} issued the {@code certificateToken}
+	 * @return {@link CompletableFuture} completed with the {@link RevocationTokenAndUrl}, or with null if
+	 *         no OCSP response has been obtained
+	 */
+	public CompletableFuture<RevocationTokenAndUrl<OCSP>> getRevocationTokenAndUrlAsync(
+			CertificateToken certificateToken, CertificateToken issuerToken) {
+		try {
+			Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
+			if (!(dataLoader instanceof AsyncDataLoader)) {
+				return CompletableFuture.completedFuture(getRevocationTokenAndUrl(certificateToken, issuerToken));
+			}
+
+			final List<String> ocspAccessLocations = DSSASN1Utils.getOCSPAccessLocations(certificateToken);
+			if (Utils.isCollectionEmpty(ocspAccessLocations)) {
+				LOG.warn("No OCSP location found for {}", certificateToken.getDSSIdAsString());
+				return CompletableFuture.completedFuture(null);
+			}
+
+			final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerToken, certIDDigestAlgorithm);
+			final BigInteger nonce = nonceSource != null ? nonceSource.getNonce() : null;
+			final byte[] content = buildOCSPRequest(certId, nonce);
+			return getRevocationTokenAndUrlAsync((AsyncDataLoader) dataLoader, certificateToken, issuerToken,
+					ocspAccessLocations, 0, content, nonce);
+
+		} catch (Exception e) {
+			final CompletableFuture<RevocationTokenAndUrl<OCSP>> future = new CompletableFuture<>();
+			future.completeExceptionally(e);
+			return future;
+		}
+	}
+
+	private CompletableFuture<RevocationTokenAndUrl<OCSP>> getRevocationTokenAndUrlAsync(
+			AsyncDataLoader asyncDataLoader, CertificateToken certificateToken, CertificateToken issuerToken,
+			List<String> ocspUrls, int index, byte[] content, BigInteger nonce) {
+		if (index >= ocspUrls.size()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		final String ocspAccessLocation = ocspUrls.get(index);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Trying to retrieve an OCSP response asynchronously from URL '{}'...", ocspAccessLocation);
+		}
+		return asyncDataLoader.postAsync(ocspAccessLocation, content)
+				.thenApply(ocspRespBytes -> buildRevocationTokenAndUrl(
+						certificateToken, issuerToken, ocspAccessLocation, ocspRespBytes, nonce))
+				.handle((revocationTokenAndUrl, throwable) -> {
+					if (throwable != null) {
+						final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+								throwable.getCause() : throwable;
+						if (index == ocspUrls.size() - 1) {
+							throw buildOCSPException(certificateToken, ocspAccessLocation, cause);
+						}
+						LOG.warn("Unable to retrieve OCSP response with URL '{}' : {}", ocspAccessLocation, cause.getMessage());
+
+					} else if (revocationTokenAndUrl != null) {
+						return CompletableFuture.completedFuture(revocationTokenAndUrl);
+					}
+					return getRevocationTokenAndUrlAsync(asyncDataLoader, certificateToken, issuerToken,
+							ocspUrls, index + 1, content, nonce);
+				})
+				.thenCompose(future -> future);
+	}
+
+	private RevocationTokenAndUrl<OCSP> buildRevocationTokenAndUrl(CertificateToken certificateToken,
+			CertificateToken issuerToken, String ocspAccessLocation, byte[] ocspRespBytes, BigInteger nonce) {
+		if (Utils.isArrayEmpty(ocspRespBytes)) {
+			LOG.warn("OCSP Data Loader for certificate {} responded with an empty byte array!", certificateToken.getDSSIdAsString());
+			return null;
+		}
+		try {
+			if (LOG.isTraceEnabled()) {
+				LOG.trace(String.format("Obtained OCSPResponse binaries from URL '%s' : %s", ocspAccessLocation, Utils.toBase64(ocspRespBytes)));
+			}
+			final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
+			verifyNonce(ocspResp, nonce);
+
+			OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
+			if (OCSPRespStatus.SUCCESSFUL.equals(status)) {
+				BasicOCSPResp basicResponse = (BasicOCSPResp) ocspResp.getResponseObject();
+				SingleResp latestSingleResponse = DSSRevocationUtils.getLatestSingleResponse(basicResponse, certificateToken, issuerToken);
+				OCSPToken ocspToken = new OCSPToken(basicResponse, latestSingleResponse, certificateToken, issuerToken);
+				ocspToken.setSourceURL(ocspAccessLocation);
+				ocspToken.setExternalOrigin(RevocationOrigin.EXTERNAL);
+				if (isAcceptableDigestAlgo(ocspToken.getSignatureAlgorithm())) {
+					if (LOG.isDebugEnabled()) {
+						LOG.debug("OCSP Response '{}' has been retrieved from a source with URL '{}'.",
+								ocspToken.getDSSIdAsString(), ocspAccessLocation);
+					}
+					return new RevocationTokenAndUrl<>(ocspAccessLocation, ocspToken);
+
+				} else {
+					LOG.warn("The SignatureAlgorithm '{}' of the obtained OCSPToken from URL '{}' is not acceptable! "
+							+ "The OCSPToken is skipped.", ocspToken.getSignatureAlgorithm(), ocspAccessLocation);
+				}
+
+			} else {
+				LOG.warn("Ignored OCSP Response from URL '{}' : status -> {}", ocspAccessLocation, status);
+			}
+			return null;
+
+		} catch (IOException | OCSPException e) {
+			throw new DSSExternalResourceException(String.format("Unable to parse the OCSP response : %s", e.getMessage()), e);
+		}
+	}
+
+	private DSSExternalResourceException buildOCSPException(CertificateToken certificateToken, String ocspAccessLocation,
+															Throwable cause) {
+		return new DSSExternalResourceException(String.format(
+				"Unable to retrieve OCSP response for certificate with Id '%s' from URL '%s'. Reason : %s",
+				certificateToken.getDSSIdAsString(), ocspAccessLocation, cause.getMessage()), cause);
+	}
+
 	private byte[] buildOCSPRequest(final CertificateID certId, BigInteger nonce) throws DSSException {
 		try {
 			final OCSPReqBuilder ocspReqBuilder = new OCSPReqBuilder();
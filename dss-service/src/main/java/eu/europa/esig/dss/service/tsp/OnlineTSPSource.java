@@ -26,6 +26,7 @@ import eu.europa.esig.dss.model.TimestampBinary;
 import eu.europa.esig.dss.service.NonceSource;
 import eu.europa.esig.dss.service.http.commons.TimestampDataLoader;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.client.http.AsyncDataLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
@@ -42,6 +43,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class encompassing a RFC 3161 TSA, accessed through HTTP(S) to a given URI
@@ -150,62 +152,107 @@ public class OnlineTSPSource implements TSPSource {
 	public TimestampBinary getTimeStampResponse(final DigestAlgorithm digestAlgorithm, final byte[] digest) throws DSSException {
 		try {
 			Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
-			if (LOG.isTraceEnabled()) {
-				LOG.trace("Timestamp digest algorithm: {}", digestAlgorithm.getName());
-				LOG.trace("Timestamp digest value    : {}", Utils.toHex(digest));
-			}
+			final TimeStampRequest timeStampRequest = buildTimeStampRequest(digestAlgorithm, digest);
 
-			// Setup the time stamp request
-			final TimeStampRequestGenerator tsqGenerator = new TimeStampRequestGenerator();
-			tsqGenerator.setCertReq(true);
-			if (policyOid != null) {
-				tsqGenerator.setReqPolicy(policyOid);
-			}
+			// Call the communications layer
+			byte[] respBytes = dataLoader.post(tspServer, timeStampRequest.getEncoded());
+
+			return buildTimestampBinary(timeStampRequest, respBytes);
+		} catch (TSPException | IOException e) {
+			throw buildTSPException(e);
+		}
+	}
 
-			ASN1ObjectIdentifier asn1ObjectIdentifier = new ASN1ObjectIdentifier(digestAlgorithm.getOid());
-			TimeStampRequest timeStampRequest;
-			if (nonceSource == null) {
-				timeStampRequest = tsqGenerator.generate(asn1ObjectIdentifier, digest);
-			} else {
-				timeStampRequest = tsqGenerator.generate(asn1ObjectIdentifier, digest, nonceSource.getNonce());
+	/**
+	 * Asynchronously requests a timestamp for the given digest.
+	 *
+	 * When the defined {@code DataLoader} is an {@code AsyncDataLoader}, the TSA is requested without blocking
+	 * the calling thread. Otherwise, the blocking request is processed within the calling thread and a completed
+	 * future is returned.
+	 *
+	 * @param digestAlgorithm {@link DigestAlgorithm} used to compute the digest
+	 * @param digest the digest to be timestamped
+	 * @return {@link CompletableFuture} completed with the obtained {@link TimestampBinary}
+	 */
+	public CompletableFuture<TimestampBinary> getTimeStampResponseAsync(final DigestAlgorithm digestAlgorithm, final byte[] digest) {
+		try {
+			Objects.requireNonNull(dataLoader, "DataLoader is not provided !");
+			if (!(dataLoader instanceof AsyncDataLoader)) {
+				return CompletableFuture.completedFuture(getTimeStampResponse(digestAlgorithm, digest));
 			}
 
-			final byte[] requestBytes = timeStampRequest.getEncoded();
+			final TimeStampRequest timeStampRequest = buildTimeStampRequest(digestAlgorithm, digest);
+			return ((AsyncDataLoader) dataLoader).postAsync(tspServer, timeStampRequest.getEncoded()).thenApply(respBytes -> {
+				try {
+					return buildTimestampBinary(timeStampRequest, respBytes);
+				} catch (TSPException | IOException e) {
+					throw buildTSPException(e);
+				}
+			});
 
-			// Call the communications layer
-			byte[] respBytes = dataLoader.post(tspServer, requestBytes);
+		} catch (Exception e) {
+			final CompletableFuture<TimestampBinary> future = new CompletableFuture<>();
+			future.completeExceptionally(e instanceof IOException ? buildTSPException(e) : e);
+			return future;
+		}
+	}
 
-			// Handle the TSA response
-			final TimeStampResponse timeStampResponse = new TimeStampResponse(respBytes);
+	private TimeStampRequest buildTimeStampRequest(final DigestAlgorithm digestAlgorithm, final byte[] digest) {
+		if (LOG.isTraceEnabled()) {
+			LOG.trace("Timestamp digest algorithm: {}", digestAlgorithm.getName());
+			LOG.trace("Timestamp digest value    : {}", Utils.toHex(digest));
+		}
 
-			// Validates token, nonce, policy id, message digest ...
-			timeStampResponse.validate(timeStampRequest);
+		// Setup the time stamp request
+		final TimeStampRequestGenerator tsqGenerator = new TimeStampRequestGenerator();
+		tsqGenerator.setCertReq(true);
+		if (policyOid != null) {
+			tsqGenerator.setReqPolicy(policyOid);
+		}
 
-			String statusString = timeStampResponse.getStatusString();
-			if (statusString != null) {
-				LOG.info("TSP Status: {}", statusString);
-			}
+		ASN1ObjectIdentifier asn1ObjectIdentifier = new ASN1ObjectIdentifier(digestAlgorithm.getOid());
+		if (nonceSource == null) {
+			return tsqGenerator.generate(asn1ObjectIdentifier, digest);
+		} else {
+			return tsqGenerator.generate(asn1ObjectIdentifier, digest, nonceSource.getNonce());
+		}
+	}
 
-			PKIFailureInfo failInfo = timeStampResponse.getFailInfo();
-			if (failInfo != null) {
-				LOG.warn("TSP Failure info: {}", failInfo);
-			}
+	private TimestampBinary buildTimestampBinary(final TimeStampRequest timeStampRequest, final byte[] respBytes)
+			throws TSPException, IOException {
+		// Handle the TSA response
+		final TimeStampResponse timeStampResponse = new TimeStampResponse(respBytes);
 
-			final TimeStampToken timeStampToken = timeStampResponse.getTimeStampToken();
+		// Validates token, nonce, policy id, message digest ...
+		timeStampResponse.validate(timeStampRequest);
 
-			if (timeStampToken != null) {
-				LOG.info("TSP SID : SN {}, Issuer {}", timeStampToken.getSID().getSerialNumber(), timeStampToken.getSID().getIssuer());
-			} else {
-				throw new DSSExternalResourceException(String.format("No timestamp token has been retrieved " +
-								"(TSP Status : %s / %s)", statusString, failInfo));
-			}
-			return new TimestampBinary(DSSASN1Utils.getDEREncoded(timeStampToken));
-		} catch (TSPException e) {
-			throw new DSSExternalResourceException(String.format("Invalid TSP response : %s", e.getMessage()), e);
-		} catch (IOException e) {
-			throw new DSSExternalResourceException(String.format(
-					"An error occurred during timestamp request : %s", e.getMessage()), e);
+		String statusString = timeStampResponse.getStatusString();
+		if (statusString != null) {
+			LOG.info("TSP Status: {}", statusString);
+		}
+
+		PKIFailureInfo failInfo = timeStampResponse.getFailInfo();
+		if (failInfo != null) {
+			LOG.warn("TSP Failure info: {}", failInfo);
+		}
+
+		final TimeStampToken timeStampToken = timeStampResponse.getTimeStampToken();
+
+		if (timeStampToken != null) {
+			LOG.info("TSP SID : SN {}, Issuer {}", timeStampToken.getSID().getSerialNumber(), timeStampToken.getSID().getIssuer());
+		} else {
+			throw new DSSExternalResourceException(String.format("No timestamp token has been retrieved " +
+							"(TSP Status : %s / %s)", statusString, failInfo));
+		}
+		return new TimestampBinary(DSSASN1Utils.getDEREncoded(timeStampToken));
+	}
+
+	private DSSExternalResourceException buildTSPException(final Exception e) {
+		if (e instanceof TSPException) {
+			return new DSSExternalResourceException(String.format("Invalid TSP response : %s", e.getMessage()), e);
 		}
+		return new DSSExternalResourceException(String.format(
+				"An error occurred during timestamp request : %s", e.getMessage()), e);
 	}
 
 }
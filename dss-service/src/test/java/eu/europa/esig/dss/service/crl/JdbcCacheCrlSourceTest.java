@@ -20,21 +20,44 @@
  */
 package eu.europa.esig.dss.service.crl;
 
+import eu.europa.esig.dss.enumerations.CertificateStatus;
 import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
 import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.x509.revocation.InMemoryRevocationCache;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.sql.SQLException;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
@@ -148,6 +171,63 @@ public class JdbcCacheCrlSourceTest {
 		assertEquals(RevocationOrigin.EXTERNAL, savedRevocationToken.getExternalOrigin()); // expired crl
 	}
 
+	@Test
+	public void inMemorySharedTokenTest() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+		Date now = new Date();
+		Date notBefore = new Date(now.getTime() - 3600 * 1000L);
+		Date notAfter = new Date(now.getTime() + 3600 * 1000L);
+		ContentSigner signer = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+
+		X500Name caName = new X500Name("CN=Shared CRL Test CA,C=BE");
+		JcaX509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+				notBefore, notAfter, caName, keyPair.getPublic());
+		caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		CertificateToken caToken = DSSUtils.loadCertificate(caBuilder.build(signer).getEncoded());
+
+		String crlUrl = "http://crl.test/ca.crl";
+		CertificateToken revokedCert = buildUserCertificate(caName, BigInteger.valueOf(2), crlUrl, keyPair, signer);
+		CertificateToken goodCert = buildUserCertificate(caName, BigInteger.valueOf(3), crlUrl, keyPair, signer);
+
+		X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(caName, notBefore);
+		crlBuilder.setNextUpdate(notAfter);
+		crlBuilder.addCRLEntry(revokedCert.getSerialNumber(), notBefore, CRLReason.keyCompromise);
+		crlBuilder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.ONE));
+		byte[] crlBinaries = crlBuilder.build(signer).getEncoded();
+
+		crlSource.setProxySource(new OnlineCRLSource(new MemoryDataLoader(Collections.singletonMap(crlUrl, crlBinaries))));
+		crlSource.setInMemoryCache(new InMemoryRevocationCache<>());
+
+		CRLToken revocationToken = crlSource.getRevocationToken(revokedCert, caToken);
+		assertNotNull(revocationToken);
+		assertEquals(RevocationOrigin.EXTERNAL, revocationToken.getExternalOrigin());
+		assertEquals(CertificateStatus.REVOKED, revocationToken.getStatus());
+		assertEquals(1, crlSource.getInMemoryCache().size());
+
+		// the CRL is shared within the in-memory cache, but the token is built for the requested certificate
+		CRLToken sharedRevocationToken = crlSource.getRevocationToken(goodCert, caToken);
+		assertNotNull(sharedRevocationToken);
+		assertEquals(RevocationOrigin.CACHED, sharedRevocationToken.getExternalOrigin());
+		assertEquals(goodCert.getDSSIdAsString(), sharedRevocationToken.getRelatedCertificateId());
+		assertEquals(CertificateStatus.GOOD, sharedRevocationToken.getStatus());
+		assertNull(sharedRevocationToken.getRevocationDate());
+		assertEquals(revocationToken.getDSSIdAsString(), sharedRevocationToken.getDSSIdAsString());
+	}
+
+	private CertificateToken buildUserCertificate(X500Name caName, BigInteger serialNumber, String crlUrl,
+												  KeyPair keyPair, ContentSigner signer) throws Exception {
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, serialNumber,
+				new Date(System.currentTimeMillis() - 3600 * 1000L), new Date(System.currentTimeMillis() + 3600 * 1000L),
+				new X500Name("CN=User " + serialNumber + ",C=BE"), keyPair.getPublic());
+		GeneralNames generalNames = new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, crlUrl));
+		builder.addExtension(Extension.cRLDistributionPoints, false, new CRLDistPoint(new DistributionPoint[] {
+				new DistributionPoint(new DistributionPointName(generalNames), null, null) }));
+		return DSSUtils.loadCertificate(builder.build(signer).getEncoded());
+	}
+
 	@AfterEach
 	public void cleanUp() throws SQLException {
 		crlSource.destroyTable();
@@ -0,0 +1,152 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.service.http.commons;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.DataLoader.DataAndUrl;
+import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncCommonsDataLoaderTest {
+
+	private static final byte[] OK = "OK".getBytes();
+
+	private final CountDownLatch slowResponseLatch = new CountDownLatch(1);
+
+	private HttpServer server;
+
+	private String baseUrl;
+
+	private AsyncCommonsDataLoader dataLoader;
+
+	@BeforeEach
+	public void init() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.setExecutor(Executors.newFixedThreadPool(10));
+		server.createContext("/data", exchange -> respond(exchange, 200, OK));
+		server.createContext("/error", exchange -> respond(exchange, 500, OK));
+		server.createContext("/echo", exchange -> respond(exchange, 200, DSSUtils.toByteArray(exchange.getRequestBody())));
+		server.createContext("/slow", exchange -> {
+			try {
+				slowResponseLatch.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, 200, OK);
+		});
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+		dataLoader = new AsyncCommonsDataLoader();
+		dataLoader.setConnectionsMaxPerRoute(10);
+	}
+
+	@AfterEach
+	public void close() {
+		dataLoader.resetHttpClient();
+		server.stop(0);
+	}
+
+	private void respond(HttpExchange exchange, int status, byte[] response) throws IOException {
+		exchange.sendResponseHeaders(status, response.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(response);
+		}
+	}
+
+	@Test
+	public void getAndPostAsyncTest() throws Exception {
+		assertArrayEquals(OK, dataLoader.getAsync(baseUrl + "/data").get());
+
+		byte[] content = "content to post".getBytes();
+		assertArrayEquals(content, dataLoader.postAsync(baseUrl + "/echo", content).get());
+
+		// the blocking methods are still available
+		assertArrayEquals(OK, dataLoader.get(baseUrl + "/data"));
+	}
+
+	@Test
+	public void nonBlockingTest() throws Exception {
+		List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(dataLoader.getAsync(baseUrl + "/slow"));
+		}
+		// the calls return before the responses are obtained
+		for (CompletableFuture<byte[]> future : futures) {
+			assertFalse(future.isDone());
+		}
+
+		slowResponseLatch.countDown();
+		for (CompletableFuture<byte[]> future : futures) {
+			assertArrayEquals(OK, future.get(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void notAcceptedStatusTest() {
+		ExecutionException exception = assertThrows(ExecutionException.class,
+				() -> dataLoader.getAsync(baseUrl + "/error").get());
+		assertTrue(exception.getCause() instanceof DSSExternalResourceException);
+		assertTrue(exception.getCause().getMessage().contains("Not acceptable HTTP Status (HTTP status code : 500"));
+	}
+
+	@Test
+	public void multipleUrlsTest() throws Exception {
+		DataAndUrl dataAndUrl = dataLoader.getAsync(Arrays.asList(baseUrl + "/error", baseUrl + "/data")).get();
+		assertEquals(baseUrl + "/data", dataAndUrl.getUrlString());
+		assertArrayEquals(OK, dataAndUrl.getData());
+
+		ExecutionException exception = assertThrows(ExecutionException.class,
+				() -> dataLoader.getAsync(Arrays.asList(baseUrl + "/error", baseUrl + "/unknown")).get());
+		assertTrue(exception.getCause() instanceof DSSDataLoaderMultipleException);
+	}
+
+	@Test
+	public void undefinedSocketTimeoutTest() throws Exception {
+		dataLoader.setTimeoutSocket(-1);
+		assertArrayEquals(OK, dataLoader.getAsync(baseUrl + "/data").get());
+	}
+
+}
@@ -28,17 +28,27 @@ import eu.europa.esig.dss.spi.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.spi.exception.DSSDataLoaderMultipleException;
 import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.utils.Utils;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -177,6 +187,42 @@ public class CommonsDataLoaderTest {
 		assertTrue(exception.getMessage().contains(URL_TO_LOAD));
 	}
 
+	@Test
+	public void sharedHttpClientTest() throws Exception {
+		Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<>());
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			clientPorts.add(exchange.getRemoteAddress().getPort());
+			byte[] response = "OK".getBytes();
+			exchange.sendResponseHeaders(200, response.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(response);
+			}
+		});
+		server.start();
+		try {
+			String url = "http://localhost:" + server.getAddress().getPort() + "/data";
+
+			CloseableHttpClient httpClient = dataLoader.getHttpClient(url);
+			for (int i = 0; i < 5; i++) {
+				assertArrayEquals("OK".getBytes(), dataLoader.get(url));
+			}
+			assertSame(httpClient, dataLoader.getHttpClient(url));
+			// the connection is kept alive and re-used
+			assertEquals(1, clientPorts.size());
+
+			// a configuration change creates a new client
+			dataLoader.setTimeoutSocket(30000);
+			assertNotSame(httpClient, dataLoader.getHttpClient(url));
+			assertArrayEquals("OK".getBytes(), dataLoader.get(url));
+			assertEquals(2, clientPorts.size());
+
+			dataLoader.resetHttpClient();
+		} finally {
+			server.stop(0);
+		}
+	}
+
 	@Test
 	public void negativeTimeoutTest() {
 		// negative values enforce to use system properties
@@ -27,12 +27,16 @@ import eu.europa.esig.dss.spi.client.http.DataLoader.DataAndUrl;
 import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
 import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
 import eu.europa.esig.dss.utils.Utils;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -41,8 +45,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -179,6 +186,80 @@ public class FileCacheDataLoaderTest {
 		assertNotNull(dataAndUrl.getData());
 	}
 
+	@Test
+	public void conditionalGetTest() throws IOException {
+		AtomicReference<String> eTag = new AtomicReference<>("\"v1\"");
+		AtomicInteger fullResponses = new AtomicInteger();
+		AtomicInteger notModifiedResponses = new AtomicInteger();
+
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", exchange -> {
+			String currentETag = eTag.get();
+			exchange.getResponseHeaders().add("ETag", currentETag);
+			exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+			if (currentETag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				notModifiedResponses.incrementAndGet();
+				exchange.sendResponseHeaders(304, -1);
+				exchange.close();
+				return;
+			}
+			fullResponses.incrementAndGet();
+			byte[] response = currentETag.getBytes();
+			exchange.sendResponseHeaders(200, response.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(response);
+			}
+		});
+		server.start();
+		try {
+			String url = "http://localhost:" + server.getAddress().getPort() + "/tl.xml";
+			dataLoader.setCacheExpirationTime(0);
+			dataLoader.setConditionalGetEnabled(true);
+
+			assertArrayEquals("\"v1\"".getBytes(), dataLoader.get(url));
+			assertEquals(1, fullResponses.get());
+			assertEquals(0, notModifiedResponses.get());
+
+			// the expired file is revalidated, the content is not downloaded again
+			assertArrayEquals("\"v1\"".getBytes(), dataLoader.get(url));
+			assertEquals(1, fullResponses.get());
+			assertEquals(1, notModifiedResponses.get());
+
+			// the conditional request is skipped when the refresh is forced
+			assertArrayEquals("\"v1\"".getBytes(), dataLoader.get(url, true));
+			assertEquals(2, fullResponses.get());
+			assertEquals(1, notModifiedResponses.get());
+
+			// the modified resource is downloaded
+			eTag.set("\"v2\"");
+			assertArrayEquals("\"v2\"".getBytes(), dataLoader.get(url));
+			assertEquals(3, fullResponses.get());
+			assertEquals(1, notModifiedResponses.get());
+
+			// the max-age returned by the server prevents any request
+			dataLoader.setUseCacheControlMaxAge(true);
+			assertArrayEquals("\"v2\"".getBytes(), dataLoader.get(url));
+			assertEquals(3, fullResponses.get());
+			assertEquals(1, notModifiedResponses.get());
+
+			// the validators are removed with the cached file
+			assertTrue(dataLoader.remove(url));
+			dataLoader.setUseCacheControlMaxAge(false);
+			assertArrayEquals("\"v2\"".getBytes(), dataLoader.get(url));
+			assertEquals(4, fullResponses.get());
+			assertEquals(1, notModifiedResponses.get());
+
+			// the conditional requests can be disabled
+			dataLoader.setConditionalGetEnabled(false);
+			assertArrayEquals("\"v2\"".getBytes(), dataLoader.get(url));
+			assertEquals(5, fullResponses.get());
+			assertEquals(1, notModifiedResponses.get());
+
+		} finally {
+			server.stop(0);
+		}
+	}
+
 	private long getUrlAndReturnCacheCreationTime() {
 		byte[] bytesArray = dataLoader.get(URL_TO_LOAD);
 		assertTrue(bytesArray.length > 0);
@@ -195,7 +276,7 @@ public class FileCacheDataLoaderTest {
 	private File getCachedFile(File cacheDirectory) {
 		File cachedFile = null;
 		if (cacheDirectory.exists()) {
-			File[] files = cacheDirectory.listFiles();
+			File[] files = cacheDirectory.listFiles((dir, name) -> !name.endsWith(".validators"));
 			if (files != null && files.length > 0) {
 				cachedFile = files[0];
 			}
@@ -771,9 +771,25 @@ public final class DSSASN1Utils {
 	 * @return the {@code List} of CRL URI, or empty list if the extension is not present
 	 */
 	public static List<String> getCrlUrls(final CertificateToken certificateToken) {
+		return getDistributionPointUrls(certificateToken, Extension.cRLDistributionPoints);
+	}
+
+	/**
+	 * Gives back the {@code List} of delta CRL URI meta-data found within the freshestCRL extension
+	 * of the given X509 certificate.
+	 *
+	 * @param certificateToken
+	 *            the cert token certificate
+	 * @return the {@code List} of delta CRL URI, or empty list if the extension is not present
+	 */
+	public static List<String> getFreshestCrlUrls(final CertificateToken certificateToken) {
+		return getDistributionPointUrls(certificateToken, Extension.freshestCRL);
+	}
+
+	private static List<String> getDistributionPointUrls(final CertificateToken certificateToken, ASN1ObjectIdentifier extensionOid) {
 		final List<String> urls = new ArrayList<>();
 
-		final byte[] crlDistributionPointsBytes = certificateToken.getCertificate().getExtensionValue(Extension.cRLDistributionPoints.getId());
+		final byte[] crlDistributionPointsBytes = certificateToken.getCertificate().getExtensionValue(extensionOid.getId());
 		if (crlDistributionPointsBytes != null) {
 			try {
 				final ASN1Sequence asn1Sequence = DSSASN1Utils.getAsn1SequenceFromDerOctetString(crlDistributionPointsBytes);
@@ -795,7 +811,7 @@ public final class DSSASN1Utils {
 					}
 				}
 			} catch (Exception e) {
-				LOG.error("Unable to parse cRLDistributionPoints", e);
+				LOG.error("Unable to parse {}", extensionOid.getId(), e);
 			}
 		}
 
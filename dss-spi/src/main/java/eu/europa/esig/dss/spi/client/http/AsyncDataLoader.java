@@ -0,0 +1,67 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.client.http;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Component that allows to retrieve the data in a non-blocking way.
+ *
+ * The returned futures are completed by the I/O threads of the underlying client, so the calling thread is not
+ * occupied during the network round-trip. In case of a failure, the future is completed exceptionally
+ * (usually with a {@code DSSExternalResourceException}).
+ *
+ * The blocking methods inherited from {@code DataLoader} remain available.
+ */
+public interface AsyncDataLoader extends DataLoader {
+
+	/**
+	 * Executes a non-blocking HTTP GET operation.
+	 *
+	 * @param url
+	 *            the url to access
+	 * @return {@link CompletableFuture} completed with the obtained data
+	 */
+	CompletableFuture<byte[]> getAsync(final String url);
+
+	/**
+	 * Executes a non-blocking HTTP GET operation. This method is used when many URls are available to access the same
+	 * resource. The URLs are processed sequentially, the operation stops after the first successful download.
+	 *
+	 * @param urlStrings
+	 *            {@code List} of {@code String}s representing the URLs to be used in sequential way to obtain the data.
+	 * @return {@link CompletableFuture} completed with the obtained data and the used url
+	 */
+	CompletableFuture<DataAndUrl> getAsync(final List<String> urlStrings);
+
+	/**
+	 * Executes a non-blocking HTTP POST operation
+	 *
+	 * @param url
+	 *            to access
+	 * @param content
+	 *            the content to post
+	 * @return {@link CompletableFuture} completed with the obtained data
+	 */
+	CompletableFuture<byte[]> postAsync(final String url, final byte[] content);
+
+}
@@ -0,0 +1,131 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.tsl;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Contains the timing of the last analysis (download - parsing - validation) of a LOTL/TL by the validation job
+ *
+ */
+public class AnalysisTimingInfo implements Serializable {
+
+	private static final long serialVersionUID = 4129733584271536390L;
+
+	/** The time when the last analysis started (null if not started yet) */
+	private final Date startTime;
+
+	/** The time when the last analysis ended (null if still running) */
+	private final Date endTime;
+
+	/** Defines whether the last analysis exceeded the timeout defined in the validation job */
+	private final boolean timedOut;
+
+	/** The number of consecutive failed or timed out analyses */
+	private final int consecutiveFailures;
+
+	/** The time before which the source is not analyzed again (null if no retry is postponed) */
+	private final Date nextRetryTime;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param startTime {@link Date} the start time of the last analysis
+	 * @param endTime {@link Date} the end time of the last analysis
+	 * @param timedOut true if the last analysis exceeded the timeout
+	 * @param consecutiveFailures the number of consecutive failed or timed out analyses
+	 * @param nextRetryTime {@link Date} the time of the next analysis
+	 */
+	public AnalysisTimingInfo(final Date startTime, final Date endTime, final boolean timedOut,
+			final int consecutiveFailures, final Date nextRetryTime) {
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.timedOut = timedOut;
+		this.consecutiveFailures = consecutiveFailures;
+		this.nextRetryTime = nextRetryTime;
+	}
+
+	/**
+	 * Returns the time when the last analysis started
+	 *
+	 * @return {@link Date}, null if the analysis is not started yet
+	 */
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Returns the time when the last analysis ended
+	 *
+	 * @return {@link Date}, null if the analysis is still running
+	 */
+	public Date getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * Returns the duration of the last analysis in milliseconds
+	 *
+	 * @return the duration, or -1 if the analysis is not completed
+	 */
+	public long getDuration() {
+		if (startTime == null || endTime == null) {
+			return -1;
+		}
+		return endTime.getTime() - startTime.getTime();
+	}
+
+	/**
+	 * Returns whether the last analysis exceeded the timeout. In such a case, the analysis is continued in
+	 * the background and the previously cached data is used by the validation job.
+	 *
+	 * @return TRUE if the analysis timed out
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
+	/**
+	 * Returns the number of consecutive failed (download error) or timed out analyses
+	 *
+	 * @return the number of consecutive failures
+	 */
+	public int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	/**
+	 * Returns the time before which the source is not analyzed again by the online refresh
+	 *
+	 * @return {@link Date}, null if no retry is postponed
+	 */
+	public Date getNextRetryTime() {
+		return nextRetryTime;
+	}
+
+	@Override
+	public String toString() {
+		return "AnalysisTimingInfo [startTime=" + startTime + ", endTime=" + endTime + ", timedOut=" + timedOut
+				+ ", consecutiveFailures=" + consecutiveFailures + ", nextRetryTime=" + nextRetryTime + "]";
+	}
+
+}
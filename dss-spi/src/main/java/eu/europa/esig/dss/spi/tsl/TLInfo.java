@@ -48,6 +48,9 @@ public class TLInfo implements IdentifierBasedObject, Serializable {
 	/** The validation result record */
 	private final ValidationInfoRecord validationCacheInfo;
 
+	/** The timing of the last analysis (optional) */
+	private AnalysisTimingInfo analysisTimingInfo;
+
 	/** Cached Identifier instance */
 	private Identifier identifier;
 	
@@ -94,6 +97,24 @@ public class TLInfo implements IdentifierBasedObject, Serializable {
 		return validationCacheInfo;
 	}
 	
+	/**
+	 * Returns the timing of the last analysis performed by the validation job
+	 *
+	 * @return {@link AnalysisTimingInfo}, null if the source has not been analyzed by the current validation job
+	 */
+	public AnalysisTimingInfo getAnalysisTimingInfo() {
+		return analysisTimingInfo;
+	}
+
+	/**
+	 * Sets the timing of the last analysis
+	 *
+	 * @param analysisTimingInfo {@link AnalysisTimingInfo}
+	 */
+	public void setAnalysisTimingInfo(AnalysisTimingInfo analysisTimingInfo) {
+		this.analysisTimingInfo = analysisTimingInfo;
+	}
+	
 	/**
 	 * Returns a URL that was used to download the remote file
 	 *
@@ -21,7 +21,9 @@
 package eu.europa.esig.dss.spi.tsl;
 
 import eu.europa.esig.dss.enumerations.CertificateSourceType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+import eu.europa.esig.dss.model.identifier.Identifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
 import eu.europa.esig.dss.utils.Utils;
@@ -31,11 +33,22 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class allows injection of trusted certificates from Trusted Lists
+ *
+ * The certificates and their trust properties are kept in an immutable snapshot with all the lookup indexes
+ * prebuilt, which is the content of the source (see {@code CommonCertificateSource.setContent(content)}).
+ * A new snapshot is built on each call of {@link #setTrustPropertiesByCertificates} and published
+ * atomically once complete, so the readers never wait for a lock and never observe a partially filled source.
+ *
+ * The content is kept by trusted list (see {@link TrustProperties#getTLIdentifier()}), so the certificates of some
+ * trusted lists can be replaced with {@link #updateTrustPropertiesByTrustedLists} : the new snapshot shares the
+ * entries and indexes of the unchanged trusted lists with the previous one.
  */
 @SuppressWarnings("serial")
 public class TrustedListsCertificateSource extends CommonTrustedCertificateSource {
@@ -43,16 +56,23 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	private static final Logger LOG = LoggerFactory.getLogger(TrustedListsCertificateSource.class);
 
 	/** The TL Validation job summary */
-	private TLValidationJobSummary summary;
-
-	/** The map of trust properties by EntityIdentifier (public keys) */
-	private Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity = new HashMap<>();
+	private volatile TLValidationJobSummary summary;
 
 	/**
 	 * The default constructor.
 	 */
 	public TrustedListsCertificateSource() {
 		super();
+		setContent(new TrustedListsSnapshot(Collections.emptyMap()));
+	}
+
+	/**
+	 * Gets the current snapshot of the trusted certificates and their trust properties
+	 *
+	 * @return {@link TrustedListsSnapshot}
+	 */
+	private TrustedListsSnapshot getSnapshot() {
+		return (TrustedListsSnapshot) getContent();
 	}
 
 	/**
@@ -91,36 +111,69 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 		throw new UnsupportedOperationException("Cannot directly add certificate to a TrustedListsCertificateSource");
 	}
 
+	@Override
+	protected void removeCertificate(CertificateToken certificate) {
+		throw new UnsupportedOperationException("Cannot directly remove certificate from a TrustedListsCertificateSource");
+	}
+
 	/**
-	 * The method allows to fill the CertificateSource
+	 * The method allows to fill the CertificateSource.
+	 * The previous content remains available to the readers until the new one is completely built.
+	 *
 	 * @param trustPropertiesByCerts map between {@link CertificateToken}s and a list of {@link TrustProperties}
 	 */
 	public synchronized void setTrustPropertiesByCertificates(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
-		this.trustPropertiesByEntity = new HashMap<>(); // reinit the map
-		super.reset();
-		trustPropertiesByCerts.forEach(this::addCertificate);
-	}
-	
-	private void addCertificate(CertificateToken certificateToken, List<TrustProperties> trustPropertiesList) {
-		super.addCertificate(certificateToken);
-		
-		EntityIdentifier entityKey = certificateToken.getEntityKey();
-		List<TrustProperties> list = trustPropertiesByEntity.computeIfAbsent(entityKey, k -> new ArrayList<>());
-		for (TrustProperties trustProperties : trustPropertiesList) {
-			if (!list.contains(trustProperties)) {
-				list.add(trustProperties);
-			}
+		setContent(new TrustedListsSnapshot(trustPropertiesByCerts));
+	}
+
+	/**
+	 * The method allows to replace the content extracted from the given trusted lists only.
+	 * The certificates and trust properties of the other trusted lists are kept as is.
+	 * The previous content remains available to the readers until the new one is completely built.
+	 *
+	 * @param trustPropertiesByTrustedLists map between the {@link Identifier}s of the trusted lists to be replaced
+	 *                                      and their new content (map between {@link CertificateToken}s and a list of
+	 *                                      {@link TrustProperties}). An empty content removes the trusted list.
+	 */
+	public synchronized void updateTrustPropertiesByTrustedLists(
+			final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> trustPropertiesByTrustedLists) {
+		if (Utils.isMapNotEmpty(trustPropertiesByTrustedLists)) {
+			setContent(new TrustedListsSnapshot(getSnapshot(), trustPropertiesByTrustedLists));
 		}
 	}
 
-	@Override
-	public synchronized List<TrustProperties> getTrustServices(CertificateToken token) {
-		List<TrustProperties> currentTrustProperties = trustPropertiesByEntity.get(token.getEntityKey());
-		if (currentTrustProperties != null) {
-			return currentTrustProperties;
-		} else {
-			return Collections.emptyList();
+	/**
+	 * Returns the identifiers of the trusted lists which provided the content of this source
+	 *
+	 * @return an unmodifiable set of {@link Identifier}s
+	 */
+	public Set<Identifier> getTrustedListIdentifiers() {
+		return Collections.unmodifiableSet(getSnapshot().trustPropertiesByTrustedList.keySet());
+	}
+
+	/**
+	 * Returns the content of this source extracted from the given trusted list
+	 *
+	 * @param tlIdentifier {@link Identifier} of the trusted list
+	 * @return an unmodifiable map between {@link CertificateToken}s and a list of {@link TrustProperties}
+	 *         (empty if the trusted list is not present)
+	 */
+	public Map<CertificateToken, List<TrustProperties>> getTrustPropertiesByCertificates(Identifier tlIdentifier) {
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = getSnapshot().trustPropertiesByTrustedList.get(tlIdentifier);
+		if (trustPropertiesByCerts != null) {
+			return trustPropertiesByCerts;
 		}
+		return Collections.emptyMap();
+	}
+
+	@Override
+	protected synchronized void reset() {
+		setContent(new TrustedListsSnapshot(Collections.emptyMap()));
+	}
+
+	@Override
+	public List<TrustProperties> getTrustServices(CertificateToken token) {
+		return getSnapshot().getTrustServices(token);
 	}
 
 	@Override
@@ -160,7 +213,167 @@ public class TrustedListsCertificateSource extends CommonTrustedCertificateSourc
 	 * @return the number of trusted public keys
 	 */
 	public int getNumberOfTrustedPublicKeys() {
-		return trustPropertiesByEntity.size();
+		return getNumberOfEntities();
+	}
+
+	/**
+	 * Immutable content of the {@code TrustedListsCertificateSource}.
+	 * The snapshot is completely built in the constructor and is never modified afterwards.
+	 */
+	private static final class TrustedListsSnapshot extends CertificateSourceContent {
+
+		/** The digest algorithms used in the certificate references, the corresponding indexes are prebuilt */
+		private static final DigestAlgorithm[] INDEXED_DIGEST_ALGORITHMS = new DigestAlgorithm[] {
+				DigestAlgorithm.SHA1, DigestAlgorithm.SHA256, DigestAlgorithm.SHA512 };
+
+		/** The content by trusted list (the certificates without trust properties are stored with a null key) */
+		private final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> trustPropertiesByTrustedList;
+
+		/** The number of trusted lists containing each certificate */
+		private final Map<CertificateToken, Integer> trustedListsNumberByCertificate;
+
+		/** The map of trust properties by EntityIdentifier (public keys) */
+		private final Map<EntityIdentifier, List<TrustProperties>> trustPropertiesByEntity;
+
+		/** The cached list of all certificates */
+		private final List<CertificateToken> certificates;
+
+		/** Whether all the certificates are self-signed */
+		private final boolean allSelfSigned;
+
+		private TrustedListsSnapshot(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
+			this.trustPropertiesByTrustedList = new HashMap<>();
+			this.trustedListsNumberByCertificate = new HashMap<>();
+			this.trustPropertiesByEntity = new HashMap<>();
+			update(groupByTrustedList(trustPropertiesByCerts));
+
+			this.certificates = super.getCertificates();
+			this.allSelfSigned = super.isAllSelfSigned();
+		}
+
+		private TrustedListsSnapshot(final TrustedListsSnapshot previous,
+				final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> trustPropertiesByTrustedLists) {
+			super(previous);
+			this.trustPropertiesByTrustedList = new HashMap<>(previous.trustPropertiesByTrustedList);
+			this.trustedListsNumberByCertificate = new HashMap<>(previous.trustedListsNumberByCertificate);
+			this.trustPropertiesByEntity = new HashMap<>(previous.trustPropertiesByEntity);
+			update(trustPropertiesByTrustedLists);
+
+			this.certificates = super.getCertificates();
+			this.allSelfSigned = super.isAllSelfSigned();
+		}
+
+		private static Map<Identifier, Map<CertificateToken, List<TrustProperties>>> groupByTrustedList(
+				final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts) {
+			final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> result = new HashMap<>();
+			for (Map.Entry<CertificateToken, List<TrustProperties>> entry : trustPropertiesByCerts.entrySet()) {
+				final CertificateToken certificateToken = entry.getKey();
+				if (Utils.isCollectionEmpty(entry.getValue())) {
+					result.computeIfAbsent(null, k -> new HashMap<>()).putIfAbsent(certificateToken, new ArrayList<>());
+				} else {
+					for (TrustProperties trustProperties : entry.getValue()) {
+						result.computeIfAbsent(trustProperties.getTLIdentifier(), k -> new HashMap<>())
+								.computeIfAbsent(certificateToken, k -> new ArrayList<>()).add(trustProperties);
+					}
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Replaces the content of the given trusted lists. Only the certificates and entities of these trusted lists
+		 * are processed.
+		 */
+		private void update(final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> trustPropertiesByTrustedLists) {
+			for (Map.Entry<Identifier, Map<CertificateToken, List<TrustProperties>>> entry : trustPropertiesByTrustedLists.entrySet()) {
+				final Identifier tlIdentifier = entry.getKey();
+				final Map<CertificateToken, List<TrustProperties>> newContent = entry.getValue() != null ? entry.getValue() : Collections.emptyMap();
+				final Map<CertificateToken, List<TrustProperties>> previousContent = trustPropertiesByTrustedList.getOrDefault(tlIdentifier, Collections.emptyMap());
+				if (previousContent.isEmpty() && newContent.isEmpty()) {
+					continue;
+				}
+
+				final Map<EntityIdentifier, List<TrustProperties>> removedTrustProperties = new HashMap<>();
+				for (Map.Entry<CertificateToken, List<TrustProperties>> previousEntry : previousContent.entrySet()) {
+					final CertificateToken certificateToken = previousEntry.getKey();
+					removedTrustProperties.computeIfAbsent(certificateToken.getEntityKey(), k -> new ArrayList<>()).addAll(previousEntry.getValue());
+					if (!newContent.containsKey(certificateToken)) {
+						final int trustedListsNumber = trustedListsNumberByCertificate.get(certificateToken) - 1;
+						if (trustedListsNumber == 0) {
+							trustedListsNumberByCertificate.remove(certificateToken);
+							super.removeCertificate(certificateToken);
+						} else {
+							trustedListsNumberByCertificate.put(certificateToken, trustedListsNumber);
+						}
+					}
+				}
+
+				final Map<EntityIdentifier, List<TrustProperties>> addedTrustProperties = new HashMap<>();
+				for (Map.Entry<CertificateToken, List<TrustProperties>> newEntry : newContent.entrySet()) {
+					final CertificateToken certificateToken = newEntry.getKey();
+					addedTrustProperties.computeIfAbsent(certificateToken.getEntityKey(), k -> new ArrayList<>()).addAll(newEntry.getValue());
+					if (!previousContent.containsKey(certificateToken)) {
+						final int trustedListsNumber = trustedListsNumberByCertificate.getOrDefault(certificateToken, 0) + 1;
+						trustedListsNumberByCertificate.put(certificateToken, trustedListsNumber);
+						if (trustedListsNumber == 1) {
+							super.addCertificate(certificateToken);
+						}
+					}
+				}
+
+				final Set<EntityIdentifier> entityKeys = new HashSet<>(removedTrustProperties.keySet());
+				entityKeys.addAll(addedTrustProperties.keySet());
+				for (EntityIdentifier entityKey : entityKeys) {
+					final List<TrustProperties> list = new ArrayList<>(trustPropertiesByEntity.getOrDefault(entityKey, Collections.emptyList()));
+					list.removeAll(removedTrustProperties.getOrDefault(entityKey, Collections.emptyList()));
+					for (TrustProperties trustProperties : addedTrustProperties.getOrDefault(entityKey, Collections.emptyList())) {
+						if (!list.contains(trustProperties)) {
+							list.add(trustProperties);
+						}
+					}
+					if (list.isEmpty()) {
+						trustPropertiesByEntity.remove(entityKey);
+					} else {
+						trustPropertiesByEntity.put(entityKey, Collections.unmodifiableList(list));
+					}
+				}
+
+				if (newContent.isEmpty()) {
+					trustPropertiesByTrustedList.remove(tlIdentifier);
+				} else {
+					trustPropertiesByTrustedList.put(tlIdentifier, Collections.unmodifiableMap(new HashMap<>(newContent)));
+				}
+			}
+
+			for (DigestAlgorithm digestAlgorithm : INDEXED_DIGEST_ALGORITHMS) {
+				buildDigestIndex(digestAlgorithm);
+			}
+		}
+
+		private List<TrustProperties> getTrustServices(CertificateToken token) {
+			List<TrustProperties> currentTrustProperties = trustPropertiesByEntity.get(token.getEntityKey());
+			if (currentTrustProperties != null) {
+				return currentTrustProperties;
+			} else {
+				return Collections.emptyList();
+			}
+		}
+
+		@Override
+		protected List<CertificateToken> getCertificates() {
+			return certificates;
+		}
+
+		@Override
+		protected int getNumberOfCertificates() {
+			return certificates.size();
+		}
+
+		@Override
+		protected boolean isAllSelfSigned() {
+			return allSelfSigned;
+		}
+
 	}
 
 }
@@ -0,0 +1,214 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.util;
+
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent requests with the same key : only the first caller executes the request,
+ * while the other callers wait for its result (a.k.a. "single-flight").
+ *
+ * Used to avoid parallel downloads of the same revocation data (e.g. a CRL shared by many certificates)
+ * from different validation threads.
+ *
+ * The class is thread-safe and is intended to be shared between threads.
+ */
+public class RequestCoalescer implements Serializable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RequestCoalescer.class);
+
+	private static final long serialVersionUID = -1797213698361428245L;
+
+	/**
+	 * The requests being currently executed
+	 */
+	private transient ConcurrentHashMap<String, CompletableFuture<Object>> inFlightRequests;
+
+	/**
+	 * The maximum time in milliseconds a caller waits for the result of a request executed by another caller.
+	 * 0 means that the caller waits without a time limit.
+	 */
+	private long waitTimeout = 0;
+
+	/**
+	 * Number of requests executed
+	 */
+	private final AtomicLong executedCount = new AtomicLong();
+
+	/**
+	 * Number of requests served with a result obtained by another caller
+	 */
+	private final AtomicLong coalescedCount = new AtomicLong();
+
+	/**
+	 * Number of callers that stopped waiting for the result due to the timeout
+	 */
+	private final AtomicLong timeoutCount = new AtomicLong();
+
+	/**
+	 * Sets the maximum time in milliseconds a caller waits for the result of the same request
+	 * executed by another caller. When the time is reached, a {@code DSSExternalResourceException} is thrown.
+	 *
+	 * Default : 0 (no time limit)
+	 *
+	 * @param waitTimeout the timeout in milliseconds
+	 */
+	public void setWaitTimeout(long waitTimeout) {
+		if (waitTimeout < 0) {
+			throw new IllegalArgumentException("The wait timeout cannot be negative!");
+		}
+		this.waitTimeout = waitTimeout;
+	}
+
+	/**
+	 * Executes the request with the given key, or waits for the result of the same request
+	 * being currently executed by another caller
+	 *
+	 * @param key {@link String} identifying the request
+	 * @param request {@link Supplier} executing the request
+	 * @param <V> the result type
+	 * @return the result of the request
+	 */
+	public <V> V execute(String key, Supplier<V> request) {
+		return execute(key, request, UnaryOperator.identity());
+	}
+
+	/**
+	 * Executes the request with the given key, or waits for the result of the same request
+	 * being currently executed by another caller. In the latter case, the {@code sharedResultConverter}
+	 * is applied on the obtained result (e.g. in order to not share a mutable object between callers).
+	 *
+	 * NOTE: an exception thrown by the request is propagated to all the waiting callers.
+	 *
+	 * @param key {@link String} identifying the request
+	 * @param request {@link Supplier} executing the request
+	 * @param sharedResultConverter {@link UnaryOperator} applied on a non-null result obtained from another caller
+	 * @param <V> the result type
+	 * @return the result of the request
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V execute(String key, Supplier<V> request, UnaryOperator<V> sharedResultConverter) {
+		Objects.requireNonNull(key, "The key cannot be null!");
+		Objects.requireNonNull(request, "The request cannot be null!");
+
+		final ConcurrentHashMap<String, CompletableFuture<Object>> requests = getInFlightRequests();
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+		final CompletableFuture<Object> inFlight = requests.putIfAbsent(key, future);
+		if (inFlight == null) {
+			executedCount.incrementAndGet();
+			try {
+				V result = request.get();
+				future.complete(result);
+				return result;
+			} catch (RuntimeException | Error e) {
+				future.completeExceptionally(e);
+				throw e;
+			} finally {
+				requests.remove(key, future);
+			}
+		}
+
+		coalescedCount.incrementAndGet();
+		LOG.debug("Waiting for the result of the request with key '{}' executed by another caller", key);
+		V result = (V) await(key, inFlight);
+		return result != null ? sharedResultConverter.apply(result) : null;
+	}
+
+	private Object await(String key, CompletableFuture<Object> inFlight) {
+		try {
+			return waitTimeout > 0 ? inFlight.get(waitTimeout, TimeUnit.MILLISECONDS) : inFlight.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSExternalResourceException(String.format(
+					"Interrupted while waiting for the request with key '%s'", key), e);
+		} catch (TimeoutException e) {
+			timeoutCount.incrementAndGet();
+			throw new DSSExternalResourceException(String.format(
+					"Timeout of %s ms reached while waiting for the request with key '%s'", waitTimeout, key), e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new DSSExternalResourceException(String.format(
+					"An error occurred during the request with key '%s' : %s", key, cause.getMessage()), cause);
+		}
+	}
+
+	private synchronized ConcurrentHashMap<String, CompletableFuture<Object>> getInFlightRequests() {
+		if (inFlightRequests == null) {
+			inFlightRequests = new ConcurrentHashMap<>();
+		}
+		return inFlightRequests;
+	}
+
+	/**
+	 * Returns the number of requests being currently executed
+	 *
+	 * @return number of in-flight requests
+	 */
+	public int getInFlightCount() {
+		return getInFlightRequests().size();
+	}
+
+	/**
+	 * Returns the number of requests actually executed
+	 *
+	 * @return executed requests count
+	 */
+	public long getExecutedCount() {
+		return executedCount.get();
+	}
+
+	/**
+	 * Returns the number of requests served with the result of a request executed by another caller
+	 *
+	 * @return coalesced requests count
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.get();
+	}
+
+	/**
+	 * Returns the number of callers which stopped waiting for the result of another caller due to the timeout
+	 *
+	 * @return timeouts count
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+}
@@ -39,7 +39,7 @@ import eu.europa.esig.dss.spi.DSSASN1Utils;
  * All certificates for a given {@code CertificateSourceEntity} share the same
  * public key.
  */
-class CertificateSourceEntity implements Serializable {
+public class CertificateSourceEntity implements Serializable {
 	
 	private static final long serialVersionUID = -8670353777128605464L;
 
@@ -66,6 +66,17 @@ class CertificateSourceEntity implements Serializable {
 		equivalentCertificates.add(initialCert);
 	}
 
+	/**
+	 * Copy constructor, the equivalent certificates of the new entity can be modified independently
+	 *
+	 * @param entity {@link CertificateSourceEntity} to copy
+	 */
+	CertificateSourceEntity(CertificateSourceEntity entity) {
+		identifier = entity.identifier;
+		ski = entity.ski;
+		equivalentCertificates.addAll(entity.equivalentCertificates);
+	}
+
 	void addEquivalentCertificate(CertificateToken token) {
 		if (!equivalentCertificates.contains(token)) {
 			LOG.trace("Certificate with same public key detected : {}", token.getAbbreviation());
@@ -80,6 +91,10 @@ class CertificateSourceEntity implements Serializable {
 			}
 		}
 	}
+
+	void removeEquivalentCertificate(CertificateToken token) {
+		equivalentCertificates.remove(token);
+	}
 	
 	byte[] getSki() {
 		return ski;
@@ -21,17 +21,22 @@
 package eu.europa.esig.dss.spi.x509;
 
 import eu.europa.esig.dss.enumerations.CertificateSourceType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.Digest;
 import eu.europa.esig.dss.model.identifier.EntityIdentifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
+import java.math.BigInteger;
 import java.security.PublicKey;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class is the common class for all {@code CertificateSource}. It stores
@@ -56,23 +62,34 @@ public class CommonCertificateSource implements CertificateSource {
 	protected final transient CertificateTokenRefMatcher certificateMatcher = new CertificateTokenRefMatcher();
 
 	/**
-	 * Map of entries, the key is a hash of the public key.
-	 * 
-	 * All entries share the same key pair
+	 * The certificates of the source and their lookup indexes
 	 */
-	private Map<EntityIdentifier, CertificateSourceEntity> entriesByPublicKeyHash = new HashMap<>();
+	private volatile CertificateSourceContent content = new CertificateSourceContent();
 
 	/**
-	 * Map of tokens, the key is the properties map of SubjectX500Principal
-	 * 
-	 * For a same SubjectX500Principal, different key pairs (and certificates) are possible
+	 * The default constructor
 	 */
-	private Map<Map<String, String>, Set<CertificateToken>> tokensBySubject = new HashMap<>();
+	public CommonCertificateSource() {
+	}
 
 	/**
-	 * The default constructor
+	 * Gets the current content of the source (the certificates and their lookup indexes)
+	 *
+	 * @return {@link CertificateSourceContent}
 	 */
-	public CommonCertificateSource() {
+	protected CertificateSourceContent getContent() {
+		return content;
+	}
+
+	/**
+	 * Replaces the content of the source. The new content is visible at once to all the readers.
+	 * The given content shall not be modified afterwards, except through this source.
+	 *
+	 * @param content {@link CertificateSourceContent}
+	 */
+	protected void setContent(CertificateSourceContent content) {
+		Objects.requireNonNull(content, "The content must be filled");
+		this.content = content;
 	}
 
 	/**
@@ -91,39 +108,31 @@ public class CommonCertificateSource implements CertificateSource {
 			LOG.trace("Certificate to add: {} | {}", certificateToAdd.getIssuerX500Principal(), certificateToAdd.getSerialNumber());
 		}
 
-		synchronized (entriesByPublicKeyHash) {
-			final EntityIdentifier entityKey = certificateToAdd.getEntityKey();
-			CertificateSourceEntity poolEntity = entriesByPublicKeyHash.get(entityKey);
-			if (poolEntity == null) {
-				LOG.trace("Public key {} is not in the pool", entityKey);
-				poolEntity = new CertificateSourceEntity(certificateToAdd);
-				entriesByPublicKeyHash.put(entityKey, poolEntity);
-			} else {
-				LOG.trace("Public key {} is already in the pool", entityKey);
-				poolEntity.addEquivalentCertificate(certificateToAdd);
-			}
-		}
-
-		synchronized (tokensBySubject) {
-			Map<String, String> propertiesMap = DSSASN1Utils.get(certificateToAdd.getSubject().getPrincipal());
-			tokensBySubject.computeIfAbsent(propertiesMap, k -> new HashSet<>()).add(certificateToAdd);
-		}
-
+		content.addCertificate(certificateToAdd);
 		return certificateToAdd;
 	}
 
+	/**
+	 * This method removes the certificate from the source and from all the indexes.
+	 * The other certificates with the same public key are kept.
+	 *
+	 * @param certificateToRemove the certificate to be removed
+	 */
+	protected void removeCertificate(final CertificateToken certificateToRemove) {
+		Objects.requireNonNull(certificateToRemove, "The certificate must be filled");
+		content.removeCertificate(certificateToRemove);
+	}
+
 	/**
 	 * This method removes all certificates from the source
 	 */
 	protected void reset() {
-		entriesByPublicKeyHash = new HashMap<>();
-		tokensBySubject = new HashMap<>();
+		content = new CertificateSourceContent();
 	}
 
 	@Override
 	public boolean isKnown(CertificateToken token) {
-		final CertificateSourceEntity poolEntity = entriesByPublicKeyHash.get(token.getEntityKey());
-		return poolEntity != null;
+		return content.isKnown(token);
 	}
 
 	/**
@@ -133,16 +142,12 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public List<CertificateToken> getCertificates() {
-		List<CertificateToken> allCertificates = new ArrayList<>();
-		for (CertificateSourceEntity entity : entriesByPublicKeyHash.values()) {
-			allCertificates.addAll(entity.getEquivalentCertificates());
-		}
-		return Collections.unmodifiableList(allCertificates);
+		return content.getCertificates();
 	}
 
 	@Override
 	public List<CertificateSourceEntity> getEntities() {
-		return new ArrayList<>(entriesByPublicKeyHash.values());
+		return content.getEntities();
 	}
 
 	/**
@@ -154,12 +159,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
-		CertificateSourceEntity entity = entriesByPublicKeyHash.get(new EntityIdentifier(publicKey));
-		if (entity != null) {
-			return entity.getEquivalentCertificates();
-		} else {
-			return Collections.emptySet();
-		}
+		return content.getByPublicKey(publicKey);
 	}
 
 	/**
@@ -171,12 +171,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getBySki(byte[] ski) {
-		for (CertificateSourceEntity entry : entriesByPublicKeyHash.values()) {
-			if (Arrays.equals(entry.getSki(), ski)) {
-				return entry.getEquivalentCertificates();
-			}
-		}
-		return Collections.emptySet();
+		return content.getBySki(ski);
 	}
 	
 	/**
@@ -187,22 +182,15 @@ public class CommonCertificateSource implements CertificateSource {
 	 */
 	@Override
 	public Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
-		final Set<CertificateToken> tokensSet = tokensBySubject.get(DSSASN1Utils.get(subject.getPrincipal()));
-		if (tokensSet != null) {
-			return tokensSet;
-		}
-		return Collections.emptySet();
+		return content.getBySubject(subject);
 	}
 
 	@Override
 	public Set<CertificateToken> getBySignerIdentifier(SignerIdentifier signerIdentifier) {
 		Set<CertificateToken> result = new HashSet<>();
-		for (CertificateSourceEntity entry : entriesByPublicKeyHash.values()) {
-			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
-				// run over all entries to compare with the SN too
-				if (signerIdentifier.isRelatedToCertificate(certificateToken)) {
-					result.add(certificateToken);
-				}
+		for (CertificateToken certificateToken : content.getCandidatesBySignerIdentifier(signerIdentifier)) {
+			if (signerIdentifier.isRelatedToCertificate(certificateToken)) {
+				result.add(certificateToken);
 			}
 		}
 		return result;
@@ -210,25 +198,30 @@ public class CommonCertificateSource implements CertificateSource {
 
 	@Override
 	public Set<CertificateToken> getByCertificateDigest(Digest digest) {
-		Set<CertificateToken> result = new HashSet<>();
-		for (CertificateSourceEntity entry : entriesByPublicKeyHash.values()) {
-			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
-				if (Arrays.equals(digest.getValue(), certificateToken.getDigest(digest.getAlgorithm()))) {
-					result.add(certificateToken);
-				}
-			}
-		}
-		return result;
+		return new HashSet<>(content.getCandidatesByDigest(digest));
 	}
 	
 	@Override
 	public Set<CertificateToken> findTokensFromCertRef(CertificateRef certificateRef) {
+		final CertificateSourceContent currentContent = content;
+		final Set<CertificateToken> candidates = new HashSet<>();
+		final Digest certDigest = certificateRef.getCertDigest();
+		if (certDigest != null) {
+			candidates.addAll(currentContent.getCandidatesByDigest(certDigest));
+		}
+		final SignerIdentifier signerIdentifier = certificateRef.getCertificateIdentifier();
+		if (signerIdentifier != null) {
+			candidates.addAll(currentContent.getCandidatesBySignerIdentifier(signerIdentifier));
+		}
+		final ResponderId responderId = certificateRef.getResponderId();
+		if (responderId != null) {
+			candidates.addAll(currentContent.getCandidatesByResponderId(responderId));
+		}
+
 		Set<CertificateToken> result = new HashSet<>();
-		for (CertificateSourceEntity entry : entriesByPublicKeyHash.values()) {
-			for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
-				if (certificateMatcher.match(certificateToken, certificateRef)) {
-					result.add(certificateToken);
-				}
+		for (CertificateToken certificateToken : candidates) {
+			if (certificateMatcher.match(certificateToken, certificateRef)) {
+				result.add(certificateToken);
 			}
 		}
 		return result;
@@ -240,7 +233,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 * @return number of certificates in this instance
 	 */
 	public int getNumberOfCertificates() {
-		return getCertificates().size();
+		return content.getNumberOfCertificates();
 	}
 
 	/**
@@ -250,7 +243,7 @@ public class CommonCertificateSource implements CertificateSource {
 	 * @return number of entities in this instance
 	 */
 	public int getNumberOfEntities() {
-		return entriesByPublicKeyHash.size();
+		return content.getNumberOfEntities();
 	}
 
 	@Override
@@ -265,12 +258,7 @@ public class CommonCertificateSource implements CertificateSource {
 
 	@Override
 	public boolean isAllSelfSigned() {
-		for (CertificateToken certificate : getCertificates()) {
-			if (!certificate.isSelfSigned()) {
-				return false;
-			}
-		}
-		return true;
+		return content.isAllSelfSigned();
 	}
 
 	@Override
@@ -283,4 +271,420 @@ public class CommonCertificateSource implements CertificateSource {
 		return new HashSet<>(getEntities()).equals(new HashSet<>(certificateSource.getEntities()));
 	}
 
-}
\ No newline at end of file
+	/**
+	 * The certificates of a {@code CommonCertificateSource} and their lookup indexes.
+	 * The content can be built aside and published at once with {@code setContent(content)}.
+	 */
+	protected static class CertificateSourceContent implements Serializable {
+
+		private static final long serialVersionUID = -3197457213845693129L;
+
+		/**
+		 * Map of entries, the key is a hash of the public key.
+		 * 
+		 * All entries share the same key pair
+		 */
+		private final Map<EntityIdentifier, CertificateSourceEntity> entriesByPublicKeyHash;
+
+		/**
+		 * Map of tokens, the key is the properties map of SubjectX500Principal
+		 * 
+		 * For a same SubjectX500Principal, different key pairs (and certificates) are possible
+		 */
+		private final Map<Map<String, String>, Set<CertificateToken>> tokensBySubject;
+
+		/**
+		 * Map of entries, the key is the hex-encoded SKI computed from the public key (SHA-1 of the public key)
+		 */
+		private final Map<String, CertificateSourceEntity> entriesBySki;
+
+		/**
+		 * Map of tokens, the key is the hex-encoded value of the SubjectKeyIdentifier extension
+		 */
+		private final Map<String, Set<CertificateToken>> tokensBySkiExtension;
+
+		/**
+		 * Map of tokens, the key is the serial number
+		 */
+		private final Map<BigInteger, Set<CertificateToken>> tokensBySerialNumber;
+
+		/**
+		 * Map of tokens, the key is the canonical form of the SubjectX500Principal
+		 */
+		private final Map<String, Set<CertificateToken>> tokensByCanonicalSubject;
+
+		/**
+		 * Map of tokens by hex-encoded certificate digest, for each requested {@code DigestAlgorithm}.
+		 * The index for a DigestAlgorithm is built on the first request.
+		 */
+		private final Map<DigestAlgorithm, Map<String, Set<CertificateToken>>> tokensByDigest = new ConcurrentHashMap<>();
+
+		/**
+		 * When true, the entities and the sets of tokens may be shared with another content (see the copy constructor)
+		 * and are copied before being modified
+		 */
+		private final boolean copyOnWrite;
+
+		/**
+		 * The default constructor, creating an empty content
+		 */
+		protected CertificateSourceContent() {
+			entriesByPublicKeyHash = new HashMap<>();
+			tokensBySubject = new HashMap<>();
+			entriesBySki = new HashMap<>();
+			tokensBySkiExtension = new HashMap<>();
+			tokensBySerialNumber = new HashMap<>();
+			tokensByCanonicalSubject = new HashMap<>();
+			copyOnWrite = false;
+		}
+
+		/**
+		 * The copy constructor. The indexes of the given content are shared with the new instance and
+		 * are only copied when a certificate is added or removed, so the given content is never modified.
+		 * The given content shall not be modified after the copy.
+		 *
+		 * @param content {@link CertificateSourceContent} to copy
+		 */
+		protected CertificateSourceContent(final CertificateSourceContent content) {
+			synchronized (content.entriesByPublicKeyHash) {
+				entriesByPublicKeyHash = new HashMap<>(content.entriesByPublicKeyHash);
+				entriesBySki = new HashMap<>(content.entriesBySki);
+				tokensBySkiExtension = new HashMap<>(content.tokensBySkiExtension);
+				tokensBySerialNumber = new HashMap<>(content.tokensBySerialNumber);
+				tokensByCanonicalSubject = new HashMap<>(content.tokensByCanonicalSubject);
+				for (Map.Entry<DigestAlgorithm, Map<String, Set<CertificateToken>>> digestIndex : content.tokensByDigest.entrySet()) {
+					tokensByDigest.put(digestIndex.getKey(), new HashMap<>(digestIndex.getValue()));
+				}
+			}
+			synchronized (content.tokensBySubject) {
+				tokensBySubject = new HashMap<>(content.tokensBySubject);
+			}
+			copyOnWrite = true;
+		}
+
+		/**
+		 * Adds the certificate and indexes it. If the public is already known,
+		 * the certificate is merged in the {@code CertificateSourceEntity}
+		 *
+		 * @param certificateToAdd the certificate to be added
+		 */
+		protected void addCertificate(final CertificateToken certificateToAdd) {
+			synchronized (entriesByPublicKeyHash) {
+				final EntityIdentifier entityKey = certificateToAdd.getEntityKey();
+				CertificateSourceEntity poolEntity = entriesByPublicKeyHash.get(entityKey);
+				if (poolEntity == null) {
+					LOG.trace("Public key {} is not in the pool", entityKey);
+					poolEntity = new CertificateSourceEntity(certificateToAdd);
+					entriesByPublicKeyHash.put(entityKey, poolEntity);
+					entriesBySki.putIfAbsent(Utils.toHex(poolEntity.getSki()), poolEntity);
+				} else if (!poolEntity.getEquivalentCertificates().contains(certificateToAdd)) {
+					LOG.trace("Public key {} is already in the pool", entityKey);
+					if (copyOnWrite) {
+						final CertificateSourceEntity sharedEntity = poolEntity;
+						poolEntity = new CertificateSourceEntity(sharedEntity);
+						entriesByPublicKeyHash.put(entityKey, poolEntity);
+						entriesBySki.replace(Utils.toHex(poolEntity.getSki()), sharedEntity, poolEntity);
+					}
+					poolEntity.addEquivalentCertificate(certificateToAdd);
+				}
+				if (poolEntity.getEquivalentCertificates().contains(certificateToAdd)) {
+					indexCertificate(certificateToAdd);
+				}
+			}
+
+			synchronized (tokensBySubject) {
+				Map<String, String> propertiesMap = DSSASN1Utils.get(certificateToAdd.getSubject().getPrincipal());
+				addToIndex(tokensBySubject, propertiesMap, certificateToAdd);
+			}
+		}
+
+		/**
+		 * Removes the certificate from all the indexes.
+		 * The other certificates with the same public key are kept.
+		 *
+		 * @param certificateToRemove the certificate to be removed
+		 */
+		protected void removeCertificate(final CertificateToken certificateToRemove) {
+			synchronized (entriesByPublicKeyHash) {
+				final EntityIdentifier entityKey = certificateToRemove.getEntityKey();
+				CertificateSourceEntity poolEntity = entriesByPublicKeyHash.get(entityKey);
+				if (poolEntity != null && poolEntity.getEquivalentCertificates().contains(certificateToRemove)) {
+					final String ski = Utils.toHex(poolEntity.getSki());
+					if (poolEntity.getEquivalentCertificates().size() == 1) {
+						entriesByPublicKeyHash.remove(entityKey);
+						entriesBySki.remove(ski, poolEntity);
+					} else {
+						if (copyOnWrite) {
+							final CertificateSourceEntity sharedEntity = poolEntity;
+							poolEntity = new CertificateSourceEntity(sharedEntity);
+							entriesByPublicKeyHash.put(entityKey, poolEntity);
+							entriesBySki.replace(ski, sharedEntity, poolEntity);
+						}
+						poolEntity.removeEquivalentCertificate(certificateToRemove);
+					}
+					unindexCertificate(certificateToRemove);
+				}
+			}
+
+			synchronized (tokensBySubject) {
+				Map<String, String> propertiesMap = DSSASN1Utils.get(certificateToRemove.getSubject().getPrincipal());
+				removeFromIndex(tokensBySubject, propertiesMap, certificateToRemove);
+			}
+		}
+
+		/**
+		 * Adds the certificate to the secondary indexes (SKI extension, serial number, canonical subject and
+		 * the already built digest indexes)
+		 *
+		 * @param certificateToken {@link CertificateToken} accepted by its {@code CertificateSourceEntity}
+		 */
+		private void indexCertificate(CertificateToken certificateToken) {
+			try {
+				final byte[] skiExtension = DSSASN1Utils.getSki(certificateToken);
+				if (skiExtension != null) {
+					addToIndex(tokensBySkiExtension, Utils.toHex(skiExtension), certificateToken);
+				}
+			} catch (DSSException e) {
+				LOG.warn("Unable to index the SKI of the certificate '{}' : {}", certificateToken.getDSSIdAsString(), e.getMessage());
+			}
+			addToIndex(tokensBySerialNumber, certificateToken.getSerialNumber(), certificateToken);
+			addToIndex(tokensByCanonicalSubject, certificateToken.getSubject().getCanonical(), certificateToken);
+			for (Map.Entry<DigestAlgorithm, Map<String, Set<CertificateToken>>> digestIndex : tokensByDigest.entrySet()) {
+				final String digestValue = Utils.toHex(certificateToken.getDigest(digestIndex.getKey()));
+				addToIndex(digestIndex.getValue(), digestValue, certificateToken);
+			}
+		}
+
+		/**
+		 * Removes the certificate from the secondary indexes
+		 *
+		 * @param certificateToken {@link CertificateToken} removed from its {@code CertificateSourceEntity}
+		 */
+		private void unindexCertificate(CertificateToken certificateToken) {
+			try {
+				final byte[] skiExtension = DSSASN1Utils.getSki(certificateToken);
+				if (skiExtension != null) {
+					removeFromIndex(tokensBySkiExtension, Utils.toHex(skiExtension), certificateToken);
+				}
+			} catch (DSSException e) {
+				LOG.debug("Unable to unindex the SKI of the certificate '{}' : {}", certificateToken.getDSSIdAsString(), e.getMessage());
+			}
+			removeFromIndex(tokensBySerialNumber, certificateToken.getSerialNumber(), certificateToken);
+			removeFromIndex(tokensByCanonicalSubject, certificateToken.getSubject().getCanonical(), certificateToken);
+			for (Map.Entry<DigestAlgorithm, Map<String, Set<CertificateToken>>> digestIndex : tokensByDigest.entrySet()) {
+				final String digestValue = Utils.toHex(certificateToken.getDigest(digestIndex.getKey()));
+				removeFromIndex(digestIndex.getValue(), digestValue, certificateToken);
+			}
+		}
+
+		private <K> void addToIndex(Map<K, Set<CertificateToken>> index, K key, CertificateToken certificateToken) {
+			Set<CertificateToken> tokens = index.get(key);
+			if (tokens == null) {
+				tokens = new HashSet<>();
+				index.put(key, tokens);
+			} else if (tokens.contains(certificateToken)) {
+				return;
+			} else if (copyOnWrite) {
+				tokens = new HashSet<>(tokens);
+				index.put(key, tokens);
+			}
+			tokens.add(certificateToken);
+		}
+
+		private <K> void removeFromIndex(Map<K, Set<CertificateToken>> index, K key, CertificateToken certificateToken) {
+			Set<CertificateToken> tokens = index.get(key);
+			if (tokens == null || !tokens.contains(certificateToken)) {
+				return;
+			}
+			if (tokens.size() == 1) {
+				index.remove(key);
+			} else {
+				if (copyOnWrite) {
+					tokens = new HashSet<>(tokens);
+					index.put(key, tokens);
+				}
+				tokens.remove(certificateToken);
+			}
+		}
+
+		/**
+		 * Checks if a certificate with the same public key is present
+		 *
+		 * @param token {@link CertificateToken}
+		 * @return TRUE if the public key is known, FALSE otherwise
+		 */
+		protected boolean isKnown(CertificateToken token) {
+			return entriesByPublicKeyHash.get(token.getEntityKey()) != null;
+		}
+
+		/**
+		 * Gets the unmodifiable list of all certificate tokens
+		 *
+		 * @return a list of {@link CertificateToken}s
+		 */
+		protected List<CertificateToken> getCertificates() {
+			List<CertificateToken> allCertificates = new ArrayList<>();
+			for (CertificateSourceEntity entity : entriesByPublicKeyHash.values()) {
+				allCertificates.addAll(entity.getEquivalentCertificates());
+			}
+			return Collections.unmodifiableList(allCertificates);
+		}
+
+		/**
+		 * Gets the entities (the certificates grouped by public key)
+		 *
+		 * @return a list of {@link CertificateSourceEntity}s
+		 */
+		protected List<CertificateSourceEntity> getEntities() {
+			return new ArrayList<>(entriesByPublicKeyHash.values());
+		}
+
+		private Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
+			CertificateSourceEntity entity = entriesByPublicKeyHash.get(new EntityIdentifier(publicKey));
+			if (entity != null) {
+				return entity.getEquivalentCertificates();
+			} else {
+				return Collections.emptySet();
+			}
+		}
+
+		private Set<CertificateToken> getBySki(byte[] ski) {
+			if (ski == null) {
+				return Collections.emptySet();
+			}
+			final CertificateSourceEntity entry = entriesBySki.get(Utils.toHex(ski));
+			if (entry != null) {
+				return entry.getEquivalentCertificates();
+			}
+			return Collections.emptySet();
+		}
+
+		private Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
+			final Set<CertificateToken> tokensSet = tokensBySubject.get(DSSASN1Utils.get(subject.getPrincipal()));
+			if (tokensSet != null) {
+				return tokensSet;
+			}
+			return Collections.emptySet();
+		}
+
+		/**
+		 * Returns the certificates which may be related to the {@code signerIdentifier}:
+		 * the certificates with the same serial number when the issuer and serial number are defined,
+		 * the certificates with the same SubjectKeyIdentifier extension value otherwise.
+		 * If neither is defined, all the certificates are returned.
+		 */
+		private Collection<CertificateToken> getCandidatesBySignerIdentifier(SignerIdentifier signerIdentifier) {
+			if (signerIdentifier.getIssuerName() != null && signerIdentifier.getSerialNumber() != null) {
+				return getIndexed(tokensBySerialNumber, signerIdentifier.getSerialNumber());
+			} else if (signerIdentifier.getSki() != null) {
+				return getIndexed(tokensBySkiExtension, Utils.toHex(signerIdentifier.getSki()));
+			}
+			// certificates without SKI extension are related to an empty identifier
+			return getCertificates();
+		}
+
+		/**
+		 * Returns the certificates which may be related to the {@code responderId}, by subject name or computed SKI
+		 */
+		private Collection<CertificateToken> getCandidatesByResponderId(ResponderId responderId) {
+			if (responderId.getX500Principal() != null) {
+				final Set<CertificateToken> candidates = new HashSet<>(
+						getIndexed(tokensByCanonicalSubject, new X500PrincipalHelper(responderId.getX500Principal()).getCanonical()));
+				// the principals with equal attributes are equal as well
+				for (CertificateToken certificateToken : getBySubject(new X500PrincipalHelper(responderId.getX500Principal()))) {
+					final CertificateSourceEntity entity = entriesByPublicKeyHash.get(certificateToken.getEntityKey());
+					if (entity != null && entity.getEquivalentCertificates().contains(certificateToken)) {
+						candidates.add(certificateToken);
+					}
+				}
+				return candidates;
+			} else if (responderId.getSki() != null) {
+				return getBySki(responderId.getSki());
+			}
+			return Collections.emptySet();
+		}
+
+		/**
+		 * Returns the certificates with the given digest. The index for the DigestAlgorithm is built on the first call.
+		 */
+		private Collection<CertificateToken> getCandidatesByDigest(Digest digest) {
+			if (digest.getAlgorithm() == null || digest.getValue() == null) {
+				return Collections.emptySet();
+			}
+			return getIndexed(getDigestIndex(digest.getAlgorithm()), Utils.toHex(digest.getValue()));
+		}
+
+		/**
+		 * Builds the index of certificates by digest for the given algorithm, if not built yet.
+		 * The lookups by certificate digest with an already built index do not require any lock.
+		 *
+		 * @param digestAlgorithm {@link DigestAlgorithm} to index the certificates with
+		 */
+		protected void buildDigestIndex(DigestAlgorithm digestAlgorithm) {
+			getDigestIndex(digestAlgorithm);
+		}
+
+		private Map<String, Set<CertificateToken>> getDigestIndex(DigestAlgorithm digestAlgorithm) {
+			Map<String, Set<CertificateToken>> digestIndex = tokensByDigest.get(digestAlgorithm);
+			if (digestIndex != null) {
+				return digestIndex;
+			}
+			synchronized (entriesByPublicKeyHash) {
+				digestIndex = tokensByDigest.get(digestAlgorithm);
+				if (digestIndex == null) {
+					digestIndex = new HashMap<>();
+					for (CertificateSourceEntity entry : entriesByPublicKeyHash.values()) {
+						for (CertificateToken certificateToken : entry.getEquivalentCertificates()) {
+							final String digestValue = Utils.toHex(certificateToken.getDigest(digestAlgorithm));
+							digestIndex.computeIfAbsent(digestValue, k -> new HashSet<>()).add(certificateToken);
+						}
+					}
+					tokensByDigest.put(digestAlgorithm, digestIndex);
+				}
+				return digestIndex;
+			}
+		}
+
+		private <K> Set<CertificateToken> getIndexed(Map<K, Set<CertificateToken>> index, K key) {
+			final Set<CertificateToken> tokens = index.get(key);
+			if (tokens != null) {
+				return tokens;
+			}
+			return Collections.emptySet();
+		}
+
+		/**
+		 * Gets the number of certificates
+		 *
+		 * @return number of certificates
+		 */
+		protected int getNumberOfCertificates() {
+			return getCertificates().size();
+		}
+
+		/**
+		 * Gets the number of entities (unique public key)
+		 *
+		 * @return number of entities
+		 */
+		protected int getNumberOfEntities() {
+			return entriesByPublicKeyHash.size();
+		}
+
+		/**
+		 * Checks if all the certificates are self-signed
+		 *
+		 * @return TRUE if all the certificates are self-signed, FALSE otherwise
+		 */
+		protected boolean isAllSelfSigned() {
+			for (CertificateToken certificate : getCertificates()) {
+				if (!certificate.isSelfSigned()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
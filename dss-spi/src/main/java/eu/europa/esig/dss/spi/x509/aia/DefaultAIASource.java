@@ -23,6 +23,7 @@ package eu.europa.esig.dss.spi.x509.aia;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.AsyncDataLoader;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.NativeHTTPDataLoader;
 import eu.europa.esig.dss.spi.client.http.Protocol;
@@ -40,6 +41,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The class is used to download issuer certificates by AIA from remote sources
@@ -148,44 +150,108 @@ public class DefaultAIASource implements OnlineAIASource {
                 bytes = dataLoader.get(url);
 
             } catch (Exception e) {
-                String errorMessage = "Unable to download certificate from '{}': {}";
+                logDownloadFailure(url, e);
+                continue;
+            }
+
+            certificatesAndAIAUrls.add(new CertificatesAndAIAUrl(url, loadCertificates(url, bytes)));
+        }
+
+        return certificatesAndAIAUrls;
+    }
+
+    /**
+     * Asynchronously downloads the issuer certificates by AIA of the given {@code certificateToken}.
+     *
+     * When the defined {@code DataLoader} is an {@code AsyncDataLoader}, all the AIA URLs are requested concurrently
+     * without blocking the calling thread. The order of the returned list follows the order of the AIA URLs.
+     * Otherwise, the blocking requests are processed within the calling thread and a completed future is returned.
+     *
+     * @param certificateToken {@link CertificateToken} to obtain the issuer certificates for
+     * @return {@link CompletableFuture} completed with a list of {@link CertificatesAndAIAUrl}s
+     */
+    public CompletableFuture<List<CertificatesAndAIAUrl>> getCertificatesAndAIAUrlsAsync(CertificateToken certificateToken) {
+        if (!(dataLoader instanceof AsyncDataLoader)) {
+            return CompletableFuture.completedFuture(getCertificatesAndAIAUrls(certificateToken));
+        }
+        final AsyncDataLoader asyncDataLoader = (AsyncDataLoader) dataLoader;
+
+        List<String> urls = DSSASN1Utils.getCAAccessLocations(certificateToken);
+        if (Utils.isCollectionEmpty(urls)) {
+            LOG.info("There is no AIA extension for certificate download.");
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        final List<CompletableFuture<CertificatesAndAIAUrl>> futures = new ArrayList<>();
+        for (String url : urls) {
+            if (!isUrlAccepted(url)) {
                 if (LOG.isDebugEnabled()) {
-                    LOG.warn(errorMessage, url, e.getMessage(), e);
-                } else {
-                    LOG.warn(errorMessage, url, e.getMessage());
+                    LOG.debug("The url '{}' is not accepted by the defined collection of Protocols. " +
+                            "The entry is skipped.", url);
                 }
                 continue;
             }
 
-            List<CertificateToken> loadedCertificates = Collections.emptyList();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Loading certificate(s) asynchronously from '{}'.", url);
+            }
+            futures.add(asyncDataLoader.getAsync(url).handle((bytes, throwable) -> {
+                if (throwable != null) {
+                    logDownloadFailure(url, throwable);
+                    return null;
+                }
+                return new CertificatesAndAIAUrl(url, loadCertificates(url, bytes));
+            }));
+        }
 
-            if (Utils.isArrayNotEmpty(bytes)) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Base64 content : {}", Utils.toBase64(bytes));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            final List<CertificatesAndAIAUrl> certificatesAndAIAUrls = new ArrayList<>();
+            for (CompletableFuture<CertificatesAndAIAUrl> future : futures) {
+                CertificatesAndAIAUrl certificatesAndAIAUrl = future.join();
+                if (certificatesAndAIAUrl != null) {
+                    certificatesAndAIAUrls.add(certificatesAndAIAUrl);
                 }
-                try (InputStream is = new ByteArrayInputStream(bytes)) {
-                    loadedCertificates = DSSUtils.loadCertificateFromP7c(is);
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("{} certificate(s) loaded from '{}'", loadedCertificates.size(), url);
-                    }
-
-                } catch (Exception e) {
-                    String errorMessage = "Unable to parse certificate(s) from AIA (url: {}) : {}";
-                    if (LOG.isDebugEnabled()) {
-                        LOG.warn(errorMessage, url, e.getMessage(), e);
-                    } else {
-                        LOG.warn(errorMessage, url, e.getMessage());
-                    }
+            }
+            return certificatesAndAIAUrls;
+        });
+    }
+
+    private List<CertificateToken> loadCertificates(String url, byte[] bytes) {
+        List<CertificateToken> loadedCertificates = Collections.emptyList();
+
+        if (Utils.isArrayNotEmpty(bytes)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Base64 content : {}", Utils.toBase64(bytes));
+            }
+            try (InputStream is = new ByteArrayInputStream(bytes)) {
+                loadedCertificates = DSSUtils.loadCertificateFromP7c(is);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("{} certificate(s) loaded from '{}'", loadedCertificates.size(), url);
                 }
 
-            } else {
-                LOG.warn("Empty content from {}.", url);
+            } catch (Exception e) {
+                String errorMessage = "Unable to parse certificate(s) from AIA (url: {}) : {}";
+                if (LOG.isDebugEnabled()) {
+                    LOG.warn(errorMessage, url, e.getMessage(), e);
+                } else {
+                    LOG.warn(errorMessage, url, e.getMessage());
+                }
             }
 
-            certificatesAndAIAUrls.add(new CertificatesAndAIAUrl(url, loadedCertificates));
+        } else {
+            LOG.warn("Empty content from {}.", url);
         }
 
-        return certificatesAndAIAUrls;
+        return loadedCertificates;
+    }
+
+    private void logDownloadFailure(String url, Throwable e) {
+        String errorMessage = "Unable to download certificate from '{}': {}";
+        if (LOG.isDebugEnabled()) {
+            LOG.warn(errorMessage, url, e.getMessage(), e);
+        } else {
+            LOG.warn(errorMessage, url, e.getMessage());
+        }
     }
 
     private boolean isUrlAccepted(String url) {
@@ -0,0 +1,319 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory cache of parsed {@code RevocationToken}s, to be used as a first tier
+ * in front of a {@code RepositoryRevocationSource} (e.g. a JDBC database).
+ *
+ * Entries are stored by revocation token key and are evicted in the least-recently-used order
+ * when the maximum number of entries or the maximum cumulated weight (size of the encoded
+ * revocation data in bytes) is exceeded. An entry is also evicted once its expiration date
+ * (computed by the repository from nextUpdate, defaultNextUpdateDelay and maxNextUpdateDelay) is reached.
+ *
+ * The class is thread-safe.
+ *
+ * @param <R> {@code CRL} or {@code OCSP}
+ */
+public class InMemoryRevocationCache<R extends Revocation> implements Serializable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(InMemoryRevocationCache.class);
+
+	private static final long serialVersionUID = -2851367519093367152L;
+
+	/**
+	 * The default maximum number of entries
+	 */
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/**
+	 * The default maximum weight of the cache (100 MB)
+	 */
+	private static final long DEFAULT_MAX_WEIGHT = 100L * 1024 * 1024;
+
+	/**
+	 * The cached entries in the access order (the eldest accessed entry is the first one)
+	 */
+	private final LinkedHashMap<String, CacheEntry<R>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * The maximum number of entries
+	 */
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+	/**
+	 * The maximum cumulated weight of the entries, in bytes
+	 */
+	private long maxWeight = DEFAULT_MAX_WEIGHT;
+
+	/**
+	 * The current cumulated weight of the entries, in bytes
+	 */
+	private long currentWeight = 0;
+
+	/**
+	 * Number of successful lookups
+	 */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/**
+	 * Number of unsuccessful lookups
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Number of entries evicted due to the size, weight or expiration constraints
+	 */
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * Default constructor instantiating a cache with default size (1000 entries) and weight (100 MB) constraints
+	 */
+	public InMemoryRevocationCache() {
+		// empty
+	}
+
+	/**
+	 * Constructor instantiating a cache with the given constraints
+	 *
+	 * @param maxEntries the maximum number of entries to be kept in the cache
+	 * @param maxWeight the maximum cumulated size of the encoded revocation data in bytes
+	 */
+	public InMemoryRevocationCache(int maxEntries, long maxWeight) {
+		setMaxEntries(maxEntries);
+		setMaxWeight(maxWeight);
+	}
+
+	/**
+	 * Sets the maximum number of entries to be kept in the cache
+	 *
+	 * Default : 1000
+	 *
+	 * @param maxEntries positive integer
+	 */
+	public synchronized void setMaxEntries(int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("The maximum number of entries shall be a positive number!");
+		}
+		this.maxEntries = maxEntries;
+		evictIfRequired();
+	}
+
+	/**
+	 * Sets the maximum cumulated weight of the cached revocation data in bytes
+	 *
+	 * Default : 100 MB
+	 *
+	 * @param maxWeight positive long
+	 */
+	public synchronized void setMaxWeight(long maxWeight) {
+		if (maxWeight < 1) {
+			throw new IllegalArgumentException("The maximum weight shall be a positive number!");
+		}
+		this.maxWeight = maxWeight;
+		evictIfRequired();
+	}
+
+	/**
+	 * Returns the cached revocation token for the given key, if present and not expired
+	 *
+	 * @param key {@link String} revocation token key
+	 * @return {@link RevocationToken} if found, null otherwise
+	 */
+	public synchronized RevocationToken<R> get(String key) {
+		CacheEntry<R> entry = entries.get(key);
+		if (entry != null) {
+			if (!entry.isExpired(new Date())) {
+				hitCount.incrementAndGet();
+				return entry.token;
+			}
+			LOG.debug("The in-memory cached revocation token with key '{}' is expired", key);
+			removeEntry(key);
+			evictionCount.incrementAndGet();
+		}
+		missCount.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Stores the revocation token with the given key.
+	 * The token is not stored when the expiration date is not defined or already reached,
+	 * or when its encoded size exceeds the maximum weight of the cache.
+	 *
+	 * @param key {@link String} revocation token key
+	 * @param token {@link RevocationToken} to store
+	 * @param expirationDate {@link Date} after which the entry shall not be used anymore
+	 */
+	public synchronized void put(String key, RevocationToken<R> token, Date expirationDate) {
+		Objects.requireNonNull(key, "The key cannot be null!");
+		Objects.requireNonNull(token, "The revocation token cannot be null!");
+		removeEntry(key);
+		if (expirationDate == null || !expirationDate.after(new Date())) {
+			LOG.debug("The revocation token with key '{}' is expired and will not be stored in memory", key);
+			return;
+		}
+		final byte[] encoded = token.getEncoded();
+		final long weight = encoded != null ? encoded.length : 0;
+		if (weight > maxWeight) {
+			LOG.debug("The revocation token with key '{}' exceeds the maximum weight of the in-memory cache", key);
+			return;
+		}
+		entries.put(key, new CacheEntry<>(token, expirationDate.getTime(), weight));
+		currentWeight += weight;
+		evictIfRequired();
+	}
+
+	/**
+	 * Removes the entry with the given key
+	 *
+	 * @param key {@link String} revocation token key
+	 */
+	public synchronized void remove(String key) {
+		removeEntry(key);
+	}
+
+	/**
+	 * Removes all entries
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		currentWeight = 0;
+	}
+
+	/**
+	 * Returns the number of cached entries
+	 *
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the cumulated size of the cached revocation data, in bytes
+	 *
+	 * @return weight in bytes
+	 */
+	public synchronized long getWeight() {
+		return currentWeight;
+	}
+
+	/**
+	 * Returns the number of successful lookups
+	 *
+	 * @return hit count
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns the number of unsuccessful lookups
+	 *
+	 * @return miss count
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Returns the number of entries evicted due to the size, weight or expiration constraints
+	 *
+	 * @return eviction count
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	private void removeEntry(String key) {
+		CacheEntry<R> removed = entries.remove(key);
+		if (removed != null) {
+			currentWeight -= removed.weight;
+		}
+	}
+
+	private void evictIfRequired() {
+		if (entries.size() <= maxEntries && currentWeight <= maxWeight) {
+			return;
+		}
+		// expired entries are removed first
+		final Date currentDate = new Date();
+		Iterator<Map.Entry<String, CacheEntry<R>>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			CacheEntry<R> entry = iterator.next().getValue();
+			if (entry.isExpired(currentDate)) {
+				iterator.remove();
+				currentWeight -= entry.weight;
+				evictionCount.incrementAndGet();
+			}
+		}
+		// then the least recently used
+		iterator = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || currentWeight > maxWeight) && iterator.hasNext()) {
+			Map.Entry<String, CacheEntry<R>> eldest = iterator.next();
+			iterator.remove();
+			currentWeight -= eldest.getValue().weight;
+			evictionCount.incrementAndGet();
+			LOG.debug("The revocation token with key '{}' has been evicted from the in-memory cache", eldest.getKey());
+		}
+	}
+
+	/**
+	 * Represents a cached revocation token with its expiration time and weight
+	 */
+	private static final class CacheEntry<R extends Revocation> implements Serializable {
+
+		private static final long serialVersionUID = 5128318163475493014L;
+
+		/** The cached revocation token */
+		private final RevocationToken<R> token;
+
+		/** The expiration time in milliseconds */
+		private final long expirationTime;
+
+		/** The size of the encoded revocation data */
+		private final long weight;
+
+		private CacheEntry(RevocationToken<R> token, long expirationTime, long weight) {
+			this.token = token;
+			this.expirationTime = expirationTime;
+			this.weight = weight;
+		}
+
+		private boolean isExpired(Date currentDate) {
+			return expirationTime <= currentDate.getTime();
+		}
+
+	}
+
+}
@@ -20,8 +20,11 @@
  */
 package eu.europa.esig.dss.spi.x509.revocation;
 
+import eu.europa.esig.dss.enumerations.RevocationOrigin;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.model.x509.revocation.Revocation;
+import eu.europa.esig.dss.spi.util.RequestCoalescer;
+import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +63,16 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	 * If true, removes revocation tokens from DB with nextUpdate before the current date
 	 */
 	private boolean removeExpired = true;
+
+	/**
+	 * Optional in-memory cache of parsed revocation tokens, queried before the repository
+	 */
+	private InMemoryRevocationCache<R> inMemoryCache;
+
+	/**
+	 * Optional coalescer, ensuring only one request to the proxied source is in flight for the same revocation keys
+	 */
+	private RequestCoalescer requestCoalescer;
 	
 	/**
 	 * Initialize a list of revocation token keys {@link String} from the given {@link CertificateToken}
@@ -111,6 +124,39 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	 *            {@link String}
 	 */
 	protected abstract void removeRevocation(final String revocationKey);
+
+	/**
+	 * Builds a {@code RevocationToken} for the given {@code certificateToken} from a token shared
+	 * between several requests (obtained from the in-memory cache or from a concurrent request).
+	 * The shared token may have been built for another certificate (e.g. a CRL is shared between
+	 * all certificates of the issuer), therefore the revocation status shall be extracted again
+	 * for the requested certificate.
+	 *
+	 * The method is only called when an in-memory cache or a request coalescer is defined,
+	 * and shall be overridden together with {@code isSharedTokenSupported()} to enable these features.
+	 *
+	 * @param sharedToken {@link RevocationToken} shared between requests
+	 * @param certificateToken {@link CertificateToken} to get the revocation token for
+	 * @param issuerCertificateToken {@link CertificateToken} of the issuer of certificateToken
+	 * @param origin {@link RevocationOrigin} to be defined for the returned token
+	 * @return {@link RevocationToken} related to the {@code certificateToken}
+	 */
+	protected RevocationToken<R> buildRevocationTokenFromSharedToken(RevocationToken<R> sharedToken,
+			CertificateToken certificateToken, CertificateToken issuerCertificateToken, RevocationOrigin origin) {
+		throw new UnsupportedOperationException(String.format(
+				"The revocation source '%s' cannot re-build a shared revocation token!", getClass().getName()));
+	}
+
+	/**
+	 * Checks if the implementation is able to re-build a shared revocation token for another certificate
+	 * (see {@code buildRevocationTokenFromSharedToken}), which is required by the in-memory cache
+	 * and the request coalescing
+	 *
+	 * @return TRUE if the shared revocation tokens are supported, FALSE otherwise
+	 */
+	protected boolean isSharedTokenSupported() {
+		return false;
+	}
 	
 	/**
 	 * Sets the default next update delay for the cached files in seconds. If
@@ -127,6 +173,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	 */
 	public void setDefaultNextUpdateDelay(final Long defaultNextUpdateDelay) {
 		this.defaultNextUpdateDelay = defaultNextUpdateDelay == null ? null : defaultNextUpdateDelay * 1000; // to milliseconds
+		clearInMemoryCache();
 	}
 
 	/**
@@ -143,6 +190,14 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	 */
 	public void setMaxNextUpdateDelay(final Long maxNextUpdateDelay) {
 		this.maxNextUpdateDelay = maxNextUpdateDelay == null ? null : maxNextUpdateDelay * 1000; // to milliseconds
+		clearInMemoryCache();
+	}
+
+	private void clearInMemoryCache() {
+		// expiration dates of the in-memory entries have been computed with the previous configuration
+		if (inMemoryCache != null) {
+			inMemoryCache.clear();
+		}
 	}
 
 	/**
@@ -163,6 +218,55 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	public void setRemoveExpired(boolean removeExpired) {
 		this.removeExpired = removeExpired;
 	}
+
+	/**
+	 * Sets an in-memory cache used as a first tier in front of the repository.
+	 * When defined, the parsed revocation tokens are kept in memory and the repository
+	 * (e.g. a database) is requested only when the token is not present in the in-memory cache.
+	 *
+	 * Default : null (the in-memory cache is not used)
+	 *
+	 * NOTE: the implementation shall support the shared revocation tokens (see {@code isSharedTokenSupported()})
+	 *
+	 * @param inMemoryCache {@link InMemoryRevocationCache}
+	 */
+	public void setInMemoryCache(InMemoryRevocationCache<R> inMemoryCache) {
+		assertSharedTokenSupported(inMemoryCache);
+		this.inMemoryCache = inMemoryCache;
+	}
+
+	/**
+	 * Gets the in-memory cache, if defined
+	 *
+	 * @return {@link InMemoryRevocationCache}
+	 */
+	public InMemoryRevocationCache<R> getInMemoryCache() {
+		return inMemoryCache;
+	}
+
+	/**
+	 * Sets the coalescer used to execute only one request to the proxied source at a time
+	 * for the same revocation token keys. The concurrent callers requesting the same revocation data
+	 * wait for the result of the request in progress, instead of downloading the data themselves.
+	 *
+	 * Default : null (the concurrent requests are executed independently)
+	 *
+	 * NOTE: the implementation shall support the shared revocation tokens (see {@code isSharedTokenSupported()})
+	 *
+	 * @param requestCoalescer {@link RequestCoalescer}
+	 */
+	public void setRequestCoalescer(RequestCoalescer requestCoalescer) {
+		assertSharedTokenSupported(requestCoalescer);
+		this.requestCoalescer = requestCoalescer;
+	}
+
+	private void assertSharedTokenSupported(Object feature) {
+		if (feature != null && !isSharedTokenSupported()) {
+			throw new UnsupportedOperationException(String.format("The revocation source '%s' does not support " +
+					"the shared revocation tokens (buildRevocationTokenFromSharedToken shall be implemented)!",
+					getClass().getName()));
+		}
+	}
 	
 	@Override
 	public RevocationToken<R> getRevocationToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
@@ -188,6 +292,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 		}
 
 		final List<String> keys = initRevocationTokenKeys(certificateToken);
+		final String requestKey = Utils.joinStrings(keys, ";");
 		if (forceRefresh) {
 			LOG.info("Cache is skipped to retrieve the revocation token for certificate with Id '{}'",
 					certificateToken.getDSSIdAsString());
@@ -197,6 +302,12 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 				return cachedRevocationToken;
 			}
 		}
+		if (requestCoalescer != null && Utils.isStringNotEmpty(requestKey)) {
+			return requestCoalescer.execute(requestKey,
+					() -> extractAndInsertRevocationTokenFromProxiedSource(certificateToken, issuerCertificateToken, keys),
+					sharedToken -> buildRevocationTokenFromSharedToken(sharedToken, certificateToken, issuerCertificateToken,
+							sharedToken.getExternalOrigin()));
+		}
 		return extractAndInsertRevocationTokenFromProxiedSource(certificateToken, issuerCertificateToken, keys);
 	}
 	
@@ -214,11 +325,21 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 		Iterator<String> keyIterator = keys.iterator();
 		while (keyIterator.hasNext()) {
 			String key = keyIterator.next();
+			if (inMemoryCache != null) {
+				final RevocationToken<R> inMemoryToken = inMemoryCache.get(key);
+				if (inMemoryToken != null) {
+					LOG.info("Revocation token for certificate with Id '{}' has been loaded from the in-memory cache",
+							certificateToken.getDSSIdAsString());
+					return buildRevocationTokenFromSharedToken(inMemoryToken, certificateToken, issuerCertificateToken,
+							RevocationOrigin.CACHED);
+				}
+			}
 			final RevocationToken<R> revocationToken = findRevocation(key, certificateToken, issuerCertificateToken);
 			if (revocationToken != null) {
 				if (isNotExpired(revocationToken, issuerCertificateToken)) {
 					LOG.info("Revocation token for certificate with Id '{}' has been loaded from the cache",
 							certificateToken.getDSSIdAsString());
+					storeInMemory(key, revocationToken, issuerCertificateToken);
 					return revocationToken;
 				} else {
 					LOG.debug("Revocation token is expired");
@@ -266,6 +387,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 					updateRevocation(revocationTokenKey, newToken);
 					LOG.info("Revocation token for certificate '{}' is updated in the cache", certificateToken.getDSSIdAsString());
 				}
+				storeInMemory(revocationTokenKey, newToken, issuerCertificateToken);
 			}
 		}
 		return newToken;
@@ -293,7 +415,37 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 	 */
 	private boolean isNotExpired(RevocationToken<R> revocationToken, CertificateToken certificateTokenIssuer) {
 		Date validationDate = new Date();
-		
+		Date expirationDate = getExpirationDate(revocationToken, certificateTokenIssuer, validationDate);
+		return expirationDate != null && expirationDate.after(validationDate);
+	}
+
+	/**
+	 * Stores the revocation token within the in-memory cache, when defined
+	 *
+	 * @param key {@link String} revocation token key
+	 * @param revocationToken {@link RevocationToken} to store
+	 * @param certificateTokenIssuer {@link CertificateToken} issuer of a CertificateToken to check the revocation for
+	 */
+	private void storeInMemory(String key, RevocationToken<R> revocationToken, CertificateToken certificateTokenIssuer) {
+		if (inMemoryCache != null) {
+			inMemoryCache.put(key, revocationToken, getExpirationDate(revocationToken, certificateTokenIssuer, new Date()));
+		}
+	}
+
+	/**
+	 * Computes the date after which the cached revocation token shall be refreshed, with respect of
+	 * nextUpdateDelay and maxNexUpdateDelay parameters.
+	 *
+	 * @param revocationToken
+	 *              {@code CRLToken} or {@code OCSPToken}
+	 * @param certificateTokenIssuer
+	 *              issuer of a CertificateToken to check the revocation for
+	 * @param validationDate
+	 *              the current time
+	 * @return {@link Date} expiration date of the cached token, null if the token cannot be cached
+	 */
+	private Date getExpirationDate(RevocationToken<R> revocationToken, CertificateToken certificateTokenIssuer,
+								   Date validationDate) {
 		Date nextUpdate = revocationToken.getNextUpdate();
 		if (nextUpdate == null) {
 			// check the validity of the issuer certificate
@@ -302,7 +454,7 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 				certificateToken = certificateTokenIssuer;
 			}
 			if (!certificateToken.isValidOn(validationDate)) {
-				return false;
+				return null;
 			}
 		}
 		
@@ -318,10 +470,10 @@ public abstract class RepositoryRevocationSource<R extends Revocation> implement
 					nextUpdate = maxNextUpdate;
 				}
 			}
-			return nextUpdate.after(validationDate);
+			return nextUpdate;
 		}
 		
-		return false;
+		return null;
 	}
 
 }
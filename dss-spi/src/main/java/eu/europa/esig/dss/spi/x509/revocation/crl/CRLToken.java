@@ -58,6 +58,11 @@ public class CRLToken extends RevocationToken<CRL> {
 	 */
 	private final CRLValidity crlValidity;
 
+	/**
+	 * The token of the base CRL, the delta CRL has been issued for (null for a complete CRL)
+	 */
+	private CRLToken baseCRLToken;
+
 	/**
 	 * The constructor to be used with the certificate which is managed by the
 	 * CRL and the {@code CRLValidity}.
@@ -79,6 +84,44 @@ public class CRLToken extends RevocationToken<CRL> {
 		}
 	}
 
+	/**
+	 * The constructor to be used with the certificate which is managed by the
+	 * CRL, a delta CRL and the token of the base CRL the delta CRL has been issued for.
+	 * The created token represents the delta CRL (binaries, identifier and dates), while its
+	 * revocation status is computed from the merged view: the delta CRL entries take precedence
+	 * over the status obtained from the base CRL.
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken} which is managed by this CRL.
+	 * @param deltaCRL
+	 *            {@code DeltaCRL} applicable to the base CRL
+	 * @param baseCRLToken
+	 *            {@code CRLToken} of the base CRL for the same certificate
+	 */
+	public CRLToken(final CertificateToken certificateToken, final DeltaCRL deltaCRL, final CRLToken baseCRLToken) {
+		Objects.requireNonNull(deltaCRL, "Delta CRL cannot be null");
+		Objects.requireNonNull(baseCRLToken, "Base CRL token cannot be null");
+		if (!deltaCRL.isValid()) {
+			throw new DSSException("The delta CRL is not valid!");
+		}
+		if (!deltaCRL.isApplicableTo(baseCRLToken.getCrlValidity())) {
+			throw new DSSException(String.format("The delta CRL with number '%s' is not applicable to the base CRL with number '%s'!",
+					deltaCRL.getCrlNumber(), baseCRLToken.getCrlValidity().getCrlNumber()));
+		}
+		if (!certificateToken.getDSSIdAsString().equals(baseCRLToken.getRelatedCertificateId())) {
+			throw new DSSException("The base CRL token is not related to the same certificate!");
+		}
+		this.crlValidity = deltaCRL.getCrlValidity();
+		this.baseCRLToken = baseCRLToken;
+		this.relatedCertificate = certificateToken;
+		initInfo();
+		setRevocationStatus(certificateToken);
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("A delta CRLToken created with Id : [{}] for the base CRLToken with Id : [{}]",
+					getDSSIdAsString(), baseCRLToken.getDSSIdAsString());
+		}
+	}
+
 	private void initInfo() {
 		this.signatureAlgorithm = crlValidity.getSignatureAlgorithm();
 		this.thisUpdate = crlValidity.getThisUpdate();
@@ -118,12 +161,22 @@ public class CRLToken extends RevocationToken<CRL> {
 		X509CRLEntry crlEntry = CRLUtils.getRevocationInfo(crlValidity, serialNumber);
 
 		if (crlEntry != null) {
-			status = CertificateStatus.REVOKED;
-			revocationDate = crlEntry.getRevocationDate();
 			CRLReason revocationReason = crlEntry.getRevocationReason();
-			if (revocationReason != null) {
-				reason = RevocationReason.fromInt(revocationReason.ordinal());
+			if (baseCRLToken != null && CRLReason.REMOVE_FROM_CRL == revocationReason) {
+				// the certificate hold has been released since the base CRL issuance
+				status = CertificateStatus.GOOD;
+			} else {
+				status = CertificateStatus.REVOKED;
+				revocationDate = crlEntry.getRevocationDate();
+				if (revocationReason != null) {
+					reason = RevocationReason.fromInt(revocationReason.ordinal());
+				}
 			}
+		} else if (baseCRLToken != null) {
+			// the status has not changed since the base CRL issuance
+			status = baseCRLToken.getStatus();
+			revocationDate = baseCRLToken.getRevocationDate();
+			reason = baseCRLToken.getReason();
 		} else {
 			status = CertificateStatus.GOOD;
 		}
@@ -149,6 +202,15 @@ public class CRLToken extends RevocationToken<CRL> {
 		return crlValidity;
 	}
 
+	/**
+	 * Returns the token of the base CRL, when the current token represents a delta CRL
+	 *
+	 * @return {@link CRLToken} of the base CRL, null for a complete CRL
+	 */
+	public CRLToken getBaseCRLToken() {
+		return baseCRLToken;
+	}
+
 	@Override
 	public X500Principal getIssuerX500Principal() {
 		if (crlValidity.getIssuerToken() != null) { // if the signature is invalid, the issuer is null
@@ -179,12 +241,15 @@ public class CRLToken extends RevocationToken<CRL> {
 
 	/**
 	 * Indicates if the token signature is intact and the signing certificate
-	 * has cRLSign key usage bit set.
+	 * has cRLSign key usage bit set. For a delta CRL, the base CRL token shall be valid as well.
 	 *
 	 * @return {@code true} or {@code false}
 	 */
 	@Override
 	public boolean isValid() {
+		if (baseCRLToken != null) {
+			return new DeltaCRL(crlValidity).isValid() && baseCRLToken.isValid();
+		}
 		return crlValidity.isValid();
 	}
 
@@ -219,6 +284,9 @@ public class CRLToken extends RevocationToken<CRL> {
 		if (getRelatedCertificateId() != null) {
 			out.append(indentStr).append("Related certificate: ").append(getRelatedCertificateId()).append('\n');
 		}
+		if (baseCRLToken != null) {
+			out.append(indentStr).append("Base CRL: ").append(baseCRLToken.getDSSIdAsString()).append('\n');
+		}
 		indentStr = indentStr.substring(1);
 		out.append(indentStr).append(']');
 		return out.toString();
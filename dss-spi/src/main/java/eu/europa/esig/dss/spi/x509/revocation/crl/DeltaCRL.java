@@ -0,0 +1,149 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation.crl;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Represents a delta CRL (RFC 5280, 5.2.4) to be merged with a complete (base) CRL.
+ *
+ * A delta CRL lists the certificates whose revocation status has changed since the issuance
+ * of the base CRL it refers to. As delta CRLs are cumulative, the latest valid delta CRL
+ * is sufficient to bring a base CRL up to date.
+ */
+public class DeltaCRL {
+
+	/**
+	 * The validity of the delta CRL
+	 */
+	private final CRLValidity crlValidity;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param crlValidity {@link CRLValidity} of a CRL containing the DeltaCRLIndicator extension
+	 */
+	public DeltaCRL(final CRLValidity crlValidity) {
+		Objects.requireNonNull(crlValidity, "CRL Validity cannot be null");
+		if (!crlValidity.isDeltaCrl()) {
+			throw new DSSException("The given CRL is not a delta CRL (no DeltaCRLIndicator extension found)!");
+		}
+		this.crlValidity = crlValidity;
+	}
+
+	/**
+	 * Returns the validity of the delta CRL
+	 *
+	 * @return {@link CRLValidity}
+	 */
+	public CRLValidity getCrlValidity() {
+		return crlValidity;
+	}
+
+	/**
+	 * Returns the CRLNumber of the delta CRL
+	 *
+	 * @return {@link BigInteger}
+	 */
+	public BigInteger getCrlNumber() {
+		return crlValidity.getCrlNumber();
+	}
+
+	/**
+	 * Returns the CRLNumber of the base CRL, the delta CRL has been issued for
+	 *
+	 * @return {@link BigInteger}
+	 */
+	public BigInteger getBaseCrlNumber() {
+		return crlValidity.getBaseCrlNumber();
+	}
+
+	/**
+	 * Returns the thisUpdate date of the delta CRL
+	 *
+	 * @return {@link Date}
+	 */
+	public Date getThisUpdate() {
+		return crlValidity.getThisUpdate();
+	}
+
+	/**
+	 * Returns the nextUpdate date of the delta CRL
+	 *
+	 * @return {@link Date}
+	 */
+	public Date getNextUpdate() {
+		return crlValidity.getNextUpdate();
+	}
+
+	/**
+	 * Indicates if the signature of the delta CRL is intact and created by a certificate
+	 * having the cRLSign key usage bit set.
+	 *
+	 * NOTE: {@code CRLValidity.isValid()} is not used, because the DeltaCRLIndicator is a critical extension
+	 *
+	 * @return TRUE if the delta CRL is valid, FALSE otherwise
+	 */
+	public boolean isValid() {
+		return crlValidity.isSignatureIntact() && crlValidity.isIssuerX509PrincipalMatches() && crlValidity.isCrlSignKeyUsage();
+	}
+
+	/**
+	 * Checks if the delta CRL can be merged with the given base CRL: both CRLs shall be issued by the same
+	 * certificate, the base CRL shall not be older than the one referred by the delta CRL,
+	 * and the delta CRL shall be issued after the base CRL.
+	 *
+	 * @param baseCrlValidity {@link CRLValidity} of the base CRL
+	 * @return TRUE if the delta CRL is applicable to the base CRL, FALSE otherwise
+	 */
+	public boolean isApplicableTo(final CRLValidity baseCrlValidity) {
+		if (baseCrlValidity == null || baseCrlValidity.isDeltaCrl() || baseCrlValidity.getCrlNumber() == null
+				|| getCrlNumber() == null) {
+			return false;
+		}
+		final CertificateToken baseIssuer = baseCrlValidity.getIssuerToken();
+		final CertificateToken deltaIssuer = crlValidity.getIssuerToken();
+		if (baseIssuer == null || !baseIssuer.equals(deltaIssuer)) {
+			return false;
+		}
+		final BigInteger baseCrlNumber = baseCrlValidity.getCrlNumber();
+		return getBaseCrlNumber().compareTo(baseCrlNumber) <= 0 && getCrlNumber().compareTo(baseCrlNumber) > 0;
+	}
+
+	/**
+	 * Returns the delta CRL entry for the given serial number, if present
+	 *
+	 * @param serialNumber {@link BigInteger} of the certificate
+	 * @return {@link X509CRLEntry} if the status of the certificate has changed since the base CRL, null otherwise
+	 */
+	public X509CRLEntry getRevocationInfo(final BigInteger serialNumber) {
+		return CRLUtils.getRevocationInfo(crlValidity, serialNumber);
+	}
+
+}
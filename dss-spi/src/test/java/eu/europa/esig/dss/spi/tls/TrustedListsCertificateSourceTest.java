@@ -21,13 +21,40 @@
 package eu.europa.esig.dss.spi.tls;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.identifier.Identifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
 import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.tsl.TLInfo;
+import eu.europa.esig.dss.spi.tsl.TrustProperties;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.tsl.builder.TrustServiceProviderBuilder;
+import eu.europa.esig.dss.spi.util.TimeDependentValues;
+import eu.europa.esig.dss.spi.x509.KeyStoreCertificateSource;
 
 public class TrustedListsCertificateSourceTest {
 
@@ -42,4 +69,157 @@ public class TrustedListsCertificateSourceTest {
 		assertEquals("Cannot directly add certificate to a TrustedListsCertificateSource", exception.getMessage());
 	}
 
+	@Test
+	public void lookupsTest() throws IOException {
+		List<CertificateToken> certificates = getTLCertificates();
+
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+		assertEquals(0, trustedCertSource.getNumberOfCertificates());
+		assertFalse(trustedCertSource.isTrusted(certificates.get(0)));
+
+		trustedCertSource.setTrustPropertiesByCertificates(getTrustPropertiesByCerts(certificates));
+		assertEquals(2438, trustedCertSource.getNumberOfCertificates());
+		assertEquals(2338, trustedCertSource.getNumberOfEntities());
+		assertEquals(2338, trustedCertSource.getNumberOfTrustedPublicKeys());
+
+		for (CertificateToken certificateToken : certificates) {
+			assertTrue(trustedCertSource.isTrusted(certificateToken));
+			assertTrue(trustedCertSource.getBySki(DSSASN1Utils.computeSkiFromCert(certificateToken)).contains(certificateToken));
+			assertTrue(trustedCertSource.getBySubject(certificateToken.getSubject()).contains(certificateToken));
+			assertTrue(trustedCertSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA256,
+					certificateToken.getDigest(DigestAlgorithm.SHA256))).contains(certificateToken));
+			assertEquals(0, trustedCertSource.getTrustServices(certificateToken).size());
+		}
+
+		trustedCertSource.setTrustPropertiesByCertificates(Collections.emptyMap());
+		assertEquals(0, trustedCertSource.getNumberOfCertificates());
+		assertFalse(trustedCertSource.isTrusted(certificates.get(0)));
+	}
+
+	@Test
+	public void noEmptyStoreDuringRefreshTest() throws Exception {
+		List<CertificateToken> certificates = getTLCertificates();
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = getTrustPropertiesByCerts(certificates);
+
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+		trustedCertSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
+
+		AtomicBoolean refreshing = new AtomicBoolean(true);
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			Future<?> refresh = executorService.submit(() -> {
+				for (int i = 0; i < 5; i++) {
+					trustedCertSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
+				}
+				refreshing.set(false);
+			});
+			Future<?>[] readers = new Future<?>[7];
+			for (int i = 0; i < readers.length; i++) {
+				readers[i] = executorService.submit(() -> {
+					int index = 0;
+					while (refreshing.get()) {
+						CertificateToken certificateToken = certificates.get(index++ % certificates.size());
+						assertTrue(trustedCertSource.isTrusted(certificateToken));
+						assertEquals(2438, trustedCertSource.getNumberOfCertificates());
+					}
+				});
+			}
+			refresh.get(1, TimeUnit.MINUTES);
+			for (Future<?> reader : readers) {
+				reader.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void updateTrustedListsTest() throws IOException {
+		List<CertificateToken> certificates = getTLCertificates();
+		List<CertificateToken> firstTLCertificates = certificates.subList(0, 1000);
+		List<CertificateToken> secondTLCertificates = certificates.subList(900, certificates.size());
+
+		Identifier firstTL = new TLInfo(null, null, null, "first-tl.xml").getDSSId();
+		Identifier secondTL = new TLInfo(null, null, null, "second-tl.xml").getDSSId();
+		TrustProperties firstTrustProperties = getTrustProperties(firstTL);
+		TrustProperties secondTrustProperties = getTrustProperties(secondTL);
+
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new HashMap<>();
+		addTrustProperties(trustPropertiesByCerts, firstTLCertificates, firstTrustProperties);
+		addTrustProperties(trustPropertiesByCerts, secondTLCertificates, secondTrustProperties);
+
+		TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+		trustedCertSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
+		assertEquals(2438, trustedCertSource.getNumberOfCertificates());
+		assertEquals(new HashSet<>(Arrays.asList(firstTL, secondTL)), trustedCertSource.getTrustedListIdentifiers());
+		assertEquals(1000, trustedCertSource.getTrustPropertiesByCertificates(firstTL).size());
+		assertEquals(1538, trustedCertSource.getTrustPropertiesByCertificates(secondTL).size());
+		CertificateToken sharedCertificate = certificates.get(950);
+		assertTrue(trustedCertSource.getTrustServices(sharedCertificate).contains(firstTrustProperties));
+		assertTrue(trustedCertSource.getTrustServices(sharedCertificate).contains(secondTrustProperties));
+
+		// removal of the first TL, the second one is untouched
+		Map<CertificateToken, List<TrustProperties>> secondTLContent = trustedCertSource.getTrustPropertiesByCertificates(secondTL);
+		trustedCertSource.updateTrustPropertiesByTrustedLists(Collections.singletonMap(firstTL, Collections.emptyMap()));
+		assertEquals(1538, trustedCertSource.getNumberOfCertificates());
+		assertEquals(Collections.singleton(secondTL), trustedCertSource.getTrustedListIdentifiers());
+		assertSame(secondTLContent, trustedCertSource.getTrustPropertiesByCertificates(secondTL));
+		assertTrue(trustedCertSource.getTrustPropertiesByCertificates(firstTL).isEmpty());
+		for (CertificateToken certificateToken : certificates.subList(0, 900)) {
+			assertFalse(trustedCertSource.getCertificates().contains(certificateToken));
+			assertFalse(trustedCertSource.getBySubject(certificateToken.getSubject()).contains(certificateToken));
+			assertFalse(trustedCertSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA256,
+					certificateToken.getDigest(DigestAlgorithm.SHA256))).contains(certificateToken));
+			assertFalse(trustedCertSource.getTrustServices(certificateToken).contains(firstTrustProperties));
+		}
+		assertTrue(trustedCertSource.isTrusted(sharedCertificate));
+		assertEquals(Collections.singletonList(secondTrustProperties), trustedCertSource.getTrustServices(sharedCertificate));
+
+		// new version of the second TL
+		TrustProperties newSecondTrustProperties = getTrustProperties(secondTL);
+		Map<CertificateToken, List<TrustProperties>> newSecondTLContent = new HashMap<>();
+		addTrustProperties(newSecondTLContent, secondTLCertificates, newSecondTrustProperties);
+		trustedCertSource.updateTrustPropertiesByTrustedLists(Collections.singletonMap(secondTL, newSecondTLContent));
+		assertEquals(1538, trustedCertSource.getNumberOfCertificates());
+		assertEquals(Collections.singletonList(newSecondTrustProperties), trustedCertSource.getTrustServices(sharedCertificate));
+
+		// the first TL is added again
+		Map<CertificateToken, List<TrustProperties>> firstTLContent = new HashMap<>();
+		addTrustProperties(firstTLContent, firstTLCertificates, firstTrustProperties);
+		trustedCertSource.updateTrustPropertiesByTrustedLists(Collections.singletonMap(firstTL, firstTLContent));
+		assertEquals(2438, trustedCertSource.getNumberOfCertificates());
+		assertEquals(2338, trustedCertSource.getNumberOfEntities());
+		for (CertificateToken certificateToken : certificates) {
+			assertTrue(trustedCertSource.isTrusted(certificateToken));
+			assertTrue(trustedCertSource.getBySki(DSSASN1Utils.computeSkiFromCert(certificateToken)).contains(certificateToken));
+			assertTrue(trustedCertSource.getBySubject(certificateToken.getSubject()).contains(certificateToken));
+			assertTrue(trustedCertSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA256,
+					certificateToken.getDigest(DigestAlgorithm.SHA256))).contains(certificateToken));
+		}
+		assertEquals(2, trustedCertSource.getTrustServices(sharedCertificate).size());
+	}
+
+	private TrustProperties getTrustProperties(Identifier tlIdentifier) {
+		return new TrustProperties(tlIdentifier, new TrustServiceProviderBuilder().build(), new TimeDependentValues<>());
+	}
+
+	private void addTrustProperties(Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts,
+			List<CertificateToken> certificates, TrustProperties trustProperties) {
+		for (CertificateToken certificateToken : certificates) {
+			trustPropertiesByCerts.computeIfAbsent(certificateToken, k -> new ArrayList<>()).add(trustProperties);
+		}
+	}
+
+	private List<CertificateToken> getTLCertificates() throws IOException {
+		return new KeyStoreCertificateSource(new File("src/test/resources/extract-tls.p12"), "PKCS12", "ks-password").getCertificates();
+	}
+
+	private Map<CertificateToken, List<TrustProperties>> getTrustPropertiesByCerts(List<CertificateToken> certificates) {
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new HashMap<>();
+		for (CertificateToken certificateToken : certificates) {
+			trustPropertiesByCerts.put(certificateToken, Collections.emptyList());
+		}
+		return trustPropertiesByCerts;
+	}
+
 }
@@ -0,0 +1,158 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.util;
+
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestCoalescerTest {
+
+	private static final int NUMBER_OF_CALLERS = 10;
+
+	@Test
+	public void concurrentRequestsTest() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_CALLERS);
+		try {
+			Future<String> leader = executorService.submit(() -> coalescer.execute("key", () -> {
+				executions.incrementAndGet();
+				await(release);
+				return "result";
+			}, r -> r + "-shared"));
+			waitUntil(() -> coalescer.getInFlightCount() == 1);
+
+			List<Future<String>> waiters = new ArrayList<>();
+			for (int i = 1; i < NUMBER_OF_CALLERS; i++) {
+				waiters.add(executorService.submit(() -> coalescer.execute("key", () -> {
+					executions.incrementAndGet();
+					return "other";
+				}, r -> r + "-shared")));
+			}
+			waitUntil(() -> coalescer.getCoalescedCount() == NUMBER_OF_CALLERS - 1);
+			release.countDown();
+
+			assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+			for (Future<String> waiter : waiters) {
+				assertEquals("result-shared", waiter.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		assertEquals(1, executions.get());
+		assertEquals(1, coalescer.getExecutedCount());
+		assertEquals(NUMBER_OF_CALLERS - 1, coalescer.getCoalescedCount());
+		assertEquals(0, coalescer.getInFlightCount());
+
+		// the completed request is not reused
+		assertEquals("new", coalescer.execute("key", () -> "new"));
+		assertEquals(2, coalescer.getExecutedCount());
+	}
+
+	@Test
+	public void exceptionIsPropagatedTest() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = executorService.submit(() -> coalescer.execute("key", () -> {
+				await(release);
+				throw new DSSExternalResourceException("Unable to download");
+			}));
+			waitUntil(() -> coalescer.getInFlightCount() == 1);
+
+			Future<String> waiter = executorService.submit(() -> coalescer.execute("key", () -> "other"));
+			waitUntil(() -> coalescer.getCoalescedCount() == 1);
+			release.countDown();
+
+			Exception leaderException = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+			assertTrue(leaderException.getCause() instanceof DSSExternalResourceException);
+			Exception waiterException = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+			assertTrue(waiterException.getCause() instanceof DSSExternalResourceException);
+			assertEquals("Unable to download", waiterException.getCause().getMessage());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void timeoutTest() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		coalescer.setWaitTimeout(50);
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> leader = executorService.submit(() -> coalescer.execute("key", () -> {
+				await(release);
+				return "result";
+			}));
+			waitUntil(() -> coalescer.getInFlightCount() == 1);
+
+			assertThrows(DSSExternalResourceException.class, () -> coalescer.execute("key", () -> "other"));
+			assertEquals(1, coalescer.getTimeoutCount());
+
+			// another key is not blocked
+			assertEquals("other", coalescer.execute("otherKey", () -> "other"));
+
+			release.countDown();
+			assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+		} finally {
+			executorService.shutdownNow();
+		}
+		assertThrows(IllegalArgumentException.class, () -> coalescer.setWaitTimeout(-1));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+			Thread.sleep(5);
+		}
+		assertTrue(condition.getAsBoolean());
+	}
+
+}
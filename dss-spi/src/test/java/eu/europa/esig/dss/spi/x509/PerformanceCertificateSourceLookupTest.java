@@ -0,0 +1,178 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the indexed lookups of {@code CommonCertificateSource} with linear scans
+ * on a source of the size of the EU trusted lists (2438 certificates)
+ */
+public class PerformanceCertificateSourceLookupTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PerformanceCertificateSourceLookupTest.class);
+
+	/** Every n-th certificate is compared against a linear scan, which is too slow to be run on the whole source */
+	private static final int SAMPLING = 50;
+
+	private static List<CertificateToken> certificates;
+
+	private static List<CertificateToken> sample;
+
+	private static CommonCertificateSource certificateSource;
+
+	@BeforeAll
+	public static void init() throws IOException {
+		KeyStoreCertificateSource kscs = new KeyStoreCertificateSource(new File("src/test/resources/extract-tls.p12"), "PKCS12", "ks-password");
+		certificates = kscs.getCertificates();
+		certificateSource = new CommonCertificateSource();
+		for (CertificateToken certificateToken : certificates) {
+			certificateSource.addCertificate(certificateToken);
+		}
+		assertEquals(2438, certificateSource.getNumberOfCertificates());
+
+		sample = new ArrayList<>();
+		for (int i = 0; i < certificates.size(); i += SAMPLING) {
+			sample.add(certificates.get(i));
+		}
+	}
+
+	@Test
+	public void sameResultsAsLinearScan() {
+		for (CertificateToken certificateToken : sample) {
+			byte[] ski = DSSASN1Utils.computeSkiFromCert(certificateToken);
+			assertEquals(linearGetBySki(ski), certificateSource.getBySki(ski));
+
+			Digest digest = new Digest(DigestAlgorithm.SHA256, certificateToken.getDigest(DigestAlgorithm.SHA256));
+			assertEquals(linearGetByCertificateDigest(digest), certificateSource.getByCertificateDigest(digest));
+
+			SignerIdentifier issuerSerial = getIssuerSerial(certificateToken);
+			assertEquals(linearGetBySignerIdentifier(issuerSerial), certificateSource.getBySignerIdentifier(issuerSerial));
+			assertTrue(certificateSource.getBySignerIdentifier(issuerSerial).contains(certificateToken));
+
+			SignerIdentifier skiIdentifier = new SignerIdentifier();
+			skiIdentifier.setSki(DSSASN1Utils.getSki(certificateToken));
+			assertEquals(linearGetBySignerIdentifier(skiIdentifier), certificateSource.getBySignerIdentifier(skiIdentifier));
+
+			CertificateRef certificateRef = new CertificateRef();
+			certificateRef.setCertificateIdentifier(issuerSerial);
+			ResponderId responderId = new ResponderId(certificateToken.getSubject().getPrincipal(), null);
+			certificateRef.setResponderId(responderId);
+			assertEquals(linearFindTokensFromCertRef(certificateRef), certificateSource.findTokensFromCertRef(certificateRef));
+		}
+
+		// an empty identifier is related to the certificates without SKI extension
+		SignerIdentifier emptyIdentifier = new SignerIdentifier();
+		assertEquals(linearGetBySignerIdentifier(emptyIdentifier), certificateSource.getBySignerIdentifier(emptyIdentifier));
+	}
+
+	/**
+	 * Wall-clock comparison, excluded from the default build (see the "slow" tag)
+	 */
+	@Test
+	@Tag("slow")
+	public void benchmark() {
+		long linearStart = System.nanoTime();
+		for (CertificateToken certificateToken : sample) {
+			linearGetBySignerIdentifier(getIssuerSerial(certificateToken));
+			linearGetByCertificateDigest(new Digest(DigestAlgorithm.SHA256, certificateToken.getDigest(DigestAlgorithm.SHA256)));
+		}
+		long linearTime = System.nanoTime() - linearStart;
+
+		long indexedStart = System.nanoTime();
+		for (CertificateToken certificateToken : certificates) {
+			certificateSource.getBySignerIdentifier(getIssuerSerial(certificateToken));
+			certificateSource.getByCertificateDigest(new Digest(DigestAlgorithm.SHA256, certificateToken.getDigest(DigestAlgorithm.SHA256)));
+		}
+		long indexedTime = System.nanoTime() - indexedStart;
+
+		LOG.info("Lookups by issuer/serial and digest : linear scan {} ms for {} certificates, indexed {} ms for {} certificates",
+				linearTime / 1000000, sample.size(), indexedTime / 1000000, certificates.size());
+		assertTrue(indexedTime < linearTime);
+	}
+
+	private SignerIdentifier getIssuerSerial(CertificateToken certificateToken) {
+		SignerIdentifier signerIdentifier = new SignerIdentifier();
+		signerIdentifier.setIssuerName(certificateToken.getIssuerX500Principal());
+		signerIdentifier.setSerialNumber(certificateToken.getSerialNumber());
+		return signerIdentifier;
+	}
+
+	private Set<CertificateToken> linearGetBySki(byte[] ski) {
+		for (CertificateSourceEntity entry : certificateSource.getEntities()) {
+			if (Arrays.equals(entry.getSki(), ski)) {
+				return entry.getEquivalentCertificates();
+			}
+		}
+		return new HashSet<>();
+	}
+
+	private Set<CertificateToken> linearGetByCertificateDigest(Digest digest) {
+		Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken certificateToken : certificateSource.getCertificates()) {
+			if (Arrays.equals(digest.getValue(), certificateToken.getDigest(digest.getAlgorithm()))) {
+				result.add(certificateToken);
+			}
+		}
+		return result;
+	}
+
+	private Set<CertificateToken> linearGetBySignerIdentifier(SignerIdentifier signerIdentifier) {
+		Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken certificateToken : certificateSource.getCertificates()) {
+			if (signerIdentifier.isRelatedToCertificate(certificateToken)) {
+				result.add(certificateToken);
+			}
+		}
+		return result;
+	}
+
+	private Set<CertificateToken> linearFindTokensFromCertRef(CertificateRef certificateRef) {
+		CertificateTokenRefMatcher matcher = new CertificateTokenRefMatcher();
+		Set<CertificateToken> result = new HashSet<>();
+		for (CertificateToken certificateToken : certificateSource.getCertificates()) {
+			if (matcher.match(certificateToken, certificateRef)) {
+				result.add(certificateToken);
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,180 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation;
+
+import eu.europa.esig.dss.crl.CRLBinary;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.util.RequestCoalescer;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InMemoryRevocationCacheTest {
+
+	private CRLToken crlToken;
+
+	@BeforeEach
+	public void init() throws IOException {
+		FileDocument doc = new FileDocument("src/test/resources/crl/belgium2.crl");
+		FileDocument caCert = new FileDocument("src/test/resources/belgiumrs2.crt");
+		FileDocument tsaCert = new FileDocument("src/test/resources/TSA_BE.cer");
+
+		CRLBinary crlBinary = CRLUtils.buildCRLBinary(DSSUtils.toByteArray(doc));
+		CRLValidity crlValidity = CRLUtils.buildCRLValidity(crlBinary, DSSUtils.loadCertificate(caCert.openStream()));
+		crlToken = new CRLToken(DSSUtils.loadCertificate(tsaCert.openStream()), crlValidity);
+	}
+
+	@Test
+	public void hitAndMiss() {
+		InMemoryRevocationCache<CRL> cache = new InMemoryRevocationCache<>();
+		assertNull(cache.get("key"));
+		assertEquals(1, cache.getMissCount());
+
+		cache.put("key", crlToken, tomorrow());
+		assertSame(crlToken, cache.get("key"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.size());
+		assertEquals(crlToken.getEncoded().length, cache.getWeight());
+
+		cache.remove("key");
+		assertNull(cache.get("key"));
+		assertEquals(2, cache.getMissCount());
+		assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void expired() {
+		InMemoryRevocationCache<CRL> cache = new InMemoryRevocationCache<>();
+		cache.put("key", crlToken, new Date(System.currentTimeMillis() - 1000));
+		assertEquals(0, cache.size());
+		cache.put("key", crlToken, null);
+		assertEquals(0, cache.size());
+		assertNull(cache.get("key"));
+	}
+
+	@Test
+	public void evictBySize() {
+		InMemoryRevocationCache<CRL> cache = new InMemoryRevocationCache<>(2, Long.MAX_VALUE);
+		cache.put("key1", crlToken, tomorrow());
+		cache.put("key2", crlToken, tomorrow());
+		assertNotNull(cache.get("key1"));
+		cache.put("key3", crlToken, tomorrow());
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertNotNull(cache.get("key1"));
+		assertNull(cache.get("key2")); // least recently used
+		assertNotNull(cache.get("key3"));
+	}
+
+	@Test
+	public void evictByWeight() {
+		long weight = crlToken.getEncoded().length;
+		InMemoryRevocationCache<CRL> cache = new InMemoryRevocationCache<>(100, weight * 2);
+		cache.put("key1", crlToken, tomorrow());
+		cache.put("key2", crlToken, tomorrow());
+		cache.put("key3", crlToken, tomorrow());
+		assertEquals(2, cache.size());
+		assertEquals(weight * 2, cache.getWeight());
+		assertEquals(1, cache.getEvictionCount());
+
+		cache.setMaxWeight(weight - 1);
+		assertEquals(0, cache.size());
+		cache.put("key4", crlToken, tomorrow());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void wrongConfiguration() {
+		InMemoryRevocationCache<CRL> cache = new InMemoryRevocationCache<>();
+		assertThrows(IllegalArgumentException.class, () -> cache.setMaxEntries(0));
+		assertThrows(IllegalArgumentException.class, () -> cache.setMaxWeight(-1));
+	}
+
+	@Test
+	public void sharedTokenNotSupported() {
+		RepositoryRevocationSource<CRL> revocationSource = new RepositoryRevocationSourceWithoutSharedToken();
+		revocationSource.setInMemoryCache(null);
+		revocationSource.setRequestCoalescer(null);
+
+		assertThrows(UnsupportedOperationException.class, () -> revocationSource.setInMemoryCache(new InMemoryRevocationCache<>()));
+		assertThrows(UnsupportedOperationException.class, () -> revocationSource.setRequestCoalescer(new RequestCoalescer()));
+		assertNull(revocationSource.getInMemoryCache());
+	}
+
+	private Date tomorrow() {
+		return new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000);
+	}
+
+	private static class RepositoryRevocationSourceWithoutSharedToken extends RepositoryRevocationSource<CRL> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected List<String> initRevocationTokenKeys(CertificateToken certificateToken) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected RevocationToken<CRL> findRevocation(String key, CertificateToken certificateToken,
+				CertificateToken issuerCertificateToken) {
+			return null;
+		}
+
+		@Override
+		protected void insertRevocation(String revocationKey, RevocationToken<CRL> token) {
+			// not stored
+		}
+
+		@Override
+		protected void updateRevocation(String revocationKey, RevocationToken<CRL> token) {
+			// not stored
+		}
+
+		@Override
+		protected void removeRevocation(String revocationKey) {
+			// not stored
+		}
+
+		@Override
+		protected String getRevocationTokenKey(CertificateToken certificateToken, String urlString) {
+			return urlString;
+		}
+
+	}
+
+}
@@ -0,0 +1,199 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.spi.x509.revocation.crl;
+
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.enumerations.CertificateStatus;
+import eu.europa.esig.dss.enumerations.RevocationReason;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeltaCRLTest {
+
+	private static final long HOUR = 3600 * 1000L;
+
+	private static KeyPair caKeyPair;
+
+	private static CertificateToken caCert;
+
+	private static KeyPair userKeyPair;
+
+	private static Date now;
+
+	@BeforeAll
+	public static void init() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		caKeyPair = generator.generateKeyPair();
+		userKeyPair = generator.generateKeyPair();
+		now = new Date();
+
+		X500Name caName = new X500Name("CN=Delta CRL Test CA,C=BE");
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE,
+				new Date(now.getTime() - 24 * HOUR), new Date(now.getTime() + 24 * HOUR), caName, caKeyPair.getPublic());
+		builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		caCert = new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(signer())));
+	}
+
+	@Test
+	public void crlNumbers() throws Exception {
+		CRLValidity base = buildBaseCRL(BigInteger.TEN);
+		assertEquals(BigInteger.TEN, base.getCrlNumber());
+		assertNull(base.getBaseCrlNumber());
+		assertFalse(base.isDeltaCrl());
+		assertTrue(base.isValid());
+		assertThrows(DSSException.class, () -> new DeltaCRL(base));
+
+		CRLValidity delta = buildDeltaCRL(BigInteger.valueOf(11), BigInteger.TEN);
+		assertEquals(BigInteger.valueOf(11), delta.getCrlNumber());
+		assertEquals(BigInteger.TEN, delta.getBaseCrlNumber());
+		assertTrue(delta.isDeltaCrl());
+
+		DeltaCRL deltaCRL = new DeltaCRL(delta);
+		assertTrue(deltaCRL.isValid());
+		assertTrue(deltaCRL.isApplicableTo(base));
+		assertTrue(deltaCRL.isApplicableTo(buildBaseCRL(BigInteger.valueOf(10))));
+		assertFalse(deltaCRL.isApplicableTo(buildBaseCRL(BigInteger.valueOf(9))));
+		assertFalse(deltaCRL.isApplicableTo(buildBaseCRL(BigInteger.valueOf(11))));
+		assertFalse(deltaCRL.isApplicableTo(delta));
+	}
+
+	@Test
+	public void mergedStatus() throws Exception {
+		CRLValidity base = buildBaseCRL(BigInteger.TEN);
+		DeltaCRL deltaCRL = new DeltaCRL(buildDeltaCRL(BigInteger.valueOf(11), BigInteger.TEN));
+
+		// revoked in base, not listed in delta
+		CertificateToken revokedInBase = userCert(BigInteger.valueOf(100));
+		CRLToken baseToken = new CRLToken(revokedInBase, base);
+		CRLToken token = new CRLToken(revokedInBase, deltaCRL, baseToken);
+		assertEquals(CertificateStatus.REVOKED, token.getStatus());
+		assertEquals(RevocationReason.KEY_COMPROMISE, token.getReason());
+		assertEquals(baseToken, token.getBaseCRLToken());
+		assertNull(baseToken.getBaseCRLToken());
+		assertEquals(deltaCRL.getThisUpdate(), token.getThisUpdate());
+		assertEquals(deltaCRL.getNextUpdate(), token.getNextUpdate());
+		assertTrue(token.isValid());
+
+		// the delta CRL is a distinct token
+		assertArrayEquals(deltaCRL.getCrlValidity().getDerEncoded(), token.getEncoded());
+		assertArrayEquals(base.getDerEncoded(), baseToken.getEncoded());
+		assertNotEquals(baseToken.getDSSIdAsString(), token.getDSSIdAsString());
+		assertEquals(base.getThisUpdate(), baseToken.getThisUpdate());
+
+		// on hold in base, released in delta
+		CertificateToken onHold = userCert(BigInteger.valueOf(200));
+		assertEquals(CertificateStatus.REVOKED, new CRLToken(onHold, base).getStatus());
+		token = new CRLToken(onHold, deltaCRL, new CRLToken(onHold, base));
+		assertEquals(CertificateStatus.GOOD, token.getStatus());
+		assertNull(token.getRevocationDate());
+		assertNull(token.getReason());
+
+		// revoked after the base CRL issuance
+		CertificateToken revokedInDelta = userCert(BigInteger.valueOf(300));
+		assertEquals(CertificateStatus.GOOD, new CRLToken(revokedInDelta, base).getStatus());
+		token = new CRLToken(revokedInDelta, deltaCRL, new CRLToken(revokedInDelta, base));
+		assertEquals(CertificateStatus.REVOKED, token.getStatus());
+		assertEquals(RevocationReason.SUPERSEDED, token.getReason());
+		assertNotNull(token.getRevocationDate());
+
+		// not listed
+		CertificateToken notListed = userCert(BigInteger.valueOf(400));
+		token = new CRLToken(notListed, deltaCRL, new CRLToken(notListed, base));
+		assertEquals(CertificateStatus.GOOD, token.getStatus());
+
+		// base CRL token of another certificate
+		assertThrows(DSSException.class, () -> new CRLToken(notListed, deltaCRL, baseToken));
+
+		// not applicable delta
+		DeltaCRL outdatedDelta = new DeltaCRL(buildDeltaCRL(BigInteger.valueOf(9), BigInteger.valueOf(8)));
+		assertThrows(DSSException.class, () -> new CRLToken(revokedInDelta, outdatedDelta, new CRLToken(revokedInDelta, base)));
+	}
+
+	private static CRLValidity buildBaseCRL(BigInteger crlNumber) throws Exception {
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(X500Name.getInstance(caCert.getSubject().getEncoded()),
+				new Date(now.getTime() - 2 * HOUR));
+		builder.setNextUpdate(new Date(now.getTime() + 22 * HOUR));
+		builder.addCRLEntry(BigInteger.valueOf(100), new Date(now.getTime() - 3 * HOUR), CRLReason.keyCompromise);
+		builder.addCRLEntry(BigInteger.valueOf(200), new Date(now.getTime() - 3 * HOUR), CRLReason.certificateHold);
+		builder.addExtension(Extension.cRLNumber, false, new CRLNumber(crlNumber));
+		return toCRLValidity(builder.build(signer()).getEncoded());
+	}
+
+	private static CRLValidity buildDeltaCRL(BigInteger crlNumber, BigInteger baseCrlNumber) throws Exception {
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(X500Name.getInstance(caCert.getSubject().getEncoded()),
+				new Date(now.getTime() - HOUR));
+		builder.setNextUpdate(new Date(now.getTime() + HOUR));
+		builder.addCRLEntry(BigInteger.valueOf(200), new Date(now.getTime() - HOUR), CRLReason.removeFromCRL);
+		builder.addCRLEntry(BigInteger.valueOf(300), new Date(now.getTime() - HOUR), CRLReason.superseded);
+		builder.addExtension(Extension.cRLNumber, false, new CRLNumber(crlNumber));
+		builder.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(baseCrlNumber));
+		return toCRLValidity(builder.build(signer()).getEncoded());
+	}
+
+	private static CRLValidity toCRLValidity(byte[] binaries) throws Exception {
+		return CRLUtils.buildCRLValidity(CRLUtils.buildCRLBinary(binaries), caCert);
+	}
+
+	private static CertificateToken userCert(BigInteger serialNumber) throws Exception {
+		PublicKey publicKey = userKeyPair.getPublic();
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caCert.getCertificate(), serialNumber,
+				new Date(now.getTime() - 24 * HOUR), new Date(now.getTime() + 24 * HOUR),
+				new X500Name("CN=User " + serialNumber + ",C=BE"), publicKey);
+		return DSSUtils.loadCertificate(builder.build(signer()).getEncoded());
+	}
+
+	private static ContentSigner signer() throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+	}
+
+}
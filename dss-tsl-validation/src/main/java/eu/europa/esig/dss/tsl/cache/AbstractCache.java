@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -198,6 +199,32 @@ public abstract class AbstractCache<R extends CachedResult> {
 		return toBeDeleted;
 	}
 	
+	/**
+	 * Returns a copy of the entries which can be stored in a snapshot (the entries in ERROR state are skipped)
+	 *
+	 * @return a map between {@link CacheKey}s and {@link CachedEntry}s
+	 */
+	public Map<CacheKey, CachedEntry<R>> getSnapshotEntries() {
+		Map<CacheKey, CachedEntry<R>> snapshotEntries = new HashMap<>();
+		for (Entry<CacheKey, CachedEntry<R>> mapEntry : cachedEntriesMap.entrySet()) {
+			if (!mapEntry.getValue().isError()) {
+				snapshotEntries.put(mapEntry.getKey(), mapEntry.getValue());
+			}
+		}
+		return snapshotEntries;
+	}
+
+	/**
+	 * Replaces the content of the cache by the entries restored from a snapshot
+	 *
+	 * @param snapshotEntries a map between {@link CacheKey}s and {@link CachedEntry}s
+	 */
+	public void restore(Map<CacheKey, CachedEntry<R>> snapshotEntries) {
+		LOG.trace("Restoring {} entries in the cache {}...", snapshotEntries.size(), getCacheType());
+		cachedEntriesMap.clear();
+		cachedEntriesMap.putAll(snapshotEntries);
+	}
+
 	/**
 	 * Returns a type of current Cache
 	 * 
@@ -0,0 +1,89 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.cache;
+
+import eu.europa.esig.dss.tsl.cache.state.CachedEntry;
+import eu.europa.esig.dss.tsl.download.XmlDownloadResult;
+import eu.europa.esig.dss.tsl.parsing.AbstractParsingResult;
+import eu.europa.esig.dss.tsl.validation.ValidationResult;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Contains a copy of the download, parsing and validation cache entries, to be persisted between the restarts
+ */
+public class CacheSnapshot implements Serializable {
+
+	private static final long serialVersionUID = 6180386328766530178L;
+
+	/** The download cache entries */
+	private final Map<CacheKey, CachedEntry<XmlDownloadResult>> downloadEntries;
+
+	/** The parsing cache entries */
+	private final Map<CacheKey, CachedEntry<AbstractParsingResult>> parsingEntries;
+
+	/** The validation cache entries */
+	private final Map<CacheKey, CachedEntry<ValidationResult>> validationEntries;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param downloadEntries the download cache entries
+	 * @param parsingEntries the parsing cache entries
+	 * @param validationEntries the validation cache entries
+	 */
+	public CacheSnapshot(final Map<CacheKey, CachedEntry<XmlDownloadResult>> downloadEntries,
+						 final Map<CacheKey, CachedEntry<AbstractParsingResult>> parsingEntries,
+						 final Map<CacheKey, CachedEntry<ValidationResult>> validationEntries) {
+		this.downloadEntries = downloadEntries;
+		this.parsingEntries = parsingEntries;
+		this.validationEntries = validationEntries;
+	}
+
+	/**
+	 * Gets the download cache entries
+	 *
+	 * @return a map between {@link CacheKey}s and {@link CachedEntry}s
+	 */
+	public Map<CacheKey, CachedEntry<XmlDownloadResult>> getDownloadEntries() {
+		return downloadEntries;
+	}
+
+	/**
+	 * Gets the parsing cache entries
+	 *
+	 * @return a map between {@link CacheKey}s and {@link CachedEntry}s
+	 */
+	public Map<CacheKey, CachedEntry<AbstractParsingResult>> getParsingEntries() {
+		return parsingEntries;
+	}
+
+	/**
+	 * Gets the validation cache entries
+	 *
+	 * @return a map between {@link CacheKey}s and {@link CachedEntry}s
+	 */
+	public Map<CacheKey, CachedEntry<ValidationResult>> getValidationEntries() {
+		return validationEntries;
+	}
+
+}
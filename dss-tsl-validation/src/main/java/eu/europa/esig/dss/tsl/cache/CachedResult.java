@@ -20,10 +20,12 @@
  */
 package eu.europa.esig.dss.tsl.cache;
 
+import java.io.Serializable;
+
 /**
  * This interface is used to define a cached result for a single job
  * 
  */
-public interface CachedResult {
+public interface CachedResult extends Serializable {
 
 }
@@ -94,4 +94,13 @@ public final class CacheAccessFactory {
 		return new DebugCacheAccess(downloadCache, parsingCache, validationCache);
 	}
 
+	/**
+	 * Loads a cache access to create and restore the snapshots of the caches
+	 *
+	 * @return {@link SnapshotCacheAccess}
+	 */
+	public SnapshotCacheAccess getSnapshotCacheAccess() {
+		return new SnapshotCacheAccess(downloadCache, parsingCache, validationCache);
+	}
+
 }
@@ -0,0 +1,82 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.cache.access;
+
+import eu.europa.esig.dss.tsl.cache.CacheKey;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshot;
+import eu.europa.esig.dss.tsl.cache.DownloadCache;
+import eu.europa.esig.dss.tsl.cache.ParsingCache;
+import eu.europa.esig.dss.tsl.cache.ValidationCache;
+import eu.europa.esig.dss.tsl.cache.state.CacheStateEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates and restores the snapshots of all the caches
+ */
+public class SnapshotCacheAccess extends ReadOnlyCacheAccess {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SnapshotCacheAccess.class);
+
+	/**
+	 * Default constructor
+	 *
+	 * @param downloadCache {@link DownloadCache}
+	 * @param parsingCache {@link ParsingCache}
+	 * @param validationCache {@link ValidationCache}
+	 */
+	public SnapshotCacheAccess(final DownloadCache downloadCache, final ParsingCache parsingCache,
+							   final ValidationCache validationCache) {
+		super(downloadCache, parsingCache, validationCache);
+	}
+
+	/**
+	 * Creates a snapshot of the current cache entries.
+	 * The entries in ERROR state are not included, they will be processed again on the next refresh.
+	 *
+	 * @return {@link CacheSnapshot}
+	 */
+	public CacheSnapshot createSnapshot() {
+		return new CacheSnapshot(downloadCache.getSnapshotEntries(), parsingCache.getSnapshotEntries(),
+				validationCache.getSnapshotEntries());
+	}
+
+	/**
+	 * Replaces the content of the caches by the snapshot entries.
+	 * The synchronized validation results are marked as REFRESH_NEEDED, so the signatures of the
+	 * LOTLs/TLs are verified again on the next refresh. Until then, the restored results are used.
+	 *
+	 * @param snapshot {@link CacheSnapshot} to restore
+	 */
+	public void restore(CacheSnapshot snapshot) {
+		downloadCache.restore(snapshot.getDownloadEntries());
+		parsingCache.restore(snapshot.getParsingEntries());
+		validationCache.restore(snapshot.getValidationEntries());
+
+		for (CacheKey key : snapshot.getValidationEntries().keySet()) {
+			if (CacheStateEnum.SYNCHRONIZED == snapshot.getValidationEntries().get(key).getCurrentState()) {
+				LOG.trace("The validation of the entry with key [{}] will be verified again", key);
+				validationCache.expire(key);
+			}
+		}
+	}
+
+}
@@ -25,6 +25,7 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.Date;
 import java.util.Objects;
 
@@ -33,7 +34,9 @@ import java.util.Objects;
  *
  * @param <R> type of the entry
  */
-public class CachedEntry<R extends CachedResult> {
+public class CachedEntry<R extends CachedResult> implements Serializable {
+
+	private static final long serialVersionUID = -3673344002876897185L;
 	
 	private static final Logger LOG = LoggerFactory.getLogger(CachedEntry.class);
 
@@ -23,12 +23,15 @@ package eu.europa.esig.dss.tsl.cache.state;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Serializable;
 import java.util.Date;
 
 /**
  * Contains information for a cache record state
  */
-public class CurrentCacheContext implements CacheContext {
+public class CurrentCacheContext implements CacheContext, Serializable {
+
+	private static final long serialVersionUID = 934565514358979336L;
 
 	private static final Logger LOG = LoggerFactory.getLogger(CurrentCacheContext.class);
 
@@ -29,6 +29,8 @@ import eu.europa.esig.dss.tsl.cache.CachedResult;
  */
 public class XmlDownloadResult implements CachedResult {
 
+	private static final long serialVersionUID = 1951538283250364296L;
+
 	/** The downloaded document */
 	private final DSSDocument dssDocument;
 
@@ -64,4 +66,14 @@ public class XmlDownloadResult implements CachedResult {
 		return digest;
 	}
 
+	/**
+	 * Only the digest is serialized : a cached download result is used to detect the changes of the document,
+	 * the document itself is obtained from the {@code DSSFileLoader} on each refresh
+	 *
+	 * @return {@link XmlDownloadResult} without the document
+	 */
+	private Object writeReplace() {
+		return new XmlDownloadResult(null, digest);
+	}
+
 }
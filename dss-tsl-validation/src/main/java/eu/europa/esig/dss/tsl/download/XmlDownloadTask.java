@@ -36,6 +36,9 @@ import java.util.function.Supplier;
 
 /**
  * Downloads the document and returns a {@code XmlDownloadResult}
+ *
+ * The document is parsed once : the DOM used to compute the digest is available with {@link #getRootElement()},
+ * to be shared with the parsing and the validation of the document.
  */
 public class XmlDownloadTask implements Supplier<XmlDownloadResult> {
 
@@ -45,6 +48,9 @@ public class XmlDownloadTask implements Supplier<XmlDownloadResult> {
 	/** The URL to download the document from */
 	private final String url;
 
+	/** The DOM of the last downloaded document */
+	private Document rootElement;
+
 	/**
 	 * Default constructor
 	 *
@@ -62,10 +68,9 @@ public class XmlDownloadTask implements Supplier<XmlDownloadResult> {
 	public XmlDownloadResult get() {
 		try {
 			final DSSDocument dssDocument = dssFileLoader.getDocument(url);
-			assertDocumentIsValidXML(dssDocument);
+			rootElement = buildDOM(dssDocument);
 
-			final Document dom = DomUtils.buildDOM(dssDocument);
-			final byte[] canonicalizedContent = DSSXMLUtils.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, dom);
+			final byte[] canonicalizedContent = DSSXMLUtils.canonicalizeSubtree(CanonicalizationMethod.EXCLUSIVE, rootElement);
 			return new XmlDownloadResult(dssDocument, new Digest(DigestAlgorithm.SHA256, DSSUtils.digest(DigestAlgorithm.SHA256, canonicalizedContent)));
 		} catch (DSSException e) {
 			throw e;
@@ -74,13 +79,27 @@ public class XmlDownloadTask implements Supplier<XmlDownloadResult> {
 		}
 	}
 
-	private void assertDocumentIsValidXML(DSSDocument document) {
+	/**
+	 * Returns the DOM of the document downloaded by the last call of {@link #get()}
+	 *
+	 * @return {@link Document}, null if the download failed
+	 */
+	public Document getRootElement() {
+		return rootElement;
+	}
+
+	private Document buildDOM(DSSDocument document) {
 		if (document == null) {
 			throw new NullPointerException(String.format("No document has been retrieved from URL '%s'!", url));
 		}
-		if (!DomUtils.isDOM(document)) {
-			throw new DSSException(String.format("The document obtained from URL '%s' is not a valid XML!", url));
+		try {
+			if (DomUtils.startsWithXmlPreamble(document)) {
+				return DomUtils.buildDOM(document);
+			}
+		} catch (Exception e) {
+			// not a valid XML
 		}
+		throw new DSSException(String.format("The document obtained from URL '%s' is not a valid XML!", url));
 	}
 
 }
@@ -0,0 +1,298 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.spi.tsl.AnalysisTimingInfo;
+import eu.europa.esig.dss.tsl.cache.CacheKey;
+import eu.europa.esig.dss.tsl.cache.access.ReadOnlyCacheAccess;
+import eu.europa.esig.dss.tsl.dto.DownloadCacheDTO;
+import eu.europa.esig.dss.tsl.runnable.AbstractRunnableAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the LOTL/TL analyses of the {@code TLValidationJob}.
+ *
+ * When a timeout is defined, the job waits for each analysis until its deadline only. The analyses which are
+ * still running after their deadline continue in the background (the cache is updated on completion) and the
+ * job continues with the previously cached data. When a retry delay is defined, the sources with a failed
+ * download or a timed out analysis are not analyzed again by the online refresh until an exponentially
+ * growing delay expires. A timed out analysis which succeeds in the background resets the failures of the source.
+ */
+class TLAnalysisScheduler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TLAnalysisScheduler.class);
+
+	/** The delay (in milliseconds) between two verifications of the running analyses */
+	private static final long POLLING_DELAY = 50;
+
+	/** The state of the last analysis for each source */
+	private final Map<CacheKey, AnalysisState> states = new ConcurrentHashMap<>();
+
+	/** The maximum duration (in milliseconds) of an analysis, 0 for no limit */
+	private long analysisTimeout = 0;
+
+	/** The delay (in milliseconds) before the first retry of a failed source, 0 to disable the retry delays */
+	private long initialRetryDelay = 0;
+
+	/** The maximum delay (in milliseconds) between two retries of a failed source */
+	private long maxRetryDelay = TimeUnit.HOURS.toMillis(1);
+
+	/**
+	 * Sets the maximum duration of an analysis (in milliseconds). The deadline of an analysis is computed from
+	 * its start, or from its submission when the analysis is still queued.
+	 *
+	 * @param analysisTimeout the timeout in milliseconds, 0 for no limit
+	 */
+	void setAnalysisTimeout(long analysisTimeout) {
+		this.analysisTimeout = analysisTimeout;
+	}
+
+	/**
+	 * Sets the delay before the first retry of a failed source (in milliseconds)
+	 *
+	 * @param initialRetryDelay the delay in milliseconds, 0 to disable the retry delays
+	 */
+	void setInitialRetryDelay(long initialRetryDelay) {
+		this.initialRetryDelay = initialRetryDelay;
+	}
+
+	/**
+	 * Sets the maximum delay between two retries of a failed source (in milliseconds)
+	 *
+	 * @param maxRetryDelay the delay in milliseconds
+	 */
+	void setMaxRetryDelay(long maxRetryDelay) {
+		this.maxRetryDelay = maxRetryDelay;
+	}
+
+	/**
+	 * Checks whether the source shall be analyzed by the current refresh
+	 *
+	 * @param cacheKey {@link CacheKey} of the source
+	 * @param online true if the current refresh is an online refresh (the retry delays are applied)
+	 * @return TRUE if the source shall be analyzed
+	 */
+	boolean isToBeAnalyzed(CacheKey cacheKey, boolean online) {
+		final AnalysisState state = states.get(cacheKey);
+		if (state == null) {
+			return true;
+		}
+		if (!state.isDone()) {
+			LOG.warn("The analysis of '{}' from a previous refresh is still running. The cached data is used.", cacheKey.getKey());
+			return false;
+		}
+		if (online && state.nextRetryTime != null && state.nextRetryTime.after(new Date())) {
+			LOG.info("The analysis of '{}' is postponed until {} ({} consecutive failure(s)). The cached data is used.",
+					cacheKey.getKey(), state.nextRetryTime, state.consecutiveFailures);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether an analysis of the source is running
+	 *
+	 * @param cacheKey {@link CacheKey} of the source
+	 * @return TRUE if the analysis is running
+	 */
+	boolean isRunning(CacheKey cacheKey) {
+		final AnalysisState state = states.get(cacheKey);
+		return state != null && !state.isDone();
+	}
+
+	/**
+	 * Submits the analysis of the source
+	 *
+	 * @param executorService {@link ExecutorService} to be used
+	 * @param cacheKey {@link CacheKey} of the source
+	 * @param analysis {@link AbstractRunnableAnalysis} to be executed
+	 * @param readOnlyCacheAccess {@link ReadOnlyCacheAccess} used to retrieve the download result of an analysis
+	 *                            completed in the background
+	 */
+	void submit(ExecutorService executorService, CacheKey cacheKey, AbstractRunnableAnalysis analysis,
+			ReadOnlyCacheAccess readOnlyCacheAccess) {
+		final AnalysisState state = new AnalysisState(analysis, states.get(cacheKey));
+		states.put(cacheKey, state);
+		executorService.submit(() -> {
+			analysis.run();
+			onBackgroundCompletion(cacheKey, state, readOnlyCacheAccess);
+		});
+	}
+
+	/**
+	 * Resets the failures of a source when its timed out analysis succeeds in the background
+	 */
+	private void onBackgroundCompletion(CacheKey cacheKey, AnalysisState state, ReadOnlyCacheAccess readOnlyCacheAccess) {
+		synchronized (state) {
+			if (state.timedOut && !isDownloadError(cacheKey, readOnlyCacheAccess)) {
+				LOG.info("The timed out analysis of '{}' succeeded in the background.", cacheKey.getKey());
+				onSuccess(state);
+			}
+		}
+	}
+
+	/**
+	 * Waits for the completion of the submitted analyses or, when a timeout is defined, until the deadlines of
+	 * all the remaining analyses are reached. Then, updates the failure counters and the retry delays.
+	 *
+	 * @param latch {@link CountDownLatch} of the submitted analyses
+	 * @param cacheKeys the {@link CacheKey}s of the submitted analyses
+	 * @param readOnlyCacheAccess {@link ReadOnlyCacheAccess} used to retrieve the download results
+	 * @param online true if the current refresh is an online refresh (the failures are counted)
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	void await(CountDownLatch latch, Collection<CacheKey> cacheKeys, ReadOnlyCacheAccess readOnlyCacheAccess,
+			boolean online) throws InterruptedException {
+		if (analysisTimeout > 0) {
+			while (!latch.await(POLLING_DELAY, TimeUnit.MILLISECONDS)) {
+				if (isDeadlineReached(cacheKeys)) {
+					break;
+				}
+			}
+		} else {
+			latch.await();
+		}
+
+		final Date now = new Date();
+		for (CacheKey cacheKey : cacheKeys) {
+			final AnalysisState state = states.get(cacheKey);
+			// synchronized with the completion in the background of a timed out analysis
+			synchronized (state) {
+				if (state.isDone()) {
+					if (isDownloadError(cacheKey, readOnlyCacheAccess)) {
+						onFailure(state, now, online);
+					} else {
+						onSuccess(state);
+					}
+				} else {
+					state.timedOut = true;
+					LOG.warn("The analysis of '{}' exceeded the timeout of {} ms. It continues in the background and the cached data is used.",
+							cacheKey.getKey(), analysisTimeout);
+					onFailure(state, now, online);
+				}
+			}
+		}
+	}
+
+	private boolean isDownloadError(CacheKey cacheKey, ReadOnlyCacheAccess readOnlyCacheAccess) {
+		final DownloadCacheDTO downloadCacheDTO = readOnlyCacheAccess.getDownloadCacheDTO(cacheKey);
+		return downloadCacheDTO != null && downloadCacheDTO.isError();
+	}
+
+	private boolean isDeadlineReached(Collection<CacheKey> cacheKeys) {
+		final long now = System.currentTimeMillis();
+		for (CacheKey cacheKey : cacheKeys) {
+			final AnalysisState state = states.get(cacheKey);
+			if (!state.isDone() && now < state.getDeadline(analysisTimeout)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void onSuccess(AnalysisState state) {
+		state.consecutiveFailures = 0;
+		state.nextRetryTime = null;
+	}
+
+	private void onFailure(AnalysisState state, Date now, boolean online) {
+		if (!online) {
+			// the failures of an offline refresh (e.g. empty file cache) shall not delay the online refresh
+			return;
+		}
+		state.consecutiveFailures++;
+		if (initialRetryDelay > 0) {
+			state.nextRetryTime = new Date(now.getTime() + getRetryDelay(state.consecutiveFailures));
+		}
+	}
+
+	private long getRetryDelay(int consecutiveFailures) {
+		long delay = initialRetryDelay;
+		for (int i = 1; i < consecutiveFailures && delay < maxRetryDelay; i++) {
+			delay *= 2;
+		}
+		return Math.min(delay, maxRetryDelay);
+	}
+
+	/**
+	 * Returns the timing of the last analysis for each analyzed source
+	 *
+	 * @return a map between {@link CacheKey}s and {@link AnalysisTimingInfo}s
+	 */
+	Map<CacheKey, AnalysisTimingInfo> getAnalysisTimingInfos() {
+		final Map<CacheKey, AnalysisTimingInfo> result = new HashMap<>();
+		for (Map.Entry<CacheKey, AnalysisState> entry : states.entrySet()) {
+			final AnalysisState state = entry.getValue();
+			result.put(entry.getKey(), new AnalysisTimingInfo(state.analysis.getStartTime(), state.analysis.getEndTime(),
+					state.timedOut, state.consecutiveFailures, state.nextRetryTime));
+		}
+		return result;
+	}
+
+	/**
+	 * The state of the last analysis of a source
+	 */
+	private static class AnalysisState {
+
+		/** The submitted analysis */
+		private final AbstractRunnableAnalysis analysis;
+
+		/** The submission time */
+		private final long submissionTime = System.currentTimeMillis();
+
+		/** The number of consecutive failures (counted from the previous analyses) */
+		private volatile int consecutiveFailures;
+
+		/** The time before which the source is not analyzed again */
+		private volatile Date nextRetryTime;
+
+		/** Defines whether the analysis exceeded the timeout */
+		private volatile boolean timedOut;
+
+		private AnalysisState(AbstractRunnableAnalysis analysis, AnalysisState previous) {
+			this.analysis = analysis;
+			if (previous != null) {
+				this.consecutiveFailures = previous.consecutiveFailures;
+			}
+		}
+
+		private boolean isDone() {
+			return analysis.getEndTime() != null;
+		}
+
+		private long getDeadline(long analysisTimeout) {
+			final Date startTime = analysis.getStartTime();
+			return (startTime != null ? startTime.getTime() : submissionTime) + analysisTimeout;
+		}
+
+	}
+
+}
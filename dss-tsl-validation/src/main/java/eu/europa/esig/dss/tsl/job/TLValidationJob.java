@@ -22,10 +22,12 @@ package eu.europa.esig.dss.tsl.job;
 
 import eu.europa.esig.dss.alert.Alert;
 import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
 import eu.europa.esig.dss.spi.tsl.LOTLInfo;
 import eu.europa.esig.dss.spi.tsl.TLInfo;
 import eu.europa.esig.dss.spi.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.spi.tsl.TrustProperties;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.tsl.alerts.TLValidationJobAlerter;
 import eu.europa.esig.dss.tsl.cache.CacheCleaner;
@@ -34,6 +36,7 @@ import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import eu.europa.esig.dss.tsl.cache.access.CacheAccessFactory;
 import eu.europa.esig.dss.tsl.cache.access.ReadOnlyCacheAccess;
 import eu.europa.esig.dss.tsl.dto.ParsingCacheDTO;
+import eu.europa.esig.dss.tsl.runnable.AbstractRunnableAnalysis;
 import eu.europa.esig.dss.tsl.runnable.LOTLAnalysis;
 import eu.europa.esig.dss.tsl.runnable.LOTLWithPivotsAnalysis;
 import eu.europa.esig.dss.tsl.runnable.TLAnalysis;
@@ -47,8 +50,10 @@ import eu.europa.esig.dss.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -56,7 +61,9 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -67,6 +74,11 @@ public class TLValidationJob {
 
 	private static final Logger LOG = LoggerFactory.getLogger(TLValidationJob.class);
 
+	/**
+	 * The maximum number of threads of the default executor service
+	 */
+	private static final int DEFAULT_MAX_NUMBER_OF_THREADS = 10;
+
 	/**
 	 * Contains all caches for the current validation job
 	 */
@@ -75,7 +87,18 @@ public class TLValidationJob {
 	/**
 	 * Provides methods to manage the asynchronous behaviour
 	 */
-	private ExecutorService executorService = Executors.newCachedThreadPool();
+	private ExecutorService executorService = newDefaultExecutorService();
+
+	/**
+	 * Schedules the analyses (timeouts, retry delays and timing)
+	 */
+	private final TLAnalysisScheduler scheduler = new TLAnalysisScheduler();
+
+	/**
+	 * The parsing results of the LOTLs before their analysis, when the analysis exceeded the timeout.
+	 * Used to apply the LOTL changes at the next refresh.
+	 */
+	private final Map<CacheKey, ParsingCacheDTO> parsingValuesOfTimedOutLOTLs = new HashMap<>();
 
 	/**
 	 * Array of zero, one or more Trusted List (TL) sources.
@@ -132,6 +155,22 @@ public class TLValidationJob {
      */
     private List<Alert<TLInfo>> tlAlerts;
 
+	/**
+	 * The file used to persist the state of the job after each refresh (optional)
+	 */
+	private File snapshotFile;
+
+	/**
+	 * The secret key used to compute the HMAC-SHA256 of the snapshot file.
+	 * When not defined, the snapshot is neither written nor restored ({@code restoreSnapshot()} returns false).
+	 */
+	private byte[] snapshotIntegrityKey;
+
+	/**
+	 * Defines whether the LOTLs/TLs are parsed with a StAX cursor
+	 */
+	private boolean streamingParsing = false;
+
 	/**
 	 * Sets the additional TL Sources
 	 *
@@ -162,6 +201,45 @@ public class TLValidationJob {
 		this.executorService = executorService;
 	}
 	
+	/**
+	 * Sets the maximum duration of a LOTL/TL analysis (download - parsing - validation) in milliseconds.
+	 * The deadline of an analysis is computed from its start (or from its submission while it is queued).
+	 * When the deadline is reached, the job does not wait for the analysis anymore : the analysis continues
+	 * in the background and the job is completed with the previously cached data of the source. A source with
+	 * a running analysis is skipped by the next refresh.
+	 *
+	 * Default : 0 (no limit, the job waits for all the analyses)
+	 *
+	 * @param analysisTimeout the timeout in milliseconds
+	 */
+	public void setAnalysisTimeout(long analysisTimeout) {
+		scheduler.setAnalysisTimeout(analysisTimeout);
+	}
+
+	/**
+	 * Sets the delay (in milliseconds) before the next analysis of a source after a failed download or a timed
+	 * out analysis. The delay is doubled after each consecutive failure, up to the maximum retry delay.
+	 * In the meantime, the online refresh uses the previously cached data of the source.
+	 *
+	 * Default : 0 (the sources are analyzed at each refresh)
+	 *
+	 * @param initialRetryDelay the delay in milliseconds
+	 */
+	public void setInitialRetryDelay(long initialRetryDelay) {
+		scheduler.setInitialRetryDelay(initialRetryDelay);
+	}
+
+	/**
+	 * Sets the maximum delay (in milliseconds) between two analyses of a failing source.
+	 *
+	 * Default : 1 hour
+	 *
+	 * @param maxRetryDelay the delay in milliseconds
+	 */
+	public void setMaxRetryDelay(long maxRetryDelay) {
+		scheduler.setMaxRetryDelay(maxRetryDelay);
+	}
+
 	/**
 	 * Sets the offline DSSFileLoader used for data loading from the local source
 	 * @param offlineLoader {@link DSSFileLoader}
@@ -238,13 +316,89 @@ public class TLValidationJob {
 	    this.tlAlerts = tlAlerts;
 	}
 
+	/**
+	 * Sets the file used to persist the state of the job (parsing and validation results of the LOTLs/TLs,
+	 * content of the TrustedListsCertificateSource). When defined together with the integrity key
+	 * (see {@link #setSnapshotIntegrityKey(byte[])}), the snapshot is written after each refresh
+	 * and can be restored at startup with {@link #restoreSnapshot()}.
+	 *
+	 * @param snapshotFile {@link File}
+	 */
+	public void setSnapshotFile(File snapshotFile) {
+		this.snapshotFile = snapshotFile;
+	}
+
+	/**
+	 * Sets the secret key used to protect the integrity of the snapshot file (HMAC-SHA256).
+	 * The key is mandatory to write and restore a snapshot, as the restored certificates are trusted.
+	 *
+	 * Default : not defined (the snapshot is neither written nor restored)
+	 *
+	 * @param snapshotIntegrityKey the secret key
+	 */
+	public void setSnapshotIntegrityKey(byte[] snapshotIntegrityKey) {
+		this.snapshotIntegrityKey = snapshotIntegrityKey;
+	}
+
+	/**
+	 * Sets whether the LOTLs/TLs shall be parsed with a StAX cursor. When enabled, the complete JAXB tree of a
+	 * trusted list is never built: the trust service providers are unmarshalled and converted one at a time
+	 * and the signature is skipped, reducing the memory consumption for large trusted lists.
+	 * The parsing results are identical.
+	 *
+	 * Default : false (the whole document is unmarshalled)
+	 *
+	 * @param streamingParsing true if the streaming parsing shall be used
+	 */
+	public void setStreamingParsing(boolean streamingParsing) {
+		this.streamingParsing = streamingParsing;
+	}
+
+	/**
+	 * Restores the state of the job from the snapshot file, without downloading, parsing and validating the
+	 * LOTLs/TLs. The TrustedListsCertificateSource is filled with the stored certificates.
+	 *
+	 * The restored validation results are used until the next refresh, which verifies the signatures again
+	 * (e.g. an {@link #onlineRefresh()} executed in a background thread after the restoration).
+	 *
+	 * @return TRUE if the snapshot has been restored, FALSE if the file does not exist or cannot be restored
+	 */
+	public synchronized boolean restoreSnapshot() {
+		Objects.requireNonNull(snapshotFile, "The snapshotFile must be defined!");
+		if (Utils.isArrayEmpty(snapshotIntegrityKey)) {
+			LOG.warn("The snapshot cannot be restored from the file '{}' : the snapshotIntegrityKey is not defined",
+					snapshotFile.getAbsolutePath());
+			return false;
+		}
+		final TLValidationJobSnapshotFile tlValidationJobSnapshotFile = new TLValidationJobSnapshotFile(snapshotFile, snapshotIntegrityKey);
+		if (!tlValidationJobSnapshotFile.exists()) {
+			LOG.info("No snapshot to be restored from the file '{}'", snapshotFile.getAbsolutePath());
+			return false;
+		}
+		try {
+			final TLValidationJobSnapshot snapshot = tlValidationJobSnapshotFile.read();
+			cacheAccessFactory.getSnapshotCacheAccess().restore(snapshot.getCacheSnapshot());
+			if (trustedListCertificateSource != null && snapshot.getTrustPropertiesByCertificates() != null) {
+				trustedListCertificateSource.setTrustPropertiesByCertificates(snapshot.getTrustPropertiesByCertificates());
+				trustedListCertificateSource.setSummary(getSummary());
+			}
+			LOG.info("The snapshot created at {} has been restored", snapshot.getCreationTime());
+			return true;
+		} catch (Exception e) {
+			LOG.warn("Unable to restore the snapshot from the file '{}' : {}", snapshotFile.getAbsolutePath(), e.getMessage(), e);
+			return false;
+		}
+	}
+
 	/**
 	 * Returns validation job summary for all processed LOTL / TLs
 	 * @return {@link TLValidationJobSummary}
 	 */
 	public synchronized TLValidationJobSummary getSummary() {
-		return new ValidationJobSummaryBuilder(cacheAccessFactory.getReadOnlyCacheAccess(), trustedListSources, listOfTrustedListSources)
-				.build();
+		final ValidationJobSummaryBuilder summaryBuilder = new ValidationJobSummaryBuilder(cacheAccessFactory.getReadOnlyCacheAccess(),
+				trustedListSources, listOfTrustedListSources);
+		summaryBuilder.setAnalysisTimingInfos(scheduler.getAnalysisTimingInfos());
+		return summaryBuilder.build();
 	}
 
 	/**
@@ -254,7 +408,7 @@ public class TLValidationJob {
 	public synchronized void offlineRefresh() {
 		Objects.requireNonNull(offlineLoader, "The offlineLoader must be defined!");
 		LOG.info("Offline refresh is running...");
-		refresh(offlineLoader);
+		refresh(offlineLoader, false);
 		LOG.info("Offline refresh is DONE.");
 	}
 
@@ -265,11 +419,11 @@ public class TLValidationJob {
 	public synchronized void onlineRefresh() {
 		Objects.requireNonNull(onlineLoader, "The onlineLoader must be defined!");
 		LOG.info("Online refresh is running...");
-		refresh(onlineLoader);
+		refresh(onlineLoader, true);
 		LOG.info("Online refresh is DONE.");
 	}
 
-	private void refresh(DSSFileLoader dssFileLoader) {
+	private void refresh(DSSFileLoader dssFileLoader, boolean online) {
 
 		List<TLSource> currentTLSources = new ArrayList<>();
 		if (trustedListSources != null) {
@@ -280,7 +434,7 @@ public class TLValidationJob {
 		if (Utils.isArrayNotEmpty(listOfTrustedListSources)) {
 			final List<LOTLSource> lotlList = Arrays.asList(listOfTrustedListSources);
 
-			executeLOTLSourcesAnalysis(lotlList, dssFileLoader);
+			executeLOTLSourcesAnalysis(lotlList, dssFileLoader, online);
 
 			// Check LOTLs consistency
 
@@ -289,7 +443,7 @@ public class TLValidationJob {
 		}
 
 		// And then, execute all TLs (manual configs + TLs from LOTLs)
-		executeTLSourcesAnalysis(currentTLSources, dssFileLoader);
+		executeTLSourcesAnalysis(currentTLSources, dssFileLoader, online);
 
 		// alerts()
 		if (Utils.isCollectionNotEmpty(lotlAlerts) || Utils.isCollectionNotEmpty(tlAlerts)) {
@@ -312,35 +466,57 @@ public class TLValidationJob {
 			LOG.info("Dump after synchronization");
 			cacheAccessFactory.getDebugCacheAccess().dump();
 		}
+
+		storeSnapshot();
 	}
 
-	private void executeLOTLSourcesAnalysis(List<LOTLSource> lotlSources, DSSFileLoader dssFileLoader) {
+	private void executeLOTLSourcesAnalysis(List<LOTLSource> lotlSources, DSSFileLoader dssFileLoader, boolean online) {
 		checkNoDuplicateUrls(lotlSources);
 
-		int nbLOTLSources = lotlSources.size();
+		Map<CacheKey, ParsingCacheDTO> oldParsingValues = extractParsingCache(lotlSources);
+		// the changes of the LOTLs completed in the background are applied now
+		for (LOTLSource lotlSource : lotlSources) {
+			final CacheKey cacheKey = lotlSource.getCacheKey();
+			if (parsingValuesOfTimedOutLOTLs.containsKey(cacheKey) && !scheduler.isRunning(cacheKey)) {
+				oldParsingValues.put(cacheKey, parsingValuesOfTimedOutLOTLs.remove(cacheKey));
+			}
+		}
+
+		final List<LOTLSource> lotlSourcesToAnalyze = lotlSources.stream()
+				.filter(s -> scheduler.isToBeAnalyzed(s.getCacheKey(), online)).collect(Collectors.toList());
 
-		LOG.info("Running analysis for {} LOTLSource(s)", nbLOTLSources);
+		int nbLOTLSources = lotlSourcesToAnalyze.size();
 
-		Map<CacheKey, ParsingCacheDTO> oldParsingValues = extractParsingCache(lotlSources);
+		LOG.info("Running analysis for {} LOTLSource(s)", nbLOTLSources);
 
 		CountDownLatch latch = new CountDownLatch(nbLOTLSources);
-		for (LOTLSource lotlSource : lotlSources) {
+		for (LOTLSource lotlSource : lotlSourcesToAnalyze) {
 			final CacheAccessByKey cacheAccess = cacheAccessFactory.getCacheAccess(lotlSource.getCacheKey());
+			final AbstractRunnableAnalysis analysis;
 			if (lotlSource.isPivotSupport()) {
-				executorService.submit(new LOTLWithPivotsAnalysis(lotlSource, cacheAccess, dssFileLoader, cacheAccessFactory, latch));
+				analysis = new LOTLWithPivotsAnalysis(lotlSource, cacheAccess, dssFileLoader, cacheAccessFactory, latch);
 			} else {
-				executorService.submit(new LOTLAnalysis(lotlSource, cacheAccess, dssFileLoader, latch));
+				analysis = new LOTLAnalysis(lotlSource, cacheAccess, dssFileLoader, latch);
 			}
+			analysis.setStreamingParsing(streamingParsing);
+			scheduler.submit(executorService, lotlSource.getCacheKey(), analysis, cacheAccessFactory.getReadOnlyCacheAccess());
 		}
 
 		try {
-			latch.await();
+			scheduler.await(latch, getCacheKeys(lotlSourcesToAnalyze), cacheAccessFactory.getReadOnlyCacheAccess(), online);
 			LOG.info("Analysis is DONE for {} LOTLSource(s)", nbLOTLSources);
 		} catch (InterruptedException e) {
 			LOG.error("Interruption in the LOTLSource process", e);
 			Thread.currentThread().interrupt();
 		}
 
+		for (LOTLSource lotlSource : lotlSourcesToAnalyze) {
+			final CacheKey cacheKey = lotlSource.getCacheKey();
+			if (scheduler.isRunning(cacheKey)) {
+				parsingValuesOfTimedOutLOTLs.put(cacheKey, oldParsingValues.get(cacheKey));
+			}
+		}
+
 		Map<CacheKey, ParsingCacheDTO> newParsingValues = extractParsingCache(lotlSources);
 
 		// Analyze introduced changes for TLs + adapt cache for TLs (EXPIRED)
@@ -358,25 +534,30 @@ public class TLValidationJob {
         return lotlSources.stream().collect(Collectors.toMap(LOTLSource::getCacheKey, s -> readOnlyCacheAccess.getParsingCacheDTO(s.getCacheKey())));
     }
 
-	private void executeTLSourcesAnalysis(List<TLSource> tlSources, DSSFileLoader dssFileLoader) {
-		int nbTLSources = tlSources.size();
+	private void executeTLSourcesAnalysis(List<TLSource> tlSources, DSSFileLoader dssFileLoader, boolean online) {
+		checkNoDuplicateUrls(tlSources);
+
+		final List<TLSource> tlSourcesToAnalyze = tlSources.stream()
+				.filter(s -> scheduler.isToBeAnalyzed(s.getCacheKey(), online)).collect(Collectors.toList());
+
+		int nbTLSources = tlSourcesToAnalyze.size();
 		if (nbTLSources == 0) {
 			LOG.info("No TL to be analyzed");
 			return;
 		}
 
-		checkNoDuplicateUrls(tlSources);
-
 		LOG.info("Running analysis for {} TLSource(s)", nbTLSources);
 
 		CountDownLatch latch = new CountDownLatch(nbTLSources);
-		for (TLSource tlSource : tlSources) {
+		for (TLSource tlSource : tlSourcesToAnalyze) {
 			final CacheAccessByKey cacheAccess = cacheAccessFactory.getCacheAccess(tlSource.getCacheKey());
-			executorService.submit(new TLAnalysis(tlSource, cacheAccess, dssFileLoader, latch));
+			final TLAnalysis analysis = new TLAnalysis(tlSource, cacheAccess, dssFileLoader, latch);
+			analysis.setStreamingParsing(streamingParsing);
+			scheduler.submit(executorService, tlSource.getCacheKey(), analysis, cacheAccessFactory.getReadOnlyCacheAccess());
 		}
 
 		try {
-			latch.await();
+			scheduler.await(latch, getCacheKeys(tlSourcesToAnalyze), cacheAccessFactory.getReadOnlyCacheAccess(), online);
 			LOG.info("Analysis is DONE for {} TLSource(s)", nbTLSources);
 		} catch (InterruptedException e) {
 			LOG.error("Interruption in the TLAnalysis process", e);
@@ -392,9 +573,36 @@ public class TLValidationJob {
 
 		TrustedListCertificateSourceSynchronizer synchronizer = new TrustedListCertificateSourceSynchronizer(trustedListSources, listOfTrustedListSources,
 				trustedListCertificateSource, synchronizationStrategy, cacheAccessFactory.getSynchronizerCacheAccess());
+		synchronizer.setAnalysisTimingInfos(scheduler.getAnalysisTimingInfos());
 		synchronizer.sync();
 	}
 
+	private void storeSnapshot() {
+		if (snapshotFile == null) {
+			LOG.debug("Snapshot file is not defined");
+			return;
+		}
+		if (Utils.isArrayEmpty(snapshotIntegrityKey)) {
+			LOG.warn("The snapshot is not stored : the snapshotIntegrityKey is not defined");
+			return;
+		}
+
+		Map<CertificateToken, List<TrustProperties>> trustPropertiesByCertificates = null;
+		if (trustedListCertificateSource != null) {
+			trustPropertiesByCertificates = new HashMap<>();
+			for (CertificateToken certificateToken : trustedListCertificateSource.getCertificates()) {
+				trustPropertiesByCertificates.put(certificateToken, new ArrayList<>(trustedListCertificateSource.getTrustServices(certificateToken)));
+			}
+		}
+		try {
+			new TLValidationJobSnapshotFile(snapshotFile, snapshotIntegrityKey).write(
+					new TLValidationJobSnapshot(cacheAccessFactory.getSnapshotCacheAccess().createSnapshot(), trustPropertiesByCertificates));
+			LOG.info("The snapshot has been stored in the file '{}'", snapshotFile.getAbsolutePath());
+		} catch (Exception e) {
+			LOG.warn("Unable to store the snapshot in the file '{}' : {}", snapshotFile.getAbsolutePath(), e.getMessage(), e);
+		}
+	}
+
 	private void executeCacheCleaner() {
 		if (cacheCleaner == null) {
 			LOG.debug("Cache cleaner is not defined");
@@ -410,6 +618,18 @@ public class TLValidationJob {
 		LOG.info("CacheCleaner process is DONE");
 	}
 
+	private List<CacheKey> getCacheKeys(List<? extends TLSource> sources) {
+		return sources.stream().map(TLSource::getCacheKey).collect(Collectors.toList());
+	}
+
+	private static ExecutorService newDefaultExecutorService() {
+		// bounded number of threads, released when idle (as with a cached thread pool)
+		final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(DEFAULT_MAX_NUMBER_OF_THREADS,
+				DEFAULT_MAX_NUMBER_OF_THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+		threadPoolExecutor.allowCoreThreadTimeOut(true);
+		return threadPoolExecutor;
+	}
+
 	/**
 	 * Duplicate urls mean cache conflict.
 	 * 
@@ -0,0 +1,90 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.tsl.TrustProperties;
+import eu.europa.esig.dss.tsl.cache.CacheSnapshot;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contains the state of a {@code TLValidationJob} (the cache entries and the content of the synchronized
+ * {@code TrustedListsCertificateSource}), allowing to restore it after a restart without parsing and
+ * validating the LOTLs/TLs again
+ */
+public class TLValidationJobSnapshot implements Serializable {
+
+	private static final long serialVersionUID = -4396925063473183095L;
+
+	/** The creation time of the snapshot */
+	private final Date creationTime;
+
+	/** The cache entries */
+	private final CacheSnapshot cacheSnapshot;
+
+	/** The content of the TrustedListsCertificateSource (null if no certificate source is synchronized) */
+	private final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCertificates;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param cacheSnapshot {@link CacheSnapshot}
+	 * @param trustPropertiesByCertificates the content of the TrustedListsCertificateSource (can be null)
+	 */
+	public TLValidationJobSnapshot(final CacheSnapshot cacheSnapshot,
+								   final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCertificates) {
+		this.creationTime = new Date();
+		this.cacheSnapshot = cacheSnapshot;
+		this.trustPropertiesByCertificates = trustPropertiesByCertificates;
+	}
+
+	/**
+	 * Gets the creation time of the snapshot
+	 *
+	 * @return {@link Date}
+	 */
+	public Date getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * Gets the cache entries
+	 *
+	 * @return {@link CacheSnapshot}
+	 */
+	public CacheSnapshot getCacheSnapshot() {
+		return cacheSnapshot;
+	}
+
+	/**
+	 * Gets the content of the TrustedListsCertificateSource
+	 *
+	 * @return a map between {@link CertificateToken}s and their {@link TrustProperties}, null if not stored
+	 */
+	public Map<CertificateToken, List<TrustProperties>> getTrustPropertiesByCertificates() {
+		return trustPropertiesByCertificates;
+	}
+
+}
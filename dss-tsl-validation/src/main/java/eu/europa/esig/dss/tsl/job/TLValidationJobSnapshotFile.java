@@ -0,0 +1,265 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes a {@code TLValidationJobSnapshot} from/to a file.
+ *
+ * The snapshot is serialized and compressed with GZIP. The compressed content is protected by an HMAC-SHA256
+ * computed with the given secret key. The integrity is verified before the content is deserialized,
+ * and only the classes composing a snapshot are accepted during the deserialization.
+ */
+public class TLValidationJobSnapshotFile {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TLValidationJobSnapshotFile.class);
+
+	/** Identifies the file format */
+	private static final String MAGIC = "DSS-TL-SNAPSHOT";
+
+	/** The version of the file format */
+	private static final int VERSION = 1;
+
+	/** The MAC algorithm protecting the content */
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	/** The prefixes of the class names accepted during the deserialization of a snapshot */
+	private static final String[] ALLOWED_CLASS_PREFIXES = {
+			"eu.europa.esig.dss.", "eu.europa.esig.trustedlist.enums.", "java.util.Collections$Unmodifiable",
+			"java.util.Collections$Empty", "java.util.concurrent.ConcurrentHashMap", "java.util.concurrent.locks."
+	};
+
+	/** The JDK classes accepted during the deserialization of a snapshot */
+	private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+			"java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short", "java.lang.Integer",
+			"java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.Number", "java.lang.Enum",
+			"java.lang.String", "java.math.BigInteger", "java.util.ArrayList", "java.util.LinkedList",
+			"java.util.Arrays$ArrayList", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.HashSet",
+			"java.util.LinkedHashSet", "java.util.EnumMap", "java.util.Date",
+			"java.security.cert.Certificate$CertificateRep", "javax.security.auth.x500.X500Principal"));
+
+	/** The file containing the snapshot */
+	private final File file;
+
+	/** The secret key used to compute the HMAC */
+	private final byte[] integrityKey;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param file {@link File} containing the snapshot
+	 * @param integrityKey the secret key to compute the HMAC-SHA256 of the content
+	 */
+	public TLValidationJobSnapshotFile(final File file, final byte[] integrityKey) {
+		Objects.requireNonNull(file, "The snapshot file cannot be null!");
+		if (Utils.isArrayEmpty(integrityKey)) {
+			throw new IllegalArgumentException("The integrity key of the snapshot file shall be defined!");
+		}
+		this.file = file;
+		this.integrityKey = integrityKey;
+	}
+
+	/**
+	 * Checks if the snapshot file exists
+	 *
+	 * @return TRUE if the file exists, FALSE otherwise
+	 */
+	public boolean exists() {
+		return file.exists();
+	}
+
+	/**
+	 * Writes the snapshot. The file is replaced atomically, when supported by the file system.
+	 *
+	 * @param snapshot {@link TLValidationJobSnapshot} to write
+	 */
+	public void write(TLValidationJobSnapshot snapshot) {
+		final byte[] content = serialize(snapshot);
+		final File parentDirectory = file.getAbsoluteFile().getParentFile();
+		if (parentDirectory != null && !parentDirectory.exists() && !parentDirectory.mkdirs()) {
+			throw new DSSException(String.format("Unable to create the directory '%s'", parentDirectory));
+		}
+		File tempFile = null;
+		try {
+			tempFile = File.createTempFile(file.getName(), ".tmp", parentDirectory);
+			try (OutputStream os = Files.newOutputStream(tempFile.toPath()); DataOutputStream dos = new DataOutputStream(os)) {
+				dos.writeUTF(MAGIC);
+				dos.writeInt(VERSION);
+				final byte[] integrityValue = computeIntegrityValue(content);
+				dos.writeInt(integrityValue.length);
+				dos.write(integrityValue);
+				dos.write(content);
+			}
+			moveFile(tempFile, file);
+			LOG.debug("The snapshot has been written to the file '{}' ({} bytes)", file.getAbsolutePath(), file.length());
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the snapshot to the file '%s' : %s", file, e.getMessage()), e);
+		} finally {
+			if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+				LOG.warn("Unable to delete the temporary file '{}'", tempFile.getAbsolutePath());
+			}
+		}
+	}
+
+	/**
+	 * Reads the snapshot after the verification of its integrity
+	 *
+	 * @return {@link TLValidationJobSnapshot}
+	 */
+	public TLValidationJobSnapshot read() {
+		final byte[] content;
+		final byte[] integrityValue;
+		try (InputStream is = Files.newInputStream(file.toPath()); DataInputStream dis = new DataInputStream(is)) {
+			if (!MAGIC.equals(dis.readUTF())) {
+				throw new DSSException(String.format("The file '%s' is not a TL validation job snapshot", file));
+			}
+			final int version = dis.readInt();
+			if (VERSION != version) {
+				throw new DSSException(String.format("The version '%s' of the snapshot is not supported", version));
+			}
+			integrityValue = new byte[dis.readInt()];
+			dis.readFully(integrityValue);
+			content = Utils.toByteArray(dis);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to read the snapshot from the file '%s' : %s", file, e.getMessage()), e);
+		}
+		if (!MessageDigest.isEqual(integrityValue, computeIntegrityValue(content))) {
+			throw new DSSException(String.format("The integrity of the snapshot file '%s' cannot be verified", file));
+		}
+		return deserialize(content);
+	}
+
+	private byte[] serialize(TLValidationJobSnapshot snapshot) {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			try (GZIPOutputStream gzos = new GZIPOutputStream(baos); ObjectOutputStream oos = new ObjectOutputStream(gzos)) {
+				oos.writeObject(snapshot);
+			}
+			return baos.toByteArray();
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to serialize the snapshot : %s", e.getMessage()), e);
+		}
+	}
+
+	private TLValidationJobSnapshot deserialize(byte[] content) {
+		try (GZIPInputStream gzis = new GZIPInputStream(new ByteArrayInputStream(content));
+				ObjectInputStream ois = new SnapshotObjectInputStream(gzis)) {
+			return (TLValidationJobSnapshot) ois.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			throw new DSSException(String.format("Unable to deserialize the snapshot : %s", e.getMessage()), e);
+		}
+	}
+
+	private byte[] computeIntegrityValue(byte[] content) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(integrityKey, HMAC_ALGORITHM));
+			return mac.doFinal(content);
+		} catch (GeneralSecurityException e) {
+			throw new DSSException(String.format("Unable to compute the HMAC of the snapshot : %s", e.getMessage()), e);
+		}
+	}
+
+	private void moveFile(File source, File target) throws IOException {
+		try {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			LOG.debug("Atomic move is not supported : {}", e.getMessage());
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Restricts the deserialized classes to the ones composing a {@code TLValidationJobSnapshot}
+	 */
+	private static final class SnapshotObjectInputStream extends ObjectInputStream {
+
+		private SnapshotObjectInputStream(InputStream is) throws IOException {
+			super(is);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			if (!isAllowed(desc.getName())) {
+				throw new InvalidClassException(desc.getName(), "The class is not allowed within a snapshot");
+			}
+			return super.resolveClass(desc);
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+			throw new InvalidClassException("Proxy classes are not allowed within a snapshot");
+		}
+
+		private static boolean isAllowed(String className) {
+			String componentName = className;
+			while (componentName.startsWith("[")) {
+				componentName = componentName.substring(1);
+			}
+			if (componentName.startsWith("L") && componentName.endsWith(";")) {
+				componentName = componentName.substring(1, componentName.length() - 1);
+			} else if (componentName.length() == 1) {
+				// array of primitives
+				return true;
+			}
+			if (ALLOWED_CLASSES.contains(componentName)) {
+				return true;
+			}
+			for (String prefix : ALLOWED_CLASS_PREFIXES) {
+				if (componentName.startsWith(prefix)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
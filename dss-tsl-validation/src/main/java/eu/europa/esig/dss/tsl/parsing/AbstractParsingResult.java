@@ -30,6 +30,8 @@ import java.util.List;
  */
 public abstract class AbstractParsingResult implements CachedResult {
 
+	private static final long serialVersionUID = 3035163940400459927L;
+
 	/** The LOTL/TL sequence number */
 	private int sequenceNumber;
 
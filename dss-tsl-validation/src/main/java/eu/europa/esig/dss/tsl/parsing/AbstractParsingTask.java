@@ -28,6 +28,7 @@ import eu.europa.esig.trustedlist.jaxb.tsl.NextUpdateType;
 import eu.europa.esig.trustedlist.jaxb.tsl.NonEmptyURIListType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TSLSchemeInformationType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TrustStatusListType;
+import org.w3c.dom.Document;
 
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.io.InputStream;
@@ -45,6 +46,15 @@ public abstract class AbstractParsingTask {
 	/** The document to parse */
 	private final DSSDocument document;
 
+	/**
+	 * Defines whether the document is parsed with a StAX cursor, unmarshalling the trust service providers
+	 * one by one, instead of building the complete JAXB tree
+	 */
+	private boolean streaming = false;
+
+	/** The already built DOM of the document (optional) */
+	private Document rootElement;
+
 	/**
 	 * Default constructor
 	 *
@@ -55,22 +65,88 @@ public abstract class AbstractParsingTask {
 		this.document = document;
 	}
 
+	/**
+	 * Sets whether the document shall be parsed with a StAX cursor. When enabled, the whole JAXB tree is never
+	 * built: the scheme information and each trust service provider are unmarshalled (and converted) one at a time,
+	 * and the signature is skipped. Like the JAXB unmarshalling, which only stops on fatal errors, the parsing
+	 * fails on a malformed document but does not reject a document which does not conform to the XSD schema.
+	 *
+	 * Default : false (the whole document is unmarshalled)
+	 *
+	 * @param streaming true if the streaming parsing shall be used
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Gets whether the streaming parsing is enabled
+	 *
+	 * @return TRUE if the document is parsed with a StAX cursor
+	 */
+	protected boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Sets the already built DOM of the document. When defined, the JAXB objects are unmarshalled from the DOM
+	 * instead of parsing the document again. Not used with the streaming parsing.
+	 *
+	 * @param rootElement {@link Document} built from the document
+	 */
+	public void setRootElement(Document rootElement) {
+		this.rootElement = rootElement;
+	}
+
 	/**
 	 * Gets the {@code TrustStatusListType}
 	 *
 	 * @return {@link TrustStatusListType}
 	 */
 	protected TrustStatusListType getJAXBObject() {
+		if (rootElement != null) {
+			try {
+				return TrustedListFacade.newFacade().getUnmarshaller(true).unmarshal(rootElement, TrustStatusListType.class).getValue();
+			} catch (Exception e) {
+				throw parsingException(e);
+			}
+		}
 		try (InputStream is = document.openStream()) {
 			return TrustedListFacade.newFacade().unmarshall(is);
 		} catch (Exception e) {
-			String message = "Unable to parse binaries. Reason : '%s'";
-			// get complete error message in case if the message string is not defined directly
-			if (e.getMessage() == null && e.getCause() != null) {
-				throw new DSSException(String.format(message, e.getCause().getMessage()), e);
-			}
-			throw new DSSException(String.format(message, e.getMessage()), e);
+			throw parsingException(e);
+		}
+	}
+
+	/**
+	 * Returns a StAX reader of the document. The returned reader shall be closed.
+	 *
+	 * @return {@link TrustedListStreamReader}
+	 */
+	protected TrustedListStreamReader getStreamReader() {
+		try {
+			return new TrustedListStreamReader(document);
+		} catch (Exception e) {
+			throw parsingException(e);
+		}
+	}
+
+	/**
+	 * Wraps the exception thrown during the parsing
+	 *
+	 * @param e {@link Exception}
+	 * @return {@link DSSException}
+	 */
+	protected DSSException parsingException(Exception e) {
+		if (e instanceof DSSException) {
+			return (DSSException) e;
+		}
+		String message = "Unable to parse binaries. Reason : '%s'";
+		// get complete error message in case if the message string is not defined directly
+		if (e.getMessage() == null && e.getCause() != null) {
+			return new DSSException(String.format(message, e.getCause().getMessage()), e);
 		}
+		return new DSSException(String.format(message, e.getMessage()), e);
 	}
 
 	/**
@@ -67,6 +67,17 @@ public class LOTLParsingTask extends AbstractParsingTask implements Supplier<LOT
 
 		LOTLParsingResult result = new LOTLParsingResult();
 
+		if (isStreaming()) {
+			// the LOTL content is fully defined in the scheme information, the remaining elements are only validated
+			try (TrustedListStreamReader reader = getStreamReader()) {
+				parseSchemeInformation(result, reader.readSchemeInformation());
+				reader.readToEnd();
+			} catch (Exception e) {
+				throw parsingException(e);
+			}
+			return result;
+		}
+
 		TrustStatusListType jaxbObject = getJAXBObject();
 
 		parseSchemeInformation(result, jaxbObject.getSchemeInformation());
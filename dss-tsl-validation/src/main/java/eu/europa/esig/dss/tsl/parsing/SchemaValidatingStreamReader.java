@@ -0,0 +1,149 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.parsing;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+
+/**
+ * Validates the events of a StAX cursor against an XSD schema while they are read.
+ * This allows to validate a document in the same pass as its (partial) unmarshalling.
+ *
+ * An {@code XMLStreamException} is thrown on the first validation error.
+ */
+class SchemaValidatingStreamReader extends StreamReaderDelegate {
+
+	/** The schema validator receiving the events */
+	private final ValidatorHandler validatorHandler;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param reader {@link XMLStreamReader} positioned at the start of the document
+	 * @param schema {@link Schema} to validate against
+	 * @throws XMLStreamException if the validation cannot be started
+	 */
+	SchemaValidatingStreamReader(XMLStreamReader reader, Schema schema) throws XMLStreamException {
+		super(reader);
+		// the default error handler throws on errors
+		this.validatorHandler = schema.newValidatorHandler();
+		try {
+			validatorHandler.startDocument();
+		} catch (SAXException e) {
+			throw new XMLStreamException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public int next() throws XMLStreamException {
+		int event = super.next();
+		try {
+			switch (event) {
+				case XMLStreamConstants.START_ELEMENT:
+					startElement();
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					endElement();
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					validatorHandler.characters(getTextCharacters(), getTextStart(), getTextLength());
+					break;
+				case XMLStreamConstants.END_DOCUMENT:
+					validatorHandler.endDocument();
+					break;
+				default:
+					break;
+			}
+		} catch (SAXException e) {
+			throw new XMLStreamException(e.getMessage(), getLocation(), e);
+		}
+		return event;
+	}
+
+	@Override
+	public int nextTag() throws XMLStreamException {
+		int event = next();
+		while (event == XMLStreamConstants.CHARACTERS && isWhiteSpace() || event == XMLStreamConstants.SPACE
+				|| event == XMLStreamConstants.COMMENT || event == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+			event = next();
+		}
+		if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+			throw new XMLStreamException("A start or an end tag is expected", getLocation());
+		}
+		return event;
+	}
+
+	@Override
+	public String getElementText() throws XMLStreamException {
+		StringBuilder sb = new StringBuilder();
+		int event = next();
+		while (event != XMLStreamConstants.END_ELEMENT) {
+			if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+					|| event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE) {
+				sb.append(getText());
+			} else if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_DOCUMENT) {
+				throw new XMLStreamException("A text only element is expected", getLocation());
+			}
+			event = next();
+		}
+		return sb.toString();
+	}
+
+	private void startElement() throws SAXException {
+		for (int i = 0; i < getNamespaceCount(); i++) {
+			validatorHandler.startPrefixMapping(nullToEmpty(getNamespacePrefix(i)), nullToEmpty(getNamespaceURI(i)));
+		}
+		AttributesImpl attributes = new AttributesImpl();
+		for (int i = 0; i < getAttributeCount(); i++) {
+			attributes.addAttribute(nullToEmpty(getAttributeNamespace(i)), getAttributeLocalName(i),
+					getQualifiedName(getAttributePrefix(i), getAttributeLocalName(i)), getAttributeType(i), getAttributeValue(i));
+		}
+		validatorHandler.startElement(nullToEmpty(getNamespaceURI()), getLocalName(), getQualifiedName(getPrefix(), getLocalName()), attributes);
+	}
+
+	private void endElement() throws SAXException {
+		validatorHandler.endElement(nullToEmpty(getNamespaceURI()), getLocalName(), getQualifiedName(getPrefix(), getLocalName()));
+		for (int i = 0; i < getNamespaceCount(); i++) {
+			validatorHandler.endPrefixMapping(nullToEmpty(getNamespacePrefix(i)));
+		}
+	}
+
+	private String getQualifiedName(String prefix, String localName) {
+		if (prefix == null || prefix.isEmpty()) {
+			return localName;
+		}
+		return prefix + ":" + localName;
+	}
+
+	private String nullToEmpty(String str) {
+		return str != null ? str : "";
+	}
+
+}
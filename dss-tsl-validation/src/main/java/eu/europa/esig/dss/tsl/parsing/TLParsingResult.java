@@ -29,6 +29,8 @@ import java.util.List;
  */
 public class TLParsingResult extends AbstractParsingResult {
 
+	private static final long serialVersionUID = 1246247539454119957L;
+
 	/** List of found trust service providers */
 	private List<TrustServiceProvider> trustServiceProviders;
 
@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.tsl.parsing;
 
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.spi.tsl.TrustServiceProvider;
 import eu.europa.esig.dss.tsl.function.NonEmptyTrustService;
 import eu.europa.esig.dss.tsl.function.converter.TrustServiceProviderConverter;
 import eu.europa.esig.dss.tsl.source.TLSource;
@@ -32,6 +33,7 @@ import eu.europa.esig.trustedlist.jaxb.tsl.TSPType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TrustServiceProviderListType;
 import eu.europa.esig.trustedlist.jaxb.tsl.TrustStatusListType;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -61,6 +63,10 @@ public class TLParsingTask extends AbstractParsingTask implements Supplier<TLPar
 	@Override
 	public TLParsingResult get() {
 
+		if (isStreaming()) {
+			return getWithStreamReader();
+		}
+
 		TLParsingResult result = new TLParsingResult();
 
 		TrustStatusListType jaxbObject = getJAXBObject();
@@ -72,6 +78,31 @@ public class TLParsingTask extends AbstractParsingTask implements Supplier<TLPar
 		return result;
 	}
 
+	private TLParsingResult getWithStreamReader() {
+
+		TLParsingResult result = new TLParsingResult();
+
+		try (TrustedListStreamReader reader = getStreamReader()) {
+
+			parseSchemeInformation(result, reader.readSchemeInformation());
+
+			TrustServiceProviderConverter converter = new TrustServiceProviderConverter().setTerritory(result.getTerritory());
+			List<TrustServiceProvider> trustServiceProviders = new ArrayList<>();
+			TSPType tspType;
+			while ((tspType = reader.nextTrustServiceProvider()) != null) {
+				if (filter(tspType)) {
+					trustServiceProviders.add(converter.apply(tspType));
+				}
+			}
+			result.setTrustServiceProviders(Collections.unmodifiableList(trustServiceProviders));
+
+		} catch (Exception e) {
+			throw parsingException(e);
+		}
+
+		return result;
+	}
+
 	private void parseSchemeInformation(TLParsingResult result, TSLSchemeInformationType schemeInformation) {
 
 		commonParseSchemeInformation(result, schemeInformation);
@@ -89,31 +120,32 @@ public class TLParsingTask extends AbstractParsingTask implements Supplier<TLPar
 	}
 
 	private List<TSPType> filter(List<TSPType> trustServiceProviders) {
+		return trustServiceProviders.stream().filter(this::filter).collect(Collectors.toList());
+	}
 
-		List<TSPType> filteredTSP = trustServiceProviders;
+	private boolean filter(TSPType tspType) {
 
 		// 1. Filter the TSP with the predicate
-		if (tlSource.getTrustServiceProviderPredicate() != null) {
-			filteredTSP = filteredTSP.stream().filter(tlSource.getTrustServiceProviderPredicate()).collect(Collectors.toList());
+		if (tlSource.getTrustServiceProviderPredicate() != null && !tlSource.getTrustServiceProviderPredicate().test(tspType)) {
+			return false;
 		}
 
-		// 2. Foreach TSP, filter the trust services with the predicate
+		// 2. Filter the trust services with the predicate
 		if (tlSource.getTrustServicePredicate() != null) {
-			for (TSPType tspType : filteredTSP) {
-				TSPServicesListType tspServices = tspType.getTSPServices();
-				if (tspServices != null && Utils.isCollectionNotEmpty(tspServices.getTSPService())) {
-					List<TSPServiceType> filteredTrustServices = tspServices.getTSPService().stream().filter(tlSource.getTrustServicePredicate())
-							.collect(Collectors.toList());
-					TSPServicesListType newTspServices = new TSPServicesListType();
-					if (!filteredTrustServices.isEmpty()) {
-						newTspServices.getTSPService().addAll(filteredTrustServices);
-					}
-					tspType.setTSPServices(newTspServices);
+			TSPServicesListType tspServices = tspType.getTSPServices();
+			if (tspServices != null && Utils.isCollectionNotEmpty(tspServices.getTSPService())) {
+				List<TSPServiceType> filteredTrustServices = tspServices.getTSPService().stream().filter(tlSource.getTrustServicePredicate())
+						.collect(Collectors.toList());
+				TSPServicesListType newTspServices = new TSPServicesListType();
+				if (!filteredTrustServices.isEmpty()) {
+					newTspServices.getTSPService().addAll(filteredTrustServices);
 				}
+				tspType.setTSPServices(newTspServices);
 			}
 		}
 
 		// 3. Remove TSP with empty trust services
-		return filteredTSP.stream().filter(new NonEmptyTrustService()).collect(Collectors.toList());
+		return new NonEmptyTrustService().test(tspType);
 	}
+
 }
@@ -0,0 +1,180 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.parsing;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.trustedlist.TrustedListUtils;
+import eu.europa.esig.trustedlist.jaxb.tsl.TSLSchemeInformationType;
+import eu.europa.esig.trustedlist.jaxb.tsl.TSPType;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a LOTL/TL with a StAX cursor and unmarshalls only the elements required by the parsing tasks
+ * (the scheme information and each trust service provider, one at a time).
+ * The other elements (e.g. the signature) are skipped without being loaded in memory.
+ *
+ * The whole document is validated against the XSD schema while it is read.
+ */
+class TrustedListStreamReader implements Closeable {
+
+	/** The namespace of the trusted list elements */
+	private static final String TSL_NAMESPACE = "http://uri.etsi.org/02231/v2#";
+
+	/** The root element */
+	private static final String TRUST_SERVICE_STATUS_LIST = "TrustServiceStatusList";
+
+	/** The scheme information element */
+	private static final String SCHEME_INFORMATION = "SchemeInformation";
+
+	/** The list of trust service providers */
+	private static final String TRUST_SERVICE_PROVIDER_LIST = "TrustServiceProviderList";
+
+	/** The trust service provider element */
+	private static final String TRUST_SERVICE_PROVIDER = "TrustServiceProvider";
+
+	/** The stream of the document */
+	private final InputStream is;
+
+	/** The StAX cursor */
+	private final XMLStreamReader reader;
+
+	/** The unmarshaller used for the extracted elements */
+	private final Unmarshaller unmarshaller;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param document {@link DSSDocument} LOTL/TL to read
+	 * @throws XMLStreamException if the document cannot be read
+	 * @throws JAXBException if the unmarshaller cannot be created
+	 * @throws SAXException if the XSD schema cannot be loaded
+	 */
+	TrustedListStreamReader(DSSDocument document) throws XMLStreamException, JAXBException, SAXException {
+		this.unmarshaller = TrustedListUtils.getInstance().getJAXBContext().createUnmarshaller();
+		this.is = document.openStream();
+		try {
+			XMLInputFactory xif = XMLInputFactory.newFactory();
+			xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			this.reader = new SchemaValidatingStreamReader(xif.createXMLStreamReader(is), TrustedListUtils.getInstance().getSchema());
+		} catch (XMLStreamException | SAXException | RuntimeException e) {
+			Utils.closeQuietly(is);
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the scheme information. This method shall be called before {@code nextTrustServiceProvider()}.
+	 *
+	 * @return {@link TSLSchemeInformationType}
+	 * @throws XMLStreamException if the document cannot be read
+	 * @throws JAXBException if the scheme information cannot be unmarshalled
+	 */
+	TSLSchemeInformationType readSchemeInformation() throws XMLStreamException, JAXBException {
+		while (reader.getEventType() != XMLStreamConstants.END_DOCUMENT) {
+			if (reader.isStartElement() && TSL_NAMESPACE.equals(reader.getNamespaceURI())) {
+				String localName = reader.getLocalName();
+				if (SCHEME_INFORMATION.equals(localName)) {
+					return unmarshaller.unmarshal(reader, TSLSchemeInformationType.class).getValue();
+				} else if (!TRUST_SERVICE_STATUS_LIST.equals(localName)) {
+					break;
+				}
+			}
+			reader.next();
+		}
+		throw new XMLStreamException("The SchemeInformation element is not found!");
+	}
+
+	/**
+	 * Reads the next trust service provider
+	 *
+	 * @return {@link TSPType} or null if there is no more trust service provider
+	 * @throws XMLStreamException if the document cannot be read
+	 * @throws JAXBException if the trust service provider cannot be unmarshalled
+	 */
+	TSPType nextTrustServiceProvider() throws XMLStreamException, JAXBException {
+		while (reader.getEventType() != XMLStreamConstants.END_DOCUMENT) {
+			if (reader.isStartElement()) {
+				String localName = reader.getLocalName();
+				boolean tslElement = TSL_NAMESPACE.equals(reader.getNamespaceURI());
+				if (tslElement && TRUST_SERVICE_PROVIDER.equals(localName)) {
+					return unmarshaller.unmarshal(reader, TSPType.class).getValue();
+				} else if (!tslElement || !(TRUST_SERVICE_STATUS_LIST.equals(localName) || TRUST_SERVICE_PROVIDER_LIST.equals(localName))) {
+					// the signature and unexpected elements are not loaded
+					skipElement();
+					continue;
+				}
+			}
+			reader.next();
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the remaining content of the document, in order to complete its validation
+	 *
+	 * @throws XMLStreamException if the document cannot be read or is not valid
+	 */
+	void readToEnd() throws XMLStreamException {
+		while (reader.getEventType() != XMLStreamConstants.END_DOCUMENT) {
+			reader.next();
+		}
+	}
+
+	/**
+	 * Moves the cursor after the end of the current element
+	 */
+	private void skipElement() throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+		reader.next();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			is.close();
+		}
+	}
+
+}
@@ -32,6 +32,7 @@ import eu.europa.esig.dss.tsl.download.XmlDownloadTask;
 import eu.europa.esig.dss.tsl.parsing.LOTLParsingTask;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.tsl.validation.TLValidatorTask;
+import org.w3c.dom.Document;
 
 /**
  * Processes the LOTL/TL validation job (download - parse - validate)
@@ -46,6 +47,15 @@ public abstract class AbstractAnalysis  {
 
 	/** The file loader */
 	private final DSSFileLoader dssFileLoader;
+
+	/** Defines whether the LOTL/TL are parsed with a StAX cursor */
+	private boolean streamingParsing = false;
+
+	/** The downloaded document */
+	private DSSDocument downloadedDocument;
+
+	/** The DOM of the downloaded document, shared by the download, the parsing and the validation */
+	private Document downloadedRootElement;
 	
 	/**
 	 * Default constructor
@@ -58,6 +68,25 @@ public abstract class AbstractAnalysis  {
 		this.dssFileLoader = dssFileLoader;
 	}
 
+	/**
+	 * Sets whether the LOTL/TL shall be parsed with a StAX cursor instead of a complete JAXB unmarshalling
+	 *
+	 * @param streamingParsing true if the streaming parsing shall be used
+	 * @see eu.europa.esig.dss.tsl.parsing.AbstractParsingTask#setStreaming(boolean)
+	 */
+	public void setStreamingParsing(boolean streamingParsing) {
+		this.streamingParsing = streamingParsing;
+	}
+
+	/**
+	 * Gets whether the LOTL/TL are parsed with a StAX cursor
+	 *
+	 * @return TRUE if the streaming parsing is used
+	 */
+	protected boolean isStreamingParsing() {
+		return streamingParsing;
+	}
+
 	/**
 	 * Downloads the document by url
 	 *
@@ -76,6 +105,8 @@ public abstract class AbstractAnalysis  {
 				cacheAccess.expireValidation();
 			}
 			document = downloadResult.getDSSDocument();
+			downloadedDocument = document;
+			downloadedRootElement = downloadTask.getRootElement();
 		} catch (Exception e) {
 			// wrapped exception
 			LOG.error(e.getMessage());
@@ -93,6 +124,19 @@ public abstract class AbstractAnalysis  {
 		return cacheAccess;
 	}
 
+	/**
+	 * Gets the DOM built at the download of the document, to avoid parsing it again
+	 *
+	 * @param document {@link DSSDocument}
+	 * @return {@link Document} if the document has been downloaded by this analysis, null otherwise
+	 */
+	protected Document getRootElement(DSSDocument document) {
+		if (document != null && document == downloadedDocument) {
+			return downloadedRootElement;
+		}
+		return null;
+	}
+
 	/**
 	 * Parses the document
 	 *
@@ -105,6 +149,8 @@ public abstract class AbstractAnalysis  {
 			try {
 				LOG.debug("Parsing LOTL with cache key '{}'...", source.getCacheKey().getKey());
 				LOTLParsingTask parsingTask = new LOTLParsingTask(document, source);
+				parsingTask.setStreaming(streamingParsing);
+				parsingTask.setRootElement(getRootElement(document));
 				cacheAccess.update(parsingTask.get());
 			} catch (Exception e) {
 				LOG.error("Cannot parse the LOTL with the cache key '{}' : {}", source.getCacheKey().getKey(), e.getMessage());
@@ -125,6 +171,7 @@ public abstract class AbstractAnalysis  {
 			try {
 				LOG.debug("Validating the TL/LOTL with cache key '{}'...", cacheAccess.getCacheKey().getKey());
 				TLValidatorTask validationTask = new TLValidatorTask(document, certificateSource);
+				validationTask.setRootElement(getRootElement(document));
 				cacheAccess.update(validationTask.get());
 			} catch (Exception e) {
 				LOG.error("Cannot validate the TL/LOTL with the cache key '{}' : {}", cacheAccess.getCacheKey().getKey(), e.getMessage());
@@ -25,6 +25,7 @@ import eu.europa.esig.dss.tsl.cache.access.CacheAccessByKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Date;
 import java.util.concurrent.CountDownLatch;
 
 /**
@@ -40,6 +41,12 @@ public abstract class AbstractRunnableAnalysis extends AbstractAnalysis implemen
 	/** The tasks counter */
 	private final CountDownLatch latch;
 
+	/** The time when the analysis started */
+	private volatile Date startTime;
+
+	/** The time when the analysis ended */
+	private volatile Date endTime;
+
 	/**
 	 * Default constructor
 	 *
@@ -57,14 +64,34 @@ public abstract class AbstractRunnableAnalysis extends AbstractAnalysis implemen
 	 */
 	protected abstract void doAnalyze();
 
+	/**
+	 * Returns the time when the analysis started
+	 *
+	 * @return {@link Date}, null if the analysis is not started yet
+	 */
+	public Date getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Returns the time when the analysis ended
+	 *
+	 * @return {@link Date}, null if the analysis is not completed
+	 */
+	public Date getEndTime() {
+		return endTime;
+	}
+
 	@Override
 	public void run() {
+		startTime = new Date();
 		try {
 			this.doAnalyze();
 		} catch (final Throwable exception) {
 			// NOTE: Throwable shall be caught
 			LOG.error(LOG_ERROR_PERFORM_ANALYSIS, exception);
 		} finally {
+			endTime = new Date();
 			latch.countDown();
 		}
 	}
@@ -182,7 +182,9 @@ public class LOTLWithPivotsAnalysis extends AbstractRunnableAnalysis implements
 			pivotSource.setLotlPredicate(lotlSource.getLotlPredicate());
 			pivotSource.setTlPredicate(lotlSource.getTlPredicate());
 			pivotSource.setPivotSupport(lotlSource.isPivotSupport());
-			futures.put(pivotUrl, executorService.submit((Callable<PivotProcessingResult>)new PivotProcessing(pivotSource, pivotCacheAccess, dssFileLoader)));
+			PivotProcessing pivotProcessing = new PivotProcessing(pivotSource, pivotCacheAccess, dssFileLoader);
+			pivotProcessing.setStreamingParsing(isStreamingParsing());
+			futures.put(pivotUrl, executorService.submit((Callable<PivotProcessingResult>) pivotProcessing));
 		}
 
 		Map<String, PivotProcessingResult> processingResults = new HashMap<>();
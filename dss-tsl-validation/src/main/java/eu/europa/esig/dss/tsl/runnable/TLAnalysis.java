@@ -76,6 +76,8 @@ public class TLAnalysis extends AbstractRunnableAnalysis {
 			try {
 				LOG.debug("Parsing TL with cache key '{}'...", source.getCacheKey().getKey());
 				TLParsingTask parsingTask = new TLParsingTask(document, source);
+				parsingTask.setStreaming(isStreamingParsing());
+				parsingTask.setRootElement(getRootElement(document));
 				cacheAccess.update(parsingTask.get());
 			} catch (Exception e) {
 				LOG.error("Cannot parse the TL with the cache key '{}' : {}", source.getCacheKey().getKey(), e.getMessage());
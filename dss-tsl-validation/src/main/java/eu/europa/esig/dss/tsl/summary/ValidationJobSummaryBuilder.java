@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.tsl.summary;
 
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.tsl.AnalysisTimingInfo;
 import eu.europa.esig.dss.spi.tsl.CertificatePivotStatus;
 import eu.europa.esig.dss.spi.tsl.LOTLInfo;
 import eu.europa.esig.dss.spi.tsl.OtherTSLPointer;
@@ -44,6 +45,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -68,6 +70,11 @@ public class ValidationJobSummaryBuilder {
 	 */
 	private final LOTLSource[] lotlSources;
 
+	/**
+	 * The timing of the last analyses (optional)
+	 */
+	private Map<CacheKey, AnalysisTimingInfo> analysisTimingInfos = Collections.emptyMap();
+
 	/**
 	 * Default constructor
 	 *
@@ -82,6 +89,16 @@ public class ValidationJobSummaryBuilder {
 		this.lotlSources = lotlSources;
 	}
 
+	/**
+	 * Sets the timing of the last analyses to be included in the summary
+	 *
+	 * @param analysisTimingInfos a map between {@link CacheKey}s and {@link AnalysisTimingInfo}s
+	 */
+	public void setAnalysisTimingInfos(Map<CacheKey, AnalysisTimingInfo> analysisTimingInfos) {
+		Objects.requireNonNull(analysisTimingInfos, "The analysisTimingInfos cannot be null");
+		this.analysisTimingInfos = analysisTimingInfos;
+	}
+
 	/**
 	 * Builds the {@code TLValidationJobSummary}
 	 *
@@ -149,14 +166,18 @@ public class ValidationJobSummaryBuilder {
 
 	private LOTLInfo buildLOTLInfo(LOTLSource lotlSource) {
 		CacheKey cacheKey = lotlSource.getCacheKey();
-		return new LOTLInfo(readOnlyCacheAccess.getDownloadCacheDTO(cacheKey), readOnlyCacheAccess.getParsingCacheDTO(cacheKey),
+		LOTLInfo lotlInfo = new LOTLInfo(readOnlyCacheAccess.getDownloadCacheDTO(cacheKey), readOnlyCacheAccess.getParsingCacheDTO(cacheKey),
 				readOnlyCacheAccess.getValidationCacheDTO(cacheKey), lotlSource.getUrl());
+		lotlInfo.setAnalysisTimingInfo(analysisTimingInfos.get(cacheKey));
+		return lotlInfo;
 	}
 
 	private TLInfo buildTLInfo(TLSource tlSource) {
 		CacheKey cacheKey = tlSource.getCacheKey();
-		return new TLInfo(readOnlyCacheAccess.getDownloadCacheDTO(cacheKey), readOnlyCacheAccess.getParsingCacheDTO(cacheKey),
+		TLInfo tlInfo = new TLInfo(readOnlyCacheAccess.getDownloadCacheDTO(cacheKey), readOnlyCacheAccess.getParsingCacheDTO(cacheKey),
 				readOnlyCacheAccess.getValidationCacheDTO(cacheKey), tlSource.getUrl());
+		tlInfo.setAnalysisTimingInfo(analysisTimingInfos.get(cacheKey));
+		return tlInfo;
 	}
 
 	private PivotInfo buildPivotInfo(LOTLSource pivotSource, Map<CertificateToken, CertificatePivotStatus> certificateChangesMap, 
@@ -20,7 +20,9 @@
  */
 package eu.europa.esig.dss.tsl.sync;
 
+import eu.europa.esig.dss.model.identifier.Identifier;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.tsl.AnalysisTimingInfo;
 import eu.europa.esig.dss.spi.tsl.LOTLInfo;
 import eu.europa.esig.dss.spi.tsl.ParsingInfoRecord;
 import eu.europa.esig.dss.spi.tsl.PivotInfo;
@@ -44,12 +46,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Set;
 
 /**
  * Loads trusted certificate source
+ *
+ * Only the trusted lists which changed since the previous synchronization (new parsing result, parsing error,
+ * different synchronization decision, added or removed trusted list) are updated in the certificate source.
  */
 public class TrustedListCertificateSourceSynchronizer {
 
@@ -80,6 +88,11 @@ public class TrustedListCertificateSourceSynchronizer {
 	 */
 	private final SynchronizerCacheAccess cacheAccess;
 
+	/**
+	 * The timing of the last analyses, included in the summary (optional)
+	 */
+	private Map<CacheKey, AnalysisTimingInfo> analysisTimingInfos = Collections.emptyMap();
+
 	/**
 	 * Default constructor
 	 *
@@ -100,6 +113,15 @@ public class TrustedListCertificateSourceSynchronizer {
 		this.cacheAccess = cacheAccess;
 	}
 
+	/**
+	 * Sets the timing of the last analyses to be included in the summary of the certificate source
+	 *
+	 * @param analysisTimingInfos a map between {@link CacheKey}s and {@link AnalysisTimingInfo}s
+	 */
+	public void setAnalysisTimingInfos(Map<CacheKey, AnalysisTimingInfo> analysisTimingInfos) {
+		this.analysisTimingInfos = analysisTimingInfos;
+	}
+
 	/**
 	 * Synchronizes the trusted certificate source based on the validation job processing result
 	 */
@@ -107,11 +129,10 @@ public class TrustedListCertificateSourceSynchronizer {
 		try {
 
 			ValidationJobSummaryBuilder summaryBuilder = new ValidationJobSummaryBuilder(cacheAccess, tlSources, lotlSources);
+			summaryBuilder.setAnalysisTimingInfos(analysisTimingInfos);
 			TLValidationJobSummary summary = summaryBuilder.build();
 
-			if (isCertificateSyncNeeded(summary)) {
-				synchronizeCertificates(summary);
-			}
+			synchronizeCertificates(summary);
 
 			syncCache(summary);
 
@@ -121,67 +142,115 @@ public class TrustedListCertificateSourceSynchronizer {
 		}
 	}
 
-	private boolean isCertificateSyncNeeded(TLValidationJobSummary summary) {
+	private void synchronizeCertificates(TLValidationJobSummary summary) {
+		final Map<Identifier, List<TLOccurrence>> occurrencesByTL = new LinkedHashMap<>();
 		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
-			if (isTLParsingDesyncOrError(lotlInfo.getTLInfos())) {
-				return true;
+			final boolean lotlSynchronized = synchronizationStrategy.canBeSynchronized(lotlInfo);
+			if (!lotlSynchronized) {
+				LOG.warn("Certificate synchronization is skipped for LOTL '{}' and its TLs", lotlInfo.getUrl());
+			}
+			for (TLInfo tlInfo : lotlInfo.getTLInfos()) {
+				occurrencesByTL.computeIfAbsent(tlInfo.getDSSId(), k -> new ArrayList<>())
+						.add(new TLOccurrence(tlInfo, lotlInfo, lotlSynchronized));
 			}
 		}
-		return isTLParsingDesyncOrError(summary.getOtherTLInfos());
+		for (TLInfo tlInfo : summary.getOtherTLInfos()) {
+			occurrencesByTL.computeIfAbsent(tlInfo.getDSSId(), k -> new ArrayList<>())
+					.add(new TLOccurrence(tlInfo, null, true));
+		}
+
+		final Map<Identifier, Map<CertificateToken, List<TrustProperties>>> updates = new HashMap<>();
+		for (Identifier tlIdentifier : certificateSource.getTrustedListIdentifiers()) {
+			if (!occurrencesByTL.containsKey(tlIdentifier)) {
+				updates.put(tlIdentifier, Collections.emptyMap());
+			}
+		}
+		for (Map.Entry<Identifier, List<TLOccurrence>> entry : occurrencesByTL.entrySet()) {
+			final Identifier tlIdentifier = entry.getKey();
+			if (isCertificateSyncNeeded(tlIdentifier, entry.getValue())) {
+				final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new HashMap<>();
+				for (TLOccurrence occurrence : entry.getValue()) {
+					if (occurrence.lotlSynchronized) {
+						addCertificatesFromTL(trustPropertiesByCerts, occurrence.tlInfo, occurrence.relatedLOTL);
+					}
+				}
+				if (!trustPropertiesByCerts.isEmpty() || !certificateSource.getTrustPropertiesByCertificates(tlIdentifier).isEmpty()) {
+					updates.put(tlIdentifier, trustPropertiesByCerts);
+				}
+			}
+		}
+
+		if (!updates.isEmpty()) {
+			LOG.debug("Certificate synchronization of {} TL(s)", updates.size());
+			certificateSource.updateTrustPropertiesByTrustedLists(updates);
+		}
 	}
 
-	private boolean isTLParsingDesyncOrError(List<TLInfo> tlInfos) {
-		for (TLInfo tlInfo : tlInfos) {
-			ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
+	/**
+	 * The certificates of a TL are synchronized again when a new parsing result (or error) is available,
+	 * or when the expected content differs from the current one (e.g. the synchronization strategy decision changed)
+	 */
+	private boolean isCertificateSyncNeeded(Identifier tlIdentifier, List<TLOccurrence> occurrences) {
+		final Set<Identifier> expectedLOTLIdentifiers = new HashSet<>();
+		for (TLOccurrence occurrence : occurrences) {
+			ParsingInfoRecord parsingCacheInfo = occurrence.tlInfo.getParsingCacheInfo();
 			if (parsingCacheInfo.isDesynchronized() || parsingCacheInfo.isError()) {
 				return true;
 			}
+			if (occurrence.lotlSynchronized && synchronizationStrategy.canBeSynchronized(occurrence.tlInfo)
+					&& parsingCacheInfo.isResultExist() && containsCertificates(parsingCacheInfo.getTrustServiceProviders())) {
+				expectedLOTLIdentifiers.add(occurrence.relatedLOTL != null ? occurrence.relatedLOTL.getDSSId() : null);
+			}
 		}
-		return false;
+		final Set<Identifier> currentLOTLIdentifiers = new HashSet<>();
+		for (List<TrustProperties> trustPropertiesList : certificateSource.getTrustPropertiesByCertificates(tlIdentifier).values()) {
+			for (TrustProperties trustProperties : trustPropertiesList) {
+				currentLOTLIdentifiers.add(trustProperties.getLOTLIdentifier());
+			}
+		}
+		return !expectedLOTLIdentifiers.equals(currentLOTLIdentifiers);
 	}
 
-	private void synchronizeCertificates(TLValidationJobSummary summary) {
-		final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts = new WeakHashMap<>();
-		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
-			if (synchronizationStrategy.canBeSynchronized(lotlInfo)) {
-				addCertificatesFromTLs(trustPropertiesByCerts, lotlInfo.getTLInfos(), lotlInfo);
-			} else {
-				LOG.warn("Certificate synchronization is skipped for LOTL '{}' and its TLs", lotlInfo.getUrl());
+	private boolean containsCertificates(List<TrustServiceProvider> trustServiceProviders) {
+		if (Utils.isCollectionNotEmpty(trustServiceProviders)) {
+			for (TrustServiceProvider trustServiceProvider : trustServiceProviders) {
+				for (TrustService trustService : trustServiceProvider.getServices()) {
+					if (Utils.isCollectionNotEmpty(trustService.getCertificates())) {
+						return true;
+					}
+				}
 			}
 		}
-		addCertificatesFromTLs(trustPropertiesByCerts, summary.getOtherTLInfos(), null);
-		certificateSource.setTrustPropertiesByCertificates(trustPropertiesByCerts);
+		return false;
 	}
 
-	private void addCertificatesFromTLs(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts, final List<TLInfo> tlInfos,
+	private void addCertificatesFromTL(final Map<CertificateToken, List<TrustProperties>> trustPropertiesByCerts, final TLInfo tlInfo,
 			final LOTLInfo relatedLOTL) {
 
-		for (final TLInfo tlInfo : tlInfos) {
-			if (synchronizationStrategy.canBeSynchronized(tlInfo)) {
-				ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
-				if (!parsingCacheInfo.isResultExist()) {
-					LOG.warn("No Parsing result for TLInfo with url [{}]", tlInfo.getUrl());
-				} else {
-					final List<TrustServiceProvider> trustServiceProviders = parsingCacheInfo.getTrustServiceProviders();
-					if (Utils.isCollectionNotEmpty(trustServiceProviders)) {
-						for (TrustServiceProvider original : trustServiceProviders) {
-							TrustServiceProvider detached = getDetached(original);
-
-							for (TrustService trustService : original.getServices()) {
-								TimeDependentValues<TrustServiceStatusAndInformationExtensions> statusAndInformationExtensions = trustService
-										.getStatusAndInformationExtensions();
-								TrustProperties trustProperties = getTrustProperties(relatedLOTL, tlInfo, detached, statusAndInformationExtensions);
-
-								for (CertificateToken certificate : trustService.getCertificates()) {
-									addCertificate(trustPropertiesByCerts, certificate, trustProperties);
-								}
+		if (synchronizationStrategy.canBeSynchronized(tlInfo)) {
+			ParsingInfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
+			if (!parsingCacheInfo.isResultExist()) {
+				LOG.warn("No Parsing result for TLInfo with url [{}]", tlInfo.getUrl());
+			} else {
+				final List<TrustServiceProvider> trustServiceProviders = parsingCacheInfo.getTrustServiceProviders();
+				if (Utils.isCollectionNotEmpty(trustServiceProviders)) {
+					for (TrustServiceProvider original : trustServiceProviders) {
+						TrustServiceProvider detached = getDetached(original);
+
+						for (TrustService trustService : original.getServices()) {
+							TimeDependentValues<TrustServiceStatusAndInformationExtensions> statusAndInformationExtensions = trustService
+									.getStatusAndInformationExtensions();
+							TrustProperties trustProperties = getTrustProperties(relatedLOTL, tlInfo, detached, statusAndInformationExtensions);
+
+							for (CertificateToken certificate : trustService.getCertificates()) {
+								addCertificate(trustPropertiesByCerts, certificate, trustProperties);
 							}
 						}
 					}
 				}
-			} else {
-				LOG.warn("Certificate synchronization is skipped for TL '{}'", tlInfo.getUrl());
 			}
+		} else {
+			LOG.warn("Certificate synchronization is skipped for TL '{}'", tlInfo.getUrl());
 		}
 	}
 
@@ -228,4 +297,26 @@ public class TrustedListCertificateSourceSynchronizer {
 		return new TrustProperties(relatedLOTL.getDSSId(), tlInfo.getDSSId(), detached, statusAndInformationExtensions);
 	}
 
+	/**
+	 * A TL in the job summary with its related LOTL (null for the other TLs)
+	 */
+	private static final class TLOccurrence {
+
+		/** The TL */
+		private final TLInfo tlInfo;
+
+		/** The related LOTL, null if not applicable */
+		private final LOTLInfo relatedLOTL;
+
+		/** Whether the related LOTL can be synchronized */
+		private final boolean lotlSynchronized;
+
+		private TLOccurrence(TLInfo tlInfo, LOTLInfo relatedLOTL, boolean lotlSynchronized) {
+			this.tlInfo = tlInfo;
+			this.relatedLOTL = relatedLOTL;
+			this.lotlSynchronized = lotlSynchronized;
+		}
+
+	}
+
 }
@@ -0,0 +1,336 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.validation;
+
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.EncryptionAlgorithm;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignatureScopeType;
+import eu.europa.esig.dss.enumerations.SubIndication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.jaxb.CryptographicConstraint;
+import eu.europa.esig.dss.policy.jaxb.Level;
+import eu.europa.esig.dss.spi.x509.CertificateRef;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CertificateValidity;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.DSSPKUtils;
+import eu.europa.esig.dss.validation.ReferenceValidation;
+import eu.europa.esig.dss.validation.SignatureCryptographicVerification;
+import eu.europa.esig.dss.validation.process.bbb.sav.checks.CryptographicConstraintWrapper;
+import eu.europa.esig.dss.validation.scope.SignatureScope;
+import eu.europa.esig.dss.xades.definition.XAdESPaths;
+import eu.europa.esig.dss.xades.definition.xades132.XAdES132Paths;
+import eu.europa.esig.dss.xades.validation.XAdESSignature;
+import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+import eu.europa.esig.dss.xades.validation.scope.XAdESSignatureScopeFinder;
+import org.w3c.dom.Document;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifies the enveloped XAdES signature of a TL or LOTL without building the DiagnosticData
+ * nor running the validation policy engine.
+ *
+ * The verifier performs the checks defined by the trusted list validation policy
+ * (by default policy/tsl-constraint.xml) directly on the signature and returns the same
+ * indications as the Basic Signature validation process, in the same order :
+ * format checking, identification of the signing certificate, X.509 certificate validation
+ * (trust anchor in the provided certificate source), cryptographic verification and
+ * signature acceptance validation. The cryptographic constraints (acceptable algorithms,
+ * minimal public key sizes and expiration dates) are read from the provided validation policy.
+ */
+class TLSignatureVerifier {
+
+	/** The Trusted List document to validate */
+	private final DSSDocument trustedList;
+
+	/** The DOM of the trusted list, null if the document has to be parsed */
+	private final Document rootElement;
+
+	/** The certificate source with the allowed certificates to sign the TL */
+	private final CertificateSource certificateSource;
+
+	/** The allowed certificates, imported as trust anchors */
+	private final CommonTrustedCertificateSource trustedCertificateSource;
+
+	/** The cryptographic constraint of the validation policy, null if not defined */
+	private final CryptographicConstraint cryptographicConstraint;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param trustedList       the DSSDocument with a trusted list
+	 * @param certificateSource a certificate source with the allowed certificates
+	 *                          to sign this TL
+	 * @param validationPolicy  the trusted list validation policy
+	 */
+	TLSignatureVerifier(DSSDocument trustedList, CertificateSource certificateSource, ValidationPolicy validationPolicy) {
+		this(trustedList, null, certificateSource, validationPolicy);
+	}
+
+	/**
+	 * Constructor with an already built DOM of the trusted list
+	 *
+	 * @param trustedList       the DSSDocument with a trusted list
+	 * @param rootElement       the DOM of the trusted list, null if the document has to be parsed
+	 * @param certificateSource a certificate source with the allowed certificates
+	 *                          to sign this TL
+	 * @param validationPolicy  the trusted list validation policy
+	 */
+	TLSignatureVerifier(DSSDocument trustedList, Document rootElement, CertificateSource certificateSource,
+			ValidationPolicy validationPolicy) {
+		this.trustedList = trustedList;
+		this.rootElement = rootElement;
+		this.certificateSource = certificateSource;
+		this.trustedCertificateSource = new CommonTrustedCertificateSource();
+		this.trustedCertificateSource.importAsTrusted(certificateSource);
+		this.cryptographicConstraint = validationPolicy.getSignatureCryptographicConstraint(Context.SIGNATURE);
+	}
+
+	/**
+	 * Verifies the signature of the trusted list
+	 *
+	 * @return {@link ValidationResult}
+	 */
+	ValidationResult verify() {
+		XAdESSignature signature = getSignature();
+		signature.checkSignatureIntegrity();
+
+		CertificateToken signingCertificate = getSigningCertificate(signature);
+		Conclusion conclusion = getConclusion(signature, signingCertificate);
+
+		return new ValidationResult(conclusion.indication, conclusion.subIndication, signature.getSigningTime(),
+				signingCertificate, certificateSource);
+	}
+
+	private XAdESSignature getSignature() {
+		XMLDocumentValidator xmlDocumentValidator = rootElement != null ? new XMLDocumentValidator(trustedList, rootElement)
+				: new XMLDocumentValidator(trustedList);
+		xmlDocumentValidator.setCertificateVerifier(new CommonCertificateVerifier(true));
+
+		// To increase the security: the default {@code XAdESPaths} is used.
+		List<XAdESPaths> xadesPathsHolders = xmlDocumentValidator.getXAdESPathsHolder();
+		xadesPathsHolders.clear();
+		xadesPathsHolders.add(new XAdES132Paths());
+
+		List<AdvancedSignature> signatures = xmlDocumentValidator.getSignatures();
+		int signaturesCount = signatures.size();
+		for (AdvancedSignature signature : signatures) {
+			signaturesCount += signature.getCounterSignatures().size();
+		}
+		if (signaturesCount != 1) {
+			throw new DSSException(String.format("Number of signatures must be equal to 1 (currently : %s)", signaturesCount));
+		}
+		return (XAdESSignature) signatures.get(0);
+	}
+
+	private CertificateToken getSigningCertificate(XAdESSignature signature) {
+		CertificateValidity certificateValidity = signature.getCandidatesForSigningCertificate().getTheCertificateValidity();
+		if (certificateValidity == null) {
+			return null;
+		}
+		if (certificateValidity.getCertificateToken() != null) {
+			return certificateValidity.getCertificateToken();
+		}
+		if (certificateValidity.getPublicKey() != null) {
+			for (CertificateToken certificateToken : signature.getCertificates()) {
+				if (certificateValidity.getPublicKey().equals(certificateToken.getPublicKey())) {
+					return certificateToken;
+				}
+			}
+		}
+		return null;
+	}
+
+	private Conclusion getConclusion(XAdESSignature signature, CertificateToken signingCertificate) {
+		// Format checking
+		if (SignatureLevel.XAdES_BASELINE_B != signature.getDataFoundUpToLevel() || !isFullScope(signature)) {
+			return new Conclusion(Indication.TOTAL_FAILED, SubIndication.FORMAT_FAILURE);
+		}
+
+		// Identification of the signing certificate
+		if (signingCertificate == null || !isSigningCertificateReferenceMatch(signature, signingCertificate)) {
+			return new Conclusion(Indication.INDETERMINATE, SubIndication.NO_SIGNING_CERTIFICATE_FOUND);
+		}
+
+		// Cryptographic verification (takes precedence over the X.509 certificate validation)
+		SignatureCryptographicVerification cryptographicVerification = signature.getSignatureCryptographicVerification();
+		if (!cryptographicVerification.isReferenceDataFound()) {
+			return new Conclusion(Indication.INDETERMINATE, SubIndication.SIGNED_DATA_NOT_FOUND);
+		}
+		if (!cryptographicVerification.isReferenceDataIntact()) {
+			return new Conclusion(Indication.TOTAL_FAILED, SubIndication.HASH_FAILURE);
+		}
+		if (!cryptographicVerification.isSignatureIntact()) {
+			return new Conclusion(Indication.TOTAL_FAILED, SubIndication.SIG_CRYPTO_FAILURE);
+		}
+
+		// X.509 certificate validation
+		if (!isTrustedChain(signature, signingCertificate)) {
+			return new Conclusion(Indication.INDETERMINATE, SubIndication.NO_CERTIFICATE_CHAIN_FOUND);
+		}
+
+		// Signature acceptance validation
+		if (Utils.isCollectionEmpty(signature.getCertificateSource().getSigningCertificateRefs())
+				|| signature.getSigningTime() == null) {
+			return new Conclusion(Indication.INDETERMINATE, SubIndication.SIG_CONSTRAINTS_FAILURE);
+		}
+		if (isCryptographicConstraintEnforced() && !isCryptographicallyAcceptable(signature, signingCertificate)) {
+			return new Conclusion(Indication.INDETERMINATE, SubIndication.CRYPTO_CONSTRAINTS_FAILURE_NO_POE);
+		}
+
+		return new Conclusion(Indication.TOTAL_PASSED, null);
+	}
+
+	private boolean isFullScope(XAdESSignature signature) {
+		List<SignatureScope> signatureScopes = new XAdESSignatureScopeFinder().findSignatureScope(signature);
+		for (SignatureScope signatureScope : signatureScopes) {
+			if (SignatureScopeType.FULL != signatureScope.getType()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isSigningCertificateReferenceMatch(XAdESSignature signature, CertificateToken signingCertificate) {
+		for (CertificateRef certificateRef : signature.getCertificateSource().getSigningCertificateRefs()) {
+			Digest certDigest = certificateRef.getCertDigest();
+			if (certDigest != null && certDigest.getAlgorithm() != null &&
+					Arrays.equals(certDigest.getValue(), signingCertificate.getDigest(certDigest.getAlgorithm()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The certificate chain is only built from the certificates embedded in the signature,
+	 * a certificate of the chain has to be present in the trusted certificate source.
+	 */
+	private boolean isTrustedChain(XAdESSignature signature, CertificateToken signingCertificate) {
+		Set<CertificateToken> processed = new HashSet<>();
+		CertificateToken current = signingCertificate;
+		while (current != null && processed.add(current)) {
+			if (trustedCertificateSource.isTrusted(current)) {
+				return true;
+			}
+			if (current.isSelfSigned()) {
+				return false;
+			}
+			current = getIssuer(signature, current);
+		}
+		return false;
+	}
+
+	private CertificateToken getIssuer(XAdESSignature signature, CertificateToken certificateToken) {
+		Set<CertificateToken> candidates = signature.getCertificateSource()
+				.getBySubject(new X500PrincipalHelper(certificateToken.getIssuerX500Principal()));
+		for (CertificateToken candidate : candidates) {
+			if (certificateToken.isSignedBy(candidate)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Only a constraint with the FAIL level changes the indication of the validation process
+	 */
+	private boolean isCryptographicConstraintEnforced() {
+		return cryptographicConstraint != null && Level.FAIL == cryptographicConstraint.getLevel();
+	}
+
+	private boolean isCryptographicallyAcceptable(XAdESSignature signature, CertificateToken signingCertificate) {
+		CryptographicConstraintWrapper constraintWrapper = new CryptographicConstraintWrapper(cryptographicConstraint);
+		Date validationTime = new Date();
+
+		EncryptionAlgorithm encryptionAlgorithm = signature.getEncryptionAlgorithm();
+		if (!constraintWrapper.isEncryptionAlgorithmReliable(encryptionAlgorithm)) {
+			return false;
+		}
+		String keyLength = String.valueOf(DSSPKUtils.getPublicKeySize(signingCertificate.getPublicKey()));
+		if (!constraintWrapper.isEncryptionAlgorithmWithKeySizeReliable(encryptionAlgorithm, keyLength)
+				|| isExpired(constraintWrapper.getExpirationDate(encryptionAlgorithm, keyLength), validationTime)) {
+			return false;
+		}
+		if (!isDigestAlgorithmAcceptable(constraintWrapper, signature.getDigestAlgorithm(), validationTime)) {
+			return false;
+		}
+		for (ReferenceValidation referenceValidation : getReferenceValidations(signature)) {
+			Digest digest = referenceValidation.getDigest();
+			if (digest != null && digest.getAlgorithm() != null
+					&& !isDigestAlgorithmAcceptable(constraintWrapper, digest.getAlgorithm(), validationTime)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isDigestAlgorithmAcceptable(CryptographicConstraintWrapper constraintWrapper,
+			DigestAlgorithm digestAlgorithm, Date validationTime) {
+		return constraintWrapper.isDigestAlgorithmReliable(digestAlgorithm)
+				&& !isExpired(constraintWrapper.getExpirationDate(digestAlgorithm), validationTime);
+	}
+
+	private boolean isExpired(Date expirationDate, Date validationTime) {
+		return expirationDate != null && expirationDate.before(validationTime);
+	}
+
+	private List<ReferenceValidation> getReferenceValidations(XAdESSignature signature) {
+		List<ReferenceValidation> referenceValidations = signature.getReferenceValidations();
+		return referenceValidations != null ? referenceValidations : Collections.emptyList();
+	}
+
+	/**
+	 * The indication and sub-indication of the verification
+	 */
+	private static final class Conclusion {
+
+		/** The indication */
+		private final Indication indication;
+
+		/** The sub-indication (null for TOTAL_PASSED) */
+		private final SubIndication subIndication;
+
+		private Conclusion(Indication indication, SubIndication subIndication) {
+			this.indication = indication;
+			this.subIndication = subIndication;
+		}
+
+	}
+
+}
@@ -20,37 +20,21 @@
  */
 package eu.europa.esig.dss.tsl.validation;
 
-import eu.europa.esig.dss.diagnostic.CertificateWrapper;
-import eu.europa.esig.dss.diagnostic.DiagnosticData;
-import eu.europa.esig.dss.diagnostic.SignatureWrapper;
-import eu.europa.esig.dss.enumerations.Indication;
-import eu.europa.esig.dss.enumerations.SubIndication;
-import eu.europa.esig.dss.enumerations.TokenExtractionStrategy;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
-import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.policy.ValidationPolicy;
 import eu.europa.esig.dss.policy.ValidationPolicyFacade;
-import eu.europa.esig.dss.simplereport.SimpleReport;
-import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
-import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
-import eu.europa.esig.dss.validation.CertificateVerifier;
-import eu.europa.esig.dss.validation.CommonCertificateVerifier;
-import eu.europa.esig.dss.validation.SignaturePolicyProvider;
-import eu.europa.esig.dss.validation.executor.ValidationLevel;
-import eu.europa.esig.dss.validation.reports.Reports;
-import eu.europa.esig.dss.xades.definition.XAdESPaths;
-import eu.europa.esig.dss.xades.definition.xades132.XAdES132Paths;
-import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+import org.w3c.dom.Document;
 
-import java.util.Date;
-import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
 /**
  * This class allows to validate TL or LOTL.
+ *
+ * The signature is verified by {@code TLSignatureVerifier} against the trusted list validation policy
+ * constraints, without producing the validation reports.
  */
 public class TLValidatorTask implements Supplier<ValidationResult> {
 
@@ -60,6 +44,12 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 	/** The certificate source to use */
 	private final CertificateSource certificateSource;
 
+	/** The already built DOM of the trusted list (optional) */
+	private Document rootElement;
+
+	/** The validation policy to use (optional, the trusted list validation policy by default) */
+	private ValidationPolicy validationPolicy;
+
 	/**
 	 * Constructor used to instantiate a validator for a trusted list
 	 *
@@ -74,57 +64,36 @@ public class TLValidatorTask implements Supplier<ValidationResult> {
 		this.certificateSource = certificateSource;
 	}
 
-	@Override
-	public ValidationResult get() {
-		Reports reports = validateTL();
-		return fillResult(reports);
+	/**
+	 * Sets the already built DOM of the trusted list, to validate the signature without parsing the document again
+	 *
+	 * @param rootElement {@link Document} built from the trusted list
+	 */
+	public void setRootElement(Document rootElement) {
+		this.rootElement = rootElement;
 	}
 
-	private Reports validateTL() {
-		CertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
-		certificateVerifier.setTrustedCertSources(buildTrustedCertificateSource(certificateSource));
-
-		XMLDocumentValidator xmlDocumentValidator = new XMLDocumentValidator(trustedList);
-		xmlDocumentValidator.setCertificateVerifier(certificateVerifier);
-		xmlDocumentValidator.setTokenExtractionStrategy(TokenExtractionStrategy.EXTRACT_CERTIFICATES_ONLY);
-		xmlDocumentValidator.setEnableEtsiValidationReport(false); // Ignore ETSI VR
-		xmlDocumentValidator.setValidationLevel(ValidationLevel.BASIC_SIGNATURES); // Timestamps,... are ignored
-		xmlDocumentValidator.setSkipValidationContextExecution(true); // Only need to validate against the trusted certificate source
-		xmlDocumentValidator.setSignaturePolicyProvider(new SignaturePolicyProvider()); // ignore signature policy loading
-
-		// To increase the security: the default {@code XAdESPaths} is used.
-		List<XAdESPaths> xadesPathsHolders = xmlDocumentValidator.getXAdESPathsHolder();
-		xadesPathsHolders.clear();
-		xadesPathsHolders.add(new XAdES132Paths());
-
-		return xmlDocumentValidator.validateDocument(getTrustedListValidationPolicy());
+	/**
+	 * Sets the validation policy defining the cryptographic constraints of the TL signature
+	 *
+	 * Default : the trusted list validation policy (policy/tsl-constraint.xml)
+	 *
+	 * @param validationPolicy {@link ValidationPolicy}
+	 */
+	public void setValidationPolicy(ValidationPolicy validationPolicy) {
+		this.validationPolicy = validationPolicy;
 	}
 
-	private ValidationResult fillResult(Reports reports) {
-		SimpleReport simpleReport = reports.getSimpleReport();
-		if (simpleReport.getSignaturesCount() != 1) {
-			throw new DSSException(String.format("Number of signatures must be equal to 1 (currently : %s)", simpleReport.getSignaturesCount()));
-		}
-
-		Indication indication = simpleReport.getIndication(simpleReport.getFirstSignatureId());
-		SubIndication subIndication = simpleReport.getSubIndication(simpleReport.getFirstSignatureId());
-
-		DiagnosticData diagnosticData = reports.getDiagnosticData();
-		SignatureWrapper signatureWrapper = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
-		Date signingTime = signatureWrapper.getClaimedSigningTime();
-		CertificateWrapper signingCertificateWrapper = signatureWrapper.getSigningCertificate();
-		CertificateToken signingCertificate = null;
-		if (signingCertificateWrapper != null) {
-			signingCertificate = DSSUtils.loadCertificate(signingCertificateWrapper.getBinaries());
-		}
-
-		return new ValidationResult(indication, subIndication, signingTime, signingCertificate, certificateSource);
+	@Override
+	public ValidationResult get() {
+		return new TLSignatureVerifier(trustedList, rootElement, certificateSource, getValidationPolicy()).verify();
 	}
 
-	private CommonTrustedCertificateSource buildTrustedCertificateSource(CertificateSource certificateSource) {
-		CommonTrustedCertificateSource commonTrustedCertificateSource = new CommonTrustedCertificateSource();
-		commonTrustedCertificateSource.importAsTrusted(certificateSource);
-		return commonTrustedCertificateSource;
+	private ValidationPolicy getValidationPolicy() {
+		if (validationPolicy == null) {
+			validationPolicy = getTrustedListValidationPolicy();
+		}
+		return validationPolicy;
 	}
 
 	private ValidationPolicy getTrustedListValidationPolicy() {
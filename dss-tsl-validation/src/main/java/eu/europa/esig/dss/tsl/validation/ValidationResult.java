@@ -24,6 +24,7 @@ import eu.europa.esig.dss.enumerations.Indication;
 import eu.europa.esig.dss.enumerations.SubIndication;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
 import eu.europa.esig.dss.tsl.cache.CachedResult;
 
 import java.util.ArrayList;
@@ -35,6 +36,8 @@ import java.util.List;
  */
 public class ValidationResult implements CachedResult {
 
+	private static final long serialVersionUID = -4154623653842147371L;
+
 	/** The used certificate source */
 	private final CertificateSource certificateSource;
 
@@ -113,4 +116,18 @@ public class ValidationResult implements CachedResult {
 		return new ArrayList<>(certificateSource.getCertificates());
 	}
 
+	/**
+	 * The used certificate source (e.g. a {@code KeyStoreCertificateSource}) is serialized as
+	 * a {@code CommonCertificateSource} containing the potential signers
+	 *
+	 * @return {@link ValidationResult} with a serializable certificate source
+	 */
+	private Object writeReplace() {
+		final CommonCertificateSource potentialSigners = new CommonCertificateSource();
+		for (CertificateToken certificateToken : certificateSource.getCertificates()) {
+			potentialSigners.addCertificate(certificateToken);
+		}
+		return new ValidationResult(indication, subIndication, signingTime, signingCertificate, potentialSigners);
+	}
+
 }
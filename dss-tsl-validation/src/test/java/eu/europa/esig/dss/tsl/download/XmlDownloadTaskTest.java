@@ -81,6 +81,7 @@ public class XmlDownloadTaskTest {
 			assertNotNull(downloadResult.getDigest());
 			assertNotNull(downloadResult.getDigest().getAlgorithm());
 			assertNotNull(downloadResult.getDigest().getValue());
+			assertNotNull(task.getRootElement());
 			if (first == null) {
 				first = downloadResult;
 			} else {
@@ -0,0 +1,210 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.tsl.AnalysisTimingInfo;
+import eu.europa.esig.dss.spi.tsl.TLInfo;
+import eu.europa.esig.dss.spi.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class TLValidationJobSchedulingTest {
+
+	private static final String FAST_URL = "PE";
+	private static final String SLOW_URL = "SK";
+	private static final String FAILING_URL = "KO";
+
+	@TempDir
+	File cacheDirectory;
+
+	@Test
+	public void test() throws Exception {
+		CountDownLatch slowDownload = new CountDownLatch(1);
+
+		Map<String, DSSDocument> urlMap = new HashMap<>();
+		urlMap.put(FAST_URL, new FileDocument("src/test/resources/tsl-pe.xml"));
+		urlMap.put(SLOW_URL, new FileDocument("src/test/resources/sk-tl.xml"));
+
+		FileCacheDataLoader onlineFileLoader = new FileCacheDataLoader();
+		onlineFileLoader.setCacheExpirationTime(0);
+		onlineFileLoader.setFileCacheDirectory(cacheDirectory);
+		onlineFileLoader.setDataLoader(new MockDataLoader(urlMap) {
+
+			private static final long serialVersionUID = -3398627426428426618L;
+
+			@Override
+			public byte[] get(String url) {
+				if (SLOW_URL.equals(url)) {
+					try {
+						slowDownload.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return super.get(url);
+			}
+
+		});
+
+		TLValidationJob job = new TLValidationJob();
+		job.setTrustedListSources(tlSource(FAST_URL), tlSource(SLOW_URL), tlSource(FAILING_URL));
+		job.setOnlineDataLoader(onlineFileLoader);
+		job.setTrustedListCertificateSource(new TrustedListsCertificateSource());
+		// generous timeout : only the slow TL, blocked by the latch, can exceed it
+		job.setAnalysisTimeout(TimeUnit.SECONDS.toMillis(10));
+		job.setInitialRetryDelay(TimeUnit.HOURS.toMillis(1));
+
+		job.onlineRefresh();
+		assertEquals(1, slowDownload.getCount());
+
+		TLValidationJobSummary summary = job.getSummary();
+		AnalysisTimingInfo fastTiming = getAnalysisTimingInfo(summary, FAST_URL);
+		assertNotNull(fastTiming.getStartTime());
+		assertNotNull(fastTiming.getEndTime());
+		assertTrue(fastTiming.getDuration() >= 0);
+		assertFalse(fastTiming.isTimedOut());
+		assertEquals(0, fastTiming.getConsecutiveFailures());
+		assertNull(fastTiming.getNextRetryTime());
+
+		AnalysisTimingInfo slowTiming = getAnalysisTimingInfo(summary, SLOW_URL);
+		assertNotNull(slowTiming.getStartTime());
+		assertNull(slowTiming.getEndTime());
+		assertEquals(-1, slowTiming.getDuration());
+		assertTrue(slowTiming.isTimedOut());
+		assertEquals(1, slowTiming.getConsecutiveFailures());
+		assertNotNull(slowTiming.getNextRetryTime());
+
+		AnalysisTimingInfo failingTiming = getAnalysisTimingInfo(summary, FAILING_URL);
+		assertNotNull(failingTiming.getEndTime());
+		assertFalse(failingTiming.isTimedOut());
+		assertEquals(1, failingTiming.getConsecutiveFailures());
+		assertNotNull(failingTiming.getNextRetryTime());
+
+		// the analysis of the slow TL is still running, the failing TL is postponed
+		job.onlineRefresh();
+
+		summary = job.getSummary();
+		assertFalse(getAnalysisTimingInfo(summary, FAST_URL).getStartTime().before(fastTiming.getEndTime()));
+		assertEquals(slowTiming.getStartTime(), getAnalysisTimingInfo(summary, SLOW_URL).getStartTime());
+		assertEquals(failingTiming.getStartTime(), getAnalysisTimingInfo(summary, FAILING_URL).getStartTime());
+		assertEquals(1, getAnalysisTimingInfo(summary, FAILING_URL).getConsecutiveFailures());
+
+		// the slow TL is completed in the background : the failure and the retry delay are reset
+		slowDownload.countDown();
+		TLInfo slowTLInfo = waitForCompletion(job, SLOW_URL);
+		assertTrue(slowTLInfo.getDownloadCacheInfo().isResultExist());
+		assertTrue(slowTLInfo.getParsingCacheInfo().isResultExist());
+		slowTiming = slowTLInfo.getAnalysisTimingInfo();
+		assertTrue(slowTiming.isTimedOut());
+		assertTrue(slowTiming.getDuration() >= 0);
+		assertNull(slowTiming.getNextRetryTime());
+
+		// the slow TL is analyzed again, the failing TL is still postponed
+		job.onlineRefresh();
+		summary = job.getSummary();
+		AnalysisTimingInfo refreshedSlowTiming = getAnalysisTimingInfo(summary, SLOW_URL);
+		assertFalse(refreshedSlowTiming.getStartTime().before(slowTiming.getEndTime()));
+		assertFalse(refreshedSlowTiming.isTimedOut());
+		assertEquals(0, refreshedSlowTiming.getConsecutiveFailures());
+		assertNull(refreshedSlowTiming.getNextRetryTime());
+		assertEquals(failingTiming.getStartTime(), getAnalysisTimingInfo(summary, FAILING_URL).getStartTime());
+	}
+
+	@Test
+	public void noTimeout() {
+		Map<String, DSSDocument> urlMap = new HashMap<>();
+		urlMap.put(FAST_URL, new FileDocument("src/test/resources/tsl-pe.xml"));
+
+		FileCacheDataLoader onlineFileLoader = new FileCacheDataLoader();
+		onlineFileLoader.setCacheExpirationTime(0);
+		onlineFileLoader.setFileCacheDirectory(cacheDirectory);
+		onlineFileLoader.setDataLoader(new MockDataLoader(urlMap));
+
+		TLValidationJob job = new TLValidationJob();
+		job.setTrustedListSources(tlSource(FAST_URL), tlSource(FAILING_URL));
+		job.setOnlineDataLoader(onlineFileLoader);
+
+		job.onlineRefresh();
+		AnalysisTimingInfo failingTiming = getAnalysisTimingInfo(job.getSummary(), FAILING_URL);
+		assertEquals(1, failingTiming.getConsecutiveFailures());
+		assertNull(failingTiming.getNextRetryTime());
+
+		// no retry delay : the failing TL is analyzed again
+		job.onlineRefresh();
+		failingTiming = getAnalysisTimingInfo(job.getSummary(), FAILING_URL);
+		assertEquals(2, failingTiming.getConsecutiveFailures());
+		assertEquals(0, getAnalysisTimingInfo(job.getSummary(), FAST_URL).getConsecutiveFailures());
+	}
+
+	private TLInfo waitForCompletion(TLValidationJob job, String url) throws InterruptedException {
+		for (int i = 0; i < 300; i++) {
+			TLInfo tlInfo = getTLInfo(job.getSummary(), url);
+			AnalysisTimingInfo analysisTimingInfo = tlInfo.getAnalysisTimingInfo();
+			if (analysisTimingInfo.getEndTime() != null && analysisTimingInfo.getConsecutiveFailures() == 0) {
+				return tlInfo;
+			}
+			Thread.sleep(100);
+		}
+		fail("The analysis is not completed");
+		return null;
+	}
+
+	private AnalysisTimingInfo getAnalysisTimingInfo(TLValidationJobSummary summary, String url) {
+		AnalysisTimingInfo analysisTimingInfo = getTLInfo(summary, url).getAnalysisTimingInfo();
+		assertNotNull(analysisTimingInfo);
+		return analysisTimingInfo;
+	}
+
+	private TLInfo getTLInfo(TLValidationJobSummary summary, String url) {
+		for (TLInfo tlInfo : summary.getOtherTLInfos()) {
+			if (url.equals(tlInfo.getUrl())) {
+				return tlInfo;
+			}
+		}
+		fail("TLInfo not found for " + url);
+		return null;
+	}
+
+	private TLSource tlSource(String url) {
+		TLSource tlSource = new TLSource();
+		tlSource.setUrl(url);
+		return tlSource;
+	}
+
+}
@@ -0,0 +1,212 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.tsl.LOTLInfo;
+import eu.europa.esig.dss.spi.tsl.TLInfo;
+import eu.europa.esig.dss.spi.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.tsl.source.LOTLSource;
+import eu.europa.esig.dss.tsl.source.TLSource;
+
+public class TLValidationJobSnapshotTest {
+
+	private static final byte[] INTEGRITY_KEY = "snapshot-secret-key".getBytes();
+
+	@TempDir
+	File cacheDirectory;
+
+	@Test
+	public void test() {
+		File snapshotFile = new File(cacheDirectory, "tl-snapshot.bin");
+
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob job = getJob(trustedListsCertificateSource, snapshotFile, INTEGRITY_KEY);
+		assertFalse(job.restoreSnapshot());
+
+		job.offlineRefresh();
+		assertTrue(snapshotFile.exists());
+
+		int numberOfCertificates = trustedListsCertificateSource.getNumberOfCertificates();
+		assertTrue(numberOfCertificates > 0);
+
+		TrustedListsCertificateSource restoredCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob restoredJob = getJob(restoredCertificateSource, snapshotFile, INTEGRITY_KEY);
+		assertTrue(restoredJob.restoreSnapshot());
+
+		assertEquals(numberOfCertificates, restoredCertificateSource.getNumberOfCertificates());
+		assertTrue(restoredCertificateSource.isCertificateSourceEqual(trustedListsCertificateSource));
+		assertNotNull(restoredCertificateSource.getSummary());
+
+		TLValidationJobSummary summary = restoredJob.getSummary();
+		LOTLInfo lotlInfo = summary.getLOTLInfos().get(0);
+		assertTrue(lotlInfo.getDownloadCacheInfo().isSynchronized());
+		assertTrue(lotlInfo.getParsingCacheInfo().isSynchronized());
+		assertEquals(248, lotlInfo.getParsingCacheInfo().getSequenceNumber());
+		// the signature is verified again on the next refresh
+		assertTrue(lotlInfo.getValidationCacheInfo().isRefreshNeeded());
+		assertEquals(Indication.TOTAL_PASSED, lotlInfo.getValidationCacheInfo().getIndication());
+		assertNotNull(lotlInfo.getValidationCacheInfo().getSigningCertificate());
+
+		TLInfo tlInfo = summary.getOtherTLInfos().get(0);
+		assertTrue(tlInfo.getParsingCacheInfo().isSynchronized());
+		assertTrue(tlInfo.getParsingCacheInfo().getTSPNumber() > 0);
+
+		restoredJob.offlineRefresh();
+
+		summary = restoredJob.getSummary();
+		lotlInfo = summary.getLOTLInfos().get(0);
+		assertTrue(lotlInfo.getValidationCacheInfo().isSynchronized());
+		assertEquals(Indication.TOTAL_PASSED, lotlInfo.getValidationCacheInfo().getIndication());
+		assertEquals(numberOfCertificates, restoredCertificateSource.getNumberOfCertificates());
+	}
+
+	@Test
+	public void integrityTest() throws IOException {
+		File snapshotFile = new File(cacheDirectory, "tl-snapshot.bin");
+
+		TLValidationJob job = getJob(new TrustedListsCertificateSource(), snapshotFile, INTEGRITY_KEY);
+		job.offlineRefresh();
+		assertTrue(snapshotFile.exists());
+
+		TrustedListsCertificateSource restoredCertificateSource = new TrustedListsCertificateSource();
+		assertFalse(getJob(restoredCertificateSource, snapshotFile, "wrong-key".getBytes()).restoreSnapshot());
+		assertFalse(getJob(restoredCertificateSource, snapshotFile, null).restoreSnapshot());
+		assertEquals(0, restoredCertificateSource.getNumberOfCertificates());
+
+		byte[] content = Files.readAllBytes(snapshotFile.toPath());
+		content[content.length / 2] ^= 1;
+		Files.write(snapshotFile.toPath(), content);
+
+		assertFalse(getJob(restoredCertificateSource, snapshotFile, INTEGRITY_KEY).restoreSnapshot());
+		assertEquals(0, restoredCertificateSource.getNumberOfCertificates());
+	}
+
+	@Test
+	public void noIntegrityKeyTest() {
+		File snapshotFile = new File(cacheDirectory, "tl-snapshot.bin");
+
+		TLValidationJob job = getJob(new TrustedListsCertificateSource(), snapshotFile, null);
+		job.offlineRefresh();
+		assertFalse(snapshotFile.exists());
+
+		getJob(new TrustedListsCertificateSource(), snapshotFile, INTEGRITY_KEY).offlineRefresh();
+		assertTrue(snapshotFile.exists());
+
+		TrustedListsCertificateSource restoredCertificateSource = new TrustedListsCertificateSource();
+		assertFalse(getJob(restoredCertificateSource, snapshotFile, null).restoreSnapshot());
+		assertFalse(getJob(restoredCertificateSource, snapshotFile, new byte[0]).restoreSnapshot());
+		assertEquals(0, restoredCertificateSource.getNumberOfCertificates());
+
+		assertThrows(IllegalArgumentException.class, () -> new TLValidationJobSnapshotFile(snapshotFile, null));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void notAllowedClassTest() {
+		File snapshotFile = new File(cacheDirectory, "tl-snapshot.bin");
+
+		Map trustPropertiesByCertificates = new HashMap();
+		trustPropertiesByCertificates.put("key", new PriorityQueue<>());
+		TLValidationJobSnapshotFile tlValidationJobSnapshotFile = new TLValidationJobSnapshotFile(snapshotFile, INTEGRITY_KEY);
+		tlValidationJobSnapshotFile.write(new TLValidationJobSnapshot(null, trustPropertiesByCertificates));
+		assertTrue(snapshotFile.exists());
+
+		// the HMAC is valid, but the content is rejected during the deserialization
+		DSSException exception = assertThrows(DSSException.class, tlValidationJobSnapshotFile::read);
+		assertTrue(exception.getMessage().contains(PriorityQueue.class.getName()));
+
+		TrustedListsCertificateSource restoredCertificateSource = new TrustedListsCertificateSource();
+		assertFalse(getJob(restoredCertificateSource, snapshotFile, INTEGRITY_KEY).restoreSnapshot());
+		assertEquals(0, restoredCertificateSource.getNumberOfCertificates());
+	}
+
+	private TLValidationJob getJob(TrustedListsCertificateSource trustedListsCertificateSource, File snapshotFile, byte[] integrityKey) {
+		TLValidationJob job = new TLValidationJob();
+		job.setListOfTrustedListSources(europeanLOTL());
+		job.setTrustedListSources(czechTrustedList());
+		job.setOfflineDataLoader(getOfflineFileLoader(urlMap()));
+		job.setTrustedListCertificateSource(trustedListsCertificateSource);
+		job.setSnapshotFile(snapshotFile);
+		job.setSnapshotIntegrityKey(integrityKey);
+		return job;
+	}
+
+	private FileCacheDataLoader getOfflineFileLoader(Map<String, DSSDocument> urlMap) {
+		FileCacheDataLoader offlineFileLoader = new FileCacheDataLoader();
+		offlineFileLoader.setCacheExpirationTime(Long.MAX_VALUE);
+		offlineFileLoader.setDataLoader(new MockDataLoader(urlMap));
+		offlineFileLoader.setFileCacheDirectory(cacheDirectory);
+		return offlineFileLoader;
+	}
+
+	private Map<String, DSSDocument> urlMap() {
+		Map<String, DSSDocument> urlMap = new HashMap<>();
+		urlMap.put("EU", new FileDocument("src/test/resources/lotlCache/EU.xml"));
+		urlMap.put("CZ", new FileDocument("src/test/resources/lotlCache/CZ.xml"));
+		return urlMap;
+	}
+
+	private LOTLSource europeanLOTL() {
+		LOTLSource lotl = new LOTLSource();
+		lotl.setUrl("EU");
+		CertificateSource certificateSource = new CommonCertificateSource();
+		certificateSource.addCertificate(DSSUtils.loadCertificateFromBase64EncodedString(
+				"MIIG7zCCBNegAwIBAgIQEAAAAAAAnuXHXttK9Tyf2zANBgkqhkiG9w0BAQsFADBkMQswCQYDVQQGEwJCRTERMA8GA1UEBxMIQnJ1c3NlbHMxHDAaBgNVBAoTE0NlcnRpcG9zdCBOLlYuL1MuQS4xEzARBgNVBAMTCkNpdGl6ZW4gQ0ExDzANBgNVBAUTBjIwMTgwMzAeFw0xODA2MDEyMjA0MTlaFw0yODA1MzAyMzU5NTlaMHAxCzAJBgNVBAYTAkJFMSMwIQYDVQQDExpQYXRyaWNrIEtyZW1lciAoU2lnbmF0dXJlKTEPMA0GA1UEBBMGS3JlbWVyMRUwEwYDVQQqEwxQYXRyaWNrIEplYW4xFDASBgNVBAUTCzcyMDIwMzI5OTcwMIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAr7g7VriDY4as3R4LPOg7uPH5inHzaVMOwFb/8YOW+9IVMHz/V5dJAzeTKvhLG5S4Pk6Kd2E+h18FlRonp70Gv2+ijtkPk7ZQkfez0ycuAbLXiNx2S7fc5GG9LGJafDJgBgTQuQm1aDVLDQ653mqR5tAO+gEf6vs4zRESL3MkYXAUq+S/WocEaGpIheNVAF3iPSkvEe3LvUjF/xXHWF4aMvqGK6kXGseaTcn9hgTbceuW2PAiEr+eDTNczkwGBDFXwzmnGFPMRez3ONk/jIKhha8TylDSfI/MX3ODt0dU3jvJEKPIfUJixBPehxMJMwWxTjFbNu/CK7tJ8qT2i1S4VQIDAQABo4ICjzCCAoswHwYDVR0jBBgwFoAU2TQhPjpCJW3hu7++R0z4Aq3jL1QwcwYIKwYBBQUHAQEEZzBlMDkGCCsGAQUFBzAChi1odHRwOi8vY2VydHMuZWlkLmJlbGdpdW0uYmUvY2l0aXplbjIwMTgwMy5jcnQwKAYIKwYBBQUHMAGGHGh0dHA6Ly9vY3NwLmVpZC5iZWxnaXVtLmJlLzIwggEjBgNVHSAEggEaMIIBFjCCAQcGB2A4DAEBAgEwgfswLAYIKwYBBQUHAgEWIGh0dHA6Ly9yZXBvc2l0b3J5LmVpZC5iZWxnaXVtLmJlMIHKBggrBgEFBQcCAjCBvQyBukdlYnJ1aWsgb25kZXJ3b3JwZW4gYWFuIGFhbnNwcmFrZWxpamtoZWlkc2JlcGVya2luZ2VuLCB6aWUgQ1BTIC0gVXNhZ2Ugc291bWlzIMOgIGRlcyBsaW1pdGF0aW9ucyBkZSByZXNwb25zYWJpbGl0w6ksIHZvaXIgQ1BTIC0gVmVyd2VuZHVuZyB1bnRlcmxpZWd0IEhhZnR1bmdzYmVzY2hyw6Rua3VuZ2VuLCBnZW3DpHNzIENQUzAJBgcEAIvsQAECMDkGA1UdHwQyMDAwLqAsoCqGKGh0dHA6Ly9jcmwuZWlkLmJlbGdpdW0uYmUvZWlkYzIwMTgwMy5jcmwwDgYDVR0PAQH/BAQDAgZAMBMGA1UdJQQMMAoGCCsGAQUFBwMEMGwGCCsGAQUFBwEDBGAwXjAIBgYEAI5GAQEwCAYGBACORgEEMDMGBgQAjkYBBTApMCcWIWh0dHBzOi8vcmVwb3NpdG9yeS5laWQuYmVsZ2l1bS5iZRMCZW4wEwYGBACORgEGMAkGBwQAjkYBBgEwDQYJKoZIhvcNAQELBQADggIBACBY+OLhM7BryzXWklDUh9UK1+cDVboPg+lN1Et1lAEoxV4y9zuXUWLco9t8M5WfDcWFfDxyhatLedku2GurSJ1t8O/knDwLLyoJE1r2Db9VrdG+jtST+j/TmJHAX3yNWjn/9dsjiGQQuTJcce86rlzbGdUqjFTt5mGMm4zy4l/wKy6XiDKiZT8cFcOTevsl+l/vxiLiDnghOwTztVZhmWExeHG9ypqMFYmIucHQ0SFZre8mv3c7Df+VhqV/sY9xLERK3Ffk4l6B5qRPygImXqGzNSWiDISdYeUf4XoZLXJBEP7/36r4mlnP2NWQ+c1ORjesuDAZ8tD/yhMvR4DVG95EScjpTYv1wOmVB2lQrWnEtygZIi60HXfozo8uOekBnqWyDc1kuizZsYRfVNlwhCu7RsOq4zN8gkael0fejuSNtBf2J9A+rc9LQeu6AcdPauWmbxtJV93H46pFptsR8zXo+IJn5m2P9QPZ3mvDkzldNTGLG+ukhN7IF2CCcagt/WoVZLq3qKC35WVcqeoSMEE/XeSrf3/mIJ1OyFQm+tsfhTceOFDXuUgl3E86bR/f8Ur/bapwXpWpFxGIpXLGaJXbzQGSTtyNEYrdENlh71I3OeYdw3xmzU2B3tbaWREOXtj2xjyW2tIv+vvHG6sloR1QkIkGMFfzsT7W5U6ILetv"));
+		lotl.setCertificateSource(certificateSource);
+		return lotl;
+	}
+
+	private TLSource czechTrustedList() {
+		TLSource tl = new TLSource();
+		tl.setUrl("CZ");
+		CertificateSource certificateSource = new CommonCertificateSource();
+		certificateSource.addCertificate(DSSUtils.loadCertificateFromBase64EncodedString(
+				"MIIISDCCBjCgAwIBAgIEAK+KyjANBgkqhkiG9w0BAQsFADB/MQswCQYDVQQGEwJDWjEoMCYGA1UEAwwfSS5DQSBRdWFsaWZpZWQgMiBDQS9SU0EgMDIvMjAxNjEtMCsGA1UECgwkUHJ2bsOtIGNlcnRpZmlrYcSNbsOtIGF1dG9yaXRhLCBhLnMuMRcwFQYDVQQFEw5OVFJDWi0yNjQzOTM5NTAeFw0xOTAzMDQwOTQzMThaFw0yMDAzMDMwOTQzMThaMIGiMR0wGwYDVQQDDBRJbmcuIFJhZG9tw61yIMWgaW1lazERMA8GA1UEKgwIUmFkb23DrXIxDzANBgNVBAQMBsWgaW1lazELMAkGA1UEBhMCQ1oxNzA1BgNVBAoMLk1pbmlzdHJ5IG9mIHRoZSBJbnRlcmlvciBvZiB0aGUgQ3plY2ggUmVwdWJsaWMxFzAVBgNVBAUTDklDQSAtIDEwNDkzOTg5MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAj0NF1nqVxU2B/ZO2MKuO6MYN6qH5SGntLvtAAFTYJXyiafT6zzSBXhHHW0bvVMsfW/GGeyVKfrDzz9J+Aw45UbC7+tDkQ+3AGqYpM9y2WhSqw4dsZSNm9Qz/Jrw7HSe7wrEJeg4X0vjXU0jt8Kh1hq5Sz1tEvbhLU9sTCRBnkS5a9ZeGfSJNpOLLowQQZ/HiHjgVMVcm576ij1jo1mGYz5304e+nIkl1IC8EbIrwe+is1LhMxcqMBooEVdb/ZjaA/7Q/3KESgErXbYMitmFQ0OdH6fEKx+uerw/KO7wExDY0RbbsyEbLWOTuzQQfH+lqZJOF3Dl8Ey9n6QrverDA5QIDAQABo4IDpjCCA6IwVQYDVR0RBE4wTIEVcmFkb21pci5zaW1la0BtdmNyLmN6oBgGCisGAQQBgbhIBAagCgwIMTA0OTM5ODmgGQYJKwYBBAHcGQIBoAwMCjE4OTUxNDA4MDgwHwYJYIZIAYb4QgENBBIWEDkyMDMwMzAwMDAwMTEyNzMwDgYDVR0PAQH/BAQDAgbAMAkGA1UdEwQCMAAwggEoBgNVHSAEggEfMIIBGzCCAQwGDSsGAQQBgbhICgEeAQEwgfowHQYIKwYBBQUHAgEWEWh0dHA6Ly93d3cuaWNhLmN6MIHYBggrBgEFBQcCAjCByxqByFRlbnRvIGt2YWxpZmlrb3ZhbnkgY2VydGlmaWthdCBwcm8gZWxla3Ryb25pY2t5IHBvZHBpcyBieWwgdnlkYW4gdiBzb3VsYWR1IHMgbmFyaXplbmltIEVVIGMuIDkxMC8yMDE0LlRoaXMgaXMgYSBxdWFsaWZpZWQgY2VydGlmaWNhdGUgZm9yIGVsZWN0cm9uaWMgc2lnbmF0dXJlIGFjY29yZGluZyB0byBSZWd1bGF0aW9uIChFVSkgTm8gOTEwLzIwMTQuMAkGBwQAi+xAAQIwgY8GA1UdHwSBhzCBhDAqoCigJoYkaHR0cDovL3FjcmxkcDEuaWNhLmN6LzJxY2ExNl9yc2EuY3JsMCqgKKAmhiRodHRwOi8vcWNybGRwMi5pY2EuY3ovMnFjYTE2X3JzYS5jcmwwKqAooCaGJGh0dHA6Ly9xY3JsZHAzLmljYS5jei8ycWNhMTZfcnNhLmNybDCBkgYIKwYBBQUHAQMEgYUwgYIwCAYGBACORgEBMAgGBgQAjkYBBDBXBgYEAI5GAQUwTTAtFidodHRwczovL3d3dy5pY2EuY3ovWnByYXZ5LXByby11eml2YXRlbGUTAmNzMBwWFmh0dHBzOi8vd3d3LmljYS5jei9QRFMTAmVuMBMGBgQAjkYBBjAJBgcEAI5GAQYBMGUGCCsGAQUFBwEBBFkwVzAqBggrBgEFBQcwAoYeaHR0cDovL3EuaWNhLmN6LzJxY2ExNl9yc2EuY2VyMCkGCCsGAQUFBzABhh1odHRwOi8vb2NzcC5pY2EuY3ovMnFjYTE2X3JzYTAfBgNVHSMEGDAWgBR0ggiR49lkaHGF1usx5HLfiyaxbTAdBgNVHQ4EFgQUkVUbJXHGZ+cJtqHZKttyclziLAcwEwYDVR0lBAwwCgYIKwYBBQUHAwQwDQYJKoZIhvcNAQELBQADggIBAJ02rKq039tzkKhCcYWvZVR6ZyRH++kJiVdm0gxmmpjcHo37A2sDFkjt19v2WpDtTMswVoBKE1Vpo+GN19WxNixAxfZLP8NJRdeopvr1m05iBdmzfIuOZ7ehb6g8xVSoC9BEDDzGIXHJaVDv60sr4E80RNquD3UHia1O0V4CQk/bY1645/LETBqGopeZUAPJcdqSj342ofR4iXTOOwl7hl7qEbNKefSzEnEKSHLqnBomi4kUqT7d5zFJRxI8fS6esfqNi74WS0dofHNxh7sf8F7m7F6lsEkXNrcD84OQg+NU00km92ATaRp4dLS79KSkSPH5Jv3oOkmZ8epjNoA6b9lBAZH9ZL8HlwF7gYheg+jfYmXAeMu6vAeXXVJyi7QaMVawkGLNJsn9gTCw7B55dT/XL8yyAia2aSUj1mRogWzYBQbvC5fPxAvRyweikTwPRngVNSHN85ed/NnLAKDpTlOrJhGoRltm2d7xWa5/AJCZP91Yr//Dex8mksslyYU9yB5tP4ZZrVBRjR4KX8DOMO3rf+R9rJFEMefsAkgwOFeJ5VjXof3QGjy7sHxlVG+dG4xFEvuup7Dt6kFHuVxNxwJVZ+umfgteZcGtrucKgw0Nh4fv4ixOfez6UOZpkCdCmjg1AlLSnEhERb2OGCMVSdAu9mHsINNDhRDhoDBYOxyn"));
+		tl.setCertificateSource(certificateSource);
+		return tl;
+	}
+
+}
@@ -377,6 +377,40 @@ public class TLValidationJobTest {
 		
 	}
 	
+	@Test
+	public void streamingParsingTest() {
+		TrustedListsCertificateSource trustedListsCertificateSource = new TrustedListsCertificateSource();
+		tlValidationJob = new TLValidationJob();
+		tlValidationJob.setOfflineDataLoader(offlineFileLoader);
+		tlValidationJob.setListOfTrustedListSources(lotlSource);
+		tlValidationJob.setTrustedListCertificateSource(trustedListsCertificateSource);
+		tlValidationJob.offlineRefresh();
+
+		TrustedListsCertificateSource streamingCertificateSource = new TrustedListsCertificateSource();
+		TLValidationJob streamingValidationJob = new TLValidationJob();
+		streamingValidationJob.setOfflineDataLoader(offlineFileLoader);
+		streamingValidationJob.setListOfTrustedListSources(lotlSource);
+		streamingValidationJob.setTrustedListCertificateSource(streamingCertificateSource);
+		streamingValidationJob.setStreamingParsing(true);
+		streamingValidationJob.offlineRefresh();
+
+		TLValidationJobSummary summary = streamingValidationJob.getSummary();
+		assertEquals(1, summary.getNumberOfProcessedLOTLs());
+		assertEquals(31, summary.getNumberOfProcessedTLs());
+
+		List<TLInfo> expectedTLInfos = tlValidationJob.getSummary().getLOTLInfos().get(0).getTLInfos();
+		List<TLInfo> tlInfos = summary.getLOTLInfos().get(0).getTLInfos();
+		for (int i = 0; i < tlInfos.size(); i++) {
+			assertEquals(expectedTLInfos.get(i).getParsingCacheInfo().isResultExist(), tlInfos.get(i).getParsingCacheInfo().isResultExist());
+			assertEquals(expectedTLInfos.get(i).getParsingCacheInfo().getTSPNumber(), tlInfos.get(i).getParsingCacheInfo().getTSPNumber());
+			assertEquals(expectedTLInfos.get(i).getParsingCacheInfo().getCertNumber(), tlInfos.get(i).getParsingCacheInfo().getCertNumber());
+		}
+
+		assertTrue(streamingCertificateSource.getNumberOfCertificates() > 0);
+		assertEquals(trustedListsCertificateSource.getNumberOfCertificates(), streamingCertificateSource.getNumberOfCertificates());
+		assertTrue(streamingCertificateSource.isCertificateSourceEqual(trustedListsCertificateSource));
+	}
+
 	@Test
 	public void emptyLOTLTest() {
 		tlValidationJob = new TLValidationJob();
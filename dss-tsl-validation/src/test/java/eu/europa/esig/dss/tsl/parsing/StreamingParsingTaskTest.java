@@ -0,0 +1,240 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.parsing;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.tsl.function.TrustServicePredicate;
+import eu.europa.esig.dss.tsl.function.TrustServiceProviderPredicate;
+import eu.europa.esig.dss.tsl.source.LOTLSource;
+import eu.europa.esig.dss.tsl.source.TLSource;
+import eu.europa.esig.trustedlist.jaxb.tsl.TSPServiceType;
+import eu.europa.esig.trustedlist.jaxb.tsl.TSPType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the streaming (StAX) parsing with the complete JAXB unmarshalling
+ */
+public class StreamingParsingTaskTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamingParsingTaskTest.class);
+
+	private static final String[] TRUSTED_LISTS = new String[] { "src/test/resources/de-tl.xml", "src/test/resources/fr.xml",
+			"src/test/resources/sk-tl.xml", "src/test/resources/ie-tl.xml",
+			"src/test/resources/tsl-sk-minimal-dss-1911.xml" };
+
+	private static final String[] LISTS_OF_TRUSTED_LISTS = new String[] { "src/test/resources/eu-lotl.xml",
+			"src/test/resources/eu-lotl-pivot.xml", "src/test/resources/peru-lotl.xml" };
+
+	@Test
+	public void sameTLResults() {
+		for (String path : TRUSTED_LISTS) {
+			DSSDocument document = new FileDocument(path);
+			TLParsingResult expected = new TLParsingTask(document, new TLSource()).get();
+			TLParsingResult result = getStreamingTLParsingTask(document, new TLSource()).get();
+			assertTrue(result.getTrustServiceProviders().size() > 0);
+			assertEquals(expected.getTrustServiceProviders().size(), result.getTrustServiceProviders().size());
+			assertArrayEquals(serialize(expected), serialize(result), path);
+		}
+	}
+
+	@Test
+	public void sameTLResultsWithPredicates() {
+		TLSource tlSource = new TLSource();
+		tlSource.setTrustServiceProviderPredicate(new TrustServiceProviderPredicate() {
+			@Override
+			public boolean test(TSPType t) {
+				return t.getTSPInformation().getTSPName().getName().stream().anyMatch(n -> n.getValue().startsWith("Bundes"));
+			}
+		});
+		tlSource.setTrustServicePredicate(new TrustServicePredicate() {
+			@Override
+			public boolean test(TSPServiceType t) {
+				return t.getServiceInformation().getServiceTypeIdentifier().endsWith("CA/QC");
+			}
+		});
+
+		DSSDocument document = new FileDocument("src/test/resources/de-tl.xml");
+		TLParsingResult expected = new TLParsingTask(document, tlSource).get();
+		assertTrue(expected.getTrustServiceProviders().size() < new TLParsingTask(document, new TLSource()).get().getTrustServiceProviders().size());
+		TLParsingResult result = getStreamingTLParsingTask(document, tlSource).get();
+		assertTrue(result.getTrustServiceProviders().size() > 0);
+		assertArrayEquals(serialize(expected), serialize(result));
+	}
+
+	@Test
+	public void sameLOTLResults() {
+		for (String path : LISTS_OF_TRUSTED_LISTS) {
+			DSSDocument document = new FileDocument(path);
+			LOTLSource lotlSource = new LOTLSource();
+			lotlSource.setPivotSupport(true);
+			LOTLParsingResult expected = new LOTLParsingTask(document, lotlSource).get();
+			LOTLParsingTask streamingTask = new LOTLParsingTask(document, lotlSource);
+			streamingTask.setStreaming(true);
+			LOTLParsingResult result = streamingTask.get();
+			assertArrayEquals(serialize(expected), serialize(result), path);
+		}
+	}
+
+	@Test
+	public void sameResultsWithRootElement() {
+		for (String path : TRUSTED_LISTS) {
+			DSSDocument document = new FileDocument(path);
+			TLParsingResult expected = new TLParsingTask(document, new TLSource()).get();
+			TLParsingTask task = new TLParsingTask(document, new TLSource());
+			task.setRootElement(DomUtils.buildDOM(document));
+			assertArrayEquals(serialize(expected), serialize(task.get()), path);
+		}
+		for (String path : LISTS_OF_TRUSTED_LISTS) {
+			DSSDocument document = new FileDocument(path);
+			LOTLSource lotlSource = new LOTLSource();
+			lotlSource.setPivotSupport(true);
+			LOTLParsingResult expected = new LOTLParsingTask(document, lotlSource).get();
+			LOTLParsingTask task = new LOTLParsingTask(document, lotlSource);
+			task.setRootElement(DomUtils.buildDOM(document));
+			assertArrayEquals(serialize(expected), serialize(task.get()), path);
+		}
+	}
+
+	@Test
+	public void notParseable() {
+		DSSDocument document = new FileDocument("src/test/resources/eu-lotl-not-parseable.xml");
+		TLParsingTask task = getStreamingTLParsingTask(document, new TLSource());
+		DSSException exception = assertThrows(DSSException.class, () -> task.get());
+		assertTrue(exception.getMessage().contains("Unable to parse binaries"));
+	}
+
+	/**
+	 * CPU and memory measurements, excluded from the default build (see the "slow" tag)
+	 */
+	@Test
+	@Tag("slow")
+	public void benchmark() {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		for (String path : new String[] { "src/test/resources/eu-lotl.xml", "src/test/resources/de-tl.xml",
+				"src/test/resources/fr.xml", "src/test/resources/sk-tl.xml" }) {
+			DSSDocument document = new FileDocument(path);
+			boolean lotl = path.contains("lotl");
+
+			// warm-up
+			getTask(document, lotl, false).get();
+			getTask(document, lotl, true).get();
+
+			long[] jaxb = measure(threadMXBean, getTask(document, lotl, false));
+			long[] streaming = measure(threadMXBean, getTask(document, lotl, true));
+
+			LOG.info("{} : JAXB {} ms CPU / {} KB allocated, streaming {} ms CPU / {} KB allocated", path,
+					jaxb[0] / 1000000, jaxb[1] / 1024, streaming[0] / 1000000, streaming[1] / 1024);
+
+			// the complete JAXB tree is held in memory during the parsing, the streaming parsing only holds the result
+			// and the current trust service provider
+			long jaxbTree = retainedSize(() -> new TLParsingTask(document, new TLSource()).getJAXBObject());
+			long result = retainedSize(getTask(document, lotl, true));
+			LOG.info("{} : retained JAXB tree {} KB, retained parsing result {} KB", path, jaxbTree / 1024, result / 1024);
+		}
+	}
+
+	private Supplier<? extends AbstractParsingResult> getTask(DSSDocument document, boolean lotl, boolean streaming) {
+		if (lotl) {
+			LOTLParsingTask task = new LOTLParsingTask(document, new LOTLSource());
+			task.setStreaming(streaming);
+			return task;
+		}
+		TLParsingTask task = new TLParsingTask(document, new TLSource());
+		task.setStreaming(streaming);
+		return task;
+	}
+
+	/**
+	 * Returns the CPU time (ns) and the allocated memory (bytes) of the current thread while parsing,
+	 * the allocated memory is -1 when not supported by the JVM
+	 */
+	private long[] measure(ThreadMXBean threadMXBean, Supplier<? extends AbstractParsingResult> task) {
+		long allocatedBefore = getAllocatedBytes(threadMXBean);
+		long cpuBefore = threadMXBean.getCurrentThreadCpuTime();
+		task.get();
+		long cpuTime = threadMXBean.getCurrentThreadCpuTime() - cpuBefore;
+		long allocated = allocatedBefore != -1 ? getAllocatedBytes(threadMXBean) - allocatedBefore : -1;
+		return new long[] { cpuTime, allocated };
+	}
+
+	/**
+	 * Returns the approximate heap size retained by the created object
+	 */
+	private long retainedSize(Supplier<?> supplier) {
+		long before = getUsedMemory();
+		Object object = supplier.get();
+		long after = getUsedMemory();
+		assertNotNull(object);
+		return after - before;
+	}
+
+	private long getUsedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private long getAllocatedBytes(ThreadMXBean threadMXBean) {
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	private TLParsingTask getStreamingTLParsingTask(DSSDocument document, TLSource tlSource) {
+		TLParsingTask task = new TLParsingTask(document, tlSource);
+		task.setStreaming(true);
+		return task;
+	}
+
+	private byte[] serialize(Serializable object) {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream(); ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+			oos.writeObject(object);
+			oos.flush();
+			return baos.toByteArray();
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
+
+}
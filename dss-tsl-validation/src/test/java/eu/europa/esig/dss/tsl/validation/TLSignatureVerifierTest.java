@@ -0,0 +1,189 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.tsl.validation;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.diagnostic.CertificateWrapper;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.enumerations.Context;
+import eu.europa.esig.dss.enumerations.SubIndication;
+import eu.europa.esig.dss.enumerations.TokenExtractionStrategy;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.policy.jaxb.Algo;
+import eu.europa.esig.dss.policy.jaxb.CryptographicConstraint;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignaturePolicyProvider;
+import eu.europa.esig.dss.validation.executor.ValidationLevel;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.definition.XAdESPaths;
+import eu.europa.esig.dss.xades.definition.xades132.XAdES132Paths;
+import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class TLSignatureVerifierTest {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TLSignatureVerifierTest.class);
+
+	@ParameterizedTest
+	@ValueSource(strings = { "eu-lotl.xml", "eu-lotl-broken-sig.xml", "eu-lotl-pivot.xml", "eu-lotl-250.xml",
+			"de-tl.xml", "dk_tl-sn21.xml", "fr.xml", "fr-65-docusign.xml", "ie-tl.xml", "sk-tl.xml",
+			"tl-ecdsa-brainpool.xml", "tsl-pe.xml", "peru-lotl.xml", "tsl-sk-minimal-dss-1911.xml" })
+	public void sameResults(String fileName) {
+		assertSameResults(fileName, getTrustedListValidationPolicy());
+	}
+
+	@ParameterizedTest(name = "Custom policy {index} : {0}")
+	@ValueSource(strings = { "eu-lotl.xml", "de-tl.xml", "sk-tl.xml", "tl-ecdsa-brainpool.xml", "tsl-pe.xml" })
+	public void sameResultsWithCustomPolicy(String fileName) {
+		ValidationPolicy validationPolicy = getTrustedListValidationPolicy();
+		CryptographicConstraint cryptographicConstraint = validationPolicy.getSignatureCryptographicConstraint(Context.SIGNATURE);
+		for (Algo algo : cryptographicConstraint.getMiniPublicKeySize().getAlgos()) {
+			algo.setSize(16384);
+		}
+		ValidationResult result = assertSameResults(fileName, validationPolicy);
+		assertEquals(SubIndication.CRYPTO_CONSTRAINTS_FAILURE_NO_POE, result.getSubIndication());
+	}
+
+	private ValidationResult assertSameResults(String fileName, ValidationPolicy validationPolicy) {
+		DSSDocument trustedList = new FileDocument("src/test/resources/" + fileName);
+
+		CertificateSource emptySource = new CommonCertificateSource();
+		ValidationResult result = assertSameResults(trustedList, emptySource, validationPolicy);
+
+		CertificateToken signingCertificate = result.getSigningCertificate();
+		if (signingCertificate != null) {
+			CertificateSource certificateSource = new CommonCertificateSource();
+			certificateSource.addCertificate(signingCertificate);
+			result = assertSameResults(trustedList, certificateSource, validationPolicy);
+		}
+		return result;
+	}
+
+	@Test
+	public void benchmark() {
+		ValidationPolicy validationPolicy = getTrustedListValidationPolicy();
+		DSSDocument trustedList = new FileDocument("src/test/resources/eu-lotl.xml");
+		CertificateSource certificateSource = new CommonCertificateSource();
+		certificateSource.addCertificate(new TLSignatureVerifier(trustedList, certificateSource, validationPolicy).verify().getSigningCertificate());
+
+		int iterations = 10;
+		for (int i = 0; i < iterations; i++) {
+			validateWithReports(trustedList, certificateSource, validationPolicy);
+			new TLSignatureVerifier(trustedList, certificateSource, validationPolicy).verify();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			validateWithReports(trustedList, certificateSource, validationPolicy);
+		}
+		long reports = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			new TLSignatureVerifier(trustedList, certificateSource, validationPolicy).verify();
+		}
+		long verifier = System.nanoTime() - start;
+
+		LOG.info("eu-lotl.xml : validation with reports {} ms, signature verifier {} ms (average on {} iterations)",
+				reports / iterations / 1000000, verifier / iterations / 1000000, iterations);
+	}
+
+	private ValidationResult assertSameResults(DSSDocument trustedList, CertificateSource certificateSource,
+			ValidationPolicy validationPolicy) {
+		ValidationResult expected = validateWithReports(trustedList, certificateSource, validationPolicy);
+		ValidationResult result = new TLSignatureVerifier(trustedList, certificateSource, validationPolicy).verify();
+		assertNotNull(result);
+		assertEquals(expected.getIndication(), result.getIndication());
+		assertEquals(expected.getSubIndication(), result.getSubIndication());
+		assertEquals(expected.getSigningTime(), result.getSigningTime());
+		assertEquals(expected.getSigningCertificate(), result.getSigningCertificate());
+
+		ValidationResult resultWithRootElement = new TLSignatureVerifier(trustedList, DomUtils.buildDOM(trustedList), certificateSource,
+				validationPolicy).verify();
+		assertEquals(result.getIndication(), resultWithRootElement.getIndication());
+		assertEquals(result.getSubIndication(), resultWithRootElement.getSubIndication());
+		assertEquals(result.getSigningTime(), resultWithRootElement.getSigningTime());
+		assertEquals(result.getSigningCertificate(), resultWithRootElement.getSigningCertificate());
+		return result;
+	}
+
+	private ValidationResult validateWithReports(DSSDocument trustedList, CertificateSource certificateSource,
+			ValidationPolicy validationPolicy) {
+		CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+		trustedCertificateSource.importAsTrusted(certificateSource);
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setTrustedCertSources(trustedCertificateSource);
+
+		XMLDocumentValidator xmlDocumentValidator = new XMLDocumentValidator(trustedList);
+		xmlDocumentValidator.setCertificateVerifier(certificateVerifier);
+		xmlDocumentValidator.setTokenExtractionStrategy(TokenExtractionStrategy.EXTRACT_CERTIFICATES_ONLY);
+		xmlDocumentValidator.setEnableEtsiValidationReport(false);
+		xmlDocumentValidator.setValidationLevel(ValidationLevel.BASIC_SIGNATURES);
+		xmlDocumentValidator.setSkipValidationContextExecution(true);
+		xmlDocumentValidator.setSignaturePolicyProvider(new SignaturePolicyProvider());
+		List<XAdESPaths> xadesPathsHolders = xmlDocumentValidator.getXAdESPathsHolder();
+		xadesPathsHolders.clear();
+		xadesPathsHolders.add(new XAdES132Paths());
+
+		Reports reports = xmlDocumentValidator.validateDocument(validationPolicy);
+
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(1, simpleReport.getSignaturesCount());
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		SignatureWrapper signatureWrapper = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		CertificateWrapper signingCertificateWrapper = signatureWrapper.getSigningCertificate();
+		CertificateToken signingCertificate = null;
+		if (signingCertificateWrapper != null) {
+			signingCertificate = DSSUtils.loadCertificate(signingCertificateWrapper.getBinaries());
+		}
+		return new ValidationResult(simpleReport.getIndication(simpleReport.getFirstSignatureId()),
+				simpleReport.getSubIndication(simpleReport.getFirstSignatureId()),
+				signatureWrapper.getClaimedSigningTime(), signingCertificate, certificateSource);
+	}
+
+	private ValidationPolicy getTrustedListValidationPolicy() {
+		try {
+			return ValidationPolicyFacade.newFacade().getTrustedListValidationPolicy();
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to load the validation policy for trusted list", e);
+		}
+	}
+
+}
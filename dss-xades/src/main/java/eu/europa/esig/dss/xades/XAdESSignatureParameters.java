@@ -145,6 +145,11 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 	 */
 	private boolean prettyPrint = false;
 
+	/**
+	 * If true, an ENVELOPED signature is created without building a DOM of the document to sign
+	 */
+	private boolean streamingEnvelopedSignature = false;
+
 	/**
 	 * XMLDSig definition
 	 */
@@ -515,6 +520,36 @@ public class XAdESSignatureParameters extends AbstractSignatureParameters<XAdEST
 		this.prettyPrint = prettyPrint;
 	}
 
+	/**
+	 * Gets if an ENVELOPED signature shall be created without building a DOM of the document to sign
+	 *
+	 * @return TRUE if the streaming creation of an ENVELOPED signature is enabled, FALSE otherwise
+	 */
+	public boolean isStreamingEnvelopedSignature() {
+		return streamingEnvelopedSignature;
+	}
+
+	/**
+	 * Sets if an ENVELOPED signature shall be created without building a DOM of the document to sign
+	 * (e.g. for very large XML documents).
+	 *
+	 * The document is canonicalized and digested with a streaming (StAX) read, only the signature element
+	 * is built as a DOM, and the signed document is written on demand by copying the original document and
+	 * inserting the signature at the configured position (use {@code DSSDocument.writeTo(OutputStream)} or
+	 * {@code DSSDocument.save(String)} to avoid loading the result in memory).
+	 * The mode supports the default enveloped reference only (enveloped-signature XPath Filter 2.0 transform
+	 * followed by the exclusive canonicalization) and an {@code xPathLocationString} built of '/' and '//' steps
+	 * with an element name or '*', optionally followed by a [local-name()='...'] predicate (e.g. "//*[local-name()='Invoices']").
+	 * NOTE: the extension to a level higher than B requires to load the signed document in memory.
+	 *
+	 * Default: false
+	 *
+	 * @param streamingEnvelopedSignature TRUE if to create an ENVELOPED signature in a streaming way, FALSE otherwise
+	 */
+	public void setStreamingEnvelopedSignature(boolean streamingEnvelopedSignature) {
+		this.streamingEnvelopedSignature = streamingEnvelopedSignature;
+	}
+
 	/**
 	 * This method returns the current used XMLDSig namespace
 	 * Never returns null
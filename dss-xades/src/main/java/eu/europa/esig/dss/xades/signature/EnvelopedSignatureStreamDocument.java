@@ -0,0 +1,491 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.exception.IllegalInputException;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.MimeType;
+import eu.europa.esig.dss.utils.Utils;
+import org.bouncycastle.jcajce.io.OutputStreamFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an XML document signed with a streaming enveloped signature.
+ *
+ * The signed document is not kept in memory: it is written on demand by copying the original document
+ * with a StAX reader and inserting the signature element at its position. The digest of the enveloped reference
+ * is computed again during the copy, in order to ensure the original document has not been modified
+ * after the signature creation.
+ */
+@SuppressWarnings("serial")
+class EnvelopedSignatureStreamDocument extends CommonDocument {
+
+	/**
+	 * Defines the position of the signature relatively to the target element
+	 */
+	enum Placement {
+
+		/** The signature is the first child of the target element */
+		FIRST_CHILD,
+
+		/** The signature is the last child of the target element */
+		LAST_CHILD,
+
+		/** The signature is the next sibling of the target element */
+		AFTER
+
+	}
+
+	/** The original document */
+	private final DSSDocument document;
+
+	/** The signature element to insert */
+	private final Element signature;
+
+	/** The position of the target element within the document order of elements (the document element is 1) */
+	private final int targetIndex;
+
+	/** The position of the signature relatively to the target element */
+	private final Placement placement;
+
+	/** The DigestAlgorithm of the enveloped reference */
+	private final DigestAlgorithm digestAlgorithm;
+
+	/** The base64-encoded digest of the enveloped reference */
+	private final String referenceDigest;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param document {@link DSSDocument} the original document
+	 * @param signature {@link Element} the signature to insert
+	 * @param targetIndex the position of the target element within the document order of elements
+	 * @param placement {@link Placement} of the signature relatively to the target element
+	 * @param digestAlgorithm {@link DigestAlgorithm} of the enveloped reference
+	 * @param referenceDigest {@link String} base64-encoded digest of the enveloped reference
+	 */
+	EnvelopedSignatureStreamDocument(final DSSDocument document, final Element signature, final int targetIndex,
+									 final Placement placement, final DigestAlgorithm digestAlgorithm,
+									 final String referenceDigest) {
+		this.document = document;
+		this.signature = signature;
+		this.targetIndex = targetIndex;
+		this.placement = placement;
+		this.digestAlgorithm = digestAlgorithm;
+		this.referenceDigest = referenceDigest;
+		this.mimeType = MimeType.XML;
+	}
+
+	/**
+	 * Creates a secure {@code XMLStreamReader} for the given {@code inputStream}
+	 *
+	 * @param inputStream {@link InputStream} to read
+	 * @return {@link XMLStreamReader}
+	 * @throws XMLStreamException if the reader cannot be created
+	 */
+	static XMLStreamReader createXMLStreamReader(final InputStream inputStream) throws XMLStreamException {
+		final XMLInputFactory xif = XMLInputFactory.newFactory();
+		xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		return xif.createXMLStreamReader(inputStream);
+	}
+
+	@Override
+	public InputStream openStream() {
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			writeTo(baos);
+			return new ByteArrayInputStream(baos.toByteArray());
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to write the signed document : %s", e.getMessage()), e);
+		}
+	}
+
+	@Override
+	public String getDigest(final DigestAlgorithm digestAlgorithm) {
+		String base64EncodeDigest = base64EncodeDigestMap.get(digestAlgorithm);
+		if (base64EncodeDigest == null) {
+			try {
+				final MessageDigest messageDigest = digestAlgorithm.getMessageDigest();
+				try (OutputStream os = OutputStreamFactory.createStream(messageDigest)) {
+					writeTo(os);
+				}
+				base64EncodeDigest = Utils.toBase64(messageDigest.digest());
+				base64EncodeDigestMap.put(digestAlgorithm, base64EncodeDigest);
+			} catch (IOException | NoSuchAlgorithmException e) {
+				throw new DSSException("Unable to compute the digest", e);
+			}
+		}
+		return base64EncodeDigest;
+	}
+
+	@Override
+	public void writeTo(final OutputStream stream) throws IOException {
+		try (InputStream is = document.openStream()) {
+			final XMLStreamReader reader = createXMLStreamReader(is);
+			try {
+				new SignedDocumentWriter(reader, stream).write();
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IllegalInputException(String.format("Unable to read the signed document : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Copies the original document and inserts the signature
+	 */
+	private class SignedDocumentWriter {
+
+		/** The reader of the original document */
+		private final XMLStreamReader reader;
+
+		/** The writer of the signed document */
+		private final Writer writer;
+
+		/** Canonicalizes the original document in order to verify the digest of the enveloped reference */
+		private final StreamingExclusiveCanonicalizer canonicalizer;
+
+		/** Computes the digest of the enveloped reference */
+		private final MessageDigest messageDigest;
+
+		/** The namespace declarations of each open element */
+		private final Deque<Map<String, String>> namespaces = new ArrayDeque<>();
+
+		/** The current depth */
+		private int depth = 0;
+
+		/** The number of the read elements */
+		private int elementIndex = 0;
+
+		/** The depth of the target element, when open */
+		private int targetDepth = -1;
+
+		/** Defines if the start tag of the current element is not closed yet */
+		private boolean pendingStartTag = false;
+
+		/** Defines if the signature has been written */
+		private boolean signatureWritten = false;
+
+		private SignedDocumentWriter(final XMLStreamReader reader, final OutputStream outputStream) {
+			this.reader = reader;
+			this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			try {
+				this.messageDigest = digestAlgorithm.getMessageDigest();
+			} catch (NoSuchAlgorithmException e) {
+				throw new DSSException(String.format("Unable to instantiate a MessageDigest for '%s'", digestAlgorithm), e);
+			}
+			this.canonicalizer = new StreamingExclusiveCanonicalizer(OutputStreamFactory.createStream(messageDigest));
+		}
+
+		private void write() throws IOException, XMLStreamException {
+			writeXmlDeclaration();
+			while (reader.hasNext()) {
+				final int event = reader.next();
+				switch (event) {
+					case XMLStreamConstants.START_ELEMENT:
+						startElement();
+						break;
+					case XMLStreamConstants.END_ELEMENT:
+						endElement();
+						break;
+					case XMLStreamConstants.CHARACTERS:
+					case XMLStreamConstants.SPACE:
+						if (depth > 0) {
+							closePendingStartTag();
+							StreamingExclusiveCanonicalizer.writeText(writer, reader.getTextCharacters(),
+									reader.getTextStart(), reader.getTextLength());
+						}
+						break;
+					case XMLStreamConstants.CDATA:
+						closePendingStartTag();
+						writeCData(reader.getText());
+						break;
+					case XMLStreamConstants.COMMENT:
+						writeComment(reader.getText());
+						break;
+					case XMLStreamConstants.PROCESSING_INSTRUCTION:
+						writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+						break;
+					case XMLStreamConstants.DTD:
+						throw new IllegalInputException("The signed document shall not contain a DTD!");
+					default:
+						break;
+				}
+				canonicalizer.process(reader);
+			}
+			writer.flush();
+
+			if (!signatureWritten) {
+				throw new DSSException("Unable to find the position of the signature within the document!");
+			}
+			if (!referenceDigest.equals(Utils.toBase64(messageDigest.digest()))) {
+				throw new DSSException("The digest of the document does not match the signed one! " +
+						"The document has been modified after the signature creation.");
+			}
+		}
+
+		private void writeXmlDeclaration() throws IOException {
+			final String version = reader.getVersion();
+			writer.write("<?xml version=\"");
+			writer.write(version != null ? version : "1.0");
+			writer.write("\" encoding=\"UTF-8\"");
+			if (reader.standaloneSet()) {
+				writer.write(reader.isStandalone() ? " standalone=\"yes\"" : " standalone=\"no\"");
+			}
+			writer.write("?>");
+		}
+
+		private void startElement() throws IOException {
+			closePendingStartTag();
+			if (depth == 0) {
+				writer.write('\n');
+			}
+			writer.write('<');
+			writer.write(getQName(reader.getPrefix(), reader.getLocalName()));
+			final Map<String, String> declaredNamespaces = new HashMap<>();
+			for (int i = 0; i < reader.getNamespaceCount(); i++) {
+				final String prefix = nullToEmpty(reader.getNamespacePrefix(i));
+				final String uri = nullToEmpty(reader.getNamespaceURI(i));
+				writeNamespaceDeclaration(prefix, uri);
+				declaredNamespaces.put(prefix, uri);
+			}
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				writer.write(' ');
+				writer.write(getQName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)));
+				StreamingExclusiveCanonicalizer.writeAttributeValue(writer, reader.getAttributeValue(i));
+			}
+			namespaces.push(declaredNamespaces);
+			pendingStartTag = true;
+			depth++;
+			elementIndex++;
+
+			if (elementIndex == targetIndex) {
+				targetDepth = depth;
+				if (Placement.FIRST_CHILD == placement) {
+					writeSignature();
+				}
+			}
+		}
+
+		private void endElement() throws IOException {
+			if (depth == targetDepth && Placement.LAST_CHILD == placement) {
+				writeSignature();
+			}
+			if (pendingStartTag) {
+				writer.write("/>");
+				pendingStartTag = false;
+			} else {
+				writer.write("</");
+				writer.write(getQName(reader.getPrefix(), reader.getLocalName()));
+				writer.write('>');
+			}
+			namespaces.pop();
+			if (depth == targetDepth && Placement.AFTER == placement) {
+				writeSignature();
+			}
+			depth--;
+		}
+
+		private void closePendingStartTag() throws IOException {
+			if (pendingStartTag) {
+				writer.write('>');
+				pendingStartTag = false;
+			}
+		}
+
+		private void writeSignature() throws IOException {
+			closePendingStartTag();
+			writeNode(signature);
+			signatureWritten = true;
+			targetDepth = -1;
+		}
+
+		private void writeNode(final Node node) throws IOException {
+			switch (node.getNodeType()) {
+				case Node.ELEMENT_NODE:
+					writeElement((Element) node);
+					break;
+				case Node.TEXT_NODE:
+					final String text = node.getNodeValue();
+					StreamingExclusiveCanonicalizer.writeText(writer, text.toCharArray(), 0, text.length());
+					break;
+				case Node.CDATA_SECTION_NODE:
+					writeCData(node.getNodeValue());
+					break;
+				case Node.COMMENT_NODE:
+					writeComment(node.getNodeValue());
+					break;
+				case Node.PROCESSING_INSTRUCTION_NODE:
+					final ProcessingInstruction processingInstruction = (ProcessingInstruction) node;
+					writeProcessingInstruction(processingInstruction.getTarget(), processingInstruction.getData());
+					break;
+				default:
+					break;
+			}
+		}
+
+		private void writeElement(final Element element) throws IOException {
+			writer.write('<');
+			writer.write(element.getNodeName());
+
+			final Map<String, String> declaredNamespaces = new HashMap<>();
+			namespaces.push(declaredNamespaces);
+			final List<Attr> attributes = new ArrayList<>();
+			final NamedNodeMap attributeMap = element.getAttributes();
+			for (int i = 0; i < attributeMap.getLength(); i++) {
+				final Attr attribute = (Attr) attributeMap.item(i);
+				final String attributeName = attribute.getNodeName();
+				if (XMLConstants.XMLNS_ATTRIBUTE.equals(attributeName)) {
+					declareNamespaceIfNeeded(XMLConstants.DEFAULT_NS_PREFIX, attribute.getValue(), declaredNamespaces);
+				} else if (attributeName.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ':')) {
+					declareNamespaceIfNeeded(attributeName.substring(XMLConstants.XMLNS_ATTRIBUTE.length() + 1),
+							attribute.getValue(), declaredNamespaces);
+				} else {
+					attributes.add(attribute);
+				}
+			}
+			// the redundant declarations are omitted, the missing ones are added
+			declareNamespaceIfNeeded(element.getPrefix(), element.getNamespaceURI(), declaredNamespaces);
+			for (Attr attribute : attributes) {
+				if (attribute.getPrefix() != null && !XMLConstants.XML_NS_PREFIX.equals(attribute.getPrefix())) {
+					declareNamespaceIfNeeded(attribute.getPrefix(), attribute.getNamespaceURI(), declaredNamespaces);
+				}
+			}
+			for (Attr attribute : attributes) {
+				writer.write(' ');
+				writer.write(attribute.getNodeName());
+				StreamingExclusiveCanonicalizer.writeAttributeValue(writer, attribute.getValue());
+			}
+
+			Node child = element.getFirstChild();
+			if (child == null) {
+				writer.write("/>");
+			} else {
+				writer.write('>');
+				while (child != null) {
+					writeNode(child);
+					child = child.getNextSibling();
+				}
+				writer.write("</");
+				writer.write(element.getNodeName());
+				writer.write('>');
+			}
+			namespaces.pop();
+		}
+
+		private void declareNamespaceIfNeeded(final String prefix, final String uri,
+											  final Map<String, String> declaredNamespaces) throws IOException {
+			final String currentPrefix = nullToEmpty(prefix);
+			final String currentUri = nullToEmpty(uri);
+			if (!currentUri.equals(getInScopeNamespace(currentPrefix))) {
+				writeNamespaceDeclaration(currentPrefix, currentUri);
+				declaredNamespaces.put(currentPrefix, currentUri);
+			}
+		}
+
+		private String getInScopeNamespace(final String prefix) {
+			for (Map<String, String> declaredNamespaces : namespaces) {
+				final String uri = declaredNamespaces.get(prefix);
+				if (uri != null) {
+					return uri;
+				}
+			}
+			return prefix.isEmpty() ? XMLConstants.NULL_NS_URI : null;
+		}
+
+		private void writeNamespaceDeclaration(final String prefix, final String uri) throws IOException {
+			writer.write(' ');
+			writer.write(prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ':' + prefix);
+			StreamingExclusiveCanonicalizer.writeAttributeValue(writer, uri);
+		}
+
+		private void writeCData(final String text) throws IOException {
+			writer.write("<![CDATA[");
+			writer.write(text);
+			writer.write("]]>");
+		}
+
+		private void writeComment(final String text) throws IOException {
+			closePendingStartTag();
+			if (depth == 0) {
+				writer.write('\n');
+			}
+			writer.write("<!--");
+			writer.write(text);
+			writer.write("-->");
+		}
+
+		private void writeProcessingInstruction(final String target, final String data) throws IOException {
+			closePendingStartTag();
+			if (depth == 0) {
+				writer.write('\n');
+			}
+			writer.write("<?");
+			writer.write(target);
+			if (Utils.isStringNotEmpty(data)) {
+				writer.write(' ');
+				writer.write(data);
+			}
+			writer.write("?>");
+		}
+
+		private String getQName(final String prefix, final String localName) {
+			return Utils.isStringEmpty(prefix) ? localName : prefix + ':' + localName;
+		}
+
+		private String nullToEmpty(final String value) {
+			return value == null ? "" : value;
+		}
+
+	}
+
+}
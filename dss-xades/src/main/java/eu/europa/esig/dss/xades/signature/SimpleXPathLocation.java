@@ -0,0 +1,149 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.DomUtils;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Represents the subset of XPath expressions which can be evaluated during a streaming read of an XML document,
+ * in order to define the position of an enveloped signature.
+ *
+ * The supported expressions are built of location steps with a child ('/') or a descendant ('//') axis,
+ * and an element name ('*', 'name' or 'prefix:name') optionally followed by a [local-name()='name'] predicate.
+ * E.g. "/*", "//placeOfSignature", "//*[local-name()='Invoices']", "/inv:Batch/inv:Invoices".
+ * The prefixes are resolved with the namespaces registered in {@code DomUtils}.
+ */
+class SimpleXPathLocation {
+
+	/** The pattern of a location step */
+	private static final Pattern STEP_PATTERN = Pattern.compile(
+			"(//?)\\s*(\\*|(?:[\\w.\\-]+:)?[\\w.\\-]+)\\s*" +
+			"(?:\\[\\s*local-name\\(\\s*\\)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")\\s*\\])?\\s*");
+
+	/** The location steps of the expression */
+	private final List<Step> steps = new ArrayList<>();
+
+	/**
+	 * The default constructor
+	 *
+	 * @param xPathLocationString {@link String} the XPath expression to parse
+	 * @throws IllegalArgumentException if the expression is not supported
+	 */
+	SimpleXPathLocation(final String xPathLocationString) {
+		final String expression = xPathLocationString.trim();
+		final Matcher matcher = STEP_PATTERN.matcher(expression);
+		int position = 0;
+		while (position < expression.length()) {
+			matcher.region(position, expression.length());
+			if (!matcher.lookingAt()) {
+				throw new IllegalArgumentException(String.format("The XPath location '%s' is not supported " +
+						"for a streaming enveloped signature!", xPathLocationString));
+			}
+			final boolean descendant = "//".equals(matcher.group(1));
+			final String localNamePredicate = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+			steps.add(new Step(descendant, toQName(matcher.group(2), xPathLocationString), localNamePredicate));
+			position = matcher.end();
+		}
+		if (steps.isEmpty()) {
+			throw new IllegalArgumentException("The XPath location cannot be empty!");
+		}
+	}
+
+	private static QName toQName(final String name, final String xPathLocationString) {
+		if ("*".equals(name)) {
+			return null;
+		}
+		final int index = name.indexOf(':');
+		if (index < 0) {
+			// an unprefixed name test matches an element without namespace
+			return new QName(XMLConstants.NULL_NS_URI, name);
+		}
+		final String prefix = name.substring(0, index);
+		final String uri = DomUtils.getCurrentNamespaces().get(prefix);
+		if (uri == null) {
+			throw new IllegalArgumentException(String.format("The prefix '%s' used in the XPath location '%s' " +
+					"is not registered!", prefix, xPathLocationString));
+		}
+		return new QName(uri, name.substring(index + 1), prefix);
+	}
+
+	/**
+	 * Checks if the element at the end of the given {@code path} is selected by the expression
+	 *
+	 * @param path a list of {@link QName}s of the elements, from the document element to the current one
+	 * @return TRUE if the last element of the path is selected, FALSE otherwise
+	 */
+	boolean matches(final List<QName> path) {
+		return matches(path, 0, 0);
+	}
+
+	private boolean matches(final List<QName> path, final int stepIndex, final int pathIndex) {
+		if (stepIndex == steps.size()) {
+			return pathIndex == path.size();
+		}
+		final Step step = steps.get(stepIndex);
+		final int lastIndex = step.descendant ? path.size() - 1 : pathIndex;
+		for (int i = pathIndex; i <= lastIndex && i < path.size(); i++) {
+			if (step.matches(path.get(i)) && matches(path, stepIndex + 1, i + 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Represents a location step of the expression
+	 */
+	private static class Step {
+
+		/** Defines if the step uses the descendant axis */
+		private final boolean descendant;
+
+		/** The name of the element, null for '*' */
+		private final QName name;
+
+		/** The local name defined in a predicate, if any */
+		private final String localNamePredicate;
+
+		private Step(final boolean descendant, final QName name, final String localNamePredicate) {
+			this.descendant = descendant;
+			this.name = name;
+			this.localNamePredicate = localNamePredicate;
+		}
+
+		private boolean matches(final QName element) {
+			if (name != null && (!name.getNamespaceURI().equals(element.getNamespaceURI())
+					|| !name.getLocalPart().equals(element.getLocalPart()))) {
+				return false;
+			}
+			return localNamePredicate == null || localNamePredicate.equals(element.getLocalPart());
+		}
+
+	}
+
+}
@@ -0,0 +1,335 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.DomUtils;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigAttribute;
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigElement;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.exception.IllegalInputException;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
+import eu.europa.esig.dss.xades.definition.xades132.XAdES132Element;
+import eu.europa.esig.dss.xades.reference.CanonicalizationTransform;
+import eu.europa.esig.dss.xades.reference.DSSReference;
+import eu.europa.esig.dss.xades.reference.DSSTransform;
+import eu.europa.esig.dss.xades.reference.XPath2FilterEnvelopedSignatureTransform;
+import org.apache.xml.security.transforms.Transforms;
+import org.bouncycastle.jcajce.io.OutputStreamFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class handles the creation of an enveloped XML signature without building a DOM of the document to sign.
+ *
+ * The document is read twice with a StAX reader: the first time in order to compute the digest of the enveloped
+ * reference and to find the position of the signature, the second time when the signed document is written
+ * (see {@code EnvelopedSignatureStreamDocument}). Only the signature and its ancestor elements (without their
+ * content) are built as a DOM.
+ */
+class StreamingEnvelopedSignatureBuilder extends XAdESSignatureBuilder {
+
+	/** The position of the target element within the document order of elements */
+	private int targetIndex;
+
+	/** The position of the signature relatively to the target element */
+	private EnvelopedSignatureStreamDocument.Placement placement;
+
+	/** The ancestors of the signature, from the document element */
+	private List<AncestorElement> ancestors;
+
+	/** The parent of the signature within the DOM of the ancestors */
+	private Element parentOfSignature;
+
+	/** The DigestAlgorithm of the enveloped reference */
+	private DigestAlgorithm referenceDigestAlgorithm;
+
+	/** The base64-encoded digest of the enveloped reference */
+	private String referenceDigest;
+
+	/**
+	 * The default constructor for StreamingEnvelopedSignatureBuilder.
+	 *
+	 * @param params
+	 *            The set of parameters relating to the structure and process of the creation or extension of the
+	 *            electronic signature.
+	 * @param document
+	 *            The original document to sign.
+	 * @param certificateVerifier
+	 *            {@link CertificateVerifier}
+	 */
+	public StreamingEnvelopedSignatureBuilder(final XAdESSignatureParameters params, final DSSDocument document,
+											  final CertificateVerifier certificateVerifier) {
+		super(params, document, certificateVerifier);
+	}
+
+	/**
+	 * The presence of a parallel signature with an enveloped signature transform is checked
+	 * during the streaming read of the document
+	 */
+	@Override
+	protected void assertSignaturePossible() {
+		// verified within ensureConfigurationValidity()
+	}
+
+	@Override
+	protected void ensureConfigurationValidity() {
+		checkSignaturePackagingValidity();
+
+		final List<DSSReference> references = params.getReferences();
+		if (Utils.isCollectionNotEmpty(references) && references != params.getContext().getReferences()) {
+			throw new IllegalArgumentException("The streaming enveloped signature does not support custom references!");
+		}
+		if (Utils.isCollectionNotEmpty(params.getDetachedContents())) {
+			throw new IllegalArgumentException("The streaming enveloped signature does not support detached contents!");
+		}
+		if (!DomUtils.startsWithXmlPreamble(document)) {
+			throw new IllegalInputException("Enveloped signature cannot be created. Reason : the provided document is not XML!");
+		}
+
+		referenceDigestAlgorithm = getReferenceDigestAlgorithmOrDefault(params);
+		readDocument();
+
+		final DSSReference dssReference = new DSSReference();
+		dssReference.setId("r-" + deterministicId + "-1");
+		dssReference.setUri("");
+		dssReference.setDigestMethodAlgorithm(referenceDigestAlgorithm);
+		final List<DSSTransform> dssTransformList = new ArrayList<>();
+		dssTransformList.add(new XPath2FilterEnvelopedSignatureTransform(params.getXmldsigNamespace()));
+		dssTransformList.add(new CanonicalizationTransform(params.getXmldsigNamespace(), DSSXMLUtils.DEFAULT_DSS_C14N_METHOD));
+		dssReference.setTransforms(dssTransformList);
+
+		// the digest is computed on the streamed document
+		final DigestDocument digestDocument = new DigestDocument(referenceDigestAlgorithm, referenceDigest);
+		digestDocument.setMimeType(document.getMimeType());
+		digestDocument.setName(document.getName());
+		dssReference.setContents(digestDocument);
+
+		params.getContext().setReferences(Collections.singletonList(dssReference));
+	}
+
+	private void readDocument() {
+		final SimpleXPathLocation location = Utils.isStringNotEmpty(params.getXPathLocationString()) ?
+				new SimpleXPathLocation(params.getXPathLocationString()) : null;
+		try (InputStream is = document.openStream()) {
+			final MessageDigest messageDigest = referenceDigestAlgorithm.getMessageDigest();
+			final StreamingExclusiveCanonicalizer canonicalizer =
+					new StreamingExclusiveCanonicalizer(OutputStreamFactory.createStream(messageDigest));
+			final XMLStreamReader reader = EnvelopedSignatureStreamDocument.createXMLStreamReader(is);
+			try {
+				final List<QName> path = new ArrayList<>();
+				final List<AncestorElement> openElements = new ArrayList<>();
+				int elementIndex = 0;
+				targetIndex = -1;
+				while (reader.hasNext()) {
+					final int event = reader.next();
+					if (XMLStreamConstants.DTD == event) {
+						throw new IllegalInputException("Enveloped signature cannot be created. " +
+								"Reason : the provided document contains a DTD!");
+
+					} else if (XMLStreamConstants.START_ELEMENT == event) {
+						elementIndex++;
+						path.add(reader.getName());
+						// the ancestors are only required until the target element is found
+						openElements.add(targetIndex == -1 ? new AncestorElement(reader) : null);
+						if (elementIndex == 1 && isXMLDSigElement(reader.getName(), XMLDSigElement.SIGNATURE)) {
+							throw new IllegalInputException("Unable to create an enveloped signature for another XML signature document!");
+						}
+						assertNotEnvelopedSignatureTransform(reader, path);
+						if (targetIndex == -1 && (location == null ? elementIndex == 1 : location.matches(path))) {
+							targetIndex = elementIndex;
+							placement = getPlacement(location, elementIndex);
+							final int ancestorsNumber = EnvelopedSignatureStreamDocument.Placement.AFTER == placement ?
+									openElements.size() - 1 : openElements.size();
+							ancestors = new ArrayList<>(openElements.subList(0, ancestorsNumber));
+						}
+
+					} else if (XMLStreamConstants.END_ELEMENT == event) {
+						path.remove(path.size() - 1);
+						openElements.remove(openElements.size() - 1);
+					}
+					canonicalizer.process(reader);
+				}
+			} finally {
+				reader.close();
+			}
+			referenceDigest = Utils.toBase64(messageDigest.digest());
+
+		} catch (XMLStreamException e) {
+			throw new IllegalInputException(String.format("Enveloped signature cannot be created. " +
+					"Reason : the provided document is not a valid XML : %s", e.getMessage()), e);
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new DSSException(String.format("Unable to read the document to sign : %s", e.getMessage()), e);
+		}
+
+		if (targetIndex == -1) {
+			throw new IllegalArgumentException(String.format("No element found for the XPath location '%s'!",
+					params.getXPathLocationString()));
+		}
+	}
+
+	private EnvelopedSignatureStreamDocument.Placement getPlacement(final SimpleXPathLocation location, final int elementIndex) {
+		if (location == null || params.getXPathElementPlacement() == null) {
+			return EnvelopedSignatureStreamDocument.Placement.LAST_CHILD;
+		}
+		switch (params.getXPathElementPlacement()) {
+			case XPathAfter:
+				// the signature is appended at the end of the document element
+				return elementIndex == 1 ? EnvelopedSignatureStreamDocument.Placement.LAST_CHILD :
+						EnvelopedSignatureStreamDocument.Placement.AFTER;
+			case XPathFirstChildOf:
+				return EnvelopedSignatureStreamDocument.Placement.FIRST_CHILD;
+			default:
+				return EnvelopedSignatureStreamDocument.Placement.LAST_CHILD;
+		}
+	}
+
+	/**
+	 * Checks the current element is not an enveloped signature transform of a parallel signature
+	 * (ds:Signature/ds:SignedInfo/ds:Reference/ds:Transforms/ds:Transform), except for a counter signature
+	 */
+	private void assertNotEnvelopedSignatureTransform(final XMLStreamReader reader, final List<QName> path) {
+		final int size = path.size();
+		if (size < 5 || !isXMLDSigElement(path.get(size - 1), XMLDSigElement.TRANSFORM)
+				|| !isXMLDSigElement(path.get(size - 2), XMLDSigElement.TRANSFORMS)
+				|| !isXMLDSigElement(path.get(size - 3), XMLDSigElement.REFERENCE)
+				|| !isXMLDSigElement(path.get(size - 4), XMLDSigElement.SIGNED_INFO)
+				|| !isXMLDSigElement(path.get(size - 5), XMLDSigElement.SIGNATURE)) {
+			return;
+		}
+		if (size > 5) {
+			final QName parentOfSignature = path.get(size - 6);
+			if (XAdESNamespaces.XADES_132.isSameUri(parentOfSignature.getNamespaceURI())
+					&& XAdES132Element.COUNTER_SIGNATURE.isSameTagName(parentOfSignature.getLocalPart())) {
+				return;
+			}
+		}
+		final String transformAlgorithm = reader.getAttributeValue(null, XMLDSigAttribute.ALGORITHM.getAttributeName());
+		if (Transforms.TRANSFORM_ENVELOPED_SIGNATURE.equals(transformAlgorithm)) {
+			throw new IllegalInputException(String.format(
+					"The parallel signature is not possible! The provided file contains a signature with an '%s' transform.",
+					Transforms.TRANSFORM_ENVELOPED_SIGNATURE));
+		}
+	}
+
+	private boolean isXMLDSigElement(final QName name, final XMLDSigElement element) {
+		return XAdESNamespaces.XMLDSIG.isSameUri(name.getNamespaceURI()) && element.isSameTagName(name.getLocalPart());
+	}
+
+	/**
+	 * Builds the ancestors of the signature, with their namespace declarations and xml:* attributes,
+	 * in order to canonicalize the signature elements as within the signed document
+	 */
+	@Override
+	protected Document buildRootDocumentDom() {
+		final Document dom = DomUtils.buildDOM();
+		Node parent = dom;
+		for (AncestorElement ancestor : ancestors) {
+			final Element element = dom.createElementNS(Utils.isStringEmpty(ancestor.namespaceURI) ? null : ancestor.namespaceURI,
+					Utils.isStringEmpty(ancestor.prefix) ? ancestor.localName : ancestor.prefix + ':' + ancestor.localName);
+			for (Map.Entry<String, String> namespace : ancestor.namespaces.entrySet()) {
+				element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, Utils.isStringEmpty(namespace.getKey()) ?
+						XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ':' + namespace.getKey(), namespace.getValue());
+			}
+			for (Map.Entry<String, String> xmlAttribute : ancestor.xmlAttributes.entrySet()) {
+				element.setAttributeNS(XMLConstants.XML_NS_URI, XMLConstants.XML_NS_PREFIX + ':' + xmlAttribute.getKey(),
+						xmlAttribute.getValue());
+			}
+			parent.appendChild(element);
+			parent = element;
+		}
+		parentOfSignature = (Element) parent;
+		return dom;
+	}
+
+	@Override
+	protected Node getParentNodeOfSignature() {
+		return parentOfSignature;
+	}
+
+	@Override
+	protected DSSDocument createXmlDocument() {
+		final Element signatureElement = DomUtils.getElementById(getSignedDocumentDom(), deterministicId);
+		if (signatureElement == null) {
+			throw new DSSException("Unable to find the created signature!");
+		}
+		return new EnvelopedSignatureStreamDocument(document, signatureElement, targetIndex, placement,
+				referenceDigestAlgorithm, referenceDigest);
+	}
+
+	/**
+	 * Contains the information of an ancestor element of the signature required to build its DOM
+	 */
+	private static class AncestorElement {
+
+		private final String namespaceURI;
+
+		private final String prefix;
+
+		private final String localName;
+
+		/** The namespace declarations of the element */
+		private final Map<String, String> namespaces = new LinkedHashMap<>();
+
+		/** The xml:* attributes of the element (inherited by the inclusive canonicalization) */
+		private final Map<String, String> xmlAttributes = new LinkedHashMap<>();
+
+		private AncestorElement(final XMLStreamReader reader) {
+			this.namespaceURI = reader.getNamespaceURI();
+			this.prefix = reader.getPrefix();
+			this.localName = reader.getLocalName();
+			for (int i = 0; i < reader.getNamespaceCount(); i++) {
+				final String namespacePrefix = reader.getNamespacePrefix(i);
+				namespaces.put(namespacePrefix != null ? namespacePrefix : XMLConstants.DEFAULT_NS_PREFIX,
+						reader.getNamespaceURI(i) != null ? reader.getNamespaceURI(i) : XMLConstants.NULL_NS_URI);
+			}
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				if (XMLConstants.XML_NS_URI.equals(reader.getAttributeNamespace(i))) {
+					xmlAttributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,339 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.definition.xmldsig.XMLDSigElement;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.xades.definition.XAdESNamespaces;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Canonicalizes an XML document read with a StAX cursor, according to the Exclusive XML Canonicalization
+ * (http://www.w3.org/2001/10/xml-exc-c14n#, without comments), after the application of the enveloped signature
+ * XPath Filter 2.0 transform (all ds:Signature elements are excluded from the output).
+ *
+ * The output is the same as the one of the DOM based transforms of an enveloped reference with URI="",
+ * while the document is never loaded in memory.
+ */
+class StreamingExclusiveCanonicalizer {
+
+	/** The name of a default namespace declaration */
+	private static final String XMLNS = "xmlns";
+
+	/** The writer of the canonicalized output */
+	private final Writer writer;
+
+	/** The namespace declarations of each open element */
+	private final Deque<Map<String, String>> declaredNamespaces = new ArrayDeque<>();
+
+	/** The namespace declarations rendered by each open element */
+	private final Deque<Map<String, String>> renderedNamespaces = new ArrayDeque<>();
+
+	/** The depth of the current element */
+	private int depth = 0;
+
+	/** The depth within an excluded ds:Signature element (0 when the current node is not excluded) */
+	private int excludedDepth = 0;
+
+	/** Defines if the document element has already been processed */
+	private boolean afterDocumentElement = false;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param outputStream {@link OutputStream} to write the canonicalized document into (e.g. a digest stream)
+	 */
+	StreamingExclusiveCanonicalizer(final OutputStream outputStream) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		// the empty default namespace is considered as rendered
+		Map<String, String> initialNamespaces = new HashMap<>();
+		initialNamespaces.put(XMLConstants.DEFAULT_NS_PREFIX, XMLConstants.NULL_NS_URI);
+		renderedNamespaces.push(initialNamespaces);
+	}
+
+	/**
+	 * Canonicalizes the current event of the {@code reader}
+	 *
+	 * @param reader {@link XMLStreamReader} positioned on the event to process
+	 * @throws IOException if the output cannot be written
+	 */
+	void process(final XMLStreamReader reader) throws IOException {
+		switch (reader.getEventType()) {
+			case XMLStreamConstants.START_ELEMENT:
+				startElement(reader);
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				endElement(reader);
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (depth > 0 && excludedDepth == 0) {
+					writeText(writer, reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				}
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				processingInstruction(reader);
+				break;
+			case XMLStreamConstants.END_DOCUMENT:
+				writer.flush();
+				break;
+			default:
+				// comments are not canonicalized, the prolog is not part of the output
+				break;
+		}
+	}
+
+	private void startElement(final XMLStreamReader reader) throws IOException {
+		depth++;
+		if (excludedDepth > 0) {
+			excludedDepth++;
+			return;
+		} else if (isSignature(reader)) {
+			excludedDepth = 1;
+			return;
+		}
+
+		final Map<String, String> namespaces = new HashMap<>();
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			final String prefix = nullToEmpty(reader.getNamespacePrefix(i));
+			final String uri = nullToEmpty(reader.getNamespaceURI(i));
+			if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+				continue;
+			}
+			if (!uri.isEmpty() && uri.indexOf(':') <= 0) {
+				throw new DSSException(String.format("The namespace '%s' is relative and cannot be canonicalized!", uri));
+			}
+			namespaces.put(prefix, uri);
+		}
+		declaredNamespaces.push(namespaces);
+
+		final TreeSet<String> visiblyUtilized = new TreeSet<>();
+		visiblyUtilized.add(nullToEmpty(reader.getPrefix()));
+		final TreeMap<String, TreeMap<String, String[]>> attributes = new TreeMap<>();
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String prefix = nullToEmpty(reader.getAttributePrefix(i));
+			if (!prefix.isEmpty() && !XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+				visiblyUtilized.add(prefix);
+			}
+			final String localName = reader.getAttributeLocalName(i);
+			final String qName = prefix.isEmpty() ? localName : prefix + ':' + localName;
+			attributes.computeIfAbsent(nullToEmpty(reader.getAttributeNamespace(i)), k -> new TreeMap<>())
+					.put(localName, new String[] { qName, reader.getAttributeValue(i) });
+		}
+
+		final Map<String, String> rendered = new HashMap<>();
+		for (String prefix : visiblyUtilized) {
+			final String uri = getInScopeNamespace(prefix);
+			if (uri != null && !uri.equals(getRenderedNamespace(prefix))) {
+				rendered.put(prefix, uri);
+			}
+		}
+		renderedNamespaces.push(rendered);
+
+		writer.write('<');
+		writer.write(getQName(reader));
+		// visiblyUtilized is sorted, the default namespace (empty prefix) comes first
+		for (String prefix : visiblyUtilized) {
+			final String uri = rendered.get(prefix);
+			if (uri != null) {
+				writer.write(' ');
+				writer.write(prefix.isEmpty() ? XMLNS : XMLNS + ':' + prefix);
+				writeAttributeValue(writer, uri);
+			}
+		}
+		// attributes are sorted by namespace URI (no namespace first) and local name
+		for (TreeMap<String, String[]> attributesOfNamespace : attributes.values()) {
+			for (String[] attribute : attributesOfNamespace.values()) {
+				writer.write(' ');
+				writer.write(attribute[0]);
+				writeAttributeValue(writer, attribute[1]);
+			}
+		}
+		writer.write('>');
+	}
+
+	private void endElement(final XMLStreamReader reader) throws IOException {
+		depth--;
+		if (depth == 0) {
+			afterDocumentElement = true;
+		}
+		if (excludedDepth > 0) {
+			excludedDepth--;
+			return;
+		}
+		declaredNamespaces.pop();
+		renderedNamespaces.pop();
+		writer.write("</");
+		writer.write(getQName(reader));
+		writer.write('>');
+	}
+
+	private void processingInstruction(final XMLStreamReader reader) throws IOException {
+		if (excludedDepth > 0) {
+			return;
+		}
+		if (depth == 0 && afterDocumentElement) {
+			writer.write('\n');
+		}
+		writer.write("<?");
+		writer.write(reader.getPITarget());
+		final String data = reader.getPIData();
+		if (data != null && !data.isEmpty()) {
+			writer.write(' ');
+			for (int i = 0; i < data.length(); i++) {
+				final char c = data.charAt(i);
+				if (c == '\r') {
+					writer.write("&#xD;");
+				} else {
+					writer.write(c);
+				}
+			}
+		}
+		writer.write("?>");
+		if (depth == 0 && !afterDocumentElement) {
+			writer.write('\n');
+		}
+	}
+
+	private boolean isSignature(final XMLStreamReader reader) {
+		return XAdESNamespaces.XMLDSIG.isSameUri(reader.getNamespaceURI())
+				&& XMLDSigElement.SIGNATURE.isSameTagName(reader.getLocalName());
+	}
+
+	private String getInScopeNamespace(final String prefix) {
+		for (Map<String, String> namespaces : declaredNamespaces) {
+			final String uri = namespaces.get(prefix);
+			if (uri != null) {
+				return uri;
+			}
+		}
+		return prefix.isEmpty() ? XMLConstants.NULL_NS_URI : null;
+	}
+
+	private String getRenderedNamespace(final String prefix) {
+		for (Map<String, String> namespaces : renderedNamespaces) {
+			final String uri = namespaces.get(prefix);
+			if (uri != null) {
+				return uri;
+			}
+		}
+		return null;
+	}
+
+	private static String getQName(final XMLStreamReader reader) {
+		final String prefix = reader.getPrefix();
+		if (prefix == null || prefix.isEmpty()) {
+			return reader.getLocalName();
+		}
+		return prefix + ':' + reader.getLocalName();
+	}
+
+	private static String nullToEmpty(final String value) {
+		return value == null ? "" : value;
+	}
+
+	/**
+	 * Writes an escaped text node value
+	 *
+	 * @param writer {@link Writer} to write into
+	 * @param chars the text characters
+	 * @param start the start position
+	 * @param length the number of characters to write
+	 * @throws IOException if the text cannot be written
+	 */
+	static void writeText(final Writer writer, final char[] chars, final int start, final int length) throws IOException {
+		for (int i = start; i < start + length; i++) {
+			final char c = chars[i];
+			switch (c) {
+				case '&':
+					writer.write("&amp;");
+					break;
+				case '<':
+					writer.write("&lt;");
+					break;
+				case '>':
+					writer.write("&gt;");
+					break;
+				case '\r':
+					writer.write("&#xD;");
+					break;
+				default:
+					writer.write(c);
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Writes an escaped attribute value within quotation marks, preceded by the equals sign
+	 *
+	 * @param writer {@link Writer} to write into
+	 * @param value the attribute value
+	 * @throws IOException if the value cannot be written
+	 */
+	static void writeAttributeValue(final Writer writer, final String value) throws IOException {
+		writer.write("=\"");
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			switch (c) {
+				case '&':
+					writer.write("&amp;");
+					break;
+				case '<':
+					writer.write("&lt;");
+					break;
+				case '"':
+					writer.write("&quot;");
+					break;
+				case '\t':
+					writer.write("&#x9;");
+					break;
+				case '\n':
+					writer.write("&#xA;");
+					break;
+				case '\r':
+					writer.write("&#xD;");
+					break;
+				default:
+					writer.write(c);
+					break;
+			}
+		}
+		writer.write('"');
+	}
+
+}
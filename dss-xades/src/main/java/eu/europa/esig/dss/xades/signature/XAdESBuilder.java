@@ -309,18 +309,25 @@ public abstract class XAdESBuilder {
 	 * @return {@link DSSDocument}
 	 */
 	protected DSSDocument createXmlDocument() {
-		byte[] bytes;
-		if (SigningOperation.SIGN.equals(params.getContext().getOperationKind()) && params.isPrettyPrint()) {
-			alignNodes();
-			bytes = DSSXMLUtils.serializeNode(DSSXMLUtils.getDocWithIndentedSignature(documentDom, params.getDeterministicId(), getNotIndentedObjectIds()));
-		} else {
-			bytes = DSSXMLUtils.serializeNode(documentDom);
-		}
+		final byte[] bytes = DSSXMLUtils.serializeNode(getSignedDocumentDom());
 		final InMemoryDocument inMemoryDocument = new InMemoryDocument(bytes);
 		inMemoryDocument.setMimeType(MimeType.XML);
 		return inMemoryDocument;
 	}
 
+	/**
+	 * Returns the current documentDom, with the indented signature when the pretty print is enabled
+	 *
+	 * @return {@link Document}
+	 */
+	protected Document getSignedDocumentDom() {
+		if (SigningOperation.SIGN.equals(params.getContext().getOperationKind()) && params.isPrettyPrint()) {
+			alignNodes();
+			return DSSXMLUtils.getDocWithIndentedSignature(documentDom, params.getDeterministicId(), getNotIndentedObjectIds());
+		}
+		return documentDom;
+	}
+
 	/**
 	 * This method is used to align children indents
 	 */
@@ -151,6 +151,9 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		
 		switch (params.getSignaturePackaging()) {
 			case ENVELOPED:
+				if (params.isStreamingEnvelopedSignature()) {
+					return new StreamingEnvelopedSignatureBuilder(params, document, certificateVerifier);
+				}
 				return new EnvelopedSignatureBuilder(params, document, certificateVerifier);
 			case ENVELOPING:
 				return new EnvelopingSignatureBuilder(params, document, certificateVerifier);
@@ -241,7 +244,10 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		return canonicalizedSignedInfo;
 	}
 	
-	private void assertSignaturePossible() {
+	/**
+	 * Verifies the document does not contain a signature with an enveloped signature transform
+	 */
+	protected void assertSignaturePossible() {
 		if (DomUtils.isDOM(document)) {
 			Document dom = DomUtils.buildDOM(document);
 			final NodeList signatureNodeList = DSSXMLUtils.getAllSignaturesExceptCounterSignatures(dom);
@@ -276,7 +282,10 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		}
 	}
 
-	private void ensureConfigurationValidity() {
+	/**
+	 * Verifies the configuration and creates the default references when not defined
+	 */
+	protected void ensureConfigurationValidity() {
 		checkSignaturePackagingValidity();
 
 		ReferenceBuilder referenceBuilder = initReferenceBuilder();
@@ -297,7 +306,10 @@ public abstract class XAdESSignatureBuilder extends XAdESBuilder implements Sign
 		return new ReferenceBuilder(detachedContent, params);
 	}
 	
-	private void checkSignaturePackagingValidity() {
+	/**
+	 * Verifies the signature packaging is compatible with the configuration
+	 */
+	protected void checkSignaturePackagingValidity() {
 		if (!SignaturePackaging.ENVELOPING.equals(params.getSignaturePackaging())) {
 			if (params.isManifestSignature()) {
 				throw new IllegalArgumentException(String.format("The signature packaging %s is not compatible with manifestSignature(true) configuration!",
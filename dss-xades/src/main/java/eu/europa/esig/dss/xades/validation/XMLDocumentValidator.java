@@ -101,6 +101,29 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 		xadesPathsHolders.add(new XAdES132Paths());
 	}
 
+	/**
+	 * The constructor for XMLDocumentValidator with an already built DOM of the document, which is not parsed
+	 * again. The created instance is initialised with default {@code XAdESPaths}.
+	 *
+	 * @param dssDocument
+	 *                    The instance of {@code DSSDocument} to validate
+	 * @param rootElement
+	 *                    The {@code Document} built from the {@code dssDocument}
+	 */
+	public XMLDocumentValidator(final DSSDocument dssDocument, final Document rootElement) {
+		super(new XAdESSignatureScopeFinder());
+		Objects.requireNonNull(dssDocument, "Document to be validated cannot be null!");
+		Objects.requireNonNull(rootElement, "The root element cannot be null!");
+
+		this.document = dssDocument;
+		this.rootElement = rootElement;
+
+		xadesPathsHolders = new ArrayList<>();
+		xadesPathsHolders.add(new XAdES111Paths());
+		xadesPathsHolders.add(new XAdES122Paths());
+		xadesPathsHolders.add(new XAdES132Paths());
+	}
+
 	private Document toDomDocument(DSSDocument document) {
 		try {
 			return DomUtils.buildDOM(document);
@@ -0,0 +1,220 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ * 
+ * This file is part of the "DSS - Digital Signature Services" project.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.xades.signature;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlDigestMatcher;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.exception.IllegalInputException;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.test.PKIFactoryAccess;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.xades.DSSXMLUtils;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters.XPathElementPlacement;
+import eu.europa.esig.dss.xades.reference.DSSReference;
+import org.apache.xml.security.c14n.Canonicalizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XAdESStreamingEnvelopedSignatureTest extends PKIFactoryAccess {
+
+	@TempDir
+	Path temporaryFolder;
+
+	private DSSDocument documentToSign;
+	private XAdESService service;
+
+	@BeforeEach
+	public void init() throws IOException {
+		File file = temporaryFolder.resolve("invoices.xml").toFile();
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8))) {
+			writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!-- e-invoicing batch -->\n");
+			writer.write("<inv:Batch xmlns:inv=\"urn:invoices\" xmlns=\"urn:default\" xml:lang=\"en\" id=\"b&amp;1\">\n");
+			writer.write("\t<Header><Sender xmlns=\"\">Sender &lt;1&gt;</Sender><Empty/><?processing instruction?></Header>\n");
+			writer.write("\t<inv:Invoices>\n");
+			for (int i = 0; i < 10000; i++) {
+				writer.write("\t\t<inv:Invoice number=\"" + i + "\" b=\"2\" a=\"1\"><Amount currency=\"EUR\">" + i + ".99</Amount>"
+						+ "<Text><![CDATA[special <characters> & é€]]></Text></inv:Invoice>\n");
+			}
+			writer.write("\t</inv:Invoices>\n\t<placeOfSignature/>\n</inv:Batch>");
+		}
+		documentToSign = new FileDocument(file);
+
+		service = new XAdESService(getCompleteCertificateVerifier());
+		service.setTspSource(getGoodTsa());
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = SignatureLevel.class, names = { "XAdES_BASELINE_B", "XAdES_BASELINE_T", "XAdES_BASELINE_LT", "XAdES_BASELINE_LTA" })
+	public void streamTest(SignatureLevel signatureLevel) throws IOException {
+		XAdESSignatureParameters signatureParameters = getSignatureParameters(signatureLevel, true);
+
+		ToBeSigned dataToSign = service.getDataToSign(documentToSign, signatureParameters);
+		SignatureValue signatureValue = getToken().sign(dataToSign, signatureParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		DSSDocument signedDocument = service.signDocument(documentToSign, signatureParameters, signatureValue);
+
+		File signatureFile = temporaryFolder.resolve("signature.xml").toFile();
+		signedDocument.save(signatureFile.getPath());
+		validate(new FileDocument(signatureFile), signatureLevel);
+	}
+
+	private static Stream<Arguments> placements() {
+		return Stream.of(
+				Arguments.of(null, null, null),
+				Arguments.of("/*", XPathElementPlacement.XPathAfter, null),
+				Arguments.of("//*[local-name()='Invoices']", XPathElementPlacement.XPathAfter, null),
+				Arguments.of("//*[local-name()='Invoices']", XPathElementPlacement.XPathFirstChildOf, null),
+				Arguments.of("//*[local-name() = 'Header']/Sender", null, Canonicalizer.ALGO_ID_C14N_OMIT_COMMENTS),
+				Arguments.of("//*[local-name()=\"placeOfSignature\"]", XPathElementPlacement.XPathFirstChildOf, Canonicalizer.ALGO_ID_C14N11_OMIT_COMMENTS)
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("placements")
+	public void sameAsDomTest(String xPathLocation, XPathElementPlacement placement, String canonicalizationMethod) {
+		Date signingDate = new Date();
+		XAdESSignatureParameters domParameters = getSignatureParameters(SignatureLevel.XAdES_BASELINE_B, false);
+		XAdESSignatureParameters streamingParameters = getSignatureParameters(SignatureLevel.XAdES_BASELINE_B, true);
+		for (XAdESSignatureParameters signatureParameters : new XAdESSignatureParameters[] { domParameters, streamingParameters }) {
+			signatureParameters.bLevel().setSigningDate(signingDate);
+			signatureParameters.setXPathLocationString(xPathLocation);
+			signatureParameters.setXPathElementPlacement(placement);
+			if (canonicalizationMethod != null) {
+				signatureParameters.setSignedInfoCanonicalizationMethod(canonicalizationMethod);
+				signatureParameters.setSignedPropertiesCanonicalizationMethod(canonicalizationMethod);
+			}
+		}
+
+		ToBeSigned domDataToSign = service.getDataToSign(documentToSign, domParameters);
+		ToBeSigned streamingDataToSign = service.getDataToSign(documentToSign, streamingParameters);
+		assertArrayEquals(domDataToSign.getBytes(), streamingDataToSign.getBytes());
+
+		SignatureValue signatureValue = getToken().sign(domDataToSign, domParameters.getDigestAlgorithm(), getPrivateKeyEntry());
+		DSSDocument domSignedDocument = service.signDocument(documentToSign, domParameters, signatureValue);
+		DSSDocument streamingSignedDocument = service.signDocument(documentToSign, streamingParameters, signatureValue);
+		assertArrayEquals(DSSXMLUtils.canonicalize(Canonicalizer.ALGO_ID_C14N_OMIT_COMMENTS, DSSUtils.toByteArray(domSignedDocument)),
+				DSSXMLUtils.canonicalize(Canonicalizer.ALGO_ID_C14N_OMIT_COMMENTS, DSSUtils.toByteArray(streamingSignedDocument)));
+
+		validate(streamingSignedDocument, SignatureLevel.XAdES_BASELINE_B);
+	}
+
+	@Test
+	public void unsupportedConfigurationTest() {
+		XAdESSignatureParameters signatureParameters = getSignatureParameters(SignatureLevel.XAdES_BASELINE_B, true);
+		signatureParameters.setXPathLocationString("//*[local-name()='Invoice'][2]");
+		Exception exception = assertThrows(IllegalArgumentException.class, () -> service.getDataToSign(documentToSign, signatureParameters));
+		assertEquals("The XPath location '//*[local-name()='Invoice'][2]' is not supported for a streaming enveloped signature!",
+				exception.getMessage());
+
+		signatureParameters.setXPathLocationString("//*[local-name()='Unknown']");
+		exception = assertThrows(IllegalArgumentException.class, () -> service.getDataToSign(documentToSign, signatureParameters));
+		assertEquals("No element found for the XPath location '//*[local-name()='Unknown']'!", exception.getMessage());
+
+		signatureParameters.setXPathLocationString(null);
+		DSSReference reference = new DSSReference();
+		reference.setId("custom-ref");
+		reference.setUri("");
+		reference.setContents(documentToSign);
+		signatureParameters.setReferences(Collections.singletonList(reference));
+		exception = assertThrows(IllegalArgumentException.class, () -> service.getDataToSign(documentToSign, signatureParameters));
+		assertEquals("The streaming enveloped signature does not support custom references!", exception.getMessage());
+	}
+
+	@Test
+	public void parallelSignatureWithEnvelopedTransformTest() {
+		DSSDocument document = new InMemoryDocument(("<?xml version=\"1.0\" encoding=\"UTF-8\"?><root>"
+				+ "<ds:Signature xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\"><ds:SignedInfo><ds:Reference URI=\"\">"
+				+ "<ds:Transforms><ds:Transform Algorithm=\"http://www.w3.org/2000/09/xmldsig#enveloped-signature\"/></ds:Transforms>"
+				+ "</ds:Reference></ds:SignedInfo></ds:Signature></root>").getBytes(StandardCharsets.UTF_8));
+
+		XAdESSignatureParameters signatureParameters = getSignatureParameters(SignatureLevel.XAdES_BASELINE_B, true);
+		Exception exception = assertThrows(IllegalInputException.class, () -> service.getDataToSign(document, signatureParameters));
+		assertEquals("The parallel signature is not possible! The provided file contains a signature with an " +
+				"'http://www.w3.org/2000/09/xmldsig#enveloped-signature' transform.", exception.getMessage());
+	}
+
+	private XAdESSignatureParameters getSignatureParameters(SignatureLevel signatureLevel, boolean streaming) {
+		XAdESSignatureParameters signatureParameters = new XAdESSignatureParameters();
+		signatureParameters.setSigningCertificate(getSigningCert());
+		signatureParameters.setCertificateChain(getCertificateChain());
+		signatureParameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+		signatureParameters.setSignatureLevel(signatureLevel);
+		signatureParameters.setStreamingEnvelopedSignature(streaming);
+		return signatureParameters;
+	}
+
+	private void validate(DSSDocument signedDocument, SignatureLevel signatureLevel) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(getCompleteCertificateVerifier());
+		Reports reports = validator.validateDocument();
+		SimpleReport simpleReport = reports.getSimpleReport();
+		assertEquals(Indication.TOTAL_PASSED, simpleReport.getIndication(simpleReport.getFirstSignatureId()));
+
+		DiagnosticData diagnosticData = reports.getDiagnosticData();
+		assertEquals(signatureLevel, diagnosticData.getSignatureFormat(diagnosticData.getFirstSignatureId()));
+		SignatureWrapper signature = diagnosticData.getSignatureById(diagnosticData.getFirstSignatureId());
+		assertTrue(signature.isSignatureIntact());
+		assertTrue(signature.isSignatureValid());
+		for (XmlDigestMatcher digestMatcher : signature.getDigestMatchers()) {
+			assertTrue(digestMatcher.isDataFound());
+			assertTrue(digestMatcher.isDataIntact());
+		}
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -56,8 +56,6 @@ public final class JAdESUtils extends AbstractJWSUtils {
 	/** Map of used definition schemas */
 	private Map<URI, JSONObject> definitions;
 
-	private static JAdESUtils singleton;
-
 	private JAdESUtils() {
 	}
 
@@ -67,10 +65,7 @@ public final class JAdESUtils extends AbstractJWSUtils {
 	 * @return {@link JAdESUtils}
 	 */
 	public static JAdESUtils getInstance() {
-		if (singleton == null) {
-			singleton = new JAdESUtils();
-		}
-		 return singleton;
+		return SingletonHolder.INSTANCE;
 	}
 
 	@Override
@@ -108,7 +103,7 @@ public final class JAdESUtils extends AbstractJWSUtils {
 	 * 
 	 * @return a map of definitions
 	 */
-	public Map<URI, JSONObject> getJAdESDefinitions() {
+	public synchronized Map<URI, JSONObject> getJAdESDefinitions() {
 		if (definitions == null) {
 			definitions = new HashMap<>();
 			definitions.put(URI.create(JAdES_SCHEMA_DEFINITIONS_URI),
@@ -125,4 +120,19 @@ public final class JAdESUtils extends AbstractJWSUtils {
 		return definitions;
 	}
 
+	/**
+	 * Lazily initializes the shared instance on the first call, in a thread-safe way.
+	 * The schemas are compiled together with the instance, thus a call of {@code getInstance()}
+	 * on application startup prevents the compilation time on the first signature validation.
+	 */
+	private static class SingletonHolder {
+
+		private static final JAdESUtils INSTANCE = new JAdESUtils();
+
+		static {
+			INSTANCE.preloadSchemas();
+		}
+
+	}
+
 }
@@ -22,11 +22,16 @@ package eu.europa.esig.jades;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -139,6 +144,38 @@ public class JAdESUtilsTest {
 		assertErrorFound(errors, "sigPSt: #: 2 subschemas matched instead of one");
 	}
 
+	@Test
+	public void parsedHeaderMapTest() {
+		InputStream is = JAdESUtilsTest.class.getResourceAsStream("/jades-with-sigPSt-invalid.json");
+		JSONObject signature = (JSONObject) jadesUtils.parseJson(is).getJSONArray("signatures").get(0);
+
+		JSONObject header = signature.getJSONObject("header");
+		Map<String, Object> headerMap = header.toMap();
+		assertEquals(jadesUtils.validateAgainstJWSUnprotectedHeaderSchema(header),
+				jadesUtils.validateAgainstJWSUnprotectedHeaderSchema(headerMap));
+
+		is = JAdESUtilsTest.class.getResourceAsStream("/jades-lta.json");
+		header = jadesUtils.parseJson(is).getJSONObject("header");
+		assertTrue(jadesUtils.validateAgainstJWSUnprotectedHeaderSchema(header.toMap()).isEmpty());
+
+		Map<String, Object> map = new HashMap<>();
+		map.put("number", 1L);
+		map.put("null", null);
+		map.put("array", Arrays.asList("a", Collections.singletonMap("b", 2.5d)));
+		JSONObject jsonObject = jadesUtils.toJSONObject(map);
+		assertEquals(Integer.valueOf(1), jsonObject.get("number"));
+		assertEquals(JSONObject.NULL, jsonObject.get("null"));
+		assertEquals("a", jsonObject.getJSONArray("array").get(0));
+		assertEquals(2.5d, jsonObject.getJSONArray("array").getJSONObject(1).getDouble("b"));
+	}
+
+	@Test
+	public void sameSchemaInstanceTest() {
+		assertSame(JAdESUtils.getInstance(), jadesUtils);
+		assertSame(jadesUtils.getJWSProtectedHeaderSchema(), jadesUtils.getJWSProtectedHeaderSchema());
+		assertSame(jadesUtils.getJWSUnprotectedHeaderSchema(), jadesUtils.getJWSUnprotectedHeaderSchema());
+	}
+
 	private void assertErrorFound(List<String> errors, String errorMessage) {
 		boolean errorFound = false;
 		for (String error : errors) {
@@ -24,34 +24,39 @@ import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
 import org.everit.json.schema.loader.SchemaLoader;
 import org.everit.json.schema.loader.SchemaLoader.SchemaLoaderBuilder;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Abstract class for JWS signature validation against JSON schemas
+ *
+ * The schemas are compiled once and reused by all the following validations.
+ * A compiled {@code Schema} is immutable and can be shared between threads.
  */
 public abstract class AbstractJWSUtils {
 	
 	/**
 	 * JSON Schema for a root JWS element validation
 	 */
-	private Schema jwsSchema;
+	private volatile Schema jwsSchema;
 	
 	/**
 	 * JSON Schema for a JWS Protected Header validation
 	 */
-	private Schema jwsProtectedHeaderSchema;
+	private volatile Schema jwsProtectedHeaderSchema;
 	
 	/**
 	 * JSON Schema for a JWS Unprotected Header validation
 	 */
-	private Schema jwsUnprotectedHeaderSchema;
+	private volatile Schema jwsUnprotectedHeaderSchema;
 	
 	/**
 	 * Returns a JWS Schema for a root signature element validation
@@ -60,7 +65,11 @@ public abstract class AbstractJWSUtils {
 	 */
 	public Schema getJWSSchema() {
 		if (jwsSchema == null) {
-			jwsSchema = loadSchema(getJWSSchemaJSON(), getJWSSchemaDefinitions());
+			synchronized (this) {
+				if (jwsSchema == null) {
+					jwsSchema = loadSchema(getJWSSchemaJSON(), getJWSSchemaDefinitions());
+				}
+			}
 		}
 		return jwsSchema;
 	}
@@ -72,25 +81,43 @@ public abstract class AbstractJWSUtils {
 	 */
 	public Schema getJWSProtectedHeaderSchema() {
 		if (jwsProtectedHeaderSchema == null) {
-			jwsProtectedHeaderSchema = loadSchema(getJWSProtectedHeaderSchemaJSON(),
-					getJWSProtectedHeaderSchemaDefinitions());
+			synchronized (this) {
+				if (jwsProtectedHeaderSchema == null) {
+					jwsProtectedHeaderSchema = loadSchema(getJWSProtectedHeaderSchemaJSON(),
+							getJWSProtectedHeaderSchemaDefinitions());
+				}
+			}
 		}
 		return jwsProtectedHeaderSchema;
 	}
 
 	/**
-	 * Returns a JWS Protected Header Schema
+	 * Returns a JWS Unprotected Header Schema
 	 * 
-	 * @return {@link Schema} for JWS Protected Header validation
+	 * @return {@link Schema} for JWS Unprotected Header validation
 	 */
 	public Schema getJWSUnprotectedHeaderSchema() {
 		if (jwsUnprotectedHeaderSchema == null) {
-			jwsUnprotectedHeaderSchema = loadSchema(getJWSUnprotectedHeaderSchemaJSON(),
-					getJWSUnprotectedHeaderSchemaDefinitions());
+			synchronized (this) {
+				if (jwsUnprotectedHeaderSchema == null) {
+					jwsUnprotectedHeaderSchema = loadSchema(getJWSUnprotectedHeaderSchemaJSON(),
+							getJWSUnprotectedHeaderSchemaDefinitions());
+				}
+			}
 		}
 		return jwsUnprotectedHeaderSchema;
 	}
 
+	/**
+	 * Compiles all the schemas, in order to avoid the loading time on the first validation.
+	 * The method can be called on application startup.
+	 */
+	public void preloadSchemas() {
+		getJWSSchema();
+		getJWSProtectedHeaderSchema();
+		getJWSUnprotectedHeaderSchema();
+	}
+
 	/**
 	 * Returns a JSON schema for a root JWS element validation
 	 * 
@@ -231,6 +258,17 @@ public abstract class AbstractJWSUtils {
 	public List<String> validateAgainstJWSUnprotectedHeaderSchema(JSONObject json) {
 		return validateAgainstSchema(json, getJWSUnprotectedHeaderSchema());
 	}
+
+	/**
+	 * Validates an unprotected "header" of a JWS
+	 * 
+	 * @param header a parsed map representing an unprotected header of a JWS
+	 * @return a list of {@link String} messages containing errors occurred during
+	 *         the validation process, empty list when validation succeeds
+	 */
+	public List<String> validateAgainstJWSUnprotectedHeaderSchema(Map<String, Object> header) {
+		return validateAgainstJWSUnprotectedHeaderSchema(toJSONObject(header));
+	}
 	
 	/**
 	 * Validates a {@code json} against the provided JSON {@code schema}
@@ -273,6 +311,40 @@ public abstract class AbstractJWSUtils {
 	public JSONObject parseJson(InputStream inputStream) {
 		return new JSONObject(new JSONTokener(inputStream));
 	}
+
+	/**
+	 * Converts an already parsed JSON map (e.g. obtained from a JWS header) to a {@code JSONObject},
+	 * without serializing it to a string.
+	 * The values are represented in the same way as when a JSON string is parsed.
+	 *
+	 * @param map to convert
+	 * @return {@link JSONObject}
+	 */
+	public JSONObject toJSONObject(Map<?, ?> map) {
+		JSONObject jsonObject = new JSONObject();
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			jsonObject.put(String.valueOf(entry.getKey()), toJSONValue(entry.getValue()));
+		}
+		return jsonObject;
+	}
+
+	private Object toJSONValue(Object value) {
+		if (value == null) {
+			return JSONObject.NULL;
+		} else if (value instanceof Map<?, ?>) {
+			return toJSONObject((Map<?, ?>) value);
+		} else if (value instanceof Collection<?>) {
+			JSONArray jsonArray = new JSONArray();
+			for (Object item : (Collection<?>) value) {
+				jsonArray.put(toJSONValue(item));
+			}
+			return jsonArray;
+		} else if (value instanceof Number) {
+			// parsed numbers are represented by the narrowest type (e.g. Integer instead of Long)
+			return JSONObject.stringToValue(value.toString());
+		}
+		return value;
+	}
 	
 	/**
 	 * Loads schema with the given list of definitions (references)
@@ -55,8 +55,6 @@ public final class JWSUtils extends AbstractJWSUtils {
 	/** Map of used definition schemas */
 	private Map<URI, JSONObject> definitions;
 
-	private static JWSUtils singleton;
-
 	private JWSUtils() {
 	}
 
@@ -66,10 +64,7 @@ public final class JWSUtils extends AbstractJWSUtils {
 	 * @return {@link JWSUtils}
 	 */
 	public static JWSUtils getInstance() {
-		if (singleton == null) {
-			singleton = new JWSUtils();
-		}
-		 return singleton;
+		return SingletonHolder.INSTANCE;
 	}
 
 	@Override
@@ -107,7 +102,7 @@ public final class JWSUtils extends AbstractJWSUtils {
 	 * 
 	 * @return a map of definitions
 	 */
-	public Map<URI, JSONObject> getRFCDefinitions() {
+	public synchronized Map<URI, JSONObject> getRFCDefinitions() {
 		if (definitions == null) {
 			definitions = new HashMap<>();
 			definitions.put(URI.create(RFC7515_SCHEMA_URI),
@@ -118,4 +113,13 @@ public final class JWSUtils extends AbstractJWSUtils {
 		return definitions;
 	}
 
+	/**
+	 * Lazily initializes the shared instance on the first call, in a thread-safe way
+	 */
+	private static class SingletonHolder {
+
+		private static final JWSUtils INSTANCE = new JWSUtils();
+
+	}
+
 }